@@ -0,0 +1,105 @@
+package io.github.cowwoc.styler.ast.core;
+
+import java.util.Arrays;
+
+/**
+ * The attributes of one kind of node, stored in two parallel arrays sorted by node index.
+ * <p>
+ * Nodes are allocated in increasing index order, so attributes are always appended at the end and the node
+ * array stays sorted without any extra work. Lookups are a binary search over a primitive {@code int} array:
+ * there are no boxed keys, map entries or hash computations.
+ * <p>
+ * <b>Thread-safety</b>: This class is not thread-safe.
+ *
+ * @param <T> the type of attribute
+ */
+final class AttributeTable<T extends NodeAttribute>
+{
+	private static final int INITIAL_CAPACITY = 8;
+	private int[] nodes = new int[INITIAL_CAPACITY];
+	private NodeAttribute[] values = new NodeAttribute[INITIAL_CAPACITY];
+	private int size;
+
+	/**
+	 * Associates an attribute with a node.
+	 *
+	 * @param node      the index of the node, which must be greater than that of any node already in the table
+	 * @param attribute the attribute
+	 */
+	void add(int node, T attribute)
+	{
+		assert size == 0 || node > nodes[size - 1] : "node: " + node + ", last: " + nodes[size - 1];
+		if (size == nodes.length)
+		{
+			int newCapacity = size * 2;
+			nodes = Arrays.copyOf(nodes, newCapacity);
+			values = Arrays.copyOf(values, newCapacity);
+		}
+		nodes[size] = node;
+		values[size] = attribute;
+		++size;
+	}
+
+	/**
+	 * Returns the attribute of a node.
+	 *
+	 * @param node the index of the node
+	 * @return {@code null} if the node does not have an attribute in this table
+	 */
+	@SuppressWarnings("unchecked")
+	T get(int node)
+	{
+		int position = Arrays.binarySearch(nodes, 0, size, node);
+		if (position < 0)
+			return null;
+		return (T) values[position];
+	}
+
+	/**
+	 * Removes the attributes of all nodes whose index is greater than or equal to a threshold.
+	 *
+	 * @param node the index of the first node to remove the attribute of
+	 */
+	void truncate(int node)
+	{
+		int position = Arrays.binarySearch(nodes, 0, size, node);
+		if (position < 0)
+			position = -position - 1;
+		// Release the attributes for garbage collection
+		Arrays.fill(values, position, size, null);
+		size = position;
+	}
+
+	/**
+	 * Removes all attributes.
+	 */
+	void clear()
+	{
+		// Release the attributes for garbage collection
+		Arrays.fill(values, 0, size, null);
+		size = 0;
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+			return true;
+		if (!(obj instanceof AttributeTable<?> other))
+			return false;
+		return Arrays.equals(nodes, 0, size, other.nodes, 0, other.size) &&
+			Arrays.equals(values, 0, size, other.values, 0, other.size);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		int result = size;
+		for (int i = 0; i < size; ++i)
+		{
+			result = 31 * result + nodes[i];
+			result = 31 * result + values[i].hashCode();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,113 @@
+package io.github.cowwoc.styler.ast.core;
+
+import java.util.Arrays;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Maps each bracket in source code to its partner.
+ * <p>
+ * Stores the offset of every {@code (}, {@code )}, <code>{</code>, <code>}</code>, {@code [} and {@code ]}
+ * that the lexer found outside of comments and literals, together with the offset of the bracket that it
+ * pairs with. Code that needs to find the end of a bracketed region can jump to it directly instead of
+ * rescanning the source code and tracking nesting depth.
+ * <p>
+ * <b>Thread-safety</b>: This class is immutable and thread-safe.
+ */
+public final class BracketMap
+{
+	/**
+	 * The value returned when a bracket does not have a partner.
+	 */
+	public static final int NO_MATCH = -1;
+	private final int[] positions;
+	private final int[] matches;
+
+	/**
+	 * Creates a new bracket map.
+	 *
+	 * @param positions the offset of each bracket, in ascending order
+	 * @param matches   the offset of the partner of each bracket in {@code positions}, or {@link #NO_MATCH} if
+	 *                  it is unbalanced
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if {@code positions} and {@code matches} have different lengths
+	 */
+	public BracketMap(int[] positions, int[] matches)
+	{
+		requireThat(positions, "positions").isNotNull();
+		requireThat(matches, "matches").isNotNull();
+		requireThat(matches.length, "matches.length").isEqualTo(positions.length);
+		this.positions = positions.clone();
+		this.matches = matches.clone();
+	}
+
+	/**
+	 * Returns the number of brackets.
+	 *
+	 * @return the number of brackets
+	 */
+	public int getBracketCount()
+	{
+		return positions.length;
+	}
+
+	/**
+	 * Returns the offset of a bracket.
+	 *
+	 * @param index the index of the bracket, in source order
+	 * @return the 0-based character offset of the bracket
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or not less than
+	 *                                   {@link #getBracketCount()}
+	 */
+	public int getBracketPosition(int index)
+	{
+		return positions[index];
+	}
+
+	/**
+	 * Returns the offset of the partner of a bracket.
+	 *
+	 * @param index the index of the bracket, in source order
+	 * @return the 0-based character offset of the partner, or {@link #NO_MATCH} if the bracket is unbalanced
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or not less than
+	 *                                   {@link #getBracketCount()}
+	 */
+	public int getMatchingPosition(int index)
+	{
+		return matches[index];
+	}
+
+	/**
+	 * Looks up the partner of the bracket at a character offset.
+	 *
+	 * @param position the 0-based character offset of the bracket
+	 * @return the 0-based character offset of the partner, or {@link #NO_MATCH} if there is no bracket at
+	 *         {@code position} or if it is unbalanced
+	 */
+	public int findMatch(int position)
+	{
+		int index = Arrays.binarySearch(positions, position);
+		if (index < 0)
+			return NO_MATCH;
+		return matches[index];
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		return obj instanceof BracketMap other && Arrays.equals(positions, other.positions) &&
+			Arrays.equals(matches, other.matches);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return 31 * Arrays.hashCode(positions) + Arrays.hashCode(matches);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "BracketMap[bracketCount=" + positions.length + "]";
+	}
+}
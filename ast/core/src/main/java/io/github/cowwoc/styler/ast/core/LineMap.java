@@ -0,0 +1,149 @@
+package io.github.cowwoc.styler.ast.core;
+
+import java.util.Arrays;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Maps character offsets in source code to line and column numbers.
+ * <p>
+ * Stores the offset at which each line starts. Lines are separated by {@code '\n'}, so a {@code '\r'} that
+ * precedes it is counted as part of the previous line. Lookups use binary search, making each one
+ * O(log lines) instead of rescanning the source code.
+ * <p>
+ * <b>Thread-safety</b>: This class is immutable and thread-safe.
+ */
+public final class LineMap
+{
+	private final int[] lineStarts;
+	private final int sourceLength;
+
+	/**
+	 * Creates a new line map.
+	 *
+	 * @param lineStarts   the offset at which each line starts, in ascending order, beginning with {@code 0}
+	 * @param sourceLength the length of the source code
+	 * @throws NullPointerException     if {@code lineStarts} is null
+	 * @throws IllegalArgumentException if {@code lineStarts} is empty or does not begin with {@code 0}, or if
+	 *                                  {@code sourceLength} is negative
+	 */
+	public LineMap(int[] lineStarts, int sourceLength)
+	{
+		requireThat(lineStarts, "lineStarts").isNotNull();
+		requireThat(lineStarts.length, "lineStarts.length").isPositive();
+		requireThat(lineStarts[0], "lineStarts[0]").isEqualTo(0);
+		requireThat(sourceLength, "sourceLength").isNotNegative();
+		this.lineStarts = lineStarts.clone();
+		this.sourceLength = sourceLength;
+	}
+
+	/**
+	 * Builds a line map by scanning source code.
+	 * <p>
+	 * Prefer the line map produced by the lexer when one is available, since it is computed without an extra
+	 * pass over the source code.
+	 *
+	 * @param sourceCode the source code
+	 * @return the line map
+	 * @throws NullPointerException if {@code sourceCode} is null
+	 */
+	public static LineMap of(String sourceCode)
+	{
+		requireThat(sourceCode, "sourceCode").isNotNull();
+		int[] lineStarts = new int[16];
+		int lineCount = 1;
+		for (int i = 0; i < sourceCode.length(); ++i)
+		{
+			if (sourceCode.charAt(i) == '\n')
+			{
+				if (lineCount == lineStarts.length)
+					lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+				lineStarts[lineCount] = i + 1;
+				++lineCount;
+			}
+		}
+		return new LineMap(Arrays.copyOf(lineStarts, lineCount), sourceCode.length());
+	}
+
+	/**
+	 * Returns the number of lines.
+	 *
+	 * @return the number of lines, counting the (possibly empty) line after the last {@code '\n'}
+	 */
+	public int getLineCount()
+	{
+		return lineStarts.length;
+	}
+
+	/**
+	 * Returns the length of the source code.
+	 *
+	 * @return the length of the source code
+	 */
+	public int getSourceLength()
+	{
+		return sourceLength;
+	}
+
+	/**
+	 * Returns the offset at which a line starts.
+	 *
+	 * @param lineNumber the 1-based line number
+	 * @return the 0-based character offset of the first character on the line
+	 * @throws IllegalArgumentException if {@code lineNumber} is less than 1 or greater than the number of lines
+	 */
+	public int getLineStart(int lineNumber)
+	{
+		requireThat(lineNumber, "lineNumber").isPositive().isLessThanOrEqualTo(lineStarts.length);
+		return lineStarts[lineNumber - 1];
+	}
+
+	/**
+	 * Returns the line number that contains a position.
+	 *
+	 * @param position the 0-based character offset
+	 * @return the 1-based line number
+	 * @throws IllegalArgumentException if {@code position} is negative or greater than the source code length
+	 */
+	public int getLineNumber(int position)
+	{
+		requireThat(position, "position").isNotNegative().isLessThanOrEqualTo(sourceLength);
+		int index = Arrays.binarySearch(lineStarts, position);
+		if (index >= 0)
+			return index + 1;
+		// The insertion point is the first line that starts after the position
+		return -(index + 1);
+	}
+
+	/**
+	 * Returns the column number of a position.
+	 *
+	 * @param position the 0-based character offset
+	 * @return the 1-based column number
+	 * @throws IllegalArgumentException if {@code position} is negative or greater than the source code length
+	 */
+	public int getColumnNumber(int position)
+	{
+		int lineNumber = getLineNumber(position);
+		return position - lineStarts[lineNumber - 1] + 1;
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		return obj instanceof LineMap other && sourceLength == other.sourceLength &&
+			Arrays.equals(lineStarts, other.lineStarts);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return 31 * Arrays.hashCode(lineStarts) + sourceLength;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "LineMap[lineCount=" + lineStarts.length + ", sourceLength=" + sourceLength + "]";
+	}
+}
@@ -3,36 +3,154 @@ package io.github.cowwoc.styler.ast.core;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.ValueLayout;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Objects;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 
 /**
  * Arena-based storage for AST nodes using index-overlay pattern.
- * Each node occupies exactly 12 bytes with the following layout:
+ * In the {@link Layout#WIDE wide} layout, each node occupies exactly 12 bytes:
  * <ul>
  *   <li>Bytes 0-3: NodeType ordinal (int)</li>
  *   <li>Bytes 4-7: Start position in source (int)</li>
  *   <li>Bytes 8-11: End position in source (int)</li>
  * </ul>
+ * In the {@link Layout#COMPACT compact} layout, each node occupies 8 bytes:
+ * <ul>
+ *   <li>Bytes 0-3: Start position in source (int)</li>
+ *   <li>Bytes 4-7: NodeType ordinal (high 8 bits) and {@code end - start} as a signed 24-bit value (low 24
+ *   bits)</li>
+ * </ul>
+ * <p>
+ * Nodes are stored in fixed-size pages whose size is a power of two, so a node index maps to its page and
+ * slot with a shift and a mask. Growing the arena appends a page; existing pages are never copied or
+ * discarded, so the off-heap footprint stays proportional to the number of nodes.
+ * <p>
+ * The tree structure is stored in parallel {@code int} columns (parent, first child, next sibling) indexed by
+ * node index. The parser allocates nodes in post-order (children before their parent), so when a node is
+ * allocated it adopts every parentless node whose range lies within its own. This makes parent, child and
+ * sibling navigation O(1) without scanning the arena.
+ * <p>
+ * An arena may be {@link #reset() reset} and reused for another source file. Reuse keeps the off-heap memory
+ * and the link columns that were grown for earlier files, so a pooled arena stops allocating once it has seen
+ * its largest file.
+ * <p>
+ * <b>Thread-safety</b>: This class is not thread-safe. Arenas created by the constructors may only be accessed
+ * by the thread that created them; use {@link #ofShared()} for an arena that is handed between threads.
  */
 public final class NodeArena implements AutoCloseable
 {
-	private static final int BYTES_PER_NODE = 12;
+	private static final int WIDE_BYTES_PER_NODE = 12;
+	private static final int COMPACT_BYTES_PER_NODE = 8;
 	private static final int INITIAL_CAPACITY = 1024;
 	private static final ValueLayout.OfInt INT_LAYOUT = ValueLayout.JAVA_INT;
+	/**
+	 * A cached copy of {@code NodeType.values()}, which clones the array on every call.
+	 */
+	private static final NodeType[] NODE_TYPES = NodeType.values();
 
-	// Field offsets within each 12-byte node
+	// Field offsets within each 12-byte wide node
 	private static final int TYPE_OFFSET = 0;
 	private static final int START_OFFSET = 4;
 	private static final int END_OFFSET = 8;
+	// Field offsets within each 8-byte compact node
+	private static final int COMPACT_START_OFFSET = 0;
+	private static final int COMPACT_TYPE_AND_LENGTH_OFFSET = 4;
+	/**
+	 * The number of bits used by the node length in the compact layout.
+	 */
+	private static final int COMPACT_LENGTH_BITS = 24;
+	private static final int COMPACT_LENGTH_MASK = (1 << COMPACT_LENGTH_BITS) - 1;
+	/**
+	 * The largest {@code end - start} that the compact layout can represent.
+	 */
+	private static final int MAX_COMPACT_LENGTH = (1 << (COMPACT_LENGTH_BITS - 1)) - 1;
+	/**
+	 * The smallest {@code end - start} that the compact layout can represent.
+	 */
+	private static final int MIN_COMPACT_LENGTH = -(1 << (COMPACT_LENGTH_BITS - 1));
+
+	static
+	{
+		// The compact layout stores the type ordinal in 8 bits
+		assert NODE_TYPES.length <= 1 << (Integer.SIZE - COMPACT_LENGTH_BITS) : NODE_TYPES.length;
+	}
+	/**
+	 * The number of bytes used by the structural link columns per node (parent, first child, next sibling).
+	 */
+	private static final int LINK_BYTES_PER_NODE = 12;
+	/**
+	 * Marks the absence of a parent, child or sibling in the link columns.
+	 */
+	static final int NO_NODE = -1;
 
 	private final Arena arena;
-	private final Map<NodeIndex, NodeAttribute> attributes = new HashMap<>();
-	private MemorySegment segment;
+	private final Layout layout;
+	/**
+	 * The number of bytes occupied by each node in {@link #pages}.
+	 */
+	private final int bytesPerNode;
+	private final AttributeTable<ImportAttribute> importAttributes = new AttributeTable<>();
+	private final AttributeTable<ModuleImportAttribute> moduleImportAttributes = new AttributeTable<>();
+	private final AttributeTable<PackageAttribute> packageAttributes = new AttributeTable<>();
+	private final AttributeTable<TypeDeclarationAttribute> typeDeclarationAttributes = new AttributeTable<>();
+	private final AttributeTable<ParameterAttribute> parameterAttributes = new AttributeTable<>();
+	/**
+	 * The attributes of module declarations and module directives.
+	 */
+	private final AttributeTable<NodeAttribute> moduleAttributes = new AttributeTable<>();
+	/**
+	 * The number of nodes per page.
+	 */
+	private final int pageSize;
+	/**
+	 * {@code log2(pageSize)}: shifting a node index right by this amount yields its page.
+	 */
+	private final int pageShift;
+	/**
+	 * {@code pageSize - 1}: masking a node index with this value yields its slot within the page.
+	 */
+	private final int pageMask;
+	private MemorySegment[] pages;
+	private int[][] parentPages;
+	private int[][] firstChildPages;
+	private int[][] nextSiblingPages;
+	private int pageCount;
 	private int nodeCount;
 	private int capacity;
+	/**
+	 * The nodes that have not been adopted by a parent yet, in allocation order.
+	 */
+	private int[] unattachedNodes;
+	private int unattachedCount;
+	/**
+	 * The nodes of each type in allocation order, indexed by {@code NodeType} ordinal. Each array is created
+	 * when the first node of its type is allocated.
+	 */
+	private final int[][] nodesByType = new int[NODE_TYPES.length][];
+	/**
+	 * The number of nodes of each type, indexed by {@code NodeType} ordinal.
+	 */
+	private final int[] nodeCountByType = new int[NODE_TYPES.length];
+
+	/**
+	 * The encoding of the nodes in an arena.
+	 */
+	public enum Layout
+	{
+		/**
+		 * Stores the type, start and end of each node as separate {@code int}s (12 bytes per node). Accepts any
+		 * non-negative positions.
+		 */
+		WIDE,
+		/**
+		 * Packs the type and length of each node into a single {@code int} next to its start (8 bytes per node).
+		 * Requires {@code end - start} to fit in a signed 24-bit value, which is always the case for source code
+		 * within {@link SecurityConfig#MAX_SOURCE_SIZE_BYTES}.
+		 */
+		COMPACT
+	}
 
 	/**
 	 * Creates a new NodeArena with default initial capacity.
@@ -42,18 +160,224 @@ public final class NodeArena implements AutoCloseable
 		this(INITIAL_CAPACITY);
 	}
 
+	/**
+	 * Creates a new NodeArena with default initial capacity.
+	 *
+	 * @param layout the encoding of the nodes
+	 * @throws NullPointerException if {@code layout} is null
+	 */
+	public NodeArena(Layout layout)
+	{
+		this(INITIAL_CAPACITY, layout);
+	}
+
 	/**
 	 * Creates a new NodeArena with specified initial capacity.
+	 * <p>
+	 * The capacity is rounded up to a power of two, which becomes the number of nodes added by each growth. The
+	 * capacity never exceeds {@link SecurityConfig#MAX_ARENA_CAPACITY}: the page that reaches the limit is
+	 * truncated.
 	 *
 	 * @param initialCapacity the initial number of nodes to allocate space for
-	 * @throws IllegalArgumentException if {@code initialCapacity} is not positive
+	 * @throws IllegalArgumentException if {@code initialCapacity} is not positive or exceeds
+	 *                                  {@link SecurityConfig#MAX_ARENA_CAPACITY}
 	 */
 	public NodeArena(int initialCapacity)
 	{
-		requireThat(initialCapacity, "initialCapacity").isPositive();
-		this.arena = Arena.ofConfined();
-		this.capacity = initialCapacity;
-		this.segment = arena.allocate(BYTES_PER_NODE * (long) capacity);
+		this(initialCapacity, Layout.WIDE);
+	}
+
+	/**
+	 * Creates a new NodeArena with specified initial capacity.
+	 * <p>
+	 * The capacity is rounded up to a power of two, which becomes the number of nodes added by each growth. The
+	 * capacity never exceeds {@link SecurityConfig#MAX_ARENA_CAPACITY}: the page that reaches the limit is
+	 * truncated.
+	 *
+	 * @param initialCapacity the initial number of nodes to allocate space for
+	 * @param layout          the encoding of the nodes
+	 * @throws NullPointerException     if {@code layout} is null
+	 * @throws IllegalArgumentException if {@code initialCapacity} is not positive or exceeds
+	 *                                  {@link SecurityConfig#MAX_ARENA_CAPACITY}
+	 */
+	public NodeArena(int initialCapacity, Layout layout)
+	{
+		this(initialCapacity, layout, Arena.ofConfined());
+	}
+
+	/**
+	 * Creates a new NodeArena.
+	 *
+	 * @param initialCapacity the initial number of nodes to allocate space for
+	 * @param layout          the encoding of the nodes
+	 * @param arena           the arena that allocates the off-heap node storage
+	 * @throws NullPointerException     if {@code layout} is null
+	 * @throws IllegalArgumentException if {@code initialCapacity} is not positive or exceeds
+	 *                                  {@link SecurityConfig#MAX_ARENA_CAPACITY}
+	 */
+	private NodeArena(int initialCapacity, Layout layout, Arena arena)
+	{
+		requireThat(initialCapacity, "initialCapacity").isPositive().
+			isLessThanOrEqualTo(SecurityConfig.MAX_ARENA_CAPACITY);
+		requireThat(layout, "layout").isNotNull();
+		this.arena = arena;
+		this.layout = layout;
+		this.bytesPerNode = switch (layout)
+		{
+			case WIDE -> WIDE_BYTES_PER_NODE;
+			case COMPACT -> COMPACT_BYTES_PER_NODE;
+		};
+		this.pageShift = 32 - Integer.numberOfLeadingZeros(initialCapacity - 1);
+		this.pageSize = 1 << pageShift;
+		this.pageMask = pageSize - 1;
+		this.pages = new MemorySegment[4];
+		this.parentPages = new int[4][];
+		this.firstChildPages = new int[4][];
+		this.nextSiblingPages = new int[4][];
+		this.unattachedNodes = new int[Math.min(pageSize, SecurityConfig.MAX_ARENA_CAPACITY)];
+		addPage();
+	}
+
+	/**
+	 * Creates a NodeArena with default initial capacity whose memory may be accessed by any thread.
+	 * <p>
+	 * The arena is still not thread-safe, but it may be used by one thread at a time, such as an arena that is
+	 * returned to a pool by one worker thread and borrowed by another. Closing a shared arena is more expensive
+	 * than closing a confined one, so shared arenas should be long-lived.
+	 *
+	 * @return a new arena
+	 */
+	public static NodeArena ofShared()
+	{
+		return ofShared(Layout.WIDE);
+	}
+
+	/**
+	 * Creates a NodeArena with default initial capacity whose memory may be accessed by any thread.
+	 *
+	 * @param layout the encoding of the nodes
+	 * @return a new arena
+	 * @throws NullPointerException if {@code layout} is null
+	 * @see #ofShared()
+	 */
+	public static NodeArena ofShared(Layout layout)
+	{
+		requireThat(layout, "layout").isNotNull();
+		return new NodeArena(INITIAL_CAPACITY, layout, Arena.ofShared());
+	}
+
+	/**
+	 * Returns the encoding of the nodes.
+	 *
+	 * @return the layout
+	 */
+	public Layout getLayout()
+	{
+		return layout;
+	}
+
+	/**
+	 * Removes all nodes and attributes so that the arena can be reused.
+	 * <p>
+	 * The capacity is retained. Node indexes that were returned before the reset must not be used afterwards.
+	 */
+	public void reset()
+	{
+		nodeCount = 0;
+		unattachedCount = 0;
+		Arrays.fill(nodeCountByType, 0);
+		importAttributes.clear();
+		moduleImportAttributes.clear();
+		packageAttributes.clear();
+		typeDeclarationAttributes.clear();
+		parameterAttributes.clear();
+		moduleAttributes.clear();
+	}
+
+	/**
+	 * Returns a checkpoint that {@link #rollback(int)} can later return the arena to.
+	 * <p>
+	 * Used by speculative parsing: if an attempt to parse a construct fails, the nodes that it allocated are
+	 * discarded instead of remaining in the arena as unreachable garbage.
+	 *
+	 * @return the checkpoint
+	 */
+	public int mark()
+	{
+		return nodeCount;
+	}
+
+	/**
+	 * Discards all nodes and attributes that were allocated after a checkpoint.
+	 * <p>
+	 * Nodes allocated before the checkpoint that were adopted by a discarded node become parentless again, so
+	 * the arena is left exactly as it was when {@link #mark()} returned the checkpoint. The cost is proportional
+	 * to the number of discarded nodes. Node indexes that were allocated after the checkpoint must not be used
+	 * afterwards.
+	 *
+	 * @param mark a value returned by {@link #mark()} since the last {@link #reset()}
+	 * @throws IllegalArgumentException if {@code mark} is negative or greater than the number of nodes
+	 */
+	public void rollback(int mark)
+	{
+		requireThat(mark, "mark").isNotNegative().isLessThanOrEqualTo(nodeCount);
+		if (mark == nodeCount)
+			return;
+
+		// The unattached stack holds, from bottom to top, the older nodes that were parentless at the checkpoint
+		// and were not adopted since, followed by the newer nodes that are still parentless. Older nodes that
+		// were adopted by newer nodes were popped from the top of the stack and must be pushed back.
+		int newerUnattached = 0;
+		int adopted = 0;
+		for (int node = mark; node < nodeCount; ++node)
+		{
+			if (getLink(parentPages, node) == NO_NODE)
+				++newerUnattached;
+			for (int child = getLink(firstChildPages, node); child != NO_NODE;
+				child = getLink(nextSiblingPages, child))
+			{
+				if (child < mark)
+					++adopted;
+			}
+		}
+		unattachedCount -= newerUnattached;
+		if (adopted > 0)
+		{
+			if (unattachedCount + adopted > unattachedNodes.length)
+				unattachedNodes = Arrays.copyOf(unattachedNodes, unattachedCount + adopted);
+			int top = unattachedCount;
+			for (int node = mark; node < nodeCount; ++node)
+			{
+				for (int child = getLink(firstChildPages, node); child != NO_NODE;
+					child = getLink(nextSiblingPages, child))
+				{
+					if (child < mark)
+					{
+						unattachedNodes[top] = child;
+						++top;
+					}
+				}
+			}
+			// The stack is ordered by allocation, like the nodes that were popped from it
+			Arrays.sort(unattachedNodes, unattachedCount, top);
+			for (int i = unattachedCount; i < top; ++i)
+			{
+				int node = unattachedNodes[i];
+				setLink(parentPages, node, NO_NODE);
+				setLink(nextSiblingPages, node, NO_NODE);
+			}
+			unattachedCount = top;
+		}
+
+		for (int node = mark; node < nodeCount; ++node)
+			--nodeCountByType[readTypeOrdinal(node)];
+		importAttributes.truncate(mark);
+		moduleImportAttributes.truncate(mark);
+		packageAttributes.truncate(mark);
+		typeDeclarationAttributes.truncate(mark);
+		parameterAttributes.truncate(mark);
+		moduleAttributes.truncate(mark);
+		nodeCount = mark;
 	}
 
 	/**
@@ -64,7 +388,9 @@ public final class NodeArena implements AutoCloseable
 	 * @param end   the end position in the source code
 	 * @return the index of the newly created node
 	 * @throws NullPointerException if {@code type} is null
-	 * @throws IllegalArgumentException if {@code start}/{@code end} positions are negative
+	 * @throws IllegalArgumentException if {@code start}/{@code end} positions are negative, or if the arena
+	 *                                  uses the {@link Layout#COMPACT compact} layout and {@code end - start}
+	 *                                  does not fit in a signed 24-bit value
 	 */
 	public NodeIndex allocateNode(NodeType type, int start, int end)
 	{
@@ -75,16 +401,121 @@ public final class NodeArena implements AutoCloseable
 		if (nodeCount >= capacity)
 			grow();
 
-		long offset = (long) nodeCount * BYTES_PER_NODE;
-		segment.set(INT_LAYOUT, offset + TYPE_OFFSET, type.ordinal());
-		segment.set(INT_LAYOUT, offset + START_OFFSET, start);
-		segment.set(INT_LAYOUT, offset + END_OFFSET, end);
+		MemorySegment page = pages[nodeCount >>> pageShift];
+		long offset = getOffsetInPage(nodeCount);
+		if (layout == Layout.COMPACT)
+		{
+			int length = end - start;
+			requireThat(length, "end - start").isGreaterThanOrEqualTo(MIN_COMPACT_LENGTH).
+				isLessThanOrEqualTo(MAX_COMPACT_LENGTH);
+			page.set(INT_LAYOUT, offset + COMPACT_START_OFFSET, start);
+			page.set(INT_LAYOUT, offset + COMPACT_TYPE_AND_LENGTH_OFFSET,
+				(type.ordinal() << COMPACT_LENGTH_BITS) | (length & COMPACT_LENGTH_MASK));
+		}
+		else
+		{
+			page.set(INT_LAYOUT, offset + TYPE_OFFSET, type.ordinal());
+			page.set(INT_LAYOUT, offset + START_OFFSET, start);
+			page.set(INT_LAYOUT, offset + END_OFFSET, end);
+		}
+		linkChildren(nodeCount, start, end);
+		addToTypeIndex(type.ordinal(), nodeCount);
 
 		NodeIndex result = new NodeIndex(nodeCount);
 		++nodeCount;
 		return result;
 	}
 
+	/**
+	 * Adopts all unattached nodes that lie within the range of a newly allocated node.
+	 * <p>
+	 * Because children are allocated before their parent, the candidates are always at the top of the
+	 * unattached stack. They are popped in reverse source order, so prepending each one to the child list
+	 * leaves the children in source order.
+	 *
+	 * @param node  the index of the newly allocated node
+	 * @param start the start position of the node
+	 * @param end   the end position of the node
+	 */
+	private void linkChildren(int node, int start, int end)
+	{
+		int firstChild = NO_NODE;
+		while (unattachedCount > 0)
+		{
+			int candidate = unattachedNodes[unattachedCount - 1];
+			if (readStart(candidate) < start || readEnd(candidate) > end)
+				break;
+			--unattachedCount;
+			setLink(parentPages, candidate, node);
+			setLink(nextSiblingPages, candidate, firstChild);
+			firstChild = candidate;
+		}
+		setLink(parentPages, node, NO_NODE);
+		setLink(firstChildPages, node, firstChild);
+		setLink(nextSiblingPages, node, NO_NODE);
+		if (unattachedCount == unattachedNodes.length)
+			unattachedNodes = Arrays.copyOf(unattachedNodes, unattachedCount * 2);
+		unattachedNodes[unattachedCount] = node;
+		++unattachedCount;
+	}
+
+	/**
+	 * Appends a node to the list of nodes of its type.
+	 *
+	 * @param typeOrdinal the ordinal of the node type
+	 * @param node        the index of the node
+	 */
+	private void addToTypeIndex(int typeOrdinal, int node)
+	{
+		int[] nodes = nodesByType[typeOrdinal];
+		int count = nodeCountByType[typeOrdinal];
+		if (nodes == null)
+		{
+			nodes = new int[8];
+			nodesByType[typeOrdinal] = nodes;
+		}
+		else if (count == nodes.length)
+		{
+			nodes = Arrays.copyOf(nodes, count * 2);
+			nodesByType[typeOrdinal] = nodes;
+		}
+		nodes[count] = node;
+		nodeCountByType[typeOrdinal] = count + 1;
+	}
+
+	/**
+	 * Returns the number of nodes of a type.
+	 *
+	 * @param type the node type
+	 * @return the number of nodes
+	 * @throws NullPointerException if {@code type} is null
+	 */
+	public int getNodeCount(NodeType type)
+	{
+		requireThat(type, "type").isNotNull();
+		return nodeCountByType[type.ordinal()];
+	}
+
+	/**
+	 * Returns the indexes of all nodes of a type.
+	 * <p>
+	 * The arena maintains a list of nodes per type as they are allocated, so this method runs in time
+	 * proportional to the number of matches rather than the size of the arena.
+	 *
+	 * @param type the node type
+	 * @return the node indexes in allocation order (children before their parents)
+	 * @throws NullPointerException if {@code type} is null
+	 */
+	public int[] getNodesByType(NodeType type)
+	{
+		requireThat(type, "type").isNotNull();
+		int ordinal = type.ordinal();
+		int count = nodeCountByType[ordinal];
+		if (count == 0)
+			return new int[0];
+		return Arrays.copyOf(nodesByType[ordinal], count);
+	}
+
 	/**
 	 * Allocates an import declaration node with its associated attribute.
 	 *
@@ -99,7 +530,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.IMPORT_DECLARATION, start, end);
-		attributes.put(index, attribute);
+		importAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -119,7 +550,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.MODULE_IMPORT_DECLARATION, start, end);
-		attributes.put(index, attribute);
+		moduleImportAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -137,7 +568,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.PACKAGE_DECLARATION, start, end);
-		attributes.put(index, attribute);
+		packageAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -155,7 +586,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.CLASS_DECLARATION, start, end);
-		attributes.put(index, attribute);
+		typeDeclarationAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -173,7 +604,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.INTERFACE_DECLARATION, start, end);
-		attributes.put(index, attribute);
+		typeDeclarationAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -191,7 +622,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.ENUM_DECLARATION, start, end);
-		attributes.put(index, attribute);
+		typeDeclarationAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -209,7 +640,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.RECORD_DECLARATION, start, end);
-		attributes.put(index, attribute);
+		typeDeclarationAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -227,7 +658,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.ANNOTATION_DECLARATION, start, end);
-		attributes.put(index, attribute);
+		typeDeclarationAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -245,7 +676,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.PARAMETER_DECLARATION, start, end);
-		attributes.put(index, attribute);
+		parameterAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -282,7 +713,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.MODULE_DECLARATION, start, end);
-		attributes.put(index, attribute);
+		moduleAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -303,7 +734,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.REQUIRES_DIRECTIVE, start, end);
-		attributes.put(index, attribute);
+		moduleAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -324,7 +755,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.EXPORTS_DIRECTIVE, start, end);
-		attributes.put(index, attribute);
+		moduleAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -345,7 +776,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.OPENS_DIRECTIVE, start, end);
-		attributes.put(index, attribute);
+		moduleAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -366,7 +797,7 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.USES_DIRECTIVE, start, end);
-		attributes.put(index, attribute);
+		moduleAttributes.add(index.index(), attribute);
 		return index;
 	}
 
@@ -387,7 +818,41 @@ public final class NodeArena implements AutoCloseable
 	{
 		requireThat(attribute, "attribute").isNotNull();
 		NodeIndex index = allocateNode(NodeType.PROVIDES_DIRECTIVE, start, end);
-		attributes.put(index, attribute);
+		moduleAttributes.add(index.index(), attribute);
+		return index;
+	}
+
+	/**
+	 * Allocates a copy of a node from another arena at a new position.
+	 * <p>
+	 * The copy has the same type and attribute as the original. Copying the nodes of a tree in allocation order
+	 * rebuilds the same tree, which allows part of a tree to be moved without reparsing it.
+	 *
+	 * @param source the arena that contains the node
+	 * @param node   the index of the node in {@code source}
+	 * @param start  the start position of the copy in the source code
+	 * @param end    the end position of the copy in the source code
+	 * @return the index of the newly created node
+	 * @throws NullPointerException      if {@code source} is null
+	 * @throws IndexOutOfBoundsException if {@code node} is negative or not less than
+	 *                                   {@code source.getNodeCount()}
+	 * @throws IllegalArgumentException  if {@code start}/{@code end} positions are negative, or if the arena
+	 *                                   uses the {@link Layout#COMPACT compact} layout and {@code end - start}
+	 *                                   does not fit in a signed 24-bit value
+	 */
+	@SuppressWarnings("unchecked")
+	public NodeIndex allocateCopy(NodeArena source, int node, int start, int end)
+	{
+		requireThat(source, "source").isNotNull();
+		NodeType type = source.getType(node);
+		NodeAttribute attribute = source.getAttribute(node);
+		NodeIndex index = allocateNode(type, start, end);
+		if (attribute != null)
+		{
+			// The source arena stored the attribute in the table of the same type
+			AttributeTable<NodeAttribute> table = (AttributeTable<NodeAttribute>) getAttributeTable(type);
+			table.add(index.index(), attribute);
+		}
 		return index;
 	}
 
@@ -404,9 +869,9 @@ public final class NodeArena implements AutoCloseable
 		validateIndex(index);
 		if (getType(index) != NodeType.IMPORT_DECLARATION)
 			throw new IllegalArgumentException("Expected IMPORT_DECLARATION but was " + getType(index));
-		NodeAttribute attribute = attributes.get(index);
-		if (attribute instanceof ImportAttribute importAttribute)
-			return importAttribute;
+		ImportAttribute attribute = importAttributes.get(index.index());
+		if (attribute != null)
+			return attribute;
 		throw new AssertionError("Import node at position " + getStart(index) +
 			" is missing ImportAttribute");
 	}
@@ -424,9 +889,9 @@ public final class NodeArena implements AutoCloseable
 		validateIndex(index);
 		if (getType(index) != NodeType.MODULE_IMPORT_DECLARATION)
 			throw new IllegalArgumentException("Expected MODULE_IMPORT_DECLARATION but was " + getType(index));
-		NodeAttribute attribute = attributes.get(index);
-		if (attribute instanceof ModuleImportAttribute moduleImportAttribute)
-			return moduleImportAttribute;
+		ModuleImportAttribute attribute = moduleImportAttributes.get(index.index());
+		if (attribute != null)
+			return attribute;
 		throw new AssertionError("Module import node at position " + getStart(index) +
 			" is missing ModuleImportAttribute");
 	}
@@ -444,9 +909,9 @@ public final class NodeArena implements AutoCloseable
 		validateIndex(index);
 		if (getType(index) != NodeType.PACKAGE_DECLARATION)
 			throw new IllegalArgumentException("Expected PACKAGE_DECLARATION but was " + getType(index));
-		NodeAttribute attribute = attributes.get(index);
-		if (attribute instanceof PackageAttribute packageAttribute)
-			return packageAttribute;
+		PackageAttribute attribute = packageAttributes.get(index.index());
+		if (attribute != null)
+			return attribute;
 		throw new AssertionError("Package node at position " + getStart(index) +
 			" is missing PackageAttribute");
 	}
@@ -465,9 +930,9 @@ public final class NodeArena implements AutoCloseable
 		NodeType type = getType(index);
 		if (!isTypeDeclaration(type))
 			throw new IllegalArgumentException("Expected type declaration but was " + type);
-		NodeAttribute attribute = attributes.get(index);
-		if (attribute instanceof TypeDeclarationAttribute typeDeclarationAttribute)
-			return typeDeclarationAttribute;
+		TypeDeclarationAttribute attribute = typeDeclarationAttributes.get(index.index());
+		if (attribute != null)
+			return attribute;
 		throw new AssertionError("Type declaration node at position " + getStart(index) +
 			" is missing TypeDeclarationAttribute");
 	}
@@ -485,13 +950,63 @@ public final class NodeArena implements AutoCloseable
 		validateIndex(index);
 		if (getType(index) != NodeType.PARAMETER_DECLARATION)
 			throw new IllegalArgumentException("Expected PARAMETER_DECLARATION but was " + getType(index));
-		NodeAttribute attribute = attributes.get(index);
-		if (attribute instanceof ParameterAttribute parameterAttribute)
-			return parameterAttribute;
+		ParameterAttribute attribute = parameterAttributes.get(index.index());
+		if (attribute != null)
+			return attribute;
 		throw new AssertionError("Parameter node at position " + getStart(index) +
 			" is missing ParameterAttribute");
 	}
 
+	/**
+	 * Returns the attribute of a node, whatever its kind.
+	 *
+	 * @param index the node index
+	 * @return the attribute, or {@code null} if the node does not have one
+	 * @throws NullPointerException     if {@code index} is null
+	 * @throws IllegalArgumentException if {@code index} is invalid
+	 */
+	public NodeAttribute getAttribute(NodeIndex index)
+	{
+		validateIndex(index);
+		return getAttribute(index.index());
+	}
+
+	/**
+	 * Returns the attribute of a node.
+	 *
+	 * @param node the index of the node
+	 * @return {@code null} if the node does not have an attribute
+	 */
+	private NodeAttribute getAttribute(int node)
+	{
+		AttributeTable<?> table = getAttributeTable(NODE_TYPES[readTypeOrdinal(node)]);
+		if (table == null)
+			return null;
+		return table.get(node);
+	}
+
+	/**
+	 * Returns the table that holds the attributes of a type of node.
+	 *
+	 * @param type the type of node
+	 * @return {@code null} if nodes of this type do not have attributes
+	 */
+	private AttributeTable<?> getAttributeTable(NodeType type)
+	{
+		return switch (type)
+		{
+			case IMPORT_DECLARATION -> importAttributes;
+			case MODULE_IMPORT_DECLARATION -> moduleImportAttributes;
+			case PACKAGE_DECLARATION -> packageAttributes;
+			case CLASS_DECLARATION, INTERFACE_DECLARATION, ENUM_DECLARATION, RECORD_DECLARATION,
+				ANNOTATION_DECLARATION -> typeDeclarationAttributes;
+			case PARAMETER_DECLARATION -> parameterAttributes;
+			case MODULE_DECLARATION, REQUIRES_DIRECTIVE, EXPORTS_DIRECTIVE, OPENS_DIRECTIVE, USES_DIRECTIVE,
+				PROVIDES_DIRECTIVE -> moduleAttributes;
+			default -> null;
+		};
+	}
+
 	/**
 	 * Checks if the given node type is a type declaration.
 	 *
@@ -510,18 +1025,94 @@ public final class NodeArena implements AutoCloseable
 	}
 
 	/**
-	 * Returns the memory offset for a node at the specified index.
-	 * Validates the index and calculates its byte offset in the memory segment.
-	 * Eliminates duplicate validation and offset calculation logic.
+	 * Returns the byte offset of a node within its page.
 	 *
-	 * @param index the node index
-	 * @return the byte offset of the node in the memory segment
-	 * @throws IllegalArgumentException if {@code index} is invalid
+	 * @param node the index of the node
+	 * @return the byte offset
 	 */
-	private long getNodeOffset(NodeIndex index)
+	private long getOffsetInPage(int node)
 	{
-		validateIndex(index);
-		return (long) index.index() * BYTES_PER_NODE;
+		return (long) (node & pageMask) * bytesPerNode;
+	}
+
+	/**
+	 * Reads one of the {@code int} fields of a node.
+	 *
+	 * @param node        the index of the node
+	 * @param fieldOffset the offset of the field within the node
+	 * @return the value of the field
+	 */
+	private int getField(int node, int fieldOffset)
+	{
+		return pages[node >>> pageShift].get(INT_LAYOUT, getOffsetInPage(node) + fieldOffset);
+	}
+
+	/**
+	 * Decodes the type ordinal of a node without validating its index.
+	 *
+	 * @param node the index of an allocated node
+	 * @return the {@link NodeType#ordinal() ordinal} of the node type
+	 */
+	private int readTypeOrdinal(int node)
+	{
+		if (layout == Layout.COMPACT)
+			return getField(node, COMPACT_TYPE_AND_LENGTH_OFFSET) >>> COMPACT_LENGTH_BITS;
+		return getField(node, TYPE_OFFSET);
+	}
+
+	/**
+	 * Decodes the start position of a node without validating its index.
+	 *
+	 * @param node the index of an allocated node
+	 * @return the start position in source code
+	 */
+	private int readStart(int node)
+	{
+		if (layout == Layout.COMPACT)
+			return getField(node, COMPACT_START_OFFSET);
+		return getField(node, START_OFFSET);
+	}
+
+	/**
+	 * Decodes the end position of a node without validating its index.
+	 *
+	 * @param node the index of an allocated node
+	 * @return the end position in source code
+	 */
+	private int readEnd(int node)
+	{
+		if (layout == Layout.COMPACT)
+		{
+			// Shift the length into the high bits and back to sign-extend it
+			int length = getField(node, COMPACT_TYPE_AND_LENGTH_OFFSET) << (Integer.SIZE - COMPACT_LENGTH_BITS) >>
+				(Integer.SIZE - COMPACT_LENGTH_BITS);
+			return getField(node, COMPACT_START_OFFSET) + length;
+		}
+		return getField(node, END_OFFSET);
+	}
+
+	/**
+	 * Reads a node's entry in one of the link columns.
+	 *
+	 * @param column the pages of the column
+	 * @param node   the index of the node
+	 * @return a node index or {@link #NO_NODE}
+	 */
+	private int getLink(int[][] column, int node)
+	{
+		return column[node >>> pageShift][node & pageMask];
+	}
+
+	/**
+	 * Updates a node's entry in one of the link columns.
+	 *
+	 * @param column the pages of the column
+	 * @param node   the index of the node
+	 * @param value  a node index or {@link #NO_NODE}
+	 */
+	private void setLink(int[][] column, int node, int value)
+	{
+		column[node >>> pageShift][node & pageMask] = value;
 	}
 
 	/**
@@ -533,9 +1124,8 @@ public final class NodeArena implements AutoCloseable
 	 */
 	public NodeType getType(NodeIndex index)
 	{
-		long offset = getNodeOffset(index);
-		int typeOrdinal = segment.get(INT_LAYOUT, offset + TYPE_OFFSET);
-		return NodeType.values()[typeOrdinal];
+		validateIndex(index);
+		return NODE_TYPES[readTypeOrdinal(index.index())];
 	}
 
 	/**
@@ -547,8 +1137,8 @@ public final class NodeArena implements AutoCloseable
 	 */
 	public int getStart(NodeIndex index)
 	{
-		long offset = getNodeOffset(index);
-		return segment.get(INT_LAYOUT, offset + START_OFFSET);
+		validateIndex(index);
+		return readStart(index.index());
 	}
 
 	/**
@@ -560,8 +1150,157 @@ public final class NodeArena implements AutoCloseable
 	 */
 	public int getEnd(NodeIndex index)
 	{
-		long offset = getNodeOffset(index);
-		return segment.get(INT_LAYOUT, offset + END_OFFSET);
+		validateIndex(index);
+		return readEnd(index.index());
+	}
+
+	/**
+	 * Returns the ordinal of the type of a node.
+	 * <p>
+	 * Unlike {@link #getType(NodeIndex)}, this method does not require a {@code NodeIndex} and does not allocate,
+	 * making it suitable for loops that visit every node.
+	 *
+	 * @param node the index of the node
+	 * @return the {@link NodeType#ordinal() ordinal} of the node type
+	 * @throws IndexOutOfBoundsException if {@code node} is negative or not less than {@link #getNodeCount()}
+	 */
+	public int getTypeOrdinal(int node)
+	{
+		return readTypeOrdinal(Objects.checkIndex(node, nodeCount));
+	}
+
+	/**
+	 * Returns the type of a node.
+	 * <p>
+	 * Unlike {@link #getType(NodeIndex)}, this method does not require a {@code NodeIndex} and does not allocate,
+	 * making it suitable for loops that visit every node.
+	 *
+	 * @param node the index of the node
+	 * @return the node type
+	 * @throws IndexOutOfBoundsException if {@code node} is negative or not less than {@link #getNodeCount()}
+	 */
+	public NodeType getType(int node)
+	{
+		return NODE_TYPES[getTypeOrdinal(node)];
+	}
+
+	/**
+	 * Returns the start position of a node.
+	 * <p>
+	 * Unlike {@link #getStart(NodeIndex)}, this method does not require a {@code NodeIndex} and does not
+	 * allocate, making it suitable for loops that visit every node.
+	 *
+	 * @param node the index of the node
+	 * @return the start position in source code
+	 * @throws IndexOutOfBoundsException if {@code node} is negative or not less than {@link #getNodeCount()}
+	 */
+	public int getStart(int node)
+	{
+		return readStart(Objects.checkIndex(node, nodeCount));
+	}
+
+	/**
+	 * Returns the end position of a node.
+	 * <p>
+	 * Unlike {@link #getEnd(NodeIndex)}, this method does not require a {@code NodeIndex} and does not
+	 * allocate, making it suitable for loops that visit every node.
+	 *
+	 * @param node the index of the node
+	 * @return the end position in source code
+	 * @throws IndexOutOfBoundsException if {@code node} is negative or not less than {@link #getNodeCount()}
+	 */
+	public int getEnd(int node)
+	{
+		return readEnd(Objects.checkIndex(node, nodeCount));
+	}
+
+	/**
+	 * Returns the parent of the node at the specified index.
+	 *
+	 * @param index the node index
+	 * @return the parent node, or {@code null} if the node is a root or its parent has not been allocated yet
+	 * @throws NullPointerException     if {@code index} is null
+	 * @throws IllegalArgumentException if {@code index} is invalid
+	 */
+	public NodeIndex getParent(NodeIndex index)
+	{
+		validateIndex(index);
+		return toNodeIndex(getLink(parentPages, index.index()));
+	}
+
+	/**
+	 * Returns the first child of the node at the specified index.
+	 *
+	 * @param index the node index
+	 * @return the first child in source order, or {@code null} if the node has no children
+	 * @throws NullPointerException     if {@code index} is null
+	 * @throws IllegalArgumentException if {@code index} is invalid
+	 */
+	public NodeIndex getFirstChild(NodeIndex index)
+	{
+		validateIndex(index);
+		return toNodeIndex(getLink(firstChildPages, index.index()));
+	}
+
+	/**
+	 * Returns the next sibling of the node at the specified index.
+	 *
+	 * @param index the node index
+	 * @return the sibling that follows the node in source order, or {@code null} if the node is the last child
+	 *         of its parent or has no parent
+	 * @throws NullPointerException     if {@code index} is null
+	 * @throws IllegalArgumentException if {@code index} is invalid
+	 */
+	public NodeIndex getNextSibling(NodeIndex index)
+	{
+		validateIndex(index);
+		return toNodeIndex(getLink(nextSiblingPages, index.index()));
+	}
+
+	/**
+	 * Returns the parent of a node without validating its index.
+	 *
+	 * @param node the index of an allocated node
+	 * @return the index of the parent, or {@link #NO_NODE} if it has none
+	 */
+	int getParentLink(int node)
+	{
+		return getLink(parentPages, node);
+	}
+
+	/**
+	 * Returns the first child of a node without validating its index.
+	 *
+	 * @param node the index of an allocated node
+	 * @return the index of the first child, or {@link #NO_NODE} if it has none
+	 */
+	int getFirstChildLink(int node)
+	{
+		return getLink(firstChildPages, node);
+	}
+
+	/**
+	 * Returns the next sibling of a node without validating its index.
+	 *
+	 * @param node the index of an allocated node
+	 * @return the index of the next sibling, or {@link #NO_NODE} if it has none
+	 */
+	int getNextSiblingLink(int node)
+	{
+		return getLink(nextSiblingPages, node);
+	}
+
+	/**
+	 * Converts a value from one of the link columns to a {@code NodeIndex}.
+	 *
+	 * @param link a node index or {@link #NO_NODE}
+	 * @return {@code null} if {@code link} is {@link #NO_NODE}
+	 */
+	private static NodeIndex toNodeIndex(int link)
+	{
+		if (link == NO_NODE)
+			return null;
+		return new NodeIndex(link);
 	}
 
 	/**
@@ -585,13 +1324,18 @@ public final class NodeArena implements AutoCloseable
 	}
 
 	/**
-	 * Calculates the memory used by this arena in bytes.
+	 * Calculates the memory used by this arena in bytes, including the structural link columns and the
+	 * per-type node lists.
 	 *
 	 * @return the memory usage in bytes
 	 */
 	public long getMemoryUsage()
 	{
-		return (long) capacity * BYTES_PER_NODE;
+		long typeIndexBytes = 0;
+		for (int[] nodes : nodesByType)
+			if (nodes != null)
+				typeIndexBytes += (long) nodes.length * Integer.BYTES;
+		return (long) capacity * (bytesPerNode + LINK_BYTES_PER_NODE) + typeIndexBytes;
 	}
 
 	/**
@@ -608,26 +1352,41 @@ public final class NodeArena implements AutoCloseable
 	}
 
 	/**
-	 * Grows the arena capacity by doubling it.
+	 * Grows the arena capacity by one page.
 	 *
-	 * @throws IllegalStateException if growth would exceed maximum capacity
+	 * @throws IllegalStateException if the arena is already at its maximum capacity
 	 */
 	private void grow()
 	{
-		int newCapacity = capacity * 2;
-
 		// SEC-011: Arena capacity limit to prevent unbounded memory growth
-		if (newCapacity > SecurityConfig.MAX_ARENA_CAPACITY)
+		if (capacity >= SecurityConfig.MAX_ARENA_CAPACITY)
 			throw new IllegalStateException(
 				"Arena capacity limit exceeded: cannot grow beyond " + SecurityConfig.MAX_ARENA_CAPACITY + " nodes");
+		addPage();
+	}
 
-		MemorySegment newSegment = arena.allocate(BYTES_PER_NODE * (long) newCapacity);
-
-		// Copy existing data
-		MemorySegment.copy(segment, 0, newSegment, 0, BYTES_PER_NODE * (long) nodeCount);
-
-		this.segment = newSegment;
-		this.capacity = newCapacity;
+	/**
+	 * Appends an empty page to every column. The page is truncated if a full page would exceed
+	 * {@link SecurityConfig#MAX_ARENA_CAPACITY}; the nodes that it omits are never addressed because they lie
+	 * beyond the capacity.
+	 */
+	private void addPage()
+	{
+		int length = Math.min(pageSize, SecurityConfig.MAX_ARENA_CAPACITY - capacity);
+		if (pageCount == pages.length)
+		{
+			int newLength = pageCount * 2;
+			pages = Arrays.copyOf(pages, newLength);
+			parentPages = Arrays.copyOf(parentPages, newLength);
+			firstChildPages = Arrays.copyOf(firstChildPages, newLength);
+			nextSiblingPages = Arrays.copyOf(nextSiblingPages, newLength);
+		}
+		pages[pageCount] = arena.allocate(bytesPerNode * (long) length);
+		parentPages[pageCount] = new int[length];
+		firstChildPages[pageCount] = new int[length];
+		nextSiblingPages[pageCount] = new int[length];
+		++pageCount;
+		capacity += length;
 	}
 
 	@Override
@@ -643,17 +1402,21 @@ public final class NodeArena implements AutoCloseable
 		// Compare all nodes by type, start, and end positions
 		for (int i = 0; i < nodeCount; ++i)
 		{
-			NodeIndex index = new NodeIndex(i);
-			if (getType(index) != other.getType(index))
+			if (readTypeOrdinal(i) != other.readTypeOrdinal(i))
 				return false;
-			if (getStart(index) != other.getStart(index))
+			if (readStart(i) != other.readStart(i))
 				return false;
-			if (getEnd(index) != other.getEnd(index))
+			if (readEnd(i) != other.readEnd(i))
 				return false;
 		}
 
 		// Compare attributes
-		return attributes.equals(other.attributes);
+		return importAttributes.equals(other.importAttributes) &&
+			moduleImportAttributes.equals(other.moduleImportAttributes) &&
+			packageAttributes.equals(other.packageAttributes) &&
+			typeDeclarationAttributes.equals(other.typeDeclarationAttributes) &&
+			parameterAttributes.equals(other.parameterAttributes) &&
+			moduleAttributes.equals(other.moduleAttributes);
 	}
 
 	@Override
@@ -662,12 +1425,16 @@ public final class NodeArena implements AutoCloseable
 		int result = nodeCount;
 		for (int i = 0; i < nodeCount; ++i)
 		{
-			NodeIndex index = new NodeIndex(i);
-			result = 31 * result + getType(index).hashCode();
-			result = 31 * result + getStart(index);
-			result = 31 * result + getEnd(index);
+			result = 31 * result + NODE_TYPES[readTypeOrdinal(i)].hashCode();
+			result = 31 * result + readStart(i);
+			result = 31 * result + readEnd(i);
 		}
-		result = 31 * result + attributes.hashCode();
+		result = 31 * result + importAttributes.hashCode();
+		result = 31 * result + moduleImportAttributes.hashCode();
+		result = 31 * result + packageAttributes.hashCode();
+		result = 31 * result + typeDeclarationAttributes.hashCode();
+		result = 31 * result + parameterAttributes.hashCode();
+		result = 31 * result + moduleAttributes.hashCode();
 		return result;
 	}
 
@@ -680,11 +1447,10 @@ public final class NodeArena implements AutoCloseable
 		{
 			if (i > 0)
 				sb.append(", ");
-			NodeIndex index = new NodeIndex(i);
-			sb.append(getType(index)).append('(').
-				append(getStart(index)).append(", ").
-				append(getEnd(index)).append(')');
-			NodeAttribute attr = attributes.get(index);
+			sb.append(NODE_TYPES[readTypeOrdinal(i)]).append('(').
+				append(readStart(i)).append(", ").
+				append(readEnd(i)).append(')');
+			NodeAttribute attr = getAttribute(i);
 			if (attr != null)
 				sb.append(" attr=").append(attr);
 		}
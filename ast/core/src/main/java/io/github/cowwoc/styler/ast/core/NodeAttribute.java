@@ -5,8 +5,8 @@ package io.github.cowwoc.styler.ast.core;
  * <p>
  * Attributes provide semantic information that is extracted during parsing, eliminating the need
  * for formatters to parse source code strings at runtime. Only a small fraction of nodes
- * (declarations) have attributes, so storage is sparse using a separate map rather than inline
- * storage in {@link NodeArena}.
+ * (declarations) have attributes, so {@link NodeArena} stores each kind of attribute in its own table
+ * keyed by node index rather than inline with every node.
  * <p>
  * <b>Thread-safety</b>: All implementations are immutable and thread-safe.
  */
@@ -0,0 +1,244 @@
+package io.github.cowwoc.styler.ast.core;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * A reusable cursor that walks the subtree of a {@link NodeArena} node.
+ * <p>
+ * The cursor navigates using the parent, first-child and next-sibling links that the arena maintains, so it
+ * needs neither recursion nor an explicit stack, and it allocates nothing per node. It can be moved manually
+ * ({@link #gotoFirstChild()}, {@link #gotoNextSibling()}, {@link #gotoParent()}) or drive a {@link Visitor}
+ * through a depth-first traversal with {@link #walk(Visitor)}, which reports every node in pre-order through
+ * {@link Visitor#enter(TreeCursor)} and in post-order through {@link Visitor#exit(TreeCursor)}.
+ * <p>
+ * Example:
+ * <pre>
+ * TreeCursor cursor = new TreeCursor(arena);
+ * cursor.reset(rootNode);
+ * cursor.walk(c -&gt;
+ * {
+ *     if (c.getType() == NodeType.STRING_LITERAL)
+ *         literals.add(c.getStart());
+ *     // Comments cannot contain other nodes of interest
+ *     return c.getType() != NodeType.BLOCK_COMMENT;
+ * });
+ * </pre>
+ * <p>
+ * <b>Thread-safety</b>: This class is not thread-safe.
+ */
+public final class TreeCursor
+{
+	private final NodeArena arena;
+	private int root;
+	private int node;
+	private int depth;
+
+	/**
+	 * Receives the nodes visited by {@link #walk(Visitor)}.
+	 */
+	@FunctionalInterface
+	public interface Visitor
+	{
+		/**
+		 * Invoked when the traversal reaches a node, before any of its children.
+		 *
+		 * @param cursor the cursor, positioned at the node. The visitor must not move it.
+		 * @return {@code true} to visit the node's children, {@code false} to skip its subtree
+		 */
+		boolean enter(TreeCursor cursor);
+
+		/**
+		 * Invoked when the traversal leaves a node, after all of its children (or immediately after
+		 * {@link #enter(TreeCursor)} if its subtree was skipped).
+		 *
+		 * @param cursor the cursor, positioned at the node. The visitor must not move it.
+		 */
+		default void exit(TreeCursor cursor)
+		{
+		}
+	}
+
+	/**
+	 * Creates a new cursor. The cursor must be {@link #reset(NodeIndex) reset} to a root node before use.
+	 *
+	 * @param arena the arena to traverse
+	 * @throws NullPointerException if {@code arena} is null
+	 */
+	public TreeCursor(NodeArena arena)
+	{
+		requireThat(arena, "arena").isNotNull();
+		this.arena = arena;
+		this.root = NodeArena.NO_NODE;
+		this.node = NodeArena.NO_NODE;
+	}
+
+	/**
+	 * Positions the cursor at the root of a subtree. The cursor does not move outside of this subtree.
+	 *
+	 * @param root the root of the subtree
+	 * @throws NullPointerException     if {@code root} is null
+	 * @throws IllegalArgumentException if {@code root} is not a node in the arena
+	 */
+	public void reset(NodeIndex root)
+	{
+		requireThat(root, "root").isNotNull();
+		requireThat(root.index(), "root.index()").isLessThan(arena.getNodeCount());
+		this.root = root.index();
+		this.node = this.root;
+		this.depth = 0;
+	}
+
+	/**
+	 * Returns the node that the cursor is positioned at.
+	 *
+	 * @return the index of the node
+	 * @throws IllegalStateException if the cursor has not been reset
+	 */
+	public int getNode()
+	{
+		ensurePositioned();
+		return node;
+	}
+
+	/**
+	 * Returns the type of the current node.
+	 *
+	 * @return the node type
+	 * @throws IllegalStateException if the cursor has not been reset
+	 */
+	public NodeType getType()
+	{
+		return arena.getType(getNode());
+	}
+
+	/**
+	 * Returns the start position of the current node.
+	 *
+	 * @return the start position in source code
+	 * @throws IllegalStateException if the cursor has not been reset
+	 */
+	public int getStart()
+	{
+		return arena.getStart(getNode());
+	}
+
+	/**
+	 * Returns the end position of the current node.
+	 *
+	 * @return the end position in source code
+	 * @throws IllegalStateException if the cursor has not been reset
+	 */
+	public int getEnd()
+	{
+		return arena.getEnd(getNode());
+	}
+
+	/**
+	 * Returns the depth of the current node relative to the root of the subtree.
+	 *
+	 * @return {@code 0} at the root
+	 */
+	public int getDepth()
+	{
+		return depth;
+	}
+
+	/**
+	 * Moves the cursor to the first child of the current node.
+	 *
+	 * @return {@code false} if the node has no children, in which case the cursor does not move
+	 * @throws IllegalStateException if the cursor has not been reset
+	 */
+	public boolean gotoFirstChild()
+	{
+		int child = arena.getFirstChildLink(getNode());
+		if (child == NodeArena.NO_NODE)
+			return false;
+		node = child;
+		++depth;
+		return true;
+	}
+
+	/**
+	 * Moves the cursor to the next sibling of the current node.
+	 *
+	 * @return {@code false} if the node is the last child of its parent or the root of the subtree, in which
+	 *         case the cursor does not move
+	 * @throws IllegalStateException if the cursor has not been reset
+	 */
+	public boolean gotoNextSibling()
+	{
+		if (getNode() == root)
+			return false;
+		int sibling = arena.getNextSiblingLink(node);
+		if (sibling == NodeArena.NO_NODE)
+			return false;
+		node = sibling;
+		return true;
+	}
+
+	/**
+	 * Moves the cursor to the parent of the current node.
+	 *
+	 * @return {@code false} if the node is the root of the subtree, in which case the cursor does not move
+	 * @throws IllegalStateException if the cursor has not been reset
+	 */
+	public boolean gotoParent()
+	{
+		if (getNode() == root)
+			return false;
+		node = arena.getParentLink(node);
+		--depth;
+		return true;
+	}
+
+	/**
+	 * Visits every node of the subtree in depth-first order, starting from the root.
+	 * <p>
+	 * The cursor is positioned at the root on return.
+	 *
+	 * @param visitor the visitor to notify
+	 * @throws NullPointerException  if {@code visitor} is null
+	 * @throws IllegalStateException if the cursor has not been reset
+	 */
+	public void walk(Visitor visitor)
+	{
+		requireThat(visitor, "visitor").isNotNull();
+		ensurePositioned();
+		node = root;
+		depth = 0;
+		while (true)
+		{
+			if (visitor.enter(this) && gotoFirstChild())
+				continue;
+			// Leave the node and every ancestor whose last child it is
+			while (true)
+			{
+				visitor.exit(this);
+				if (gotoNextSibling())
+					break;
+				if (!gotoParent())
+					return;
+			}
+		}
+	}
+
+	/**
+	 * Ensures that the cursor has been reset.
+	 *
+	 * @throws IllegalStateException if the cursor has not been reset
+	 */
+	private void ensurePositioned()
+	{
+		if (node == NodeArena.NO_NODE)
+			throw new IllegalStateException("The cursor must be reset before use");
+	}
+
+	@Override
+	public String toString()
+	{
+		if (node == NodeArena.NO_NODE)
+			return "TreeCursor[unpositioned]";
+		return "TreeCursor[node=" + node + ", type=" + arena.getType(node) + ", depth=" + depth + "]";
+	}
+}
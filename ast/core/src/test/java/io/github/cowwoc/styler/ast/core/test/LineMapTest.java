@@ -0,0 +1,87 @@
+package io.github.cowwoc.styler.ast.core.test;
+
+import io.github.cowwoc.styler.ast.core.LineMap;
+import org.testng.annotations.Test;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Tests for LineMap line and column lookups.
+ *
+ * <h2>Thread safety</h2>
+ * Thread-safe - all instances are created inside @Test methods.
+ */
+public class LineMapTest
+{
+	/**
+	 * Tests that every position maps to the same line and column as a linear scan.
+	 */
+	@Test
+	public void testLookupsMatchLinearScan()
+	{
+		String source = "a\n\nbc\r\ndef\n";
+		LineMap lineMap = LineMap.of(source);
+
+		int line = 1;
+		int column = 1;
+		for (int position = 0; position <= source.length(); ++position)
+		{
+			requireThat(lineMap.getLineNumber(position), "lineMap.getLineNumber(" + position + ")").
+				isEqualTo(line);
+			requireThat(lineMap.getColumnNumber(position), "lineMap.getColumnNumber(" + position + ")").
+				isEqualTo(column);
+			if (position < source.length() && source.charAt(position) == '\n')
+			{
+				++line;
+				column = 1;
+			}
+			else
+				++column;
+		}
+	}
+
+	/**
+	 * Tests that line starts are reported for every line, including the empty line after a trailing newline.
+	 */
+	@Test
+	public void testLineStarts()
+	{
+		LineMap lineMap = LineMap.of("ab\ncd\n");
+
+		requireThat(lineMap.getLineCount(), "lineMap.getLineCount()").isEqualTo(3);
+		requireThat(lineMap.getLineStart(1), "lineMap.getLineStart(1)").isEqualTo(0);
+		requireThat(lineMap.getLineStart(2), "lineMap.getLineStart(2)").isEqualTo(3);
+		requireThat(lineMap.getLineStart(3), "lineMap.getLineStart(3)").isEqualTo(6);
+	}
+
+	/**
+	 * Tests that empty source code has a single line.
+	 */
+	@Test
+	public void testEmptySource()
+	{
+		LineMap lineMap = LineMap.of("");
+
+		requireThat(lineMap.getLineCount(), "lineMap.getLineCount()").isEqualTo(1);
+		requireThat(lineMap.getLineNumber(0), "lineMap.getLineNumber(0)").isEqualTo(1);
+		requireThat(lineMap.getColumnNumber(0), "lineMap.getColumnNumber(0)").isEqualTo(1);
+	}
+
+	/**
+	 * Tests that positions beyond the end of the source code are rejected.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testPositionOutOfBounds()
+	{
+		LineMap.of("abc").getLineNumber(4);
+	}
+
+	/**
+	 * Tests that line starts must begin at offset zero.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testLineStartsMustBeginAtZero()
+	{
+		new LineMap(new int[]{1}, 5);
+	}
+}
@@ -4,6 +4,7 @@ import io.github.cowwoc.styler.ast.core.ImportAttribute;
 import io.github.cowwoc.styler.ast.core.NodeArena;
 import io.github.cowwoc.styler.ast.core.NodeIndex;
 import io.github.cowwoc.styler.ast.core.NodeType;
+import io.github.cowwoc.styler.ast.core.ParameterAttribute;
 import io.github.cowwoc.styler.ast.core.TypeDeclarationAttribute;
 import org.testng.annotations.Test;
 
@@ -143,4 +144,50 @@ public class NodeArenaAttributeTest
 			requireThat(retrieved.typeName(), "typeName").isEqualTo("MyClass");
 		}
 	}
+
+	/**
+	 * Verifies that attributes of different kinds interleaved with plain nodes are each found in their table.
+	 */
+	@Test
+	public void shouldRetrieveInterleavedAttributesOfDifferentKinds()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			NodeIndex[] imports = new NodeIndex[20];
+			NodeIndex[] parameters = new NodeIndex[20];
+			for (int i = 0; i < imports.length; ++i)
+			{
+				arena.allocateNode(NodeType.IDENTIFIER, i * 10, i * 10 + 1);
+				imports[i] = arena.allocateImportDeclaration(i * 10 + 2, i * 10 + 4,
+					new ImportAttribute("p.Type" + i, false));
+				parameters[i] = arena.allocateParameterDeclaration(i * 10 + 5, i * 10 + 9,
+					new ParameterAttribute("p" + i, false, false, false));
+			}
+
+			for (int i = 0; i < imports.length; ++i)
+			{
+				requireThat(arena.getImportAttribute(imports[i]).qualifiedName(), "qualifiedName").
+					isEqualTo("p.Type" + i);
+				requireThat(arena.getParameterAttribute(parameters[i]).name(), "name").isEqualTo("p" + i);
+			}
+		}
+	}
+
+	/**
+	 * Verifies that resetting an arena discards its attributes.
+	 */
+	@Test
+	public void shouldDiscardAttributesOnReset()
+	{
+		try (NodeArena arena = new NodeArena();
+			NodeArena expected = new NodeArena())
+		{
+			arena.allocateImportDeclaration(0, 25, new ImportAttribute("java.util.List", false));
+			arena.reset();
+			arena.allocateClassDeclaration(0, 50, new TypeDeclarationAttribute("MyClass"));
+			expected.allocateClassDeclaration(0, 50, new TypeDeclarationAttribute("MyClass"));
+
+			requireThat(arena, "arena").isEqualTo(expected);
+		}
+	}
 }
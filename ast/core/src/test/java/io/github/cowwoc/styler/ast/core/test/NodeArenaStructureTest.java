@@ -0,0 +1,177 @@
+package io.github.cowwoc.styler.ast.core.test;
+
+import io.github.cowwoc.styler.ast.core.ImportAttribute;
+import io.github.cowwoc.styler.ast.core.NodeArena;
+import io.github.cowwoc.styler.ast.core.NodeIndex;
+import io.github.cowwoc.styler.ast.core.NodeType;
+import org.testng.annotations.Test;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Tests for the parent, first-child and next-sibling links that NodeArena records as nodes are allocated.
+ *
+ * <h2>Thread safety</h2>
+ * Thread-safe - all instances are created inside @Test methods.
+ */
+public class NodeArenaStructureTest
+{
+	/**
+	 * Tests that a lone node has no parent, children or siblings.
+	 */
+	@Test
+	public void testLoneNodeHasNoLinks()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			NodeIndex node = arena.allocateNode(NodeType.IDENTIFIER, 0, 5);
+
+			requireThat(arena.getParent(node), "arena.getParent(node)").isNull();
+			requireThat(arena.getFirstChild(node), "arena.getFirstChild(node)").isNull();
+			requireThat(arena.getNextSibling(node), "arena.getNextSibling(node)").isNull();
+		}
+	}
+
+	/**
+	 * Tests that a node allocated after its children adopts them in source order.
+	 */
+	@Test
+	public void testParentAdoptsChildrenInSourceOrder()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			// a + b
+			NodeIndex left = arena.allocateNode(NodeType.IDENTIFIER, 0, 1);
+			NodeIndex right = arena.allocateNode(NodeType.IDENTIFIER, 4, 5);
+			NodeIndex binary = arena.allocateNode(NodeType.BINARY_EXPRESSION, 0, 5);
+
+			requireThat(arena.getParent(left), "arena.getParent(left)").isEqualTo(binary);
+			requireThat(arena.getParent(right), "arena.getParent(right)").isEqualTo(binary);
+			requireThat(arena.getFirstChild(binary), "arena.getFirstChild(binary)").isEqualTo(left);
+			requireThat(arena.getNextSibling(left), "arena.getNextSibling(left)").isEqualTo(right);
+			requireThat(arena.getNextSibling(right), "arena.getNextSibling(right)").isNull();
+			requireThat(arena.getParent(binary), "arena.getParent(binary)").isNull();
+		}
+	}
+
+	/**
+	 * Tests that nodes outside the range of a newly allocated node are not adopted by it.
+	 */
+	@Test
+	public void testNodeOutsideRangeIsNotAdopted()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			NodeIndex comment = arena.allocateNode(NodeType.LINE_COMMENT, 0, 10);
+			NodeIndex name = arena.allocateNode(NodeType.IDENTIFIER, 15, 20);
+			NodeIndex field = arena.allocateNode(NodeType.FIELD_DECLARATION, 11, 21);
+
+			requireThat(arena.getParent(comment), "arena.getParent(comment)").isNull();
+			requireThat(arena.getParent(name), "arena.getParent(name)").isEqualTo(field);
+			requireThat(arena.getFirstChild(field), "arena.getFirstChild(field)").isEqualTo(name);
+
+			NodeIndex root = arena.allocateNode(NodeType.COMPILATION_UNIT, 0, 21);
+			requireThat(arena.getParent(comment), "arena.getParent(comment)").isEqualTo(root);
+			requireThat(arena.getParent(field), "arena.getParent(field)").isEqualTo(root);
+			requireThat(arena.getFirstChild(root), "arena.getFirstChild(root)").isEqualTo(comment);
+			requireThat(arena.getNextSibling(comment), "arena.getNextSibling(comment)").isEqualTo(field);
+		}
+	}
+
+	/**
+	 * Tests that links survive arena growth.
+	 */
+	@Test
+	public void testLinksSurviveGrowth()
+	{
+		try (NodeArena arena = new NodeArena(2))
+		{
+			NodeIndex first = arena.allocateNode(NodeType.IDENTIFIER, 0, 1);
+			NodeIndex second = arena.allocateNode(NodeType.IDENTIFIER, 2, 3);
+			NodeIndex third = arena.allocateNode(NodeType.IDENTIFIER, 4, 5);
+			NodeIndex parent = arena.allocateNode(NodeType.BLOCK, 0, 5);
+
+			requireThat(arena.getCapacity(), "arena.getCapacity()").isGreaterThan(2);
+			requireThat(arena.getFirstChild(parent), "arena.getFirstChild(parent)").isEqualTo(first);
+			requireThat(arena.getNextSibling(first), "arena.getNextSibling(first)").isEqualTo(second);
+			requireThat(arena.getNextSibling(second), "arena.getNextSibling(second)").isEqualTo(third);
+			requireThat(arena.getParent(third), "arena.getParent(third)").isEqualTo(parent);
+		}
+	}
+
+	/**
+	 * Tests that link accessors reject indices that have not been allocated.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testInvalidIndexRejected()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			arena.allocateNode(NodeType.IDENTIFIER, 0, 1);
+			arena.getParent(new NodeIndex(1));
+		}
+	}
+	/**
+	 * Tests that rolling back discards the nodes, attributes and per-type entries allocated after the mark.
+	 */
+	@Test
+	public void testRollbackDiscardsNewerNodes()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			arena.allocateNode(NodeType.IDENTIFIER, 0, 1);
+			int mark = arena.mark();
+			arena.allocateNode(NodeType.IDENTIFIER, 2, 3);
+			arena.allocateImportDeclaration(0, 3, new ImportAttribute("a.b", false));
+			arena.rollback(mark);
+
+			requireThat(arena.getNodeCount(), "arena.getNodeCount()").isEqualTo(1);
+			requireThat(arena.getNodeCount(NodeType.IDENTIFIER), "arena.getNodeCount(IDENTIFIER)").isEqualTo(1);
+			requireThat(arena.getNodeCount(NodeType.IMPORT_DECLARATION), "arena.getNodeCount(IMPORT_DECLARATION)").
+				isEqualTo(0);
+
+			// Reallocating the same index must not resurrect the discarded attribute
+			NodeIndex node = arena.allocateNode(NodeType.IMPORT_DECLARATION, 0, 3);
+			requireThat(arena.getAttribute(node), "arena.getAttribute(node)").isNull();
+		}
+	}
+
+	/**
+	 * Tests that older nodes adopted by a discarded node become parentless again and can be adopted by the
+	 * node that replaces it.
+	 */
+	@Test
+	public void testRollbackRestoresAdoptedNodes()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			// a + b, first speculatively parsed as a cast and then as a binary expression
+			NodeIndex left = arena.allocateNode(NodeType.IDENTIFIER, 0, 1);
+			int mark = arena.mark();
+			arena.allocateNode(NodeType.IDENTIFIER, 4, 5);
+			arena.allocateNode(NodeType.CAST_EXPRESSION, 0, 5);
+			arena.rollback(mark);
+
+			requireThat(arena.getParent(left), "arena.getParent(left)").isNull();
+			requireThat(arena.getNextSibling(left), "arena.getNextSibling(left)").isNull();
+
+			NodeIndex right = arena.allocateNode(NodeType.IDENTIFIER, 4, 5);
+			NodeIndex binary = arena.allocateNode(NodeType.BINARY_EXPRESSION, 0, 5);
+			requireThat(arena.getParent(left), "arena.getParent(left)").isEqualTo(binary);
+			requireThat(arena.getFirstChild(binary), "arena.getFirstChild(binary)").isEqualTo(left);
+			requireThat(arena.getNextSibling(left), "arena.getNextSibling(left)").isEqualTo(right);
+		}
+	}
+
+	/**
+	 * Tests that a mark beyond the end of the arena is rejected.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testRollbackRejectsFutureMark()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			arena.rollback(1);
+		}
+	}
+}
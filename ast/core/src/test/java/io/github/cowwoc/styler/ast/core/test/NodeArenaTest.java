@@ -3,8 +3,11 @@ package io.github.cowwoc.styler.ast.core.test;
 import io.github.cowwoc.styler.ast.core.NodeArena;
 import io.github.cowwoc.styler.ast.core.NodeIndex;
 import io.github.cowwoc.styler.ast.core.NodeType;
+import io.github.cowwoc.styler.ast.core.SecurityConfig;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 
 import static org.testng.Assert.assertThrows;
@@ -33,14 +36,14 @@ public class NodeArenaTest
 	}
 
 	/**
-	 * Tests that NodeArena can be constructed with a custom capacity.
+	 * Tests that NodeArena can be constructed with a custom capacity, rounded up to a power of two.
 	 */
 	@Test
 	public void testCustomCapacity()
 	{
 		try (NodeArena arena = new NodeArena(100))
 		{
-			requireThat(arena.getCapacity(), "arena.getCapacity()").isEqualTo(100);
+			requireThat(arena.getCapacity(), "arena.getCapacity()").isEqualTo(128);
 			requireThat(arena.getNodeCount(), "arena.getNodeCount()").isEqualTo(0);
 		}
 	}
@@ -149,7 +152,7 @@ public class NodeArenaTest
 	}
 
 	/**
-	 * Tests that arena capacity doubles when exceeding initial capacity.
+	 * Tests that arena capacity grows by one page of the initial capacity at a time.
 	 */
 	@Test
 	public void testArenaGrowth()
@@ -166,6 +169,45 @@ public class NodeArenaTest
 			arena.allocateNode(NodeType.INTEGER_LITERAL, 4, 5);
 			requireThat(arena.getCapacity(), "arena.getCapacity()").isEqualTo(4);
 			requireThat(arena.getNodeCount(), "arena.getNodeCount()").isEqualTo(3);
+
+			arena.allocateNode(NodeType.INTEGER_LITERAL, 6, 7);
+			arena.allocateNode(NodeType.INTEGER_LITERAL, 8, 9);
+			requireThat(arena.getCapacity(), "arena.getCapacity()").isEqualTo(6);
+		}
+	}
+
+	/**
+	 * Tests that an initial capacity at the limit is not rounded up past it.
+	 */
+	@Test
+	public void testInitialCapacityAtLimit()
+	{
+		try (NodeArena arena = new NodeArena(SecurityConfig.MAX_ARENA_CAPACITY))
+		{
+			requireThat(arena.getCapacity(), "arena.getCapacity()").isEqualTo(SecurityConfig.MAX_ARENA_CAPACITY);
+		}
+		assertThrows(IllegalArgumentException.class, () -> new NodeArena(SecurityConfig.MAX_ARENA_CAPACITY + 1));
+	}
+
+	/**
+	 * Tests that an arena can hold exactly {@code MAX_ARENA_CAPACITY} nodes regardless of how its initial
+	 * capacity is rounded.
+	 */
+	@Test
+	public void testArenaGrowsToLimit()
+	{
+		int[] initialCapacities = {1, 50_001, 65_536, 65_537, SecurityConfig.MAX_ARENA_CAPACITY};
+		for (int initialCapacity : initialCapacities)
+		{
+			try (NodeArena arena = new NodeArena(initialCapacity))
+			{
+				for (int i = 0; i < SecurityConfig.MAX_ARENA_CAPACITY; ++i)
+					arena.allocateNode(NodeType.INTEGER_LITERAL, i, i + 1);
+				requireThat(arena.getCapacity(), "arena.getCapacity()").isEqualTo(SecurityConfig.MAX_ARENA_CAPACITY);
+				requireThat(arena.getStart(new NodeIndex(SecurityConfig.MAX_ARENA_CAPACITY - 1)), "lastStart").
+					isEqualTo(SecurityConfig.MAX_ARENA_CAPACITY - 1);
+				assertThrows(IllegalStateException.class, () -> arena.allocateNode(NodeType.INTEGER_LITERAL, 0, 1));
+			}
 		}
 	}
 
@@ -204,10 +246,61 @@ public class NodeArenaTest
 	@Test
 	public void testMemoryUsage()
 	{
-		try (NodeArena arena = new NodeArena(100))
+		try (NodeArena arena = new NodeArena(128))
+		{
+			// 128 nodes * (12 bytes of node data + 12 bytes of structural links) = 3072 bytes
+			requireThat(arena.getMemoryUsage(), "arena.getMemoryUsage()").isEqualTo(3072);
+		}
+	}
+
+	/**
+	 * Tests that the compact layout uses 8 bytes of node data per node.
+	 */
+	@Test
+	public void testCompactMemoryUsage()
+	{
+		try (NodeArena arena = new NodeArena(128, NodeArena.Layout.COMPACT))
 		{
-			// 100 nodes * 12 bytes per node = 1200 bytes
-			requireThat(arena.getMemoryUsage(), "arena.getMemoryUsage()").isEqualTo(1200);
+			// 128 nodes * (8 bytes of node data + 12 bytes of structural links) = 2560 bytes
+			requireThat(arena.getMemoryUsage(), "arena.getMemoryUsage()").isEqualTo(2560);
+		}
+	}
+
+	/**
+	 * Tests that the compact layout decodes the same values, including inverted ranges, as the wide layout.
+	 */
+	@Test
+	public void testCompactLayoutMatchesWide()
+	{
+		try (NodeArena wide = new NodeArena(4);
+			NodeArena compact = new NodeArena(4, NodeArena.Layout.COMPACT))
+		{
+			for (NodeArena arena : List.of(wide, compact))
+			{
+				arena.allocateNode(NodeType.IDENTIFIER, 5, 3);
+				arena.allocateNode(NodeType.STRING_LITERAL, 1_000_000, 1_000_000);
+				arena.allocateNode(NodeType.COMPILATION_UNIT, 0, 8_000_000);
+				arena.allocateNode(NodeType.values()[NodeType.values().length - 1], 7, 9);
+			}
+			requireThat(compact, "compact").isEqualTo(wide);
+			for (int node = 0; node < wide.getNodeCount(); ++node)
+			{
+				requireThat(compact.getType(node), "compact.getType(" + node + ")").isEqualTo(wide.getType(node));
+				requireThat(compact.getStart(node), "compact.getStart(" + node + ")").isEqualTo(wide.getStart(node));
+				requireThat(compact.getEnd(node), "compact.getEnd(" + node + ")").isEqualTo(wide.getEnd(node));
+			}
+		}
+	}
+
+	/**
+	 * Tests that the compact layout rejects nodes whose length does not fit in 24 bits.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testCompactLayoutRejectsLongNodes()
+	{
+		try (NodeArena arena = new NodeArena(NodeArena.Layout.COMPACT))
+		{
+			arena.allocateNode(NodeType.COMPILATION_UNIT, 0, 1 << 23);
 		}
 	}
 
@@ -278,4 +371,141 @@ public class NodeArenaTest
 			arena.allocateNode(null, 0, 5);
 		}
 	}
+
+	/**
+	 * Tests that reset removes all nodes but retains the grown capacity.
+	 */
+	@Test
+	public void testResetRetainsCapacity()
+	{
+		try (NodeArena arena = new NodeArena(2))
+		{
+			for (int i = 0; i < 5; ++i)
+				arena.allocateNode(NodeType.INTEGER_LITERAL, i, i + 1);
+			int capacity = arena.getCapacity();
+
+			arena.reset();
+			requireThat(arena.getNodeCount(), "arena.getNodeCount()").isEqualTo(0);
+			requireThat(arena.getCapacity(), "arena.getCapacity()").isEqualTo(capacity);
+		}
+	}
+
+	/**
+	 * Tests that a reset arena builds the same tree as a new arena.
+	 */
+	@Test
+	public void testResetArenaMatchesNewArena()
+	{
+		try (NodeArena reused = new NodeArena();
+			NodeArena fresh = new NodeArena())
+		{
+			reused.allocateNode(NodeType.IDENTIFIER, 0, 3);
+			reused.allocateNode(NodeType.BLOCK, 0, 10);
+			reused.reset();
+
+			NodeIndex child = reused.allocateNode(NodeType.INTEGER_LITERAL, 2, 3);
+			NodeIndex parent = reused.allocateNode(NodeType.BINARY_EXPRESSION, 0, 5);
+			fresh.allocateNode(NodeType.INTEGER_LITERAL, 2, 3);
+			fresh.allocateNode(NodeType.BINARY_EXPRESSION, 0, 5);
+
+			requireThat(reused, "reused").isEqualTo(fresh);
+			requireThat(reused.getParent(child), "reused.getParent(child)").isEqualTo(parent);
+			requireThat(reused.getParent(parent), "reused.getParent(parent)").isNull();
+		}
+	}
+
+	/**
+	 * Tests that a shared arena may be used by a thread other than the one that created it.
+	 */
+	@Test
+	public void testSharedArenaAccessibleFromOtherThread() throws InterruptedException
+	{
+		try (NodeArena arena = NodeArena.ofShared())
+		{
+			Thread thread = Thread.ofVirtual().start(() -> arena.allocateNode(NodeType.IDENTIFIER, 0, 1));
+			thread.join();
+			requireThat(arena.getNodeCount(), "arena.getNodeCount()").isEqualTo(1);
+		}
+	}
+
+	/**
+	 * Tests that parent and child links survive across page boundaries.
+	 */
+	@Test
+	public void testLinksAcrossPages()
+	{
+		try (NodeArena arena = new NodeArena(2))
+		{
+			NodeIndex[] children = new NodeIndex[5];
+			for (int i = 0; i < children.length; ++i)
+				children[i] = arena.allocateNode(NodeType.INTEGER_LITERAL, i * 2, i * 2 + 1);
+			NodeIndex parent = arena.allocateNode(NodeType.BLOCK, 0, 10);
+
+			requireThat(arena.getFirstChild(parent), "arena.getFirstChild(parent)").isEqualTo(children[0]);
+			for (int i = 0; i < children.length; ++i)
+			{
+				requireThat(arena.getParent(children[i]), "arena.getParent(children[" + i + "])").
+					isEqualTo(parent);
+				requireThat(arena.getStart(children[i]), "arena.getStart(children[" + i + "])").isEqualTo(i * 2);
+			}
+			requireThat(arena.getNextSibling(children[4]), "arena.getNextSibling(children[4])").isNull();
+		}
+	}
+
+	/**
+	 * Tests that the int-based accessors agree with the {@code NodeIndex} accessors.
+	 */
+	@Test
+	public void testIntAccessorsMatchNodeIndexAccessors()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			NodeIndex node = arena.allocateNode(NodeType.METHOD_INVOCATION, 7, 42);
+			int index = node.index();
+
+			requireThat(arena.getType(index), "arena.getType(index)").isEqualTo(arena.getType(node));
+			requireThat(arena.getTypeOrdinal(index), "arena.getTypeOrdinal(index)").
+				isEqualTo(NodeType.METHOD_INVOCATION.ordinal());
+			requireThat(arena.getStart(index), "arena.getStart(index)").isEqualTo(arena.getStart(node));
+			requireThat(arena.getEnd(index), "arena.getEnd(index)").isEqualTo(arena.getEnd(node));
+		}
+	}
+
+	/**
+	 * Tests that the int-based accessors reject indexes of nodes that have not been allocated.
+	 */
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void testIntAccessorOutOfBounds()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			arena.allocateNode(NodeType.IDENTIFIER, 0, 1);
+			arena.getStart(1);
+		}
+	}
+
+	/**
+	 * Tests that nodes are listed by type in allocation order and that reset clears the lists.
+	 */
+	@Test
+	public void testNodesByType()
+	{
+		try (NodeArena arena = new NodeArena(2))
+		{
+			for (int i = 0; i < 20; ++i)
+			{
+				arena.allocateNode(NodeType.IDENTIFIER, i * 4, i * 4 + 1);
+				arena.allocateNode(NodeType.INTEGER_LITERAL, i * 4 + 2, i * 4 + 3);
+			}
+			int[] literals = arena.getNodesByType(NodeType.INTEGER_LITERAL);
+			requireThat(literals.length, "literals.length").isEqualTo(20);
+			for (int i = 0; i < literals.length; ++i)
+				requireThat(literals[i], "literals[" + i + "]").isEqualTo(i * 2 + 1);
+			requireThat(arena.getNodeCount(NodeType.IDENTIFIER), "identifierCount").isEqualTo(20);
+			requireThat(arena.getNodesByType(NodeType.BLOCK).length, "blockCount").isEqualTo(0);
+
+			arena.reset();
+			requireThat(arena.getNodeCount(NodeType.IDENTIFIER), "identifierCount").isEqualTo(0);
+		}
+	}
 }
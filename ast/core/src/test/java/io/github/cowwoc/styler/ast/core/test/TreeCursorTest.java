@@ -0,0 +1,130 @@
+package io.github.cowwoc.styler.ast.core.test;
+
+import io.github.cowwoc.styler.ast.core.NodeArena;
+import io.github.cowwoc.styler.ast.core.NodeIndex;
+import io.github.cowwoc.styler.ast.core.NodeType;
+import io.github.cowwoc.styler.ast.core.TreeCursor;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Tests for TreeCursor.
+ * <p>
+ * <b>Thread-safety</b>: Thread-safe - all instances are created inside {@code @Test} methods.
+ */
+public class TreeCursorTest
+{
+	/**
+	 * Allocates {@code BLOCK(BINARY_EXPRESSION(INTEGER_LITERAL, IDENTIFIER), IDENTIFIER)} in post-order.
+	 *
+	 * @param arena the arena to allocate the nodes in
+	 * @return the root node
+	 */
+	private static NodeIndex allocateTree(NodeArena arena)
+	{
+		arena.allocateNode(NodeType.INTEGER_LITERAL, 2, 3);
+		arena.allocateNode(NodeType.IDENTIFIER, 4, 5);
+		arena.allocateNode(NodeType.BINARY_EXPRESSION, 2, 5);
+		arena.allocateNode(NodeType.IDENTIFIER, 8, 9);
+		return arena.allocateNode(NodeType.BLOCK, 0, 10);
+	}
+
+	/**
+	 * Verifies that enter is invoked in pre-order and exit in post-order.
+	 */
+	@Test
+	public void walkVisitsPreOrderAndPostOrder()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			NodeIndex root = allocateTree(arena);
+			List<Integer> entered = new ArrayList<>();
+			List<Integer> exited = new ArrayList<>();
+			TreeCursor cursor = new TreeCursor(arena);
+			cursor.reset(root);
+			cursor.walk(new TreeCursor.Visitor()
+			{
+				@Override
+				public boolean enter(TreeCursor c)
+				{
+					entered.add(c.getNode());
+					return true;
+				}
+
+				@Override
+				public void exit(TreeCursor c)
+				{
+					exited.add(c.getNode());
+				}
+			});
+
+			requireThat(entered, "entered").isEqualTo(List.of(4, 2, 0, 1, 3));
+			requireThat(exited, "exited").isEqualTo(List.of(0, 1, 2, 3, 4));
+			requireThat(cursor.getNode(), "cursor.getNode()").isEqualTo(root.index());
+		}
+	}
+
+	/**
+	 * Verifies that returning {@code false} from enter skips the node's subtree.
+	 */
+	@Test
+	public void walkSkipsSubtree()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			NodeIndex root = allocateTree(arena);
+			List<NodeType> entered = new ArrayList<>();
+			TreeCursor cursor = new TreeCursor(arena);
+			cursor.reset(root);
+			cursor.walk(c ->
+			{
+				entered.add(c.getType());
+				return c.getType() != NodeType.BINARY_EXPRESSION;
+			});
+
+			requireThat(entered, "entered").isEqualTo(List.of(NodeType.BLOCK, NodeType.BINARY_EXPRESSION,
+				NodeType.IDENTIFIER));
+		}
+	}
+
+	/**
+	 * Verifies that the cursor can be moved manually and does not leave the subtree it was reset to.
+	 */
+	@Test
+	public void manualNavigationStaysInSubtree()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			allocateTree(arena);
+			TreeCursor cursor = new TreeCursor(arena);
+			cursor.reset(new NodeIndex(2));
+
+			requireThat(cursor.gotoNextSibling(), "gotoNextSibling()").isFalse();
+			requireThat(cursor.gotoParent(), "gotoParent()").isFalse();
+			requireThat(cursor.gotoFirstChild(), "gotoFirstChild()").isTrue();
+			requireThat(cursor.getType(), "cursor.getType()").isEqualTo(NodeType.INTEGER_LITERAL);
+			requireThat(cursor.getDepth(), "cursor.getDepth()").isEqualTo(1);
+			requireThat(cursor.gotoNextSibling(), "gotoNextSibling()").isTrue();
+			requireThat(cursor.getStart(), "cursor.getStart()").isEqualTo(4);
+			requireThat(cursor.gotoNextSibling(), "gotoNextSibling()").isFalse();
+			requireThat(cursor.gotoParent(), "gotoParent()").isTrue();
+			requireThat(cursor.getNode(), "cursor.getNode()").isEqualTo(2);
+		}
+	}
+
+	/**
+	 * Verifies that a cursor cannot be used before it is reset.
+	 */
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void unpositionedCursor()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			new TreeCursor(arena).getNode();
+		}
+	}
+}
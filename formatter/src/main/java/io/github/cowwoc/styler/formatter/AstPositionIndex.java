@@ -5,26 +5,39 @@ import io.github.cowwoc.styler.ast.core.NodeIndex;
 import io.github.cowwoc.styler.ast.core.NodeType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 
 /**
  * Spatial index for efficient position-to-node lookup in AST.
  * <p>
- * This class builds a sorted index of AST node intervals during construction to enable efficient
+ * This class builds an augmented interval tree of AST node intervals during construction to enable efficient
  * position-to-node lookup. The index maps character positions in source code to their enclosing
  * AST nodes.
  * <p>
+ * The intervals are stored in parallel arrays sorted by start position (then by size). The sorted array is
+ * treated as an implicit balanced binary search tree: the root of any range {@code [low, high)} is the element
+ * at its midpoint, and {@code maxEnd} records the largest end position within the subtree rooted at each
+ * element. A stabbing query descends only into subtrees whose {@code maxEnd} lies beyond the queried position
+ * and whose start positions precede it.
+ * <p>
  * <b>Performance Characteristics</b>:
  * <ul>
  *   <li>Construction: O(n log n) where n = node count</li>
- *   <li>{@link #findEnclosingNode(int)}: O(n) linear scan to find smallest enclosing node</li>
- *   <li>{@link #findNodesByType(NodeType)}: O(n) linear scan</li>
- *   <li>{@link #getDepth(int)}: O(n) to count indentation-producing ancestors</li>
- *   <li>Memory overhead: ~32 bytes per node</li>
+ *   <li>{@link #findEnclosingNode(int)}: O(log n + k) where k = number of enclosing nodes</li>
+ *   <li>{@link #findAllEnclosingNodes(int)}: O(log n + k log k)</li>
+ *   <li>{@link #findNodesByType(NodeType)}: O(m) where m = number of matches, using the per-type node lists of
+ *   the arena</li>
+ *   <li>{@link #getDepth(int)}: O(log n + k)</li>
+ *   <li>{@link #getLineDepths(String)}: O(n log n + L) where L = source code length</li>
+ *   <li>Memory overhead: ~20 bytes per node (four {@code int} arrays and one array of {@code NodeType}
+ *   references)</li>
  * </ul>
  * <p>
  * <b>Thread-safety</b>: This class is thread-safe. All state is established during construction
@@ -32,9 +45,34 @@ import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.require
  */
 public final class AstPositionIndex
 {
+	/**
+	 * The types of nodes whose contents are text (string and character literals) or comments.
+	 */
+	private static final List<NodeType> TEXT_AND_COMMENT_TYPES = List.of(NodeType.STRING_LITERAL,
+		NodeType.CHAR_LITERAL, NodeType.LINE_COMMENT, NodeType.MARKDOWN_DOC_COMMENT, NodeType.BLOCK_COMMENT,
+		NodeType.JAVADOC_COMMENT);
 	private final NodeArena arena;
 	private final int sourceCodeLength;
-	private final List<NodeInterval> spatialIndex;
+	/**
+	 * The node indexes, sorted by start position, then by size, then by node index.
+	 */
+	private final int[] nodes;
+	/**
+	 * The start position of each node in {@link #nodes}.
+	 */
+	private final int[] starts;
+	/**
+	 * The end position of each node in {@link #nodes}.
+	 */
+	private final int[] ends;
+	/**
+	 * The type of each node in {@link #nodes}.
+	 */
+	private final NodeType[] types;
+	/**
+	 * The largest end position in the implicit subtree rooted at each element.
+	 */
+	private final int[] maxEnds;
 
 	/**
 	 * Creates a position index for the given arena.
@@ -51,31 +89,84 @@ public final class AstPositionIndex
 		requireThat(sourceCodeLength, "sourceCodeLength").isNotNegative();
 		this.arena = arena;
 		this.sourceCodeLength = sourceCodeLength;
-		this.spatialIndex = buildSpatialIndex();
+
+		List<NodeInterval> intervals = buildSortedIntervals();
+		int size = intervals.size();
+		this.nodes = new int[size];
+		this.starts = new int[size];
+		this.ends = new int[size];
+		this.types = new NodeType[size];
+		this.maxEnds = new int[size];
+		for (int i = 0; i < size; ++i)
+		{
+			NodeInterval interval = intervals.get(i);
+			nodes[i] = interval.node;
+			starts[i] = interval.start;
+			ends[i] = interval.end;
+			types[i] = arena.getType(interval.node);
+		}
+		computeMaxEnds(0, size);
 	}
 
 	/**
-	 * Builds spatial index from flat NodeArena storage.
-	 * Creates a sorted list of node intervals for lookup.
+	 * Builds a sorted list of node intervals from flat NodeArena storage.
 	 *
-	 * @return immutable sorted list of node intervals
+	 * @return the node intervals, sorted by start position and then by size
 	 */
-	private List<NodeInterval> buildSpatialIndex()
+	private List<NodeInterval> buildSortedIntervals()
 	{
-		List<NodeInterval> intervals = new ArrayList<>();
 		int nodeCount = arena.getNodeCount();
+		List<NodeInterval> intervals = new ArrayList<>(nodeCount);
 
 		for (int i = 0; i < nodeCount; ++i)
-		{
-			NodeIndex node = new NodeIndex(i);
-			int start = arena.getStart(node);
-			int end = arena.getEnd(node);
-			intervals.add(new NodeInterval(node, start, end));
-		}
+			intervals.add(new NodeInterval(i, arena.getStart(i), arena.getEnd(i)));
 
 		// Sort by start position, then by size (smaller intervals first for nested contexts)
 		Collections.sort(intervals);
-		return List.copyOf(intervals);
+		return intervals;
+	}
+
+	/**
+	 * Populates {@link #maxEnds} for the implicit subtree spanning {@code [low, high)}.
+	 *
+	 * @param low  the first element of the subtree (inclusive)
+	 * @param high the last element of the subtree (exclusive)
+	 * @return the largest end position in the subtree, or {@code -1} if the subtree is empty
+	 */
+	private int computeMaxEnds(int low, int high)
+	{
+		if (low >= high)
+			return -1;
+		int middle = (low + high) >>> 1;
+		int maxEnd = Math.max(ends[middle], Math.max(computeMaxEnds(low, middle),
+			computeMaxEnds(middle + 1, high)));
+		maxEnds[middle] = maxEnd;
+		return maxEnd;
+	}
+
+	/**
+	 * Visits every element whose interval contains a position, in sorted order.
+	 *
+	 * @param low      the first element of the subtree (inclusive)
+	 * @param high     the last element of the subtree (exclusive)
+	 * @param position the character offset to look up
+	 * @param visitor  receives the array offset of each enclosing element
+	 */
+	private void visitEnclosing(int low, int high, int position, IntConsumer visitor)
+	{
+		if (low >= high)
+			return;
+		int middle = (low + high) >>> 1;
+		// No interval in this subtree extends past the position
+		if (maxEnds[middle] <= position)
+			return;
+		visitEnclosing(low, middle, position, visitor);
+		// Elements to the right start at or after this one
+		if (starts[middle] > position)
+			return;
+		if (position < ends[middle])
+			visitor.accept(middle);
+		visitEnclosing(middle + 1, high, position, visitor);
 	}
 
 	/**
@@ -89,22 +180,17 @@ public final class AstPositionIndex
 	{
 		requireThat(position, "position").isNotNegative();
 
-		NodeIndex smallest = null;
-		int smallestSize = Integer.MAX_VALUE;
-
-		// Linear search: check all intervals, track smallest that contains position
-		for (NodeInterval interval : spatialIndex)
-			if (interval.start <= position && position < interval.end)
-			{
-				int size = interval.end - interval.start;
-				if (size < smallestSize)
-				{
-					smallest = interval.node;
-					smallestSize = size;
-				}
-			}
-
-		return smallest;
+		// Track the smallest enclosing interval; the first one visited wins ties
+		int[] smallest = {-1};
+		visitEnclosing(0, nodes.length, position, element ->
+		{
+			if (smallest[0] == -1 ||
+				ends[element] - starts[element] < ends[smallest[0]] - starts[smallest[0]])
+				smallest[0] = element;
+		});
+		if (smallest[0] == -1)
+			return null;
+		return new NodeIndex(nodes[smallest[0]]);
 	}
 
 	/**
@@ -119,35 +205,35 @@ public final class AstPositionIndex
 	{
 		requireThat(position, "position").isNotNegative();
 
-		List<NodeInterval> enclosing = new ArrayList<>();
+		List<Integer> enclosing = new ArrayList<>();
+		visitEnclosing(0, nodes.length, position, enclosing::add);
 
-		for (NodeInterval interval : spatialIndex)
-			if (interval.start <= position && position < interval.end)
-				enclosing.add(interval);
-
-		// Sort by size (smallest first)
-		enclosing.sort((a, b) -> Integer.compare(a.end - a.start, b.end - b.start));
+		// Sort by size (smallest first); the sort is stable so ties retain their sorted order
+		enclosing.sort(Comparator.comparingInt(element -> ends[element] - starts[element]));
 
 		return enclosing.stream().
-			map(interval -> interval.node).
+			map(element -> new NodeIndex(nodes[element])).
 			toList();
 	}
 
 	/**
 	 * Finds all nodes of the given type.
+	 * <p>
+	 * Runs in time proportional to the number of matches, using the node lists that the arena maintains for
+	 * each type.
 	 *
 	 * @param type the node type to find
-	 * @return list of node indices matching the type
+	 * @return list of node indices matching the type, in allocation order (children before their parents)
 	 * @throws NullPointerException if {@code type} is {@code null}
 	 */
 	public List<NodeIndex> findNodesByType(NodeType type)
 	{
 		requireThat(type, "type").isNotNull();
 
-		List<NodeIndex> result = new ArrayList<>();
-		for (NodeInterval interval : spatialIndex)
-			if (arena.getType(interval.node) == type)
-				result.add(interval.node);
+		int[] matches = arena.getNodesByType(type);
+		List<NodeIndex> result = new ArrayList<>(matches.length);
+		for (int node : matches)
+			result.add(new NodeIndex(node));
 		return result;
 	}
 
@@ -173,20 +259,107 @@ public final class AstPositionIndex
 	{
 		requireThat(position, "position").isNotNegative();
 
-		int depth = 0;
-		for (NodeInterval interval : spatialIndex)
+		int[] depth = {0};
+		visitEnclosing(0, nodes.length, position, element ->
 		{
-			NodeType type = arena.getType(interval.node);
 			// Position must be strictly inside: after start and before end-1 (closing brace)
 			// This excludes both the opening line and the closing brace from indentation
-			boolean isIndentProducingType = type == NodeType.BLOCK || type == NodeType.CLASS_DECLARATION ||
-				type == NodeType.INTERFACE_DECLARATION || type == NodeType.ENUM_DECLARATION ||
-				type == NodeType.ENUM_CONSTANT || type == NodeType.SWITCH_STATEMENT ||
-				type == NodeType.SWITCH_EXPRESSION || type == NodeType.OBJECT_CREATION;
-			if (isIndentProducingType && interval.start < position && position < interval.end - 1)
+			if (isIndentProducingType(types[element]) && starts[element] < position &&
+				position < ends[element] - 1)
+				++depth[0];
+		});
+		return depth[0];
+	}
+
+	/**
+	 * Returns the nesting depth of every line, as computed by {@link #getDepth(int)} at the first character
+	 * of the line that is not a space or tab.
+	 * <p>
+	 * The table is built in a single sweep: each indentation-producing node opens a level at {@code start + 1}
+	 * and closes it at {@code end - 1}, and the running sum of these events is sampled at each line.
+	 * Rules that need the depth of every line should use this method instead of calling {@link #getDepth(int)}
+	 * once per line.
+	 *
+	 * @param sourceCode the source code that this index was built for
+	 * @return the depth of each line, indexed by zero-based line number (lines are separated by {@code '\n'})
+	 * @throws NullPointerException     if {@code sourceCode} is {@code null}
+	 * @throws IllegalArgumentException if the length of {@code sourceCode} does not match the indexed source code
+	 */
+	public int[] getLineDepths(String sourceCode)
+	{
+		requireThat(sourceCode, "sourceCode").isNotNull();
+		requireThat(sourceCode.length(), "sourceCode.length()").isEqualTo(sourceCodeLength);
+
+		// Nodes spanning fewer than 3 characters have no position strictly inside their body
+		int eventCount = 0;
+		for (int i = 0; i < nodes.length; ++i)
+			if (isIndentProducingType(types[i]) && ends[i] - starts[i] >= 3)
+				++eventCount;
+		int[] opens = new int[eventCount];
+		int[] closes = new int[eventCount];
+		int event = 0;
+		for (int i = 0; i < nodes.length; ++i)
+		{
+			if (isIndentProducingType(types[i]) && ends[i] - starts[i] >= 3)
+			{
+				opens[event] = starts[i] + 1;
+				closes[event] = ends[i] - 1;
+				++event;
+			}
+		}
+		// The elements are sorted by start position, so only the close events need sorting
+		Arrays.sort(closes);
+
+		int lineCount = 1;
+		for (int i = 0; i < sourceCodeLength; ++i)
+			if (sourceCode.charAt(i) == '\n')
+				++lineCount;
+		int[] depths = new int[lineCount];
+
+		int openIndex = 0;
+		int closeIndex = 0;
+		int depth = 0;
+		int lineStart = 0;
+		for (int line = 0; line < lineCount; ++line)
+		{
+			int lineEnd = sourceCode.indexOf('\n', lineStart);
+			if (lineEnd == -1)
+				lineEnd = sourceCodeLength;
+			int position = lineStart;
+			while (position < lineEnd && (sourceCode.charAt(position) == ' ' || sourceCode.charAt(position) == '\t'))
+				++position;
+
+			while (openIndex < eventCount && opens[openIndex] <= position)
+			{
 				++depth;
+				++openIndex;
+			}
+			while (closeIndex < eventCount && closes[closeIndex] <= position)
+			{
+				--depth;
+				++closeIndex;
+			}
+			depths[line] = depth;
+			lineStart = lineEnd + 1;
 		}
-		return depth;
+		return depths;
+	}
+
+	/**
+	 * Indicates if a node type increases the indentation depth of its contents.
+	 *
+	 * @param type a node type
+	 * @return {@code true} if the type is a block, class, interface, enum, enum constant, switch or object
+	 *         creation
+	 */
+	private static boolean isIndentProducingType(NodeType type)
+	{
+		return switch (type)
+		{
+			case BLOCK, CLASS_DECLARATION, INTERFACE_DECLARATION, ENUM_DECLARATION, ENUM_CONSTANT,
+				SWITCH_STATEMENT, SWITCH_EXPRESSION, OBJECT_CREATION -> true;
+			default -> false;
+		};
 	}
 
 	/**
@@ -207,30 +380,9 @@ public final class AstPositionIndex
 	public BitSet getTextAndCommentPositions()
 	{
 		BitSet result = new BitSet(sourceCodeLength);
-
-		// Mark text positions (string and character literals)
-		for (NodeType type : List.of(NodeType.STRING_LITERAL, NodeType.CHAR_LITERAL))
-		{
-			for (NodeIndex node : findNodesByType(type))
-			{
-				int start = arena.getStart(node);
-				int end = arena.getEnd(node);
-				result.set(start, end);
-			}
-		}
-
-		// Mark comment positions
-		for (NodeType type : List.of(NodeType.LINE_COMMENT, NodeType.MARKDOWN_DOC_COMMENT,
-			NodeType.BLOCK_COMMENT, NodeType.JAVADOC_COMMENT))
-		{
-			for (NodeIndex node : findNodesByType(type))
-			{
-				int start = arena.getStart(node);
-				int end = arena.getEnd(node);
-				result.set(start, end);
-			}
-		}
-
+		for (NodeType type : TEXT_AND_COMMENT_TYPES)
+			for (int node : arena.getNodesByType(type))
+				result.set(arena.getStart(node), arena.getEnd(node));
 		return result;
 	}
 
@@ -242,7 +394,7 @@ public final class AstPositionIndex
 	 * @param start the start position (inclusive)
 	 * @param end the end position (exclusive)
 	 */
-	private record NodeInterval(NodeIndex node, int start, int end)
+	private record NodeInterval(int node, int start, int end)
 		implements Comparable<NodeInterval>
 	{
 		@Override
@@ -257,7 +409,7 @@ public final class AstPositionIndex
 			if (cmp != 0)
 				return cmp;
 			// Final tiebreaker: node index ensures total ordering consistent with equals()
-			return Integer.compare(node.index(), other.node.index());
+			return Integer.compare(node, other.node);
 		}
 	}
 }
@@ -2,6 +2,7 @@ package io.github.cowwoc.styler.formatter;
 
 import io.github.cowwoc.styler.security.exceptions.ExecutionTimeoutException;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 /**
  * Core interface for all formatting rules.
@@ -66,6 +67,7 @@ public interface FormattingRule
 	 * @throws NullPointerException if {@code context} or {@code configs} is {@code null}
 	 * @throws ExecutionTimeoutException if the execution deadline from
 	 *         {@link TransformationContext#securityConfig() context.securityConfig()} is exceeded
+	 * @throws CancellationException if processing of the file was cancelled
 	 */
 	List<FormattingViolation> analyze(TransformationContext context,
 		List<FormattingConfiguration> configs);
@@ -79,6 +81,7 @@ public interface FormattingRule
 	 * @throws NullPointerException if {@code context} or {@code configs} is {@code null}
 	 * @throws ExecutionTimeoutException if the execution deadline from
 	 *         {@link TransformationContext#securityConfig() context.securityConfig()} is exceeded
+	 * @throws CancellationException if processing of the file was cancelled
 	 */
 	String format(TransformationContext context, List<FormattingConfiguration> configs);
 }
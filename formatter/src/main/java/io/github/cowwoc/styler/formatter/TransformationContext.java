@@ -1,11 +1,14 @@
 package io.github.cowwoc.styler.formatter;
 
+import io.github.cowwoc.styler.ast.core.BracketMap;
+import io.github.cowwoc.styler.ast.core.LineMap;
 import io.github.cowwoc.styler.ast.core.NodeArena;
 import io.github.cowwoc.styler.ast.core.NodeIndex;
 import io.github.cowwoc.styler.security.SecurityConfig;
 import io.github.cowwoc.styler.security.exceptions.ExecutionTimeoutException;
 
 import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
 
 /**
  * Context provided to formatting rules during AST analysis and transformation.
@@ -80,10 +83,32 @@ public interface TransformationContext
 	int getColumnNumber(int position);
 
 	/**
-	 * Checks if the execution deadline from {@link #securityConfig()} has been exceeded.
-	 * Rules should call this periodically during long operations.
+	 * Returns the line offsets of {@link #sourceCode()}.
+	 * <p>
+	 * Rules that need the start of each line should use this instead of scanning the source code.
+	 *
+	 * @return the line map
+	 */
+	LineMap lineMap();
+
+	/**
+	 * Returns the offsets of the brackets in {@link #sourceCode()} and their partners.
+	 * <p>
+	 * Brackets inside comments and literals are excluded. Rules that look for braces or need the end of a
+	 * bracketed region should use this instead of scanning the source code.
+	 *
+	 * @return the bracket map
+	 */
+	BracketMap bracketMap();
+
+	/**
+	 * Checks if processing of the file should stop because the execution timeout from {@link #securityConfig()}
+	 * expired or because processing was cancelled.
+	 * Rules should call this periodically during long operations. The check does not read the clock, so it is
+	 * cheap enough to call once per character.
 	 *
-	 * @throws ExecutionTimeoutException if the deadline is exceeded
+	 * @throws ExecutionTimeoutException if the execution timeout expired
+	 * @throws CancellationException     if processing was cancelled
 	 */
 	void checkDeadline();
 
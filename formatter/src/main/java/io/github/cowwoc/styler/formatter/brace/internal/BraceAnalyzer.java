@@ -1,5 +1,6 @@
 package io.github.cowwoc.styler.formatter.brace.internal;
 
+import io.github.cowwoc.styler.ast.core.BracketMap;
 import io.github.cowwoc.styler.formatter.DefaultFormattingViolation;
 import io.github.cowwoc.styler.formatter.FormattingViolation;
 import io.github.cowwoc.styler.formatter.TransformationContext;
@@ -8,7 +9,6 @@ import io.github.cowwoc.styler.formatter.brace.BraceFormattingConfiguration;
 import io.github.cowwoc.styler.formatter.brace.BraceStyle;
 
 import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -38,15 +38,14 @@ public final class BraceAnalyzer
 		List<FormattingViolation> violations = new ArrayList<>();
 		String sourceCode = context.sourceCode();
 
-		// Get positions inside text and comments from AST
-		BitSet textAndComments = context.positionIndex().getTextAndCommentPositions();
-
-		// Scan for braces, skipping text and comments
-		for (int i = 0; i < sourceCode.length(); ++i)
+		// The bracket map only contains braces outside of text and comments
+		BracketMap bracketMap = context.bracketMap();
+		for (int index = 0; index < bracketMap.getBracketCount(); ++index)
 		{
 			context.checkDeadline();
 
-			if (sourceCode.charAt(i) == '{' && !textAndComments.get(i))
+			int i = bracketMap.getBracketPosition(index);
+			if (sourceCode.charAt(i) == '{')
 			{
 				BraceStyle currentStyle = detectCurrentStyle(sourceCode, i);
 				BraceStyle expectedStyle = config.braceStyle();
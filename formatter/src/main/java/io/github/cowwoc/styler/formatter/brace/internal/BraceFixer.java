@@ -1,11 +1,11 @@
 package io.github.cowwoc.styler.formatter.brace.internal;
 
+import io.github.cowwoc.styler.ast.core.BracketMap;
 import io.github.cowwoc.styler.formatter.TransformationContext;
 import io.github.cowwoc.styler.formatter.brace.BraceFormattingConfiguration;
 import io.github.cowwoc.styler.formatter.brace.BraceStyle;
 
 import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -33,14 +33,15 @@ public final class BraceFixer
 	{
 		String sourceCode = context.sourceCode();
 		List<Integer> bracePositions = new ArrayList<>();
-		BitSet textAndComments = context.positionIndex().getTextAndCommentPositions();
 
-		// Find all braces that are not inside text or comments
-		for (int i = 0; i < sourceCode.length(); ++i)
+		// The bracket map only contains braces outside of text and comments
+		BracketMap bracketMap = context.bracketMap();
+		for (int index = 0; index < bracketMap.getBracketCount(); ++index)
 		{
 			context.checkDeadline();
 
-			if (sourceCode.charAt(i) == '{' && !textAndComments.get(i))
+			int i = bracketMap.getBracketPosition(index);
+			if (sourceCode.charAt(i) == '{')
 			{
 				BraceStyle currentStyle = detectCurrentStyle(sourceCode, i);
 				BraceStyle expectedStyle = config.braceStyle();
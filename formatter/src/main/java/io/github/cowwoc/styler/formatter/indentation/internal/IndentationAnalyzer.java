@@ -1,6 +1,5 @@
 package io.github.cowwoc.styler.formatter.indentation.internal;
 
-import io.github.cowwoc.styler.formatter.AstPositionIndex;
 import io.github.cowwoc.styler.formatter.DefaultFormattingViolation;
 import io.github.cowwoc.styler.formatter.FormattingViolation;
 import io.github.cowwoc.styler.formatter.TransformationContext;
@@ -42,15 +41,19 @@ public final class IndentationAnalyzer
 	{
 		List<FormattingViolation> violations = new ArrayList<>();
 		String[] lines = context.sourceCode().split("\n", -1);
-		AstPositionIndex positionIndex = context.positionIndex();
+		int[] lineDepths = context.positionIndex().getLineDepths(context.sourceCode());
 
 		boolean prevLineWasContinuation = false;
+		int nextLineStartPosition = 0;
 
 		for (int lineIndex = 0; lineIndex < lines.length; ++lineIndex)
 		{
 			context.checkDeadline();
 
 			String line = lines[lineIndex];
+			int lineStartPosition = nextLineStartPosition;
+			// +1 for the newline character
+			nextLineStartPosition += line.length() + 1;
 
 			// Skip empty lines
 			if (line.isBlank())
@@ -59,16 +62,13 @@ public final class IndentationAnalyzer
 				continue;
 			}
 
-			int lineStartPosition = getLineStartPosition(lines, lineIndex);
-
 			// Extract leading whitespace
 			int leadingWhitespaceEnd = findLeadingWhitespaceEnd(line);
 			String leadingWhitespace = line.substring(0, leadingWhitespaceEnd);
 
 			assert that(leadingWhitespaceEnd, "leadingWhitespaceEnd").isLessThan(line.length()).elseThrow();
 
-			int codePosition = lineStartPosition + leadingWhitespaceEnd;
-			int depth = positionIndex.getDepth(codePosition);
+			int depth = lineDepths[lineIndex];
 
 			// Determine if this is a continuation line
 			boolean isContinuationLine = prevLineWasContinuation;
@@ -157,23 +157,6 @@ public final class IndentationAnalyzer
 		return " ".repeat(spaces);
 	}
 
-	/**
-	 * Gets the position in the source code where a line starts.
-	 *
-	 * @param lines all lines in the source code
-	 * @param lineIndex the index of the line
-	 * @return the position in the source code
-	 */
-	private static int getLineStartPosition(String[] lines, int lineIndex)
-	{
-		int position = 0;
-		for (int i = 0; i < lineIndex; ++i)
-			// +1 for the newline character
-			position += lines[i].length() + 1;
-
-		return position;
-	}
-
 	/**
 	 * Determines if a line is a continuation line by checking if it ends with certain patterns.
 	 *
@@ -1,6 +1,5 @@
 package io.github.cowwoc.styler.formatter.indentation.internal;
 
-import io.github.cowwoc.styler.formatter.AstPositionIndex;
 import io.github.cowwoc.styler.formatter.TransformationContext;
 import io.github.cowwoc.styler.formatter.indentation.IndentationFormattingConfiguration;
 import io.github.cowwoc.styler.formatter.indentation.IndentationType;
@@ -32,7 +31,7 @@ public final class IndentationFixer
 	{
 		String[] lines = context.sourceCode().split("\n", -1);
 		StringBuilder result = new StringBuilder();
-		AstPositionIndex positionIndex = context.positionIndex();
+		int[] lineDepths = context.positionIndex().getLineDepths(context.sourceCode());
 
 		boolean prevLineWasContinuation = false;
 
@@ -50,14 +49,10 @@ public final class IndentationFixer
 			}
 			else
 			{
-				// Extract existing leading whitespace and content
+				// Extract existing content without leading whitespace
 				String strippedLine = line.stripLeading();
-				int originalIndentLength = line.length() - strippedLine.length();
 
-				int lineStartPosition = getLineStartPosition(lines, lineIndex);
-				int codePosition = lineStartPosition + originalIndentLength;
-
-				int depth = positionIndex.getDepth(codePosition);
+				int depth = lineDepths[lineIndex];
 
 				boolean isContinuationLine = prevLineWasContinuation;
 				String correctIndentation = calculateIndentation(depth, isContinuationLine, config);
@@ -101,23 +96,6 @@ public final class IndentationFixer
 		return " ".repeat(spaces);
 	}
 
-	/**
-	 * Gets the position in the source code where a line starts.
-	 *
-	 * @param lines all lines in the source code
-	 * @param lineIndex the index of the line
-	 * @return the position in the source code
-	 */
-	private static int getLineStartPosition(String[] lines, int lineIndex)
-	{
-		int position = 0;
-		for (int i = 0; i < lineIndex; ++i)
-			// +1 for the newline character
-			position += lines[i].length() + 1;
-
-		return position;
-	}
-
 	/**
 	 * Determines if a line is a continuation line by checking if it ends with certain patterns.
 	 *
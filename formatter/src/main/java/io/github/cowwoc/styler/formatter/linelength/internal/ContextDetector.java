@@ -17,7 +17,7 @@ import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.require
  * <p>
  * <b>Performance Characteristics</b>:
  * <ul>
- *   <li>Position lookup: O(n) linear scan to find smallest enclosing node</li>
+ *   <li>Position lookup: O(log n + k) where k = number of nodes that enclose the position</li>
  *   <li>Memory overhead: None - reuses shared index from TransformationContext</li>
  * </ul>
  * <p>
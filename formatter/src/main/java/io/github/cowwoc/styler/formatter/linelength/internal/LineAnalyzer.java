@@ -53,8 +53,8 @@ public final class LineAnalyzer
 			if (visualLength > config.maxLineLength())
 			{
 				// Calculate character position of line start in source
-				int lineStart = getLineStartPosition(sourceCode, i);
 				int lineNumber = i + 1;  // 1-based line numbering
+				int lineStart = context.lineMap().getLineStart(lineNumber);
 
 				FormattingViolation violation = new DefaultFormattingViolation(
 					config.ruleId(),
@@ -99,31 +99,4 @@ public final class LineAnalyzer
 		}
 		return length;
 	}
-
-	/**
-	 * Calculates the character position of the start of a line in the source code.
-	 *
-	 * @param sourceCode the full source code
-	 * @param lineIndex the zero-based line index
-	 * @return the character position of the line start
-	 */
-	private static int getLineStartPosition(String sourceCode, int lineIndex)
-	{
-		int position = 0;
-		int currentLine = 0;
-
-		for (int i = 0; i < sourceCode.length(); ++i)
-		{
-			if (currentLine == lineIndex)
-				return position;
-
-			if (sourceCode.charAt(i) == '\n')
-			{
-				++currentLine;
-				position = i + 1;
-			}
-		}
-
-		return position;
-	}
 }
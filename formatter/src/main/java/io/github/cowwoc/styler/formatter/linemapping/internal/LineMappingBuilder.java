@@ -3,18 +3,22 @@ package io.github.cowwoc.styler.formatter.linemapping.internal;
 import io.github.cowwoc.styler.formatter.linemapping.LineMapping;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 
 /**
- * Builder that computes line mapping using LCS (Longest Common Subsequence) algorithm.
+ * Builder that computes line mapping by matching the lines of a shortest edit script.
  * <p>
  * The algorithm works as follows:
  * <ol>
  *   <li>Split both original and formatted content into lines</li>
  *   <li>If identical, return identity mapping</li>
- *   <li>Compute LCS to find matching lines</li>
- *   <li>Backtrack to establish bidirectional mappings</li>
+ *   <li>Map each distinct line to an integer identifier</li>
+ *   <li>Run a linear-space Myers diff over the identifiers, which matches the longest common subsequence of
+ *   lines in {@code O((N + M) * D)} time and {@code O(N + M)} space, where {@code D} is the number of
+ *   inserted and deleted lines</li>
  * </ol>
  * <p>
  * <b>Thread-safety</b>: This class is not thread-safe. Each thread should use its own instance.
@@ -72,7 +76,7 @@ public final class LineMappingBuilder
 	}
 
 	/**
-	 * Computes the line mapping using LCS algorithm.
+	 * Computes the line mapping using Myers' difference algorithm.
 	 *
 	 * @param originalLines  lines from original content
 	 * @param formattedLines lines from formatted content
@@ -80,88 +84,33 @@ public final class LineMappingBuilder
 	 */
 	private LineMapping computeMapping(String[] originalLines, String[] formattedLines)
 	{
-		int originalCount = originalLines.length;
-		int formattedCount = formattedLines.length;
+		// Replace each line by an identifier shared with equal lines, so the diff compares ints
+		Map<String, Integer> lineToId = new HashMap<>();
+		int[] original = toLineIds(originalLines, lineToId);
+		int[] formatted = toLineIds(formattedLines, lineToId);
 
-		// Compute LCS table
-		int[][] lcs = computeLcsTable(originalLines, formattedLines);
-
-		// Backtrack to establish mappings
-		int[] originalToFormatted = new int[originalCount];
-		int[] formattedToOriginal = new int[formattedCount];
+		int[] originalToFormatted = new int[originalLines.length];
+		int[] formattedToOriginal = new int[formattedLines.length];
 		Arrays.fill(originalToFormatted, NO_MAPPING);
 		Arrays.fill(formattedToOriginal, NO_MAPPING);
 
-		backtrackLcs(lcs, originalLines, formattedLines, originalToFormatted, formattedToOriginal);
+		new MyersDiff(original, formatted, originalToFormatted, formattedToOriginal).run();
 
 		return new DefaultLineMapping(originalToFormatted, formattedToOriginal);
 	}
 
 	/**
-	 * Computes the LCS (Longest Common Subsequence) table.
-	 *
-	 * @param originalLines  lines from original content
-	 * @param formattedLines lines from formatted content
-	 * @return the LCS table where {@code lcs[i][j]} is the LCS length of
-	 *         {@code originalLines[0..i-1]} and {@code formattedLines[0..j-1]}
-	 */
-	private int[][] computeLcsTable(String[] originalLines, String[] formattedLines)
-	{
-		int originalCount = originalLines.length;
-		int formattedCount = formattedLines.length;
-
-		int[][] lcs = new int[originalCount + 1][formattedCount + 1];
-
-		for (int i = 1; i <= originalCount; ++i)
-		{
-			for (int j = 1; j <= formattedCount; ++j)
-			{
-				if (originalLines[i - 1].equals(formattedLines[j - 1]))
-					lcs[i][j] = lcs[i - 1][j - 1] + 1;
-				else
-					lcs[i][j] = Math.max(lcs[i - 1][j], lcs[i][j - 1]);
-			}
-		}
-
-		return lcs;
-	}
-
-	/**
-	 * Backtracks through the LCS table to establish bidirectional line mappings.
+	 * Maps lines to identifiers that are equal if and only if the lines are equal.
 	 *
-	 * @param lcs                 the LCS table
-	 * @param originalLines       lines from original content
-	 * @param formattedLines      lines from formatted content
-	 * @param originalToFormatted output array for original-to-formatted mapping (1-based line numbers)
-	 * @param formattedToOriginal output array for formatted-to-original mapping (1-based line numbers)
+	 * @param lines    the lines
+	 * @param lineToId the identifiers assigned so far, updated with any new lines
+	 * @return the identifier of each line
 	 */
-	private void backtrackLcs(int[][] lcs, String[] originalLines, String[] formattedLines,
-		int[] originalToFormatted, int[] formattedToOriginal)
+	private int[] toLineIds(String[] lines, Map<String, Integer> lineToId)
 	{
-		int i = originalLines.length;
-		int j = formattedLines.length;
-
-		while (i > 0 && j > 0)
-		{
-			if (originalLines[i - 1].equals(formattedLines[j - 1]))
-			{
-				// Lines match - establish bidirectional mapping
-				// Arrays are 0-indexed, but line numbers are 1-based
-				originalToFormatted[i - 1] = j;
-				formattedToOriginal[j - 1] = i;
-				--i;
-				--j;
-			}
-			else if (lcs[i - 1][j] > lcs[i][j - 1])
-			{
-				// Original line was deleted (no match in formatted)
-				--i;
-			}
-			else
-			{
-				// Formatted line is new (no match in original)
-				--j;
-			}
-		}
+		int[] ids = new int[lines.length];
+		for (int i = 0; i < lines.length; ++i)
+			ids[i] = lineToId.computeIfAbsent(lines[i], _ -> lineToId.size());
+		return ids;
 	}
 }
@@ -0,0 +1,228 @@
+package io.github.cowwoc.styler.formatter.linemapping.internal;
+
+/**
+ * Linear-space implementation of Myers' O(ND) difference algorithm.
+ * <p>
+ * Each call locates the "middle snake" of the shortest edit script by running the greedy search forward from
+ * the start and backward from the end until the two meets, then recurses on the halves before and after it.
+ * Only two diagonal vectors of size {@code O(N + M)} are allocated, instead of the {@code O(N * M)} table
+ * required by the classic LCS dynamic program. Common prefixes and suffixes are matched up front at every
+ * level of the recursion, so localized edits cost little more than a linear scan.
+ * <p>
+ * Elements are compared as {@code int}s. Callers map each line to an identifier that is equal for equal lines.
+ * <p>
+ * <b>Thread-safety</b>: This class is not thread-safe. Each instance computes a single difference.
+ */
+final class MyersDiff
+{
+	private final int[] original;
+	private final int[] formatted;
+	/**
+	 * The furthest x-coordinate reached on each diagonal by the forward search, offset by {@link #offset}.
+	 */
+	private final int[] forward;
+	/**
+	 * The furthest x-coordinate reached on each diagonal by the backward search, measured from the end of the
+	 * current range and offset by {@link #offset}.
+	 */
+	private final int[] backward;
+	private final int offset;
+	private final int[] originalToFormatted;
+	private final int[] formattedToOriginal;
+	private int snakeStartX;
+	private int snakeStartY;
+	private int snakeEndX;
+	private int snakeEndY;
+
+	/**
+	 * Creates a new diff.
+	 *
+	 * @param original            the identifiers of the original lines
+	 * @param formatted           the identifiers of the formatted lines
+	 * @param originalToFormatted receives the 1-based formatted line that each original line matches; entries of
+	 *                            unmatched lines are left unchanged
+	 * @param formattedToOriginal receives the 1-based original line that each formatted line matches; entries of
+	 *                            unmatched lines are left unchanged
+	 */
+	MyersDiff(int[] original, int[] formatted, int[] originalToFormatted, int[] formattedToOriginal)
+	{
+		this.original = original;
+		this.formatted = formatted;
+		this.originalToFormatted = originalToFormatted;
+		this.formattedToOriginal = formattedToOriginal;
+		int maxDistance = (original.length + formatted.length + 1) / 2;
+		this.offset = maxDistance + 1;
+		this.forward = new int[2 * maxDistance + 3];
+		this.backward = new int[2 * maxDistance + 3];
+	}
+
+	/**
+	 * Matches the lines of both sequences along a shortest edit script.
+	 */
+	void run()
+	{
+		diff(0, original.length, 0, formatted.length);
+	}
+
+	/**
+	 * Matches the lines of {@code original[originalStart, originalEnd)} against
+	 * {@code formatted[formattedStart, formattedEnd)}.
+	 *
+	 * @param originalStart  the first original line (inclusive)
+	 * @param originalEnd    the last original line (exclusive)
+	 * @param formattedStart the first formatted line (inclusive)
+	 * @param formattedEnd   the last formatted line (exclusive)
+	 */
+	private void diff(int originalStart, int originalEnd, int formattedStart, int formattedEnd)
+	{
+		// Common prefix
+		while (originalStart < originalEnd && formattedStart < formattedEnd &&
+			original[originalStart] == formatted[formattedStart])
+		{
+			match(originalStart, formattedStart);
+			++originalStart;
+			++formattedStart;
+		}
+		// Common suffix
+		while (originalStart < originalEnd && formattedStart < formattedEnd &&
+			original[originalEnd - 1] == formatted[formattedEnd - 1])
+		{
+			--originalEnd;
+			--formattedEnd;
+			match(originalEnd, formattedEnd);
+		}
+		if (originalStart == originalEnd || formattedStart == formattedEnd)
+		{
+			// Only insertions or only deletions remain
+			return;
+		}
+
+		int distance = findMiddleSnake(originalStart, originalEnd, formattedStart, formattedEnd);
+		int startX = originalStart + snakeStartX;
+		int startY = formattedStart + snakeStartY;
+		int endX = originalStart + snakeEndX;
+		int endY = formattedStart + snakeEndY;
+		if (distance > 1)
+		{
+			diff(originalStart, startX, formattedStart, startY);
+			for (int x = startX, y = startY; x < endX; ++x, ++y)
+				match(x, y);
+			diff(endX, originalEnd, endY, formattedEnd);
+			return;
+		}
+		// A single insertion or deletion: the shorter range is a subsequence of the longer one. The trimmed
+		// prefix and suffix make this unreachable in practice, but it is handled for completeness.
+		int x = originalStart;
+		int y = formattedStart;
+		while (x < originalEnd && y < formattedEnd)
+		{
+			if (original[x] == formatted[y])
+			{
+				match(x, y);
+				++x;
+				++y;
+			}
+			else if (originalEnd - originalStart > formattedEnd - formattedStart)
+				++x;
+			else
+				++y;
+		}
+	}
+
+	/**
+	 * Finds the middle snake of the shortest edit script between two ranges.
+	 * <p>
+	 * On return, {@link #snakeStartX}, {@link #snakeStartY}, {@link #snakeEndX} and {@link #snakeEndY} hold the
+	 * endpoints of the snake, relative to the start of each range.
+	 *
+	 * @param originalStart  the first original line (inclusive)
+	 * @param originalEnd    the last original line (exclusive)
+	 * @param formattedStart the first formatted line (inclusive)
+	 * @param formattedEnd   the last formatted line (exclusive)
+	 * @return the length of the shortest edit script
+	 */
+	private int findMiddleSnake(int originalStart, int originalEnd, int formattedStart, int formattedEnd)
+	{
+		int n = originalEnd - originalStart;
+		int m = formattedEnd - formattedStart;
+		int delta = n - m;
+		boolean deltaIsOdd = (delta & 1) != 0;
+		int maxDistance = (n + m + 1) / 2;
+		forward[offset + 1] = 0;
+		backward[offset + 1] = 0;
+
+		for (int d = 0; d <= maxDistance; ++d)
+		{
+			for (int k = -d; k <= d; k += 2)
+			{
+				int x;
+				if (k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1]))
+					x = forward[offset + k + 1];
+				else
+					x = forward[offset + k - 1] + 1;
+				int y = x - k;
+				int startX = x;
+				int startY = y;
+				while (x < n && y < m && original[originalStart + x] == formatted[formattedStart + y])
+				{
+					++x;
+					++y;
+				}
+				forward[offset + k] = x;
+
+				int reverseK = delta - k;
+				if (deltaIsOdd && reverseK >= -(d - 1) && reverseK <= d - 1 &&
+					x + backward[offset + reverseK] >= n)
+				{
+					snakeStartX = startX;
+					snakeStartY = startY;
+					snakeEndX = x;
+					snakeEndY = y;
+					return 2 * d - 1;
+				}
+			}
+
+			for (int k = -d; k <= d; k += 2)
+			{
+				int x;
+				if (k == -d || (k != d && backward[offset + k - 1] < backward[offset + k + 1]))
+					x = backward[offset + k + 1];
+				else
+					x = backward[offset + k - 1] + 1;
+				int y = x - k;
+				int startX = x;
+				int startY = y;
+				while (x < n && y < m &&
+					original[originalEnd - 1 - x] == formatted[formattedEnd - 1 - y])
+				{
+					++x;
+					++y;
+				}
+				backward[offset + k] = x;
+
+				int forwardK = delta - k;
+				if (!deltaIsOdd && forwardK >= -d && forwardK <= d && x + forward[offset + forwardK] >= n)
+				{
+					snakeStartX = n - x;
+					snakeStartY = m - y;
+					snakeEndX = n - startX;
+					snakeEndY = m - startY;
+					return 2 * d;
+				}
+			}
+		}
+		throw new AssertionError("The forward and backward searches did not overlap");
+	}
+
+	/**
+	 * Records that two lines match.
+	 *
+	 * @param originalIndex  the 0-based index of the original line
+	 * @param formattedIndex the 0-based index of the formatted line
+	 */
+	private void match(int originalIndex, int formattedIndex)
+	{
+		originalToFormatted[originalIndex] = formattedIndex + 1;
+		formattedToOriginal[formattedIndex] = originalIndex + 1;
+	}
+}
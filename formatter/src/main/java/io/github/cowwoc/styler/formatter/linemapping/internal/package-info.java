@@ -2,6 +2,6 @@
  * Internal implementation classes for line mapping.
  * <p>
  * This package provides implementation details for the line mapping feature,
- * including LCS-based algorithms for computing line correlations. Not intended for public API use.
+ * including the diff algorithm used for computing line correlations. Not intended for public API use.
  */
 package io.github.cowwoc.styler.formatter.linemapping.internal;
@@ -0,0 +1,169 @@
+package io.github.cowwoc.styler.formatter.whitespace.internal;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * A mutable character sequence that keeps an empty gap at the most recent edit position.
+ * <p>
+ * Insertions and deletions next to the gap cost O(1), and moving the gap costs O(distance). Edits that
+ * sweep through the text in one direction therefore cost O(n) in total, whereas the same edits on a
+ * {@link StringBuilder} shift the entire tail of the text every time.
+ * <p>
+ * <b>Thread-safety</b>: This class is not thread-safe. Instances are confined to a single formatting pass.
+ */
+public final class GapBuffer implements CharSequence
+{
+	private static final int MINIMUM_GAP = 16;
+	private char[] buffer;
+	/**
+	 * The index of the first character in the gap.
+	 */
+	private int gapStart;
+	/**
+	 * The index of the first character after the gap.
+	 */
+	private int gapEnd;
+
+	/**
+	 * Creates a buffer containing the given text, with the gap at the end.
+	 *
+	 * @param text the initial text
+	 * @throws NullPointerException if {@code text} is null
+	 */
+	public GapBuffer(CharSequence text)
+	{
+		requireThat(text, "text").isNotNull();
+		int length = text.length();
+		this.buffer = new char[length + Math.max(MINIMUM_GAP, length / 8)];
+		for (int i = 0; i < length; ++i)
+			buffer[i] = text.charAt(i);
+		this.gapStart = length;
+		this.gapEnd = buffer.length;
+	}
+
+	@Override
+	public int length()
+	{
+		return buffer.length - (gapEnd - gapStart);
+	}
+
+	@Override
+	public char charAt(int index)
+	{
+		Objects.checkIndex(index, length());
+		if (index < gapStart)
+			return buffer[index];
+		return buffer[index + gapEnd - gapStart];
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end)
+	{
+		Objects.checkFromToIndex(start, end, length());
+		char[] result = new char[end - start];
+		for (int i = start; i < end; ++i)
+			result[i - start] = charAt(i);
+		return new String(result);
+	}
+
+	/**
+	 * Removes the character at the specified index.
+	 *
+	 * @param index the index of the character to remove
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #length()}
+	 */
+	public void deleteCharAt(int index)
+	{
+		Objects.checkIndex(index, length());
+		moveGap(index);
+		++gapEnd;
+	}
+
+	/**
+	 * Inserts a character at the specified index.
+	 *
+	 * @param index the index to insert at
+	 * @param ch    the character to insert
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or greater than {@link #length()}
+	 */
+	public void insert(int index, char ch)
+	{
+		Objects.checkIndex(index, length() + 1);
+		ensureGap(1);
+		moveGap(index);
+		buffer[gapStart] = ch;
+		++gapStart;
+	}
+
+	/**
+	 * Inserts a string at the specified index.
+	 *
+	 * @param index the index to insert at
+	 * @param text  the string to insert
+	 * @throws NullPointerException      if {@code text} is null
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or greater than {@link #length()}
+	 */
+	public void insert(int index, String text)
+	{
+		requireThat(text, "text").isNotNull();
+		Objects.checkIndex(index, length() + 1);
+		ensureGap(text.length());
+		moveGap(index);
+		text.getChars(0, text.length(), buffer, gapStart);
+		gapStart += text.length();
+	}
+
+	/**
+	 * Moves the gap so that it starts at the specified index.
+	 *
+	 * @param index the new start of the gap
+	 */
+	private void moveGap(int index)
+	{
+		if (index < gapStart)
+		{
+			int count = gapStart - index;
+			System.arraycopy(buffer, index, buffer, gapEnd - count, count);
+			gapStart = index;
+			gapEnd -= count;
+		}
+		else if (index > gapStart)
+		{
+			int count = index - gapStart;
+			System.arraycopy(buffer, gapEnd, buffer, gapStart, count);
+			gapStart = index;
+			gapEnd += count;
+		}
+	}
+
+	/**
+	 * Grows the gap if it is smaller than the requested size.
+	 *
+	 * @param size the minimum number of free characters in the gap
+	 */
+	private void ensureGap(int size)
+	{
+		int gapLength = gapEnd - gapStart;
+		if (gapLength >= size)
+			return;
+		int length = length();
+		int newGapLength = Math.max(size, Math.max(MINIMUM_GAP, length / 8));
+		char[] newBuffer = Arrays.copyOf(buffer, length + newGapLength);
+		int tailLength = buffer.length - gapEnd;
+		System.arraycopy(buffer, gapEnd, newBuffer, newBuffer.length - tailLength, tailLength);
+		buffer = newBuffer;
+		gapEnd = newBuffer.length - tailLength;
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder result = new StringBuilder(length());
+		result.append(buffer, 0, gapStart);
+		result.append(buffer, gapEnd, buffer.length - gapEnd);
+		return result.toString();
+	}
+}
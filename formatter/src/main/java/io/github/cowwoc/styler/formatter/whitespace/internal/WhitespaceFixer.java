@@ -52,24 +52,23 @@ public final class WhitespaceFixer
 		WhitespaceFormattingConfiguration config)
 	{
 		String sourceCode = context.sourceCode();
-		StringBuilder result = new StringBuilder(sourceCode);
+		GapBuffer result = new GapBuffer(sourceCode);
 		BitSet textAndComments = context.positionIndex().getTextAndCommentPositions();
 
-		// Process from end to beginning to preserve offsets
+		// Process from end to beginning to preserve offsets. Edits happen at or near the current position, so
+		// the gap buffer only ever moves its gap a few characters per iteration.
 		for (int i = result.length() - 1; i >= 0; --i)
 		{
 			context.checkDeadline();
 
-			// Cache string representation for this iteration (invalidated by continue after modifications)
-			String str = result.toString();
-			char current = str.charAt(i);
+			char current = result.charAt(i);
 
 			// Skip positions inside text or comments
 			if (textAndComments.get(i))
 				continue;
 
 			// Fix increment/decrement operator spacing (must be before binary operators)
-			if ((current == '+' || current == '-') && i + 1 < str.length() && str.charAt(i + 1) == current)
+			if ((current == '+' || current == '-') && i + 1 < result.length() && result.charAt(i + 1) == current)
 			{
 				fixIncrementDecrementSpacing(result, i);
 				continue;
@@ -83,10 +82,10 @@ public final class WhitespaceFixer
 			}
 
 			// Fix binary operator spacing (skip generic angle brackets)
-			if (isBinaryOperatorStart(str, i))
+			if (isBinaryOperatorStart(result, i))
 			{
 				// Check if this is a generic angle bracket, not a comparison operator
-				if ((current == '<' || current == '>') && isGenericBracket(str, i))
+				if ((current == '<' || current == '>') && isGenericBracket(result, i))
 					continue;
 
 				// For = operator, check assignment operator config
@@ -102,15 +101,15 @@ public final class WhitespaceFixer
 			}
 
 			// Fix control keyword spacing
-			if (config.spaceAfterControlKeyword() && isControlKeywordStart(str, i))
+			if (config.spaceAfterControlKeyword() && isControlKeywordStart(result, i))
 				fixControlKeywordSpacing(result, i);
 
 			// Fix "else if" - ensure space between them
-			if (isElseIfSequence(str, i))
+			if (isElseIfSequence(result, i))
 				fixElseIfSpacing(result, i);
 
 			// Fix "new" keyword spacing - ensure exactly one space after
-			if (isNewKeywordStart(str, i))
+			if (isNewKeywordStart(result, i))
 				fixNewKeywordSpacing(result, i);
 
 			// Fix comma spacing (remove space before, add space after)
@@ -154,17 +153,17 @@ public final class WhitespaceFixer
 	/**
 	 * Fixes spacing around binary operators.
 	 *
-	 * @param source the source code string builder
+	 * @param source the source code buffer
 	 * @param position the position of the operator
 	 * @param config the configuration
 	 */
-	private static void fixBinaryOperatorSpacing(StringBuilder source, int position,
+	private static void fixBinaryOperatorSpacing(GapBuffer source, int position,
 		WhitespaceFormattingConfiguration config)
 	{
-		int opStart = getOperatorStart(source.toString(), position);
-		int opEnd = opStart + getOperatorLength(source.toString(), opStart);
+		int opStart = getOperatorStart(source, position);
+		int opEnd = opStart + getOperatorLength(source, opStart);
 
-		String op = source.substring(opStart, opEnd);
+		String op = source.subSequence(opStart, opEnd).toString();
 
 		// Special handling for specific operators
 		if (op.equals("::"))
@@ -188,7 +187,7 @@ public final class WhitespaceFixer
 		if (op.equals(":"))
 		{
 			// Check if this is a switch case colon - should have no space before
-			if (isSwitchCaseColon(source.toString(), opStart))
+			if (isSwitchCaseColon(source, opStart))
 			{
 				// Remove space before the colon in switch case
 				while (opStart > 0 && source.charAt(opStart - 1) == ' ')
@@ -220,13 +219,13 @@ public final class WhitespaceFixer
 	/**
 	 * Fixes spacing after control keywords.
 	 *
-	 * @param source the source code string builder
+	 * @param source the source code buffer
 	 * @param position the position of the keyword
 	 */
-	private static void fixControlKeywordSpacing(StringBuilder source, int position)
+	private static void fixControlKeywordSpacing(GapBuffer source, int position)
 	{
-		int keywordStart = getKeywordStart(source.toString(), position);
-		int keywordEnd = getKeywordEnd(source.toString(), keywordStart);
+		int keywordStart = getKeywordStart(source, position);
+		int keywordEnd = getKeywordEnd(source, keywordStart);
 
 		// Find next non-space character
 		int nextNonSpace = keywordEnd;
@@ -247,10 +246,10 @@ public final class WhitespaceFixer
 	/**
 	 * Fixes spacing after commas.
 	 *
-	 * @param source the source code string builder
+	 * @param source the source code buffer
 	 * @param position the position of the comma
 	 */
-	private static void fixCommaSpacing(StringBuilder source, int position)
+	private static void fixCommaSpacing(GapBuffer source, int position)
 	{
 		// Check if already has space after
 		if (position + 1 >= source.length())
@@ -274,10 +273,10 @@ public final class WhitespaceFixer
 	/**
 	 * Fixes spacing around parentheses.
 	 *
-	 * @param source the source code string builder
+	 * @param source the source code buffer
 	 * @param position the position of the parenthesis
 	 */
-	private static void fixParenthesesSpacing(StringBuilder source, int position)
+	private static void fixParenthesesSpacing(GapBuffer source, int position)
 	{
 		if (source.charAt(position) == '(')
 		{
@@ -295,7 +294,7 @@ public final class WhitespaceFixer
 
 				if (prev >= 0)
 					// Check if this is a control keyword - those should keep space
-					if (!isControlKeywordBefore(source.toString(), position))
+					if (!isControlKeywordBefore(source, position))
 						// It's a method call - remove space before paren
 						while (position > 0 && source.charAt(position - 1) == ' ')
 						{
@@ -320,10 +319,10 @@ public final class WhitespaceFixer
 	/**
 	 * Fixes spacing around brackets.
 	 *
-	 * @param source the source code string builder
+	 * @param source the source code buffer
 	 * @param position the position of the bracket
 	 */
-	private static void fixBracketSpacing(StringBuilder source, int position)
+	private static void fixBracketSpacing(GapBuffer source, int position)
 	{
 		if (source.charAt(position) == '[')
 		{
@@ -347,10 +346,10 @@ public final class WhitespaceFixer
 	/**
 	 * Fixes spacing around method reference operator.
 	 *
-	 * @param source the source code string builder
+	 * @param source the source code buffer
 	 * @param position the position of the first colon
 	 */
-	private static void fixMethodReferenceSpacing(StringBuilder source, int position)
+	private static void fixMethodReferenceSpacing(GapBuffer source, int position)
 	{
 		// Remove spaces around ::
 		// First, remove space after ::
@@ -370,10 +369,10 @@ public final class WhitespaceFixer
 	/**
 	 * Fixes spacing before semicolon.
 	 *
-	 * @param source the source code string builder
+	 * @param source the source code buffer
 	 * @param position the position of the semicolon
 	 */
-	private static void fixSemicolonSpacing(StringBuilder source, int position)
+	private static void fixSemicolonSpacing(GapBuffer source, int position)
 	{
 		// Remove space before semicolon
 		if (position > 0 && source.charAt(position - 1) == ' ')
@@ -384,10 +383,10 @@ public final class WhitespaceFixer
 	 * Fixes spacing around increment/decrement operators ({@code ++}, {@code --}).
 	 * These should have no space between the operator and operand.
 	 *
-	 * @param source the source code string builder
+	 * @param source the source code buffer
 	 * @param position the position of the first character of the operator
 	 */
-	private static void fixIncrementDecrementSpacing(StringBuilder source, int position)
+	private static void fixIncrementDecrementSpacing(GapBuffer source, int position)
 	{
 		// Position points to first + or -
 		// Remove space after the operator (between ++ and operand for prefix)
@@ -407,10 +406,10 @@ public final class WhitespaceFixer
 	 * Fixes spacing after logical NOT operator ({@code !}).
 	 * There should be no space between ! and its operand.
 	 *
-	 * @param source the source code string builder
+	 * @param source the source code buffer
 	 * @param position the position of the ! character
 	 */
-	private static void fixLogicalNotSpacing(StringBuilder source, int position)
+	private static void fixLogicalNotSpacing(GapBuffer source, int position)
 	{
 		// Check it's not part of !=
 		if (position + 1 < source.length() && source.charAt(position + 1) == '=')
@@ -431,7 +430,7 @@ public final class WhitespaceFixer
 	 * @param spaceBefore the spaces to add before
 	 * @param spaceAfter the spaces to add after
 	 */
-	private static void normalizeSpacesAround(StringBuilder source, int opStart, int opEnd,
+	private static void normalizeSpacesAround(GapBuffer source, int opStart, int opEnd,
 		String spaceBefore, String spaceAfter)
 	{
 		// Remove spaces before operator
@@ -458,7 +457,7 @@ public final class WhitespaceFixer
 	 * @param opStart the start of the operator
 	 * @param opEnd the end of the operator
 	 */
-	private static void removeSpacesAround(StringBuilder source, int opStart, int opEnd)
+	private static void removeSpacesAround(GapBuffer source, int opStart, int opEnd)
 	{
 		// Remove spaces before
 		while (opStart > 0 && source.charAt(opStart - 1) == ' ')
@@ -480,20 +479,20 @@ public final class WhitespaceFixer
 	 * @param position the position
 	 * @return true if position is part of a no-space operator
 	 */
-	private static boolean isNoSpaceOperator(String sourceCode, int position)
+	private static boolean isNoSpaceOperator(CharSequence sourceCode, int position)
 	{
 		for (String op : NO_SPACE_OPERATORS)
 		{
 			// Check if this position starts the operator
 			if (position + op.length() <= sourceCode.length() &&
-				sourceCode.substring(position, position + op.length()).equals(op))
+				regionMatches(sourceCode, position, op))
 				return true;
 
 			// Check if this position is within the operator (second char)
 			if (position > 0 && position + op.length() - 1 <= sourceCode.length())
 			{
 				int startPos = position - 1;
-				if (sourceCode.substring(startPos, startPos + op.length()).equals(op))
+				if (regionMatches(sourceCode, startPos, op))
 					return true;
 			}
 		}
@@ -508,15 +507,14 @@ public final class WhitespaceFixer
 	 * @param position the position
 	 * @return true if position starts a binary operator
 	 */
-	private static boolean isBinaryOperatorStart(String sourceCode, int position)
+	private static boolean isBinaryOperatorStart(CharSequence sourceCode, int position)
 	{
 		// First check if this is a no-space operator - those should not be treated as binary operators
 		if (isNoSpaceOperator(sourceCode, position))
 			return false;
 
 		for (String op : BINARY_OPERATORS)
-			if (position + op.length() <= sourceCode.length() &&
-				sourceCode.substring(position, position + op.length()).equals(op))
+			if (regionMatches(sourceCode, position, op))
 				return true;
 
 		char current = sourceCode.charAt(position);
@@ -564,15 +562,14 @@ public final class WhitespaceFixer
 	 * @param position the position within the operator
 	 * @return the start position
 	 */
-	private static int getOperatorStart(String sourceCode, int position)
+	private static int getOperatorStart(CharSequence sourceCode, int position)
 	{
 		// Check no-space operators first
 		for (String op : NO_SPACE_OPERATORS)
 			if (position >= op.length() - 1)
 			{
 				int checkPos = position - (op.length() - 1);
-				if (checkPos >= 0 && checkPos + op.length() <= sourceCode.length() &&
-					sourceCode.substring(checkPos, checkPos + op.length()).equals(op))
+				if (regionMatches(sourceCode, checkPos, op))
 					return checkPos;
 			}
 
@@ -580,8 +577,7 @@ public final class WhitespaceFixer
 			if (position >= op.length() - 1)
 			{
 				int checkPos = position - (op.length() - 1);
-				if (checkPos >= 0 && checkPos + op.length() <= sourceCode.length() &&
-					sourceCode.substring(checkPos, checkPos + op.length()).equals(op))
+				if (regionMatches(sourceCode, checkPos, op))
 					return checkPos;
 			}
 
@@ -595,17 +591,15 @@ public final class WhitespaceFixer
 	 * @param position the start position
 	 * @return the operator length
 	 */
-	private static int getOperatorLength(String sourceCode, int position)
+	private static int getOperatorLength(CharSequence sourceCode, int position)
 	{
 		// Check no-space operators first
 		for (String op : NO_SPACE_OPERATORS)
-			if (position + op.length() <= sourceCode.length() &&
-				sourceCode.substring(position, position + op.length()).equals(op))
+			if (regionMatches(sourceCode, position, op))
 				return op.length();
 
 		for (String op : BINARY_OPERATORS)
-			if (position + op.length() <= sourceCode.length() &&
-				sourceCode.substring(position, position + op.length()).equals(op))
+			if (regionMatches(sourceCode, position, op))
 				return op.length();
 
 		return 1;
@@ -618,31 +612,27 @@ public final class WhitespaceFixer
 	 * @param position the position
 	 * @return true if position starts a control keyword
 	 */
-	private static boolean isControlKeywordStart(String sourceCode, int position)
+	private static boolean isControlKeywordStart(CharSequence sourceCode, int position)
 	{
 		for (String keyword : CONTROL_KEYWORDS)
-			if (position + keyword.length() <= sourceCode.length())
+			if (regionMatches(sourceCode, position, keyword))
 			{
-				String candidate = sourceCode.substring(position, position + keyword.length());
-				if (candidate.equals(keyword))
+				// Check word boundaries
+				if (position + keyword.length() < sourceCode.length())
 				{
-					// Check word boundaries
-					if (position + keyword.length() < sourceCode.length())
-					{
-						char next = sourceCode.charAt(position + keyword.length());
-						if (Character.isLetterOrDigit(next) || next == '_')
-							continue;
-					}
-
-					if (position > 0)
-					{
-						char prev = sourceCode.charAt(position - 1);
-						if (Character.isLetterOrDigit(prev) || prev == '_')
-							continue;
-					}
+					char next = sourceCode.charAt(position + keyword.length());
+					if (Character.isLetterOrDigit(next) || next == '_')
+						continue;
+				}
 
-					return true;
+				if (position > 0)
+				{
+					char prev = sourceCode.charAt(position - 1);
+					if (Character.isLetterOrDigit(prev) || prev == '_')
+						continue;
 				}
+
+				return true;
 			}
 
 		return false;
@@ -655,7 +645,7 @@ public final class WhitespaceFixer
 	 * @param position the position
 	 * @return true if there's a control keyword before this position
 	 */
-	private static boolean isControlKeywordBefore(String sourceCode, int position)
+	private static boolean isControlKeywordBefore(CharSequence sourceCode, int position)
 	{
 		// Look backward for control keyword
 		int searchStart = Math.max(0, position - 20);
@@ -673,7 +663,7 @@ public final class WhitespaceFixer
 	 * @param position the position within the keyword
 	 * @return the start position
 	 */
-	private static int getKeywordStart(String sourceCode, int position)
+	private static int getKeywordStart(CharSequence sourceCode, int position)
 	{
 		int start = position;
 		while (start > 0 && (Character.isLetterOrDigit(sourceCode.charAt(start - 1)) ||
@@ -690,7 +680,7 @@ public final class WhitespaceFixer
 	 * @param start the start position
 	 * @return the end position
 	 */
-	private static int getKeywordEnd(String sourceCode, int start)
+	private static int getKeywordEnd(CharSequence sourceCode, int start)
 	{
 		int end = start;
 		while (end < sourceCode.length() &&
@@ -707,7 +697,7 @@ public final class WhitespaceFixer
 	 * @param position the position of the angle bracket
 	 * @return true if this is likely a generic bracket
 	 */
-	private static boolean isGenericBracket(String sourceCode, int position)
+	private static boolean isGenericBracket(CharSequence sourceCode, int position)
 	{
 		char c = sourceCode.charAt(position);
 		if (c == '<')
@@ -724,7 +714,7 @@ public final class WhitespaceFixer
 	 * @param position the position of the angle bracket
 	 * @return true if this is a generic opening bracket
 	 */
-	private static boolean isGenericOpenBracket(String sourceCode, int position)
+	private static boolean isGenericOpenBracket(CharSequence sourceCode, int position)
 	{
 		int next = skipSpacesForward(sourceCode, position + 1);
 		if (next >= sourceCode.length())
@@ -755,7 +745,7 @@ public final class WhitespaceFixer
 	 * @param position the position of the angle bracket
 	 * @return true if this is a generic closing bracket
 	 */
-	private static boolean isGenericCloseBracket(String sourceCode, int position)
+	private static boolean isGenericCloseBracket(CharSequence sourceCode, int position)
 	{
 		// Check for diamond operator (<>) or matching generic open bracket
 		boolean isDiamondOperator = position > 0 && sourceCode.charAt(position - 1) == '<';
@@ -769,7 +759,7 @@ public final class WhitespaceFixer
 	 * @param identStart the start position of the identifier
 	 * @return true if this looks like a type parameter declaration
 	 */
-	private static boolean isTypeParameterDeclaration(String sourceCode, int identStart)
+	private static boolean isTypeParameterDeclaration(CharSequence sourceCode, int identStart)
 	{
 		if (!Character.isUpperCase(sourceCode.charAt(identStart)))
 			return false;
@@ -787,23 +777,31 @@ public final class WhitespaceFixer
 
 		char nextChar = sourceCode.charAt(afterIdent);
 		return nextChar == '>' || nextChar == ',' ||
-			sourceCode.substring(afterIdent).startsWith("extends") ||
-			sourceCode.substring(afterIdent).startsWith("super");
+			regionMatches(sourceCode, afterIdent, "extends") || regionMatches(sourceCode, afterIdent, "super");
 	}
 
 	/**
 	 * Looks for a matching {@code <} that suggests generics.
+	 * <p>
+	 * Type arguments cannot contain {@code ;}, <code>{</code> or <code>}</code>, so the search stops at the
+	 * first of them. This bounds the cost of each comparison operator or lambda arrow by the length of its
+	 * statement instead of the length of the file.
 	 *
 	 * @param sourceCode the source code
 	 * @param position the position of the closing bracket
 	 * @return true if a matching generic open bracket is found
 	 */
-	private static boolean hasMatchingGenericOpenBracket(String sourceCode, int position)
+	private static boolean hasMatchingGenericOpenBracket(CharSequence sourceCode, int position)
 	{
+		// A lambda arrow is never the end of a type argument list
+		if (position > 0 && sourceCode.charAt(position - 1) == '-')
+			return false;
 		int depth = 1;
 		for (int i = position - 1; i >= 0 && depth > 0; --i)
 		{
 			char ch = sourceCode.charAt(i);
+			if (ch == ';' || ch == '{' || ch == '}')
+				return false;
 			if (ch == '>')
 				++depth;
 			else if (ch == '<')
@@ -824,7 +822,7 @@ public final class WhitespaceFixer
 	 * @param closePos the position of the closing bracket
 	 * @return true if this matched bracket pair appears to be for generics
 	 */
-	private static boolean isMatchedBracketGeneric(String sourceCode, int openPos, int closePos)
+	private static boolean isMatchedBracketGeneric(CharSequence sourceCode, int openPos, int closePos)
 	{
 		int prev = skipSpacesBackward(sourceCode, openPos - 1);
 		if (prev >= 0 && Character.isJavaIdentifierPart(sourceCode.charAt(prev)))
@@ -847,6 +845,24 @@ public final class WhitespaceFixer
 		return false;
 	}
 
+	/**
+	 * Checks if text appears at a position, without copying the surrounding characters.
+	 *
+	 * @param sourceCode the source code
+	 * @param position the position to check
+	 * @param text the text to look for
+	 * @return true if {@code sourceCode} contains {@code text} starting at {@code position}
+	 */
+	private static boolean regionMatches(CharSequence sourceCode, int position, String text)
+	{
+		if (position < 0 || position + text.length() > sourceCode.length())
+			return false;
+		for (int i = 0; i < text.length(); ++i)
+			if (sourceCode.charAt(position + i) != text.charAt(i))
+				return false;
+		return true;
+	}
+
 	/**
 	 * Skips spaces forward from a position.
 	 *
@@ -854,7 +870,7 @@ public final class WhitespaceFixer
 	 * @param position the starting position
 	 * @return the position of the first non-space character
 	 */
-	private static int skipSpacesForward(String sourceCode, int position)
+	private static int skipSpacesForward(CharSequence sourceCode, int position)
 	{
 		while (position < sourceCode.length() && sourceCode.charAt(position) == ' ')
 			++position;
@@ -868,7 +884,7 @@ public final class WhitespaceFixer
 	 * @param position the starting position
 	 * @return the position of the first non-space character going backward
 	 */
-	private static int skipSpacesBackward(String sourceCode, int position)
+	private static int skipSpacesBackward(CharSequence sourceCode, int position)
 	{
 		while (position >= 0 && sourceCode.charAt(position) == ' ')
 			--position;
@@ -882,11 +898,11 @@ public final class WhitespaceFixer
 	 * @param colonPosition the position of the colon
 	 * @return true if this is a switch case colon
 	 */
-	private static boolean isSwitchCaseColon(String sourceCode, int colonPosition)
+	private static boolean isSwitchCaseColon(CharSequence sourceCode, int colonPosition)
 	{
 		// Look backward for "case" or "default" keyword
 		int searchStart = Math.max(0, colonPosition - 50);
-		String before = sourceCode.substring(searchStart, colonPosition);
+		String before = sourceCode.subSequence(searchStart, colonPosition).toString();
 		// Find the last occurrence of "case" or "default"
 		int caseIdx = before.lastIndexOf("case");
 		int defaultIdx = before.lastIndexOf("default");
@@ -905,10 +921,10 @@ public final class WhitespaceFixer
 	/**
 	 * Removes space before a comma.
 	 *
-	 * @param source the source code string builder
+	 * @param source the source code buffer
 	 * @param commaPosition the position of the comma
 	 */
-	private static void fixSpaceBeforeComma(StringBuilder source, int commaPosition)
+	private static void fixSpaceBeforeComma(GapBuffer source, int commaPosition)
 	{
 		while (commaPosition > 0 && source.charAt(commaPosition - 1) == ' ')
 		{
@@ -924,22 +940,18 @@ public final class WhitespaceFixer
 	 * @param position the position
 	 * @return true if this is "elseif" needing separation
 	 */
-	private static boolean isElseIfSequence(String sourceCode, int position)
+	private static boolean isElseIfSequence(CharSequence sourceCode, int position)
 	{
-		if (position + 6 > sourceCode.length())
-			return false;
-
-		String candidate = sourceCode.substring(position, Math.min(position + 6, sourceCode.length()));
-		return candidate.equals("elseif");
+		return regionMatches(sourceCode, position, "elseif");
 	}
 
 	/**
 	 * Fixes "elseif" by inserting a space between "else" and "if".
 	 *
-	 * @param source the source code string builder
+	 * @param source the source code buffer
 	 * @param position the position of 'e' in "elseif"
 	 */
-	private static void fixElseIfSpacing(StringBuilder source, int position)
+	private static void fixElseIfSpacing(GapBuffer source, int position)
 	{
 		// Insert space after "else"
 		source.insert(position + 4, ' ');
@@ -952,13 +964,9 @@ public final class WhitespaceFixer
 	 * @param position the position
 	 * @return true if this is the start of "new" keyword
 	 */
-	private static boolean isNewKeywordStart(String sourceCode, int position)
+	private static boolean isNewKeywordStart(CharSequence sourceCode, int position)
 	{
-		if (position + 3 > sourceCode.length())
-			return false;
-
-		String candidate = sourceCode.substring(position, position + 3);
-		if (!candidate.equals("new"))
+		if (!regionMatches(sourceCode, position, "new"))
 			return false;
 
 		// Check word boundaries
@@ -981,10 +989,10 @@ public final class WhitespaceFixer
 	/**
 	 * Fixes spacing after the "new" keyword - normalizes to exactly one space.
 	 *
-	 * @param source the source code string builder
+	 * @param source the source code buffer
 	 * @param position the position of 'n' in "new"
 	 */
-	private static void fixNewKeywordSpacing(StringBuilder source, int position)
+	private static void fixNewKeywordSpacing(GapBuffer source, int position)
 	{
 		int afterNew = position + 3;
 
@@ -0,0 +1,74 @@
+package io.github.cowwoc.styler.formatter.test;
+
+import io.github.cowwoc.styler.ast.core.NodeArena;
+import io.github.cowwoc.styler.ast.core.NodeType;
+import io.github.cowwoc.styler.formatter.AstPositionIndex;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Performance tests for {@link AstPositionIndex}.
+ * <p>
+ * Note: Performance tests are marked with group "performance" and may be skipped in normal test runs
+ * if performance validation is not needed.
+ */
+public class AstPositionIndexPerformanceTest
+{
+	private static final int METHOD_COUNT = 10_000;
+	private static final int CHARACTERS_PER_METHOD = 100;
+
+	/**
+	 * Tests that stabbing queries over an arena with more than 50,000 nodes complete in logarithmic time.
+	 * <p>
+	 * Querying every position with a linear scan would visit {@code 6 * 10^10} intervals.
+	 */
+	@Test(groups = "performance")
+	public void stabbingQueriesOnLargeArenaCompleteUnder5Seconds()
+	{
+		try (NodeArena arena = createLargeArena())
+		{
+			int sourceLength = METHOD_COUNT * CHARACTERS_PER_METHOD;
+			requireThat(arena.getNodeCount(), "arena.getNodeCount()").isGreaterThan(50_000);
+
+			Instant startTime = Instant.now();
+			AstPositionIndex index = new AstPositionIndex(arena, sourceLength);
+			long checksum = 0;
+			for (int position = 0; position < sourceLength; ++position)
+			{
+				checksum += index.getDepth(position);
+				if (index.findEnclosingNode(position) != null)
+					++checksum;
+			}
+			Duration elapsed = Duration.between(startTime, Instant.now());
+
+			requireThat(checksum, "checksum").isPositive();
+			requireThat(elapsed, "elapsed").isLessThan(Duration.ofSeconds(5));
+		}
+	}
+
+	/**
+	 * Creates an arena that mimics a class containing many small methods, allocated in post-order.
+	 *
+	 * @return the arena
+	 */
+	private static NodeArena createLargeArena()
+	{
+		NodeArena arena = new NodeArena();
+		for (int i = 0; i < METHOD_COUNT; ++i)
+		{
+			int base = i * CHARACTERS_PER_METHOD;
+			arena.allocateNode(NodeType.IDENTIFIER, base + 10, base + 15);
+			arena.allocateNode(NodeType.IDENTIFIER, base + 20, base + 25);
+			arena.allocateNode(NodeType.BINARY_EXPRESSION, base + 10, base + 25);
+			arena.allocateNode(NodeType.EXPRESSION_STATEMENT, base + 10, base + 26);
+			arena.allocateNode(NodeType.BLOCK, base + 5, base + 90);
+			arena.allocateNode(NodeType.METHOD_DECLARATION, base, base + 95);
+		}
+		arena.allocateNode(NodeType.CLASS_DECLARATION, 0, METHOD_COUNT * CHARACTERS_PER_METHOD);
+		return arena;
+	}
+}
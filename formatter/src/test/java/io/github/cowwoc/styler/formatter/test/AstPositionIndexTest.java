@@ -0,0 +1,206 @@
+package io.github.cowwoc.styler.formatter.test;
+
+import io.github.cowwoc.styler.ast.core.NodeArena;
+import io.github.cowwoc.styler.ast.core.NodeIndex;
+import io.github.cowwoc.styler.ast.core.NodeType;
+import io.github.cowwoc.styler.formatter.AstPositionIndex;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Tests for {@link AstPositionIndex} stabbing queries.
+ * <p>
+ * Each query is compared against a brute-force scan over every node in the arena.
+ *
+ * <h2>Thread safety</h2>
+ * Thread-safe - all instances are created inside @Test methods.
+ */
+public class AstPositionIndexTest
+{
+	private static final Set<NodeType> INDENT_PRODUCING_TYPES = Set.of(NodeType.BLOCK,
+		NodeType.CLASS_DECLARATION, NodeType.INTERFACE_DECLARATION, NodeType.ENUM_DECLARATION,
+		NodeType.ENUM_CONSTANT, NodeType.SWITCH_STATEMENT, NodeType.SWITCH_EXPRESSION, NodeType.OBJECT_CREATION);
+
+	/**
+	 * Tests that queries against a parsed compilation unit match a brute-force scan at every position.
+	 */
+	@Test
+	public void queriesMatchBruteForceForParsedSource()
+	{
+		String source = """
+			package com.example;
+
+			public class Test
+			{
+				private final int value = 1 + 2 * 3;
+
+				public int compute(int x)
+				{
+					switch (x)
+					{
+						case 1 -> { return value; }
+						default -> { return new Object() { }.hashCode(); }
+					}
+				}
+
+				enum Color { RED, GREEN { void m() { } } }
+			}
+			""";
+		TestTransformationContext context = new TestTransformationContext(source);
+		AstPositionIndex index = context.positionIndex();
+		NodeArena arena = context.arena();
+
+		for (int position = 0; position <= source.length(); ++position)
+		{
+			List<NodeIndex> expected = bruteForceEnclosing(arena, position);
+			requireThat(index.findAllEnclosingNodes(position), "findAllEnclosingNodes(" + position + ")").
+				isEqualTo(expected);
+			NodeIndex expectedSmallest;
+			if (expected.isEmpty())
+				expectedSmallest = null;
+			else
+				expectedSmallest = expected.getFirst();
+			requireThat(index.findEnclosingNode(position), "findEnclosingNode(" + position + ")").
+				isEqualTo(expectedSmallest);
+			requireThat(index.getDepth(position), "getDepth(" + position + ")").
+				isEqualTo(bruteForceDepth(arena, position));
+		}
+	}
+
+	/**
+	 * Tests that the per-line depth table matches {@link AstPositionIndex#getDepth(int)} at the first
+	 * non-whitespace character of each line.
+	 */
+	@Test
+	public void lineDepthsMatchDepthAtFirstCharacterOfLine()
+	{
+		String source = """
+			public class Test
+			{
+				public void method()
+				{
+					if (true)
+					{
+						Runnable r = new Runnable()
+						{
+							public void run()
+							{
+							}
+						};
+					}
+				}
+			}
+			""";
+		TestTransformationContext context = new TestTransformationContext(source);
+		AstPositionIndex index = context.positionIndex();
+
+		int[] lineDepths = index.getLineDepths(source);
+		String[] lines = source.split("\n", -1);
+		requireThat(lineDepths.length, "lineDepths.length").isEqualTo(lines.length);
+
+		int lineStart = 0;
+		for (int line = 0; line < lines.length; ++line)
+		{
+			int position = lineStart;
+			while (position < lineStart + lines[line].length() &&
+				(source.charAt(position) == ' ' || source.charAt(position) == '\t'))
+				++position;
+			requireThat(lineDepths[line], "lineDepths[" + line + "]").isEqualTo(index.getDepth(position));
+			lineStart += lines[line].length() + 1;
+		}
+		requireThat(lineDepths[8], "lineDepths[8]").isEqualTo(4);
+	}
+
+	/**
+	 * Tests that the per-line depth table rejects source code that does not match the index.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void lineDepthsRejectMismatchedSource()
+	{
+		TestTransformationContext context = new TestTransformationContext("class Test { }");
+		context.positionIndex().getLineDepths("class Test { } ");
+	}
+
+	/**
+	 * Tests that overlapping intervals that do not nest are still reported.
+	 */
+	@Test
+	public void overlappingIntervalsAreReported()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			NodeIndex first = arena.allocateNode(NodeType.BLOCK, 0, 10);
+			NodeIndex second = arena.allocateNode(NodeType.BLOCK, 5, 20);
+			AstPositionIndex index = new AstPositionIndex(arena, 20);
+
+			requireThat(index.findAllEnclosingNodes(7), "findAllEnclosingNodes(7)").
+				isEqualTo(List.of(first, second));
+			requireThat(index.findEnclosingNode(15), "findEnclosingNode(15)").isEqualTo(second);
+			requireThat(index.findEnclosingNode(20), "findEnclosingNode(20)").isNull();
+		}
+	}
+
+	/**
+	 * Tests that an empty arena yields empty results.
+	 */
+	@Test
+	public void emptyArenaHasNoEnclosingNodes()
+	{
+		try (NodeArena arena = new NodeArena())
+		{
+			AstPositionIndex index = new AstPositionIndex(arena, 0);
+
+			requireThat(index.findEnclosingNode(0), "findEnclosingNode(0)").isNull();
+			requireThat(index.findAllEnclosingNodes(0), "findAllEnclosingNodes(0)").isEmpty();
+			requireThat(index.getDepth(0), "getDepth(0)").isEqualTo(0);
+		}
+	}
+
+	/**
+	 * Returns the nodes that enclose a position, from smallest to largest, by scanning every node.
+	 *
+	 * @param arena    the arena to scan
+	 * @param position the character offset
+	 * @return the enclosing nodes
+	 */
+	private static List<NodeIndex> bruteForceEnclosing(NodeArena arena, int position)
+	{
+		List<NodeIndex> result = new ArrayList<>();
+		for (int i = 0; i < arena.getNodeCount(); ++i)
+		{
+			NodeIndex node = new NodeIndex(i);
+			if (arena.getStart(node) <= position && position < arena.getEnd(node))
+				result.add(node);
+		}
+		result.sort(Comparator.<NodeIndex>comparingInt(node -> arena.getEnd(node) - arena.getStart(node)).
+			thenComparingInt(arena::getStart).
+			thenComparingInt(NodeIndex::index));
+		return result;
+	}
+
+	/**
+	 * Returns the indentation depth at a position by scanning every node.
+	 *
+	 * @param arena    the arena to scan
+	 * @param position the character offset
+	 * @return the number of indentation-producing nodes that strictly enclose the position
+	 */
+	private static int bruteForceDepth(NodeArena arena, int position)
+	{
+		int depth = 0;
+		for (int i = 0; i < arena.getNodeCount(); ++i)
+		{
+			NodeIndex node = new NodeIndex(i);
+			if (INDENT_PRODUCING_TYPES.contains(arena.getType(node)) && arena.getStart(node) < position &&
+				position < arena.getEnd(node) - 1)
+				++depth;
+		}
+		return depth;
+	}
+}
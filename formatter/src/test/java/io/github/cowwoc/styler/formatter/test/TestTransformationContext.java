@@ -1,11 +1,14 @@
 package io.github.cowwoc.styler.formatter.test;
 
+import io.github.cowwoc.styler.ast.core.BracketMap;
+import io.github.cowwoc.styler.ast.core.LineMap;
 import io.github.cowwoc.styler.ast.core.NodeArena;
 import io.github.cowwoc.styler.ast.core.NodeIndex;
 import io.github.cowwoc.styler.formatter.AstPositionIndex;
 import io.github.cowwoc.styler.formatter.ClasspathScanner;
 import io.github.cowwoc.styler.formatter.TransformationContext;
 import io.github.cowwoc.styler.formatter.TypeResolutionConfig;
+import io.github.cowwoc.styler.parser.Lexer;
 import io.github.cowwoc.styler.parser.ParseResult;
 import io.github.cowwoc.styler.parser.Parser;
 import io.github.cowwoc.styler.security.SecurityConfig;
@@ -24,6 +27,8 @@ public final class TestTransformationContext implements TransformationContext
 	private final NodeArena arena;
 	private final NodeIndex rootNode;
 	private final String sourceCode;
+	private final LineMap lineMap;
+	private final BracketMap bracketMap;
 	private final Path filePath;
 	private final SecurityConfig securityConfig;
 	private final AstPositionIndex positionIndex;
@@ -50,6 +55,8 @@ public final class TestTransformationContext implements TransformationContext
 			{
 				this.arena = parser.getArena();
 				this.rootNode = success.rootNode();
+				this.lineMap = parser.getLineMap();
+				this.bracketMap = parser.getBracketMap();
 				this.positionIndex = new AstPositionIndex(this.arena, sourceCode.length());
 			}
 			case ParseResult.Failure failure -> throw new IllegalArgumentException(
@@ -77,6 +84,8 @@ public final class TestTransformationContext implements TransformationContext
 		this.securityConfig = SecurityConfig.DEFAULT;
 		this.arena = arena;
 		this.rootNode = rootNode;
+		this.lineMap = LineMap.of(sourceCode);
+		this.bracketMap = new Lexer(sourceCode).tokenize().getBracketMap();
 		this.positionIndex = new AstPositionIndex(arena, sourceCode.length());
 	}
 
@@ -122,29 +131,25 @@ public final class TestTransformationContext implements TransformationContext
 	@Override
 	public int getLineNumber(int position)
 	{
-		requireThat(position, "position").isGreaterThanOrEqualTo(0).
-			isLessThanOrEqualTo(sourceCode.length());
-
-		int lineNumber = 1;
-		for (int i = 0; i < position; ++i)
-		{
-			if (sourceCode.charAt(i) == '\n')
-				++lineNumber;
-		}
-		return lineNumber;
+		return lineMap.getLineNumber(position);
 	}
 
 	@Override
 	public int getColumnNumber(int position)
 	{
-		requireThat(position, "position").isGreaterThanOrEqualTo(0).
-			isLessThanOrEqualTo(sourceCode.length());
+		return lineMap.getColumnNumber(position);
+	}
 
-		int column = 1;
-		for (int i = position - 1; i >= 0 && sourceCode.charAt(i) != '\n'; --i)
-			++column;
+	@Override
+	public LineMap lineMap()
+	{
+		return lineMap;
+	}
 
-		return column;
+	@Override
+	public BracketMap bracketMap()
+	{
+		return bracketMap;
 	}
 
 	@Override
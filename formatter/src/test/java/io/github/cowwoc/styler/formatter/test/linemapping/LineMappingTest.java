@@ -297,4 +297,37 @@ public class LineMappingTest
 		// Line 5 in formatted (the comment) is new
 		requireThat(mapping.toOriginalLine(5), "toOriginalLine(5)").isEqualTo(Optional.empty());
 	}
+
+	/**
+	 * Tests that scattered edits in a large file are mapped without a quadratic-size table.
+	 */
+	@Test
+	public void largeFileWithScatteredEdits()
+	{
+		int lineCount = 20_000;
+		StringBuilder original = new StringBuilder();
+		StringBuilder formatted = new StringBuilder();
+		for (int i = 1; i <= lineCount; ++i)
+		{
+			String line = "int value" + i + ";\n";
+			original.append(line);
+			if (i % 1000 == 0)
+			{
+				// Replace every 1000th line and insert a blank line after it
+				formatted.append("int renamed").append(i).append(";\n\n");
+			}
+			else
+				formatted.append(line);
+		}
+
+		LineMappingBuilder builder = new LineMappingBuilder();
+		LineMapping mapping = builder.build(original.toString(), formatted.toString());
+
+		requireThat(mapping.lineDelta(), "lineDelta").isEqualTo(lineCount / 1000);
+		requireThat(mapping.toFormattedLine(999), "toFormattedLine(999)").isEqualTo(Optional.of(999));
+		requireThat(mapping.toFormattedLine(1000), "toFormattedLine(1000)").isEqualTo(Optional.empty());
+		requireThat(mapping.toFormattedLine(1001), "toFormattedLine(1001)").isEqualTo(Optional.of(1002));
+		requireThat(mapping.toFormattedLine(19_999), "toFormattedLine(19999)").isEqualTo(Optional.of(20_018));
+		requireThat(mapping.toOriginalLine(1001), "toOriginalLine(1001)").isEqualTo(Optional.empty());
+	}
 }
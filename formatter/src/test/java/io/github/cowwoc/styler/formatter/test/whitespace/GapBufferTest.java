@@ -0,0 +1,73 @@
+package io.github.cowwoc.styler.formatter.test.whitespace;
+
+import io.github.cowwoc.styler.formatter.whitespace.internal.GapBuffer;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Tests for the gap buffer used by the whitespace formatter.
+ */
+public class GapBufferTest
+{
+	/**
+	 * Tests that random edits produce the same text as the equivalent {@link StringBuilder} edits.
+	 */
+	@Test
+	public void randomEditsMatchStringBuilder()
+	{
+		Random random = new Random(42);
+		StringBuilder expected = new StringBuilder("int x = a+b;");
+		GapBuffer actual = new GapBuffer(expected);
+		for (int i = 0; i < 2000; ++i)
+		{
+			int operation = random.nextInt(3);
+			if (operation == 0 && !expected.isEmpty())
+			{
+				int index = random.nextInt(expected.length());
+				expected.deleteCharAt(index);
+				actual.deleteCharAt(index);
+			}
+			else if (operation == 1)
+			{
+				int index = random.nextInt(expected.length() + 1);
+				expected.insert(index, ' ');
+				actual.insert(index, ' ');
+			}
+			else
+			{
+				int index = random.nextInt(expected.length() + 1);
+				String text = "ab".repeat(random.nextInt(20));
+				expected.insert(index, text);
+				actual.insert(index, text);
+			}
+			requireThat(actual.toString(), "actual").isEqualTo(expected.toString());
+		}
+	}
+
+	/**
+	 * Tests that characters and subsequences on either side of the gap are read correctly.
+	 */
+	@Test
+	public void readsAcrossGap()
+	{
+		GapBuffer buffer = new GapBuffer("a+b");
+		buffer.insert(2, ' ');
+		buffer.insert(1, ' ');
+
+		requireThat(buffer.length(), "buffer.length()").isEqualTo(5);
+		requireThat(buffer.charAt(2), "buffer.charAt(2)").isEqualTo('+');
+		requireThat(buffer.subSequence(0, 5).toString(), "buffer.subSequence(0, 5)").isEqualTo("a + b");
+	}
+
+	/**
+	 * Tests that reading past the end of the text is rejected.
+	 */
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void charAtPastEnd()
+	{
+		new GapBuffer("abc").charAt(3);
+	}
+}
@@ -0,0 +1,46 @@
+package io.github.cowwoc.styler.formatter.test.whitespace;
+
+import io.github.cowwoc.styler.formatter.test.TestTransformationContext;
+import io.github.cowwoc.styler.formatter.whitespace.WhitespaceFormattingConfiguration;
+import io.github.cowwoc.styler.formatter.whitespace.WhitespaceFormattingRule;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Performance tests for whitespace formatting.
+ * <p>
+ * Note: Performance tests are marked with group "performance" and may be skipped in normal test runs
+ * if performance validation is not needed.
+ */
+public class WhitespacePerformanceTest
+{
+	/**
+	 * Tests that formatting a file full of comparisons and lambda arrows completes in linear time.
+	 * <p>
+	 * Searching for the {@code <} of every {@code >} back to the start of the file would read
+	 * {@code 10^10} characters.
+	 */
+	@Test(groups = "performance")
+	public void comparisonsAndLambdasCompleteUnder5Seconds()
+	{
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < 5000; ++i)
+			body.append("b = a>0;\nf = x->x;\n");
+		String source = "class T\n{\n\tvoid m()\n\t{\n" + body + "\t}\n}\n";
+		TestTransformationContext context = new TestTransformationContext(source);
+		WhitespaceFormattingRule rule = new WhitespaceFormattingRule();
+		WhitespaceFormattingConfiguration config = WhitespaceFormattingConfiguration.defaultConfig();
+
+		Instant startTime = Instant.now();
+		String result = rule.format(context, List.of(config));
+		Duration elapsed = Duration.between(startTime, Instant.now());
+
+		requireThat(result, "result").contains("b = a > 0;\nf = x -> x;\n");
+		requireThat(elapsed, "elapsed").isLessThan(Duration.ofSeconds(5));
+	}
+}
@@ -0,0 +1,247 @@
+package io.github.cowwoc.styler.parser;
+
+import io.github.cowwoc.styler.ast.core.NodeArena;
+import io.github.cowwoc.styler.ast.core.NodeIndex;
+import io.github.cowwoc.styler.ast.core.NodeType;
+import io.github.cowwoc.styler.ast.core.SecurityConfig;
+import io.github.cowwoc.styler.parser.Lexer.LexerException;
+import io.github.cowwoc.styler.parser.Parser.ParserException;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Updates the AST of source code after an edit without parsing the entire file again.
+ * <p>
+ * An edit that lies strictly inside a block (between its braces) cannot change how the code around the block is
+ * tokenized or parsed, so long as the new contents of the block still form a complete block. Only the text of
+ * the innermost such block is lexed and parsed again. The new nodes are spliced into a copy of the old AST, and
+ * the nodes that follow the block are moved by the change in length.
+ * <p>
+ * If the new text of a block does not parse as a single block (for example, because the edit added an
+ * unbalanced brace or an unterminated comment), the next enclosing block is tried. If no block encloses the
+ * edit, or if the AST before the edit contains syntax errors, the entire source code is parsed again. A block
+ * is also skipped if its contents might exceed {@link SecurityConfig#MAX_NODE_DEPTH} when combined with an
+ * upper bound on the nesting of the code around it.
+ * <p>
+ * Lexing and parsing are proportional to the size of the reparsed block. Splicing copies each node of the
+ * old AST once, without examining any tokens.
+ * <p>
+ * <b>Thread-safety</b>: This class is stateless and thread-safe.
+ */
+public final class IncrementalParser
+{
+	/**
+	 * Prevent construction.
+	 */
+	private IncrementalParser()
+	{
+	}
+
+	/**
+	 * Parses source code after an edit, reusing the AST of the source code before the edit.
+	 * <p>
+	 * Only an AST without syntax errors is reused. If {@code oldResult} is a {@link ParseResult.Failure}, the
+	 * entire source code is parsed again so that the errors outside the edited block are reported.
+	 *
+	 * @param oldSource the source code before the edit
+	 * @param oldArena  the arena that contains the AST of {@code oldSource}
+	 * @param oldResult the result of parsing {@code oldSource}
+	 * @param edit      the edit
+	 * @param target    an empty arena to store the AST of the edited source code in
+	 * @return the result of the parse
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if {@code edit} extends past the end of {@code oldSource},
+	 *                                  {@code target} is not empty or the edited source code exceeds the
+	 *                                  size limits of {@link Parser}
+	 * @throws LexerException           if the edited source code cannot be tokenized
+	 */
+	public static Result reparse(String oldSource, NodeArena oldArena, ParseResult oldResult, TextEdit edit,
+		NodeArena target)
+	{
+		requireThat(oldArena, "oldArena").isNotNull();
+		requireThat(oldResult, "oldResult").isNotNull();
+		requireThat(edit, "edit").isNotNull();
+		requireThat(target, "target").isNotNull();
+		requireThat(target.getNodeCount(), "target.getNodeCount()").isEqualTo(0);
+		String newSource = edit.apply(oldSource);
+		Parser.checkSourceSize(newSource);
+
+		// Every token other than END_OF_FILE contains at least one character, so shorter source code cannot
+		// exceed the token limit. Longer source code is parsed in full, which counts its tokens.
+		if (oldResult instanceof ParseResult.Success oldSuccess &&
+			newSource.length() < SecurityConfig.MAX_TOKEN_COUNT)
+		{
+			// Blocks are allocated after their contents, so enclosing blocks are visited from the innermost
+			// outwards
+			for (int block : oldArena.getNodesByType(NodeType.BLOCK))
+			{
+				int blockStart = oldArena.getStart(block);
+				int blockEnd = oldArena.getEnd(block);
+				if (edit.offset() <= blockStart || edit.removedEnd() >= blockEnd)
+					continue;
+				NodeIndex newBlock = tryReparseBlock(newSource, oldArena, block, edit, target);
+				if (newBlock != null)
+				{
+					// Only the nodes of the block changed in number, and they precede the root
+					NodeIndex newRoot = new NodeIndex(oldSuccess.rootNode().index() + newBlock.index() - block);
+					return new Result(newSource, new ParseResult.Success(newRoot), newBlock);
+				}
+			}
+		}
+
+		try (Parser parser = new Parser(newSource, target))
+		{
+			return new Result(newSource, parser.parse(), null);
+		}
+	}
+
+	/**
+	 * Replaces the contents of a block with the result of parsing its new text.
+	 *
+	 * @param newSource the edited source code
+	 * @param oldArena  the arena that contains the AST before the edit
+	 * @param block     the index of a block that strictly encloses the edit in {@code oldArena}
+	 * @param edit      the edit
+	 * @param target    an empty arena to store the AST of the edited source code in
+	 * @return the new block in {@code target}, or {@code null} if the new text of the block is not a single
+	 *         block or might exceed the nesting depth limit (leaving {@code target} empty)
+	 */
+	private static NodeIndex tryReparseBlock(String newSource, NodeArena oldArena, int block, TextEdit edit,
+		NodeArena target)
+	{
+		int blockStart = oldArena.getStart(block);
+		int oldBlockEnd = oldArena.getEnd(block);
+		int delta = edit.getDelta();
+		String fragment = newSource.substring(blockStart, oldBlockEnd + delta);
+		// The code before the block is unchanged, so its positions in the old AST apply to the edited source code
+		try (Parser parser = new Parser(fragment, getMaxDepth(newSource, oldArena, block)))
+		{
+			parser.parseBlock();
+			if (parser.currentType() != TokenType.END_OF_FILE || !parser.getErrors().isEmpty())
+				return null;
+			NodeArena fragmentArena = parser.getArena();
+			int firstDescendant = getFirstDescendant(oldArena, block);
+
+			for (int node = 0; node < firstDescendant; ++node)
+				target.allocateCopy(oldArena, node, oldArena.getStart(node), oldArena.getEnd(node));
+			NodeIndex newBlock = null;
+			for (int node = 0; node < fragmentArena.getNodeCount(); ++node)
+			{
+				// The block is the last node that the fragment parser allocated
+				newBlock = target.allocateCopy(fragmentArena, node, fragmentArena.getStart(node) + blockStart,
+					fragmentArena.getEnd(node) + blockStart);
+			}
+			for (int node = block + 1; node < oldArena.getNodeCount(); ++node)
+			{
+				target.allocateCopy(oldArena, node, shift(oldArena.getStart(node), oldBlockEnd, delta),
+					shift(oldArena.getEnd(node), oldBlockEnd, delta));
+			}
+			return newBlock;
+		}
+		catch (ParserException | LexerException _)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Returns an upper bound on the nesting depth that the parser reached before it parsed a block.
+	 * <p>
+	 * The parser counts the unary operators and primary expressions that enclose the code that it is parsing.
+	 * Each of them either allocated an ancestor of the block, or is a redundant pair of parentheses around an
+	 * ancestor. The opening parenthesis of such a pair belongs to the parent of that ancestor, and precedes the
+	 * ancestor without being part of any of its siblings.
+	 *
+	 * @param source the source code that contains the block
+	 * @param arena  the arena that contains the block
+	 * @param block  the index of the block
+	 * @return the number of ancestors of the block, plus the number of parentheses that may enclose it
+	 */
+	private static int getMaxDepth(String source, NodeArena arena, int block)
+	{
+		int depth = 0;
+		NodeIndex child = new NodeIndex(block);
+		NodeIndex parent = arena.getParent(child);
+		while (parent != null)
+		{
+			++depth;
+			// Skip the children that precede the ancestor; what remains are the parent's own tokens
+			int start = arena.getStart(parent);
+			NodeIndex sibling = arena.getFirstChild(parent);
+			while (!sibling.equals(child))
+			{
+				start = Math.max(start, arena.getEnd(sibling));
+				sibling = arena.getNextSibling(sibling);
+			}
+			int end = arena.getStart(child);
+			for (int i = start; i < end; ++i)
+				if (source.charAt(i) == '(')
+					++depth;
+			child = parent;
+			parent = arena.getParent(child);
+		}
+		return depth;
+	}
+
+	/**
+	 * Returns the first node that was allocated while parsing a node.
+	 *
+	 * @param arena the arena that contains the node
+	 * @param node  the index of the node
+	 * @return the smallest index in the subtree rooted at {@code node}
+	 */
+	private static int getFirstDescendant(NodeArena arena, int node)
+	{
+		int first = node;
+		NodeIndex child = arena.getFirstChild(new NodeIndex(node));
+		while (child != null)
+		{
+			first = Math.min(first, getFirstDescendant(arena, child.index()));
+			child = arena.getNextSibling(child);
+		}
+		return first;
+	}
+
+	/**
+	 * Moves a position that lies at or after the end of the reparsed block.
+	 *
+	 * @param position  a position in the source code before the edit
+	 * @param threshold the end of the reparsed block before the edit
+	 * @param delta     the change in length caused by the edit
+	 * @return the position in the edited source code
+	 */
+	private static int shift(int position, int threshold, int delta)
+	{
+		if (position >= threshold)
+			return position + delta;
+		return position;
+	}
+
+	/**
+	 * The result of an incremental parse.
+	 * <p>
+	 * <b>Thread-safety</b>: This class is immutable.
+	 *
+	 * @param sourceCode    the edited source code
+	 * @param parseResult   the result of parsing {@code sourceCode}
+	 * @param reparsedBlock the block whose contents were parsed again, or {@code null} if the entire source code
+	 *                      was parsed again
+	 */
+	public record Result(String sourceCode, ParseResult parseResult, NodeIndex reparsedBlock)
+	{
+		/**
+		 * Creates a new result.
+		 *
+		 * @param sourceCode    the edited source code
+		 * @param parseResult   the result of parsing {@code sourceCode}
+		 * @param reparsedBlock the block whose contents were parsed again, or {@code null} if the entire source
+		 *                      code was parsed again
+		 * @throws NullPointerException if {@code sourceCode} or {@code parseResult} are null
+		 */
+		public Result
+		{
+			requireThat(sourceCode, "sourceCode").isNotNull();
+			requireThat(parseResult, "parseResult").isNotNull();
+		}
+	}
+}
@@ -1,8 +1,9 @@
 package io.github.cowwoc.styler.parser;
 
+import io.github.cowwoc.styler.ast.core.LineMap;
+
 import java.io.Serial;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
@@ -18,6 +19,12 @@ import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.require
  * escapes ({@code &#92;uXXXX}) are decoded during lexical analysis. Tokens preserve the original escape text
  * in {@link Token#text()} while providing decoded characters via {@link Token#decodedText()} for keyword
  * matching and semantic analysis.
+ * <p>
+ * <b>Line Offsets</b>: The offset of each line start is recorded as a by-product of scanning whitespace and
+ * multi-line tokens, and is exposed via {@link #getLineMap()}.
+ * <p>
+ * <b>Bulk Scanning</b>: Comments, literals and line terminators are located with {@link String#indexOf}, which
+ * the JVM compiles to vectorized instructions, instead of examining one character at a time.
  */
 public final class Lexer
 {
@@ -29,6 +36,9 @@ public final class Lexer
 	 * The suffix "-sealed" that follows "non" to form the "non-sealed" keyword.
 	 */
 	private static final String NON_SEALED_SUFFIX = "-sealed";
+	/**
+	 * The reserved and contextual keywords, and the literals that are spelled like keywords.
+	 */
 	private static final Map<String, TokenType> KEYWORDS = Map.ofEntries(
 		Map.entry("abstract", TokenType.ABSTRACT),
 		Map.entry("assert", TokenType.ASSERT),
@@ -99,9 +109,27 @@ public final class Lexer
 		Map.entry("true", TokenType.BOOLEAN_LITERAL),
 		Map.entry("false", TokenType.BOOLEAN_LITERAL),
 		Map.entry("null", TokenType.NULL_LITERAL));
+	/**
+	 * {@link #KEYWORDS} indexed by length and then by the offset of the first character from {@code 'a'}.
+	 * Buckets that do not contain any keywords are {@code null}.
+	 */
+	private static final Keyword[][][] KEYWORDS_BY_LENGTH_AND_FIRST_CHAR = indexKeywords();
 
 	private final String source;
 	private int position;
+	/**
+	 * The offset at which each line starts. Only the first {@code lineCount} elements are populated.
+	 */
+	private int[] lineStarts = new int[64];
+	private int lineCount = 1;
+	/**
+	 * The start position of the most recently scanned token.
+	 */
+	private int tokenStart;
+	/**
+	 * The decoded text of the most recently scanned token, or {@code null} if it contains no Unicode escapes.
+	 */
+	private String tokenDecodedText;
 
 	/**
 	 * Creates a new lexer for the specified source code.
@@ -116,33 +144,70 @@ public final class Lexer
 
 	/**
 	 * Tokenizes the entire source code.
+	 * <p>
+	 * Tokens are appended to a column-oriented {@link TokenStream} without creating a {@link Token} or a
+	 * substring per token. Brackets are paired with their partners as they are appended.
 	 *
-	 * @return list of tokens including END_OF_FILE token
+	 * @return the tokens, ending with an END_OF_FILE token
 	 */
-	public List<Token> tokenize()
+	public TokenStream tokenize()
 	{
-		List<Token> tokens = new ArrayList<>();
-		Token token;
+		TokenStream tokens = new TokenStream(source);
+		TokenType type;
 		do
 		{
-			token = nextToken();
-			tokens.add(token);
+			type = scanToken();
+			tokens.add(type, tokenStart, position, tokenDecodedText);
 		}
-		while (token.type() != TokenType.END_OF_FILE);
+		while (type != TokenType.END_OF_FILE);
 		return tokens;
 	}
 
+	/**
+	 * Returns the line offsets of the source code that has been tokenized so far.
+	 * <p>
+	 * The result covers the entire source code once {@link #tokenize()} returns or {@link #nextToken()} returns
+	 * {@link TokenType#END_OF_FILE}.
+	 *
+	 * @return the line map
+	 */
+	public LineMap getLineMap()
+	{
+		return new LineMap(Arrays.copyOf(lineStarts, lineCount), source.length());
+	}
+
 	/**
 	 * Reads and returns the next token from the source.
 	 *
 	 * @return the next token
 	 */
 	public Token nextToken()
+	{
+		TokenType type = scanToken();
+		if (type == TokenType.END_OF_FILE)
+			return new Token(type, tokenStart, position, null);
+		String text = source.substring(tokenStart, position);
+		if (tokenDecodedText == null)
+			return new Token(type, tokenStart, position, text);
+		return new Token(type, tokenStart, position, text, tokenDecodedText);
+	}
+
+	/**
+	 * Scans the next token from the source.
+	 * <p>
+	 * On return, the token spans {@code [tokenStart, position)} and {@code tokenDecodedText} holds its decoded
+	 * text if it contains Unicode escapes.
+	 *
+	 * @return the type of the token
+	 */
+	private TokenType scanToken()
 	{
 		skipWhitespace();
+		tokenStart = position;
+		tokenDecodedText = null;
 
 		if (position >= source.length())
-			return new Token(TokenType.END_OF_FILE, position, position, null);
+			return TokenType.END_OF_FILE;
 
 		int start = position;
 		char ch = source.charAt(position);
@@ -153,7 +218,7 @@ public final class Lexer
 			if (peek() == '/')
 				return scanLineComment(start);
 			if (peek() == '*')
-				return scanBlockComment(start);
+				return recordLineStarts(scanBlockComment(start), start);
 		}
 
 		// Identifiers and keywords - check both direct characters and Unicode escapes
@@ -168,13 +233,13 @@ public final class Lexer
 		if (ch == '.' && Character.isDigit(peek()))
 			return scanFloatingPointStartingWithDot(start);
 
-		// String literals
+		// String literals (text blocks span multiple lines)
 		if (ch == '"')
-			return scanStringLiteral(start);
+			return recordLineStarts(scanStringLiteral(start), start);
 
 		// Char literals
 		if (ch == '\'')
-			return scanCharLiteral(start);
+			return recordLineStarts(scanCharLiteral(start), start);
 
 		// Operators and separators
 		return scanOperatorOrSeparator(start);
@@ -182,11 +247,45 @@ public final class Lexer
 
 	private void skipWhitespace()
 	{
-		while (position < source.length() && Character.isWhitespace(source.charAt(position)))
+		while (position < source.length())
+		{
+			char ch = source.charAt(position);
+			if (ch == '\n')
+				addLineStart(position + 1);
+			else if (!Character.isWhitespace(ch))
+				break;
 			++position;
+		}
+	}
+
+	/**
+	 * Records the start of every line that begins inside a token that may contain line terminators.
+	 *
+	 * @param type  the type of a comment or literal token that ends at the current position
+	 * @param start the start position of the token
+	 * @return {@code type}
+	 */
+	private TokenType recordLineStarts(TokenType type, int start)
+	{
+		for (int i = source.indexOf('\n', start, position); i != -1; i = source.indexOf('\n', i + 1, position))
+			addLineStart(i + 1);
+		return type;
 	}
 
-	private Token scanLineComment(int start)
+	/**
+	 * Records the start of a line.
+	 *
+	 * @param offset the offset of the first character on the line
+	 */
+	private void addLineStart(int offset)
+	{
+		if (lineCount == lineStarts.length)
+			lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+		lineStarts[lineCount] = offset;
+		++lineCount;
+	}
+
+	private TokenType scanLineComment(int start)
 	{
 		// Skip past "//"
 		position += 2;
@@ -194,66 +293,130 @@ public final class Lexer
 		// Check for markdown doc comment (/// per JEP 467)
 		boolean isMarkdownDoc = position < source.length() && source.charAt(position) == '/';
 
-		while (position < source.length() && source.charAt(position) != '\n')
-			++position;
-		String text = source.substring(start, position);
+		int newline = source.indexOf('\n', position);
+		if (newline == -1)
+			position = source.length();
+		else
+			position = newline;
 		TokenType type;
 		if (isMarkdownDoc)
 			type = TokenType.MARKDOWN_DOC_COMMENT;
 		else
 			type = TokenType.LINE_COMMENT;
-		return new Token(type, start, position, text);
+		return type;
 	}
 
-	private Token scanBlockComment(int start)
+	private TokenType scanBlockComment(int start)
 	{
 		// Skip "/*"
 		position += 2;
 		boolean isJavadoc = position < source.length() && source.charAt(position) == '*';
 
-		while (position < source.length())
-		{
-			if (source.charAt(position) == '*' && peek() == '/')
-			{
-				// Skip "*/"
-				position += 2;
-				break;
-			}
-			++position;
-		}
+		int closingDelimiter = source.indexOf("*/", position);
+		if (closingDelimiter == -1)
+			position = source.length();
+		else
+			position = closingDelimiter + 2;
 
-		String text = source.substring(start, position);
 		TokenType type;
 		if (isJavadoc)
 			type = TokenType.JAVADOC_COMMENT;
 		else
 			type = TokenType.BLOCK_COMMENT;
-		return new Token(type, start, position, text);
+		return type;
 	}
 
-	private Token scanIdentifierOrKeyword(int start)
+	private TokenType scanIdentifierOrKeyword(int start)
 	{
 		boolean containsUnicodeEscape = scanIdentifierChars();
+		if (containsUnicodeEscape)
+			return scanEscapedIdentifierOrKeyword(start);
 
-		String text = source.substring(start, position);
-		String decodedText = resolveDecodedText(text, containsUnicodeEscape);
+		// Classify the word directly from the source code so that identifiers do not allocate
+		if (isNonSealedKeyword(source, start, position))
+		{
+			position += NON_SEALED_SUFFIX.length();
+			return TokenType.NON_SEALED;
+		}
+		return getKeywordType(source, start, position);
+	}
+
+	/**
+	 * Classifies an identifier or keyword that contains Unicode escapes.
+	 *
+	 * @param start the start position of the token
+	 * @return the type of the token
+	 */
+	private TokenType scanEscapedIdentifierOrKeyword(int start)
+	{
+		String decodedText = decodeUnicodeEscapes(source.substring(start, position));
 
 		// Special case for "non-sealed" keyword (contains hyphen)
-		if (isNonSealedKeyword(decodedText))
+		if (isNonSealedKeyword(decodedText, 0, decodedText.length()))
 		{
 			position += NON_SEALED_SUFFIX.length();
-			text = source.substring(start, position);
-			decodedText = resolveDecodedText(text, containsUnicodeEscape);
-			return new Token(TokenType.NON_SEALED, start, position, text, decodedText);
+			tokenDecodedText = decodeUnicodeEscapes(source.substring(start, position));
+			return TokenType.NON_SEALED;
 		}
 
-		// Use decoded text for keyword lookup
-		TokenType type = KEYWORDS.getOrDefault(decodedText, TokenType.IDENTIFIER);
+		// Only tokens that contain Unicode escapes need their decoded text stored
+		tokenDecodedText = decodedText;
+		return getKeywordType(decodedText, 0, decodedText.length());
+	}
 
-		// For memory efficiency, use same String instance when no Unicode escapes present
-		if (containsUnicodeEscape)
-			return new Token(type, start, position, text, decodedText);
-		return new Token(type, start, position, text);
+	/**
+	 * Looks up the type of a word without allocating.
+	 * <p>
+	 * Dispatches on the length and the first character of the word, leaving at most a few keywords to compare
+	 * against the text in place.
+	 *
+	 * @param text  the text that contains the word
+	 * @param start the start position of the word (inclusive)
+	 * @param end   the end position of the word (exclusive)
+	 * @return the keyword's type, or {@link TokenType#IDENTIFIER} if the word is not a keyword
+	 */
+	private static TokenType getKeywordType(String text, int start, int end)
+	{
+		int length = end - start;
+		if (length >= KEYWORDS_BY_LENGTH_AND_FIRST_CHAR.length)
+			return TokenType.IDENTIFIER;
+		int firstChar = text.charAt(start) - 'a';
+		if (firstChar < 0 || firstChar > 'z' - 'a')
+			return TokenType.IDENTIFIER;
+		Keyword[] candidates = KEYWORDS_BY_LENGTH_AND_FIRST_CHAR[length][firstChar];
+		if (candidates == null)
+			return TokenType.IDENTIFIER;
+		for (Keyword candidate : candidates)
+			if (text.startsWith(candidate.text(), start))
+				return candidate.type();
+		return TokenType.IDENTIFIER;
+	}
+
+	/**
+	 * Builds {@link #KEYWORDS_BY_LENGTH_AND_FIRST_CHAR}.
+	 *
+	 * @return the keywords, indexed by length and then by first character
+	 */
+	private static Keyword[][][] indexKeywords()
+	{
+		int maxLength = 0;
+		for (String text : KEYWORDS.keySet())
+			maxLength = Math.max(maxLength, text.length());
+		Keyword[][][] index = new Keyword[maxLength + 1]['z' - 'a' + 1][];
+		for (Map.Entry<String, TokenType> entry : KEYWORDS.entrySet())
+		{
+			String text = entry.getKey();
+			Keyword[][] byFirstChar = index[text.length()];
+			int firstChar = text.charAt(0) - 'a';
+			Keyword[] bucket = byFirstChar[firstChar];
+			if (bucket == null)
+				bucket = new Keyword[1];
+			else
+				bucket = Arrays.copyOf(bucket, bucket.length + 1);
+			bucket[bucket.length - 1] = new Keyword(text, entry.getValue());
+			byFirstChar[firstChar] = bucket;
+		}
+		return index;
 	}
 
 	/**
@@ -294,36 +457,19 @@ public final class Lexer
 	}
 
 	/**
-	 * Resolves the decoded text, decoding Unicode escapes if present.
+	 * Checks if an identifier is the start of the "non-sealed" keyword.
 	 *
-	 * @param text                  the original text
-	 * @param containsUnicodeEscape whether the text contains Unicode escapes
-	 * @return the decoded text, or the original text if no escapes
+	 * @param text  the text that contains the decoded identifier
+	 * @param start the start position of the identifier in {@code text} (inclusive)
+	 * @param end   the end position of the identifier in {@code text} (exclusive)
+	 * @return {@code true} if the identifier is "non" and the source code continues with "-sealed"
 	 */
-	private String resolveDecodedText(String text, boolean containsUnicodeEscape)
+	private boolean isNonSealedKeyword(String text, int start, int end)
 	{
-		if (containsUnicodeEscape)
-			return decodeUnicodeEscapes(text);
-		return text;
+		return end - start == 3 && text.startsWith("non", start) && source.startsWith(NON_SEALED_SUFFIX, position);
 	}
 
-	/**
-	 * Checks if the decoded identifier represents the "non-sealed" keyword.
-	 *
-	 * @param decodedText the decoded identifier text
-	 * @return {@code true} if followed by "-sealed" to form the non-sealed keyword
-	 */
-	private boolean isNonSealedKeyword(String decodedText)
-	{
-		if (!decodedText.equals("non"))
-			return false;
-		if (position + 7 > source.length())
-			return false;
-		String remaining = source.substring(position, position + 7);
-		return remaining.equals("-sealed");
-	}
-
-	private Token scanNumber(int start)
+	private TokenType scanNumber(int start)
 	{
 		// Check for binary (0b/0B) or hexadecimal (0x/0X) prefix
 		if (source.charAt(position) == '0' && position + 1 < source.length())
@@ -376,19 +522,14 @@ public final class Lexer
 			}
 		}
 
-		String text = source.substring(start, position);
-		TokenType type;
-
-		if (text.endsWith("L") || text.endsWith("l"))
-			type = TokenType.LONG_LITERAL;
-		else if (text.endsWith("F") || text.endsWith("f"))
-			type = TokenType.FLOAT_LITERAL;
-		else if (text.endsWith("D") || text.endsWith("d") || hasDecimal)
-			type = TokenType.DOUBLE_LITERAL;
-		else
-			type = TokenType.INTEGER_LITERAL;
-
-		return new Token(type, start, position, text);
+		char suffix = source.charAt(position - 1);
+		if (suffix == 'L' || suffix == 'l')
+			return TokenType.LONG_LITERAL;
+		if (suffix == 'F' || suffix == 'f')
+			return TokenType.FLOAT_LITERAL;
+		if (suffix == 'D' || suffix == 'd' || hasDecimal)
+			return TokenType.DOUBLE_LITERAL;
+		return TokenType.INTEGER_LITERAL;
 	}
 
 	/**
@@ -396,9 +537,9 @@ public final class Lexer
 	 * Per JLS §3.10.2, floating-point literals may omit the integer part when starting with a decimal point.
 	 *
 	 * @param start the starting position of the literal (at the decimal point)
-	 * @return the token for the scanned floating-point literal
+	 * @return the type of the scanned floating-point literal
 	 */
-	private Token scanFloatingPointStartingWithDot(int start)
+	private TokenType scanFloatingPointStartingWithDot(int start)
 	{
 		// Skip the decimal point
 		++position;
@@ -430,8 +571,7 @@ public final class Lexer
 			}
 		}
 
-		String text = source.substring(start, position);
-		return new Token(type, start, position, text);
+		return type;
 	}
 
 	/**
@@ -466,9 +606,9 @@ public final class Lexer
 	 * Handles underscores in binary digits and optional {@code L}/{@code l} suffix.
 	 *
 	 * @param start the starting position of the literal
-	 * @return the token for the scanned binary literal
+	 * @return the type of the scanned binary literal
 	 */
-	private Token scanBinaryLiteral(int start)
+	private TokenType scanBinaryLiteral(int start)
 	{
 		// Skip "0b" or "0B" prefix
 		position += 2;
@@ -487,12 +627,10 @@ public final class Lexer
 		if (position < source.length() && (source.charAt(position) == 'L' || source.charAt(position) == 'l'))
 		{
 			++position;
-			String text = source.substring(start, position);
-			return new Token(TokenType.LONG_LITERAL, start, position, text);
+			return TokenType.LONG_LITERAL;
 		}
 
-		String text = source.substring(start, position);
-		return new Token(TokenType.INTEGER_LITERAL, start, position, text);
+		return TokenType.INTEGER_LITERAL;
 	}
 
 	/**
@@ -501,9 +639,9 @@ public final class Lexer
 	 * and suffixes ({@code L}/{@code l}/{@code F}/{@code f}/{@code D}/{@code d}).
 	 *
 	 * @param start the starting position of the literal
-	 * @return the token for the scanned hexadecimal literal
+	 * @return the type of the scanned hexadecimal literal
 	 */
-	private Token scanHexLiteral(int start)
+	private TokenType scanHexLiteral(int start)
 	{
 		// Skip "0x" or "0X" prefix
 		position += 2;
@@ -530,12 +668,10 @@ public final class Lexer
 		if (position < source.length() && (source.charAt(position) == 'L' || source.charAt(position) == 'l'))
 		{
 			++position;
-			String text = source.substring(start, position);
-			return new Token(TokenType.LONG_LITERAL, start, position, text);
+			return TokenType.LONG_LITERAL;
 		}
 
-		String text = source.substring(start, position);
-		return new Token(TokenType.INTEGER_LITERAL, start, position, text);
+		return TokenType.INTEGER_LITERAL;
 	}
 
 	/**
@@ -545,9 +681,9 @@ public final class Lexer
 	 * ({@code f}/{@code F}/{@code d}/{@code D}).
 	 *
 	 * @param start the starting position of the literal
-	 * @return the token for the scanned hexadecimal floating-point literal
+	 * @return the type of the scanned hexadecimal floating-point literal
 	 */
-	private Token scanHexFloatLiteral(int start)
+	private TokenType scanHexFloatLiteral(int start)
 	{
 		// Handle fractional part if present
 		if (position < source.length() && source.charAt(position) == '.')
@@ -601,8 +737,7 @@ public final class Lexer
 			}
 		}
 
-		String text = source.substring(start, position);
-		return new Token(type, start, position, text);
+		return type;
 	}
 
 	/**
@@ -618,7 +753,7 @@ public final class Lexer
 		}
 	}
 
-	private Token scanStringLiteral(int start)
+	private TokenType scanStringLiteral(int start)
 	{
 		++position;
 
@@ -628,28 +763,24 @@ public final class Lexer
 			source.charAt(position + 1) == '"')
 			return scanTextBlock(start);
 
-		while (position < source.length())
+		// Jump between escape sequences instead of examining every character
+		int closingQuote = indexOfOrEnd('"', position);
+		while (true)
 		{
-			char ch = source.charAt(position);
-			if (ch == '"')
-			{
-				++position;
+			int backslash = source.indexOf('\\', position, closingQuote);
+			if (backslash == -1)
 				break;
-			}
-			if (ch == '\\')
-			{
-				++position;
-				consumeEscapeSequence();
-			}
-			else
-				++position;
+			position = backslash + 1;
+			consumeEscapeSequence();
+			// The escape sequence may have consumed the quote
+			if (position > closingQuote)
+				closingQuote = indexOfOrEnd('"', position);
 		}
-
-		String text = source.substring(start, position);
-		return new Token(TokenType.STRING_LITERAL, start, position, text);
+		position = Math.min(closingQuote + 1, source.length());
+		return TokenType.STRING_LITERAL;
 	}
 
-	private Token scanTextBlock(int start)
+	private TokenType scanTextBlock(int start)
 	{
 		// Skip the remaining two quotes of opening """
 		position += 2;
@@ -667,31 +798,43 @@ public final class Lexer
 		if (position < source.length())
 			++position;
 
-		// Scan until closing """
-		while (position + 2 < source.length())
+		// Jump between escape sequences until the closing """
+		int closingDelimiter = source.indexOf("\"\"\"", position);
+		while (closingDelimiter != -1)
 		{
-			if (source.charAt(position) == '"' &&
-				source.charAt(position + 1) == '"' &&
-				source.charAt(position + 2) == '"')
+			int backslash = source.indexOf('\\', position, closingDelimiter);
+			if (backslash == -1)
 			{
 				// Skip closing """
-				position += 3;
-				String text = source.substring(start, position);
-				return new Token(TokenType.STRING_LITERAL, start, position, text);
+				position = closingDelimiter + 3;
+				return TokenType.STRING_LITERAL;
 			}
-			if (source.charAt(position) == '\\')
-			{
-				++position;
-				consumeEscapeSequence();
-			}
-			else
-				++position;
+			position = backslash + 1;
+			consumeEscapeSequence();
+			// The escape sequence may have consumed part of the delimiter
+			if (position > closingDelimiter)
+				closingDelimiter = source.indexOf("\"\"\"", position);
 		}
 
 		throw new LexerException("Unclosed text block starting at position " + start, start);
 	}
 
-	private Token scanCharLiteral(int start)
+	/**
+	 * Returns the position of the next occurrence of a character.
+	 *
+	 * @param ch        the character to look for
+	 * @param fromIndex the position to start searching at
+	 * @return the position of the character, or the length of the source code if it does not occur
+	 */
+	private int indexOfOrEnd(char ch, int fromIndex)
+	{
+		int index = source.indexOf(ch, fromIndex);
+		if (index == -1)
+			return source.length();
+		return index;
+	}
+
+	private TokenType scanCharLiteral(int start)
 	{
 		++position;
 
@@ -709,8 +852,7 @@ public final class Lexer
 		if (position < source.length() && source.charAt(position) == '\'')
 			++position;
 
-		String text = source.substring(start, position);
-		return new Token(TokenType.CHAR_LITERAL, start, position, text);
+		return TokenType.CHAR_LITERAL;
 	}
 
 	/**
@@ -806,7 +948,7 @@ public final class Lexer
 		return false;
 	}
 
-	private Token scanOperatorOrSeparator(int start)
+	private TokenType scanOperatorOrSeparator(int start)
 	{
 		char ch = source.charAt(position);
 		++position;
@@ -925,8 +1067,7 @@ public final class Lexer
 			default -> TokenType.ERROR;
 		};
 
-		String text = source.substring(start, position);
-		return new Token(type, start, position, text);
+		return type;
 	}
 
 	/**
@@ -1220,4 +1361,14 @@ public final class Lexer
 			return position;
 		}
 	}
+
+	/**
+	 * A keyword and the type of token that it produces.
+	 *
+	 * @param text the text of the keyword
+	 * @param type the type of token
+	 */
+	private record Keyword(String text, TokenType type)
+	{
+	}
 }
@@ -45,14 +45,18 @@ public sealed interface ParseResult
 	 * <p>
 	 * <b>Thread-safety</b>: This class is immutable.
 	 *
-	 * @param errors the list of parse errors encountered
+	 * @param errors      the list of parse errors encountered
+	 * @param partialRoot the root node of the AST of the code outside the constructs that contain errors, or
+	 *                    {@code null} if parsing could not recover from an error
 	 */
-	record Failure(List<ParseError> errors) implements ParseResult
+	record Failure(List<ParseError> errors, NodeIndex partialRoot) implements ParseResult
 	{
 		/**
 		 * Creates a new failed parse result.
 		 *
-		 * @param errors the list of parse errors encountered
+		 * @param errors      the list of parse errors encountered
+		 * @param partialRoot the root node of the AST of the code outside the constructs that contain errors,
+		 *                    or {@code null} if parsing could not recover from an error
 		 * @throws IllegalArgumentException if {@code errors} is empty
 		 */
 		public Failure
@@ -61,6 +65,17 @@ public sealed interface ParseResult
 			errors = List.copyOf(errors);
 		}
 
+		/**
+		 * Creates a new failed parse result without an AST.
+		 *
+		 * @param errors the list of parse errors encountered
+		 * @throws IllegalArgumentException if {@code errors} is empty
+		 */
+		public Failure(List<ParseError> errors)
+		{
+			this(errors, null);
+		}
+
 		/**
 		 * Returns a formatted error message containing all parse errors with their locations.
 		 *
@@ -1,6 +1,8 @@
 package io.github.cowwoc.styler.parser;
 
+import io.github.cowwoc.styler.ast.core.BracketMap;
 import io.github.cowwoc.styler.ast.core.ImportAttribute;
+import io.github.cowwoc.styler.ast.core.LineMap;
 import io.github.cowwoc.styler.ast.core.NodeArena;
 import io.github.cowwoc.styler.ast.core.NodeIndex;
 import io.github.cowwoc.styler.ast.core.NodeType;
@@ -10,17 +12,23 @@ import io.github.cowwoc.styler.ast.core.SecurityConfig;
 
 import java.io.IOException;
 import java.io.Serial;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.Instant;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import io.github.cowwoc.styler.parser.internal.ExpressionParser;
+import io.github.cowwoc.styler.parser.internal.LookaheadMemo;
+import io.github.cowwoc.styler.parser.internal.LookaheadMemo.Kind;
 import io.github.cowwoc.styler.parser.internal.ModuleParser;
 import io.github.cowwoc.styler.parser.internal.ParserAccess;
 import io.github.cowwoc.styler.parser.internal.StatementParser;
 import io.github.cowwoc.styler.parser.internal.TypeParser;
+import io.github.cowwoc.styler.security.CancellationToken;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 
@@ -32,23 +40,29 @@ import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.require
 public final class Parser implements AutoCloseable
 {
 	/**
-	 * Frequency of timeout checks during token consumption.
-	 * Checked every 100 token consumptions to amortize System.currentTimeMillis() overhead (~100ns).
+	 * The number of syntax errors after which the parser stops recovering and reports what it has found.
 	 */
-	private static final int TIMEOUT_CHECK_INTERVAL = 100;
+	private static final int MAX_ERRORS = 100;
 
 	private final String sourceCode;
-	private final List<Token> tokens;
+	private final TokenStream tokens;
+	private final LineMap lineMap;
+	private final LookaheadMemo lookaheadMemo;
 	private final NodeArena arena;
-	private final Instant parsingDeadline;
-	private int position;
-	private int depth;
-
 	/**
-	 * Counter for periodic timeout checks in consume().
-	 * Reset to 0 every {@link #TIMEOUT_CHECK_INTERVAL} calls.
+	 * {@code true} if the parser created {@link #arena} and is responsible for closing it.
+	 */
+	private final boolean ownsArena;
+	/**
+	 * Stops the parser once the parsing timeout expires or the caller cancels the parse.
 	 */
-	private int tokenCheckCounter;
+	private final CancellationToken cancellation;
+	/**
+	 * {@code true} if the parser created {@link #cancellation} and is responsible for closing it.
+	 */
+	private final boolean ownsCancellation;
+	private int position;
+	private int depth;
 
 	/**
 	 * Counter for pending GREATER_THAN tokens from split RIGHT_SHIFT tokens.
@@ -57,6 +71,19 @@ public final class Parser implements AutoCloseable
 	 * indicate that the next GREATER_THAN expectation should not advance the position.
 	 */
 	private int pendingGTCount;
+	/**
+	 * The syntax errors that the parser recovered from.
+	 */
+	private final List<ParseError> errors = new ArrayList<>();
+	/**
+	 * The number of enclosing speculative parses. Errors inside a speculative parse cause it to backtrack, so
+	 * they must not be recovered from.
+	 */
+	private int speculationDepth;
+	/**
+	 * {@code true} if a security limit was exceeded, in which case parsing must not resume.
+	 */
+	private boolean limitExceeded;
 
 	/**
 	 * Helper for parsing module-info.java files (JPMS module declarations).
@@ -87,6 +114,9 @@ public final class Parser implements AutoCloseable
 	/**
 	 * Creates a parser by reading a file with UTF-8 encoding.
 	 * SEC-002: Enforces UTF-8 encoding and validates against decoding errors.
+	 * <p>
+	 * The file is decoded in a single pass: ASCII content is copied directly, and any other content is decoded
+	 * strictly, so malformed input is reported instead of being replaced with {@code U+FFFD}.
 	 *
 	 * @param path the path to the source file
 	 * @return a new parser for the file contents
@@ -98,16 +128,15 @@ public final class Parser implements AutoCloseable
 		requireThat(path, "path").isNotNull();
 
 		// SEC-002: Read with explicit UTF-8 encoding
-		byte[] bytes = Files.readAllBytes(path);
-		String source = new String(bytes, StandardCharsets.UTF_8);
-
-		// SEC-002: Validate for replacement characters indicating encoding errors
-		if (source.indexOf('\uFFFD') != -1)
+		String source;
+		try
 		{
-			throw new IllegalArgumentException(
-				"Source file contains invalid UTF-8 sequences (replacement character detected): " + path);
+			source = Files.readString(path, StandardCharsets.UTF_8);
+		}
+		catch (CharacterCodingException e)
+		{
+			throw new IllegalArgumentException("Source file contains invalid UTF-8 sequences: " + path, e);
 		}
-
 		return new Parser(source);
 	}
 
@@ -121,20 +150,87 @@ public final class Parser implements AutoCloseable
 	 */
 	public Parser(String source)
 	{
-		requireThat(source, "source").isNotNull();
+		this(null, source, null);
+	}
 
-		// SEC-001: File size limit validation to prevent DoS attacks
-		int sourceBytes = source.length() * 2; // Approximate UTF-16 byte count
-		if (sourceBytes > SecurityConfig.MAX_SOURCE_SIZE_BYTES)
-		{
-			throw new IllegalArgumentException(
-				"Source file too large: " + sourceBytes + " bytes exceeds maximum of " +
-				SecurityConfig.MAX_SOURCE_SIZE_BYTES + " bytes");
-		}
+	/**
+	 * Creates a new parser that allocates nodes in a caller-owned arena.
+	 * <p>
+	 * The parser does not close {@code arena}. The caller may {@link NodeArena#reset() reset} and reuse it once
+	 * it no longer needs the AST.
+	 *
+	 * @param source the Java source code to parse
+	 * @param arena  an empty arena to store the AST in
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if {@code source} exceeds maximum size limit or {@code arena} is not
+	 *                                  empty
+	 */
+	public Parser(String source, NodeArena arena)
+	{
+		this(requireThat(arena, "arena").isNotNull().getValue(), source, null);
+	}
+
+	/**
+	 * Creates a new parser that allocates nodes in a caller-owned arena and stops once a caller-owned token
+	 * is cancelled.
+	 * <p>
+	 * The token replaces the default parsing timeout of {@link SecurityConfig#PARSING_TIMEOUT_MS}. The parser
+	 * closes neither {@code arena} nor {@code cancellation}.
+	 *
+	 * @param source       the Java source code to parse
+	 * @param arena        an empty arena to store the AST in
+	 * @param cancellation the token that stops the parse
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if {@code source} exceeds maximum size limit or {@code arena} is not
+	 *                                  empty
+	 */
+	public Parser(String source, NodeArena arena, CancellationToken cancellation)
+	{
+		this(requireThat(arena, "arena").isNotNull().getValue(), source,
+			requireThat(cancellation, "cancellation").isNotNull().getValue());
+	}
+
+	/**
+	 * Creates a new parser for source code that is nested inside other code.
+	 * <p>
+	 * Used by {@link IncrementalParser} to parse the contents of a block without parsing the code around it,
+	 * while still enforcing {@link SecurityConfig#MAX_NODE_DEPTH} on the nesting of the entire file.
+	 *
+	 * @param source the Java source code to parse
+	 * @param depth  the nesting depth of the code around {@code source}
+	 * @throws NullPointerException     if {@code source} is null
+	 * @throws IllegalArgumentException if {@code source} exceeds maximum size limit or {@code depth} is negative
+	 */
+	Parser(String source, int depth)
+	{
+		this(null, source, null);
+		requireThat(depth, "depth").isNotNegative();
+		this.depth = depth;
+	}
 
+	/**
+	 * Creates a new parser.
+	 *
+	 * @param arena        an empty caller-owned arena to store the AST in, or {@code null} to create (and
+	 *                     close) one once the source code has been validated
+	 * @param source       the Java source code to parse
+	 * @param cancellation a caller-owned token that stops the parse, or {@code null} to create (and close) one
+	 *                     that expires after {@link SecurityConfig#PARSING_TIMEOUT_MS}
+	 * @throws NullPointerException     if {@code source} is null
+	 * @throws IllegalArgumentException if {@code source} exceeds maximum size limit or {@code arena} is not
+	 *                                  empty
+	 */
+	private Parser(NodeArena arena, String source, CancellationToken cancellation)
+	{
+		requireThat(source, "source").isNotNull();
+		if (arena != null)
+			requireThat(arena.getNodeCount(), "arena.getNodeCount()").isEqualTo(0);
+
+		checkSourceSize(source);
 		this.sourceCode = source;
 		Lexer lexer = new Lexer(source);
 		this.tokens = lexer.tokenize();
+		this.lineMap = lexer.getLineMap();
 
 		// SEC-007: Token count limit to prevent excessive memory consumption
 		if (tokens.size() > SecurityConfig.MAX_TOKEN_COUNT)
@@ -142,16 +238,43 @@ public final class Parser implements AutoCloseable
 			throw new IllegalArgumentException(
 				"Too many tokens: " + tokens.size() + " exceeds maximum of " + SecurityConfig.MAX_TOKEN_COUNT);
 		}
+		this.lookaheadMemo = new LookaheadMemo(tokens.size());
 
-		this.arena = new NodeArena();
+		this.ownsArena = arena == null;
+		if (ownsArena)
+			this.arena = new NodeArena(NodeArena.Layout.COMPACT);
+		else
+			this.arena = arena;
 		this.parserAccess = createParserAccess();
 		this.expressionParser = new ExpressionParser(parserAccess);
 		this.moduleParser = new ModuleParser(parserAccess);
 		this.statementParser = new StatementParser(parserAccess);
 		this.typeParser = new TypeParser(parserAccess);
 
-		// SEC-006: Set parsing deadline for timeout enforcement
-		this.parsingDeadline = Instant.now().plusMillis(SecurityConfig.PARSING_TIMEOUT_MS);
+		// SEC-006: Stop parsing once the timeout expires
+		this.ownsCancellation = cancellation == null;
+		if (ownsCancellation)
+			this.cancellation = new CancellationToken(Duration.ofMillis(SecurityConfig.PARSING_TIMEOUT_MS));
+		else
+			this.cancellation = cancellation;
+	}
+
+	/**
+	 * Rejects source code that exceeds the size limit.
+	 *
+	 * @param source the source code
+	 * @throws IllegalArgumentException if {@code source} exceeds {@link SecurityConfig#MAX_SOURCE_SIZE_BYTES}
+	 */
+	static void checkSourceSize(String source)
+	{
+		// SEC-001: File size limit validation to prevent DoS attacks
+		int sourceBytes = source.length() * 2; // Approximate UTF-16 byte count
+		if (sourceBytes > SecurityConfig.MAX_SOURCE_SIZE_BYTES)
+		{
+			throw new IllegalArgumentException(
+				"Source file too large: " + sourceBytes + " bytes exceeds maximum of " +
+				SecurityConfig.MAX_SOURCE_SIZE_BYTES + " bytes");
+		}
 	}
 
 	/**
@@ -175,11 +298,33 @@ public final class Parser implements AutoCloseable
 	}
 
 	/**
-	 * Returns the token list.
+	 * Returns the line offsets of the source code, computed by the lexer.
+	 *
+	 * @return the line map
+	 */
+	public LineMap getLineMap()
+	{
+		return lineMap;
+	}
+
+	/**
+	 * Returns the offsets of the brackets in the source code and their partners, computed by the lexer.
+	 * <p>
+	 * A new map is built on every call.
+	 *
+	 * @return the bracket map
+	 */
+	public BracketMap getBracketMap()
+	{
+		return tokens.getBracketMap();
+	}
+
+	/**
+	 * Returns the tokens.
 	 *
 	 * @return the tokens
 	 */
-	public List<Token> getTokens()
+	public TokenStream getTokens()
 	{
 		return tokens;
 	}
@@ -206,6 +351,10 @@ public final class Parser implements AutoCloseable
 
 	/**
 	 * Parses the source code and returns the result.
+	 * <p>
+	 * When a statement, member or type declaration contains a syntax error, the error is recorded, the nodes
+	 * of the broken construct are discarded and parsing resumes at the next construct of the same kind. All
+	 * errors are reported together, and the arena holds the AST of the code outside the broken constructs.
 	 *
 	 * @return the parse result containing either the root node or parse errors
 	 */
@@ -213,15 +362,135 @@ public final class Parser implements AutoCloseable
 	{
 		try
 		{
-			return new ParseResult.Success(parseCompilationUnit());
+			NodeIndex root = parseCompilationUnit();
+			if (errors.isEmpty())
+				return new ParseResult.Success(root);
+			return new ParseResult.Failure(errors, root);
 		}
 		catch (ParserException e)
 		{
-			ParseError error = createError(e.getMessage(), e.getPosition());
-			return new ParseResult.Failure(List.of(error));
+			errors.add(createError(e.getMessage(), e.getPosition()));
+			return new ParseResult.Failure(errors);
 		}
 	}
 
+	/**
+	 * Returns the syntax errors that the parser has recovered from so far.
+	 *
+	 * @return an empty list if no errors were found
+	 */
+	public List<ParseError> getErrors()
+	{
+		return List.copyOf(errors);
+	}
+
+	/**
+	 * Parses a construct, recovering from syntax errors inside it.
+	 * <p>
+	 * If the construct fails to parse, the error is recorded, the nodes that were allocated for the construct
+	 * are discarded and the remaining tokens of the construct are skipped. Errors are propagated instead during
+	 * a speculative parse, after a security limit was exceeded or once {@link #MAX_ERRORS} errors were found.
+	 *
+	 * @param construct           parses the construct
+	 * @param startsNextConstruct returns {@code true} for tokens that can only begin the next construct
+	 * @throws ParserException if the construct contains a syntax error that cannot be recovered from
+	 */
+	private void parseWithRecovery(Runnable construct, Predicate<TokenType> startsNextConstruct)
+	{
+		int start = position;
+		int arenaMark = arena.mark();
+		int savedDepth = depth;
+		int savedPendingGTCount = pendingGTCount;
+		try
+		{
+			construct.run();
+		}
+		catch (ParserException e)
+		{
+			if (speculationDepth > 0 || limitExceeded || errors.size() >= MAX_ERRORS)
+				throw e;
+			errors.add(createError(e.getMessage(), e.getPosition()));
+			arena.rollback(arenaMark);
+			// Methods that were interrupted by the exception did not restore the parser's state
+			depth = savedDepth;
+			pendingGTCount = savedPendingGTCount;
+			skipToBoundary(start, startsNextConstruct);
+		}
+	}
+
+	/**
+	 * Skips the remaining tokens of a construct that failed to parse.
+	 * <p>
+	 * Stops after a {@code ;} or a bracketed body that is not followed by more of the same expression, before a
+	 * closing bracket that was opened before the construct or an unbalanced closing brace, or before a token
+	 * that can only begin the next construct. Nested brackets are skipped in a single step using the bracket
+	 * partners found by the lexer. At least one token is skipped so that the caller always makes progress.
+	 *
+	 * @param start               the index of the first token of the construct
+	 * @param startsNextConstruct returns {@code true} for tokens that can only begin the next construct
+	 */
+	private void skipToBoundary(int start, Predicate<TokenType> startsNextConstruct)
+	{
+		while (true)
+		{
+			TokenType type = currentType();
+			if (type == TokenType.END_OF_FILE)
+				break;
+			if (type == TokenType.SEMICOLON)
+			{
+				consume();
+				break;
+			}
+			if (type == TokenType.RIGHT_BRACE || type == TokenType.RIGHT_PARENTHESIS ||
+				type == TokenType.RIGHT_BRACKET)
+			{
+				// Stop at the end of an enclosing construct, but skip stray parentheses and brackets
+				int opener = tokens.getMatchingBracket(position);
+				if (opener < start && (opener != TokenStream.NO_MATCH || type == TokenType.RIGHT_BRACE))
+					break;
+				consume();
+				continue;
+			}
+			if (type == TokenType.LEFT_BRACE || type == TokenType.LEFT_PARENTHESIS ||
+				type == TokenType.LEFT_BRACKET)
+			{
+				int closer = tokens.getMatchingBracket(position);
+				if (closer == TokenStream.NO_MATCH)
+				{
+					position = tokens.size() - 1;
+					break;
+				}
+				position = closer;
+				consume();
+				// A body ends the construct unless the expression that contains it continues
+				if (type == TokenType.LEFT_BRACE && !continuesExpression(currentType()))
+					break;
+				continue;
+			}
+			if (position > start && startsNextConstruct.test(type))
+				break;
+			consume();
+		}
+		if (position == start && currentType() != TokenType.END_OF_FILE)
+			consume();
+	}
+
+	/**
+	 * Indicates if a token that follows a closing brace continues the expression that contains the braces, as
+	 * in an array initializer, an anonymous class or a lambda body.
+	 *
+	 * @param type the type of the token
+	 * @return {@code true} if the token continues the expression
+	 */
+	private static boolean continuesExpression(TokenType type)
+	{
+		return switch (type)
+		{
+			case SEMICOLON, RIGHT_PARENTHESIS, COMMA, DOT -> true;
+			default -> false;
+		};
+	}
+
 	/**
 	 * Creates a parse error with line and column information calculated from the position.
 	 *
@@ -231,24 +500,15 @@ public final class Parser implements AutoCloseable
 	 */
 	private ParseError createError(String message, int position)
 	{
-		int line = 1;
-		int column = 1;
-		for (int i = 0; i < position && i < sourceCode.length(); ++i)
-		{
-			if (sourceCode.charAt(i) == '\n')
-			{
-				++line;
-				column = 1;
-			}
-			else
-				++column;
-		}
+		int clampedPosition = Math.clamp(position, 0, sourceCode.length());
+		int line = lineMap.getLineNumber(clampedPosition);
+		int column = lineMap.getColumnNumber(clampedPosition);
 		return new ParseError(position, line, column, message);
 	}
 
 	private NodeIndex parseCompilationUnit()
 	{
-		int start = currentToken().start();
+		int start = currentStart();
 
 		// Parse any leading comments before detection
 		parseComments();
@@ -265,8 +525,8 @@ public final class Parser implements AutoCloseable
 		int packageAnnotationsStart = -1;
 		if (hasPackageLevelAnnotations())
 		{
-			packageAnnotationsStart = currentToken().start();
-			while (currentToken().type() == TokenType.AT_SIGN && !isAnnotationTypeDeclaration())
+			packageAnnotationsStart = currentStart();
+			while (currentType() == TokenType.AT_SIGN && !isAnnotationTypeDeclaration())
 			{
 				parseAnnotation();
 				parseComments();
@@ -280,13 +540,13 @@ public final class Parser implements AutoCloseable
 			if (packageAnnotationsStart >= 0)
 				effectiveStart = packageAnnotationsStart;
 			else
-				effectiveStart = previousToken().start();
+				effectiveStart = previousStart();
 			parsePackageDeclaration(effectiveStart);
 		}
 
 		// Import declarations
 		parseComments();
-		while (currentToken().type() == TokenType.IMPORT)
+		while (currentType() == TokenType.IMPORT)
 		{
 			parseImportDeclaration();
 			parseComments();
@@ -297,48 +557,89 @@ public final class Parser implements AutoCloseable
 		if (isTypeDeclarationStart())
 		{
 			// Traditional type declarations
-			while (currentToken().type() != TokenType.END_OF_FILE)
+			while (currentType() != TokenType.END_OF_FILE)
 			{
 				parseComments();
-				if (isTypeDeclarationStart())
-					parseTypeDeclaration();
-				else if (currentToken().type() == TokenType.SEMICOLON)
-					consume(); // Empty statement at top level
-				else if (currentToken().type() == TokenType.END_OF_FILE)
+				if (currentType() == TokenType.END_OF_FILE)
 					break;
-				else
-					throw new ParserException(
-						"Unexpected token at top level: " + currentToken().type() +
-						" (expected type declaration, import, or package)",
-						currentToken().start());
+				parseWithRecovery(this::parseTopLevelDeclaration, this::startsTypeDeclaration);
 			}
 		}
 		else if (isMemberDeclarationStart())
 			// JEP 512: Implicit class - members without explicit class declaration
 			parseImplicitClassDeclaration();
-		else if (currentToken().type() != TokenType.END_OF_FILE)
+		else if (currentType() != TokenType.END_OF_FILE)
 			throw new ParserException(
-				"Unexpected token at top level: " + currentToken().type() +
+				"Unexpected token at top level: " + currentType() +
 				" (expected type declaration, import, or package)",
-				currentToken().start());
+				currentStart());
 
-		int end = tokens.get(tokens.size() - 1).end();
+		int end = tokens.getEnd(tokens.size() - 1);
 		return arena.allocateNode(NodeType.COMPILATION_UNIT, start, end);
 	}
 
+	/**
+	 * Parses a type declaration or an empty declaration at the top level of a compilation unit.
+	 *
+	 * @throws ParserException if the current token cannot start a top-level declaration
+	 */
+	private void parseTopLevelDeclaration()
+	{
+		if (isTypeDeclarationStart())
+			parseTypeDeclaration();
+		else if (!match(TokenType.SEMICOLON)) // Empty statement at top level
+		{
+			throw new ParserException(
+				"Unexpected token at top level: " + currentType() +
+				" (expected type declaration, import, or package)",
+				currentStart());
+		}
+	}
+
+	/**
+	 * Indicates if a token can begin a type declaration, after skipping a broken top-level declaration.
+	 *
+	 * @param type the type of the token
+	 * @return {@code true} if the token is a modifier, an annotation or a type declaration keyword
+	 */
+	private boolean startsTypeDeclaration(TokenType type)
+	{
+		return switch (type)
+		{
+			case CLASS, INTERFACE, ENUM, RECORD, AT_SIGN -> true;
+			default -> isModifierToken(type);
+		};
+	}
+
 	private boolean isTypeDeclarationStart()
+	{
+		int outcome = lookaheadMemo.get(Kind.TYPE_DECLARATION_START, position);
+		if (outcome == LookaheadMemo.UNKNOWN)
+		{
+			outcome = scanTypeDeclarationStart() ? 1 : 0;
+			lookaheadMemo.put(Kind.TYPE_DECLARATION_START, position, outcome);
+		}
+		return outcome == 1;
+	}
+
+	/**
+	 * Looks past any modifiers, annotations and comments at the current position for a type declaration keyword.
+	 *
+	 * @return {@code true} if a type declaration starts at the current position
+	 */
+	private boolean scanTypeDeclarationStart()
 	{
 		// Look ahead past modifiers to find the actual declaration keyword
 		int lookahead = position;
 		while (lookahead < tokens.size())
 		{
-			TokenType type = tokens.get(lookahead).type();
+			TokenType type = tokens.getType(lookahead);
 			if (type == TokenType.CLASS || type == TokenType.INTERFACE ||
 				type == TokenType.ENUM || type == TokenType.RECORD)
 				return true;
 			// @interface is an annotation type declaration
 			if (type == TokenType.AT_SIGN && lookahead + 1 < tokens.size() &&
-				tokens.get(lookahead + 1).type() == TokenType.INTERFACE)
+				tokens.getType(lookahead + 1) == TokenType.INTERFACE)
 				return true;
 			// Skip modifiers to continue looking
 			if (isModifierToken(type))
@@ -386,24 +687,16 @@ public final class Parser implements AutoCloseable
 	private int skipAnnotationAt(int startPosition)
 	{
 		int lookahead = startPosition + 1;
-		if (lookahead >= tokens.size() || tokens.get(lookahead).type() != TokenType.IDENTIFIER)
+		if (lookahead >= tokens.size() || tokens.getType(lookahead) != TokenType.IDENTIFIER)
 			return lookahead;
 		++lookahead;
-		if (lookahead >= tokens.size() || tokens.get(lookahead).type() != TokenType.LEFT_PARENTHESIS)
+		if (lookahead >= tokens.size() || tokens.getType(lookahead) != TokenType.LEFT_PARENTHESIS)
 			return lookahead;
 		// Skip annotation arguments
-		int parenthesisDepth = 1;
-		++lookahead;
-		while (lookahead < tokens.size() && parenthesisDepth > 0)
-		{
-			TokenType type = tokens.get(lookahead).type();
-			if (type == TokenType.LEFT_PARENTHESIS)
-				++parenthesisDepth;
-			else if (type == TokenType.RIGHT_PARENTHESIS)
-				--parenthesisDepth;
-			++lookahead;
-		}
-		return lookahead;
+		int closingParenthesis = tokens.getMatchingBracket(lookahead);
+		if (closingParenthesis == TokenStream.NO_MATCH)
+			return tokens.size();
+		return closingParenthesis + 1;
 	}
 
 	/**
@@ -414,9 +707,9 @@ public final class Parser implements AutoCloseable
 	 */
 	private boolean isAnnotationTypeDeclaration()
 	{
-		return currentToken().type() == TokenType.AT_SIGN &&
+		return currentType() == TokenType.AT_SIGN &&
 			position + 1 < tokens.size() &&
-			tokens.get(position + 1).type() == TokenType.INTERFACE;
+			tokens.getType(position + 1) == TokenType.INTERFACE;
 	}
 
 	/**
@@ -430,7 +723,7 @@ public final class Parser implements AutoCloseable
 	 */
 	private boolean hasPackageLevelAnnotations()
 	{
-		if (currentToken().type() != TokenType.AT_SIGN)
+		if (currentType() != TokenType.AT_SIGN)
 			return false;
 		// Don't treat @interface as package annotation
 		if (isAnnotationTypeDeclaration())
@@ -438,9 +731,10 @@ public final class Parser implements AutoCloseable
 
 		// Save position for lookahead
 		int checkpoint = position;
+		int arenaMark = arena.mark();
 
 		// Skip annotations and comments until we find either PACKAGE or something else
-		while (currentToken().type() == TokenType.AT_SIGN && !isAnnotationTypeDeclaration())
+		while (currentType() == TokenType.AT_SIGN && !isAnnotationTypeDeclaration())
 		{
 			// Skip the annotation
 			consume(); // @
@@ -448,32 +742,33 @@ public final class Parser implements AutoCloseable
 			if (match(TokenType.LEFT_PARENTHESIS))
 				skipBalancedParens();
 			// Skip any comments between annotations
-			while (currentToken().type() == TokenType.LINE_COMMENT ||
-				currentToken().type() == TokenType.BLOCK_COMMENT)
+			while (currentType() == TokenType.LINE_COMMENT ||
+				currentType() == TokenType.BLOCK_COMMENT)
 				consume();
 		}
 
-		boolean isPackageAnnotation = currentToken().type() == TokenType.PACKAGE;
+		boolean isPackageAnnotation = currentType() == TokenType.PACKAGE;
 		position = checkpoint;
+		arena.rollback(arenaMark);
 		return isPackageAnnotation;
 	}
 
 	private NodeIndex parsePackageDeclaration(int start)
 	{
 		// Capture the package name from the qualified name tokens
-		int nameStart = currentToken().start();
+		int nameStart = currentStart();
 		parseQualifiedName();
-		int nameEnd = previousToken().end();
+		int nameEnd = previousEnd();
 		String packageName = sourceCode.substring(nameStart, nameEnd);
 
 		expect(TokenType.SEMICOLON);
 		PackageAttribute attribute = new PackageAttribute(packageName);
-		return arena.allocatePackageDeclaration(start, previousToken().end(), attribute);
+		return arena.allocatePackageDeclaration(start, previousEnd(), attribute);
 	}
 
 	private NodeIndex parseImportDeclaration()
 	{
-		int start = currentToken().start();
+		int start = currentStart();
 		expect(TokenType.IMPORT);
 
 		// JEP 511: Module import syntax: import module java.base;
@@ -485,9 +780,9 @@ public final class Parser implements AutoCloseable
 		// Build the qualified name from tokens
 		StringBuilder qualifiedName = new StringBuilder();
 		expectIdentifierOrContextualKeyword();
-		qualifiedName.append(previousToken().decodedText());
+		qualifiedName.append(previousDecodedText());
 
-		while (currentToken().type() == TokenType.DOT)
+		while (currentType() == TokenType.DOT)
 		{
 			consume(); // DOT
 			qualifiedName.append('.');
@@ -496,15 +791,15 @@ public final class Parser implements AutoCloseable
 				// Wildcard import: import java.util.*;
 				qualifiedName.append('*');
 				expect(TokenType.SEMICOLON);
-				int end = previousToken().end();
+				int end = previousEnd();
 				ImportAttribute attribute = new ImportAttribute(qualifiedName.toString(), isStatic);
 				return arena.allocateImportDeclaration(start, end, attribute);
 			}
 			expectIdentifierOrContextualKeyword();
-			qualifiedName.append(previousToken().decodedText());
+			qualifiedName.append(previousDecodedText());
 		}
 		expect(TokenType.SEMICOLON);
-		int end = previousToken().end();
+		int end = previousEnd();
 		ImportAttribute attribute = new ImportAttribute(qualifiedName.toString(), isStatic);
 		return arena.allocateImportDeclaration(start, end, attribute);
 	}
@@ -516,20 +811,20 @@ public final class Parser implements AutoCloseable
 	 */
 	public NodeIndex parseQualifiedName()
 	{
-		int start = currentToken().start();
+		int start = currentStart();
 		expectIdentifierOrContextualKeyword();
 		while (match(TokenType.DOT))
 		{
 			// JSR 308: type-use annotations can appear after dot in qualified types
 			// e.g., java.security.@Nullable Principal or Outer.@NonNull Inner
-			while (currentToken().type() == TokenType.AT_SIGN)
+			while (currentType() == TokenType.AT_SIGN)
 				parseAnnotation();
 			if (isIdentifierOrContextualKeyword())
 				consume();
 			else
 				break;
 		}
-		int end = previousToken().end();
+		int end = previousEnd();
 		return arena.allocateNode(NodeType.QUALIFIED_NAME, start, end);
 	}
 
@@ -548,7 +843,7 @@ public final class Parser implements AutoCloseable
 	 */
 	private boolean isMemberDeclarationStart()
 	{
-		TokenType type = currentToken().type();
+		TokenType type = currentType();
 		return switch (type)
 		{
 			// Return type or field type (could be void for methods)
@@ -594,22 +889,22 @@ public final class Parser implements AutoCloseable
 	{
 		parseComments();
 		// Parse type annotations (e.g., @Nullable, @NonNull)
-		while (currentToken().type() == TokenType.AT_SIGN)
+		while (currentType() == TokenType.AT_SIGN)
 			parseAnnotation();
-		if (isPrimitiveType(currentToken().type()))
+		if (isPrimitiveType(currentType()))
 			consume();
-		else if (currentToken().type() == TokenType.VAR)
+		else if (currentType() == TokenType.VAR)
 			// Type inference with 'var' keyword (JDK 10+)
 			consume();
 		else
 		{
-			int typeStart = currentToken().start();
+			int typeStart = currentStart();
 			parseQualifiedName();
 			if (match(TokenType.LESS_THAN))
 			{
 				parseTypeArguments();
 				// Create PARAMETERIZED_TYPE node wrapping base type and type arguments
-				int typeEnd = previousToken().end();
+				int typeEnd = previousEnd();
 				arena.allocateNode(NodeType.PARAMETERIZED_TYPE, typeStart, typeEnd);
 			}
 		}
@@ -669,14 +964,14 @@ public final class Parser implements AutoCloseable
 	 */
 	public void expectIdentifierOrContextualKeyword()
 	{
-		TokenType type = currentToken().type();
+		TokenType type = currentType();
 		if (type == TokenType.IDENTIFIER || isContextualKeyword(type))
 			consume();
 		else
 		{
 			throw new ParserException(
-				"Expected identifier but found " + type + " at position " + currentToken().start(),
-				currentToken().start());
+				"Expected identifier but found " + type + " at position " + currentStart(),
+				currentStart());
 		}
 	}
 
@@ -687,7 +982,7 @@ public final class Parser implements AutoCloseable
 	 */
 	private boolean isIdentifierOrContextualKeyword()
 	{
-		TokenType type = currentToken().type();
+		TokenType type = currentType();
 		return type == TokenType.IDENTIFIER || isContextualKeyword(type);
 	}
 
@@ -704,7 +999,7 @@ public final class Parser implements AutoCloseable
 		boolean hasArrayDimensions = false;
 		while (true)
 		{
-			while (currentToken().type() == TokenType.AT_SIGN)
+			while (currentType() == TokenType.AT_SIGN)
 				parseAnnotation();
 			if (!match(TokenType.LEFT_BRACKET))
 				break;
@@ -736,7 +1031,7 @@ public final class Parser implements AutoCloseable
 	 */
 	public NodeIndex parseAnnotation()
 	{
-		int start = currentToken().start();
+		int start = currentStart();
 		expect(TokenType.AT_SIGN);
 		parseQualifiedName();
 		if (match(TokenType.LEFT_PARENTHESIS) && !match(TokenType.RIGHT_PARENTHESIS))
@@ -746,7 +1041,7 @@ public final class Parser implements AutoCloseable
 				parseExpression();
 			expect(TokenType.RIGHT_PARENTHESIS);
 		}
-		int end = previousToken().end();
+		int end = previousEnd();
 		return arena.allocateNode(NodeType.ANNOTATION, start, end);
 	}
 
@@ -760,13 +1055,13 @@ public final class Parser implements AutoCloseable
 	 */
 	public NodeIndex parseCatchParameter()
 	{
-		int start = currentToken().start();
+		int start = currentStart();
 		boolean isFinal = false;
 
 		// Modifiers (annotations and final)
-		while (currentToken().type() == TokenType.FINAL || currentToken().type() == TokenType.AT_SIGN)
+		while (currentType() == TokenType.FINAL || currentType() == TokenType.AT_SIGN)
 		{
-			if (currentToken().type() == TokenType.AT_SIGN)
+			if (currentType() == TokenType.AT_SIGN)
 			{
 				parseAnnotation();
 			}
@@ -778,25 +1073,24 @@ public final class Parser implements AutoCloseable
 		}
 
 		// Parse first exception type
-		int typeStart = currentToken().start();
+		int typeStart = currentStart();
 		parseType();
 
 		// Check for union type (multi-catch): Type1 | Type2 | ...
-		if (currentToken().type() == TokenType.BITWISE_OR)
+		if (currentType() == TokenType.BITWISE_OR)
 		{
 			while (match(TokenType.BITWISE_OR))
 				parseType();
 			// Create UNION_TYPE node spanning all exception types
-			int typeEnd = previousToken().end();
+			int typeEnd = previousEnd();
 			arena.allocateNode(NodeType.UNION_TYPE, typeStart, typeEnd);
 		}
 
 		// Parameter name
-		Token nameToken = currentToken();
 		expectIdentifierOrContextualKeyword();
-		String parameterName = nameToken.decodedText();
+		String parameterName = previousDecodedText();
 
-		int end = previousToken().end();
+		int end = previousEnd();
 		ParameterAttribute attribute = new ParameterAttribute(parameterName, false, isFinal, false);
 		return arena.allocateParameterDeclaration(start, end, attribute);
 	}
@@ -808,27 +1102,22 @@ public final class Parser implements AutoCloseable
 	 */
 	public NodeIndex parseBlock()
 	{
-		int start = currentToken().start();
+		int start = currentStart();
 		expect(TokenType.LEFT_BRACE);
 		while (!match(TokenType.RIGHT_BRACE))
 		{
 			parseComments();
-			if (currentToken().type() == TokenType.RIGHT_BRACE)
+			if (currentType() == TokenType.RIGHT_BRACE)
 				// Let match() in while condition consume the RIGHT_BRACE
 				continue;
-			if (currentToken().type() == TokenType.END_OF_FILE)
-				throw new ParserException("Unexpected END_OF_FILE in block", currentToken().start());
-			parseStatement();
+			if (currentType() == TokenType.END_OF_FILE)
+				throw new ParserException("Unexpected END_OF_FILE in block", currentStart());
+			statementParser.parseBlockStatement();
 		}
-		int end = previousToken().end();
+		int end = previousEnd();
 		return arena.allocateNode(NodeType.BLOCK, start, end);
 	}
 
-	private void parseStatement()
-	{
-		statementParser.parseStatement();
-	}
-
 	private boolean isModifier(TokenType type)
 	{
 		return typeParser.isModifier(type);
@@ -884,11 +1173,10 @@ public final class Parser implements AutoCloseable
 	{
 		while (true)
 		{
-			Token token = currentToken();
-			int start = token.start();
-			int end = token.end();
+			int start = currentStart();
+			int end = currentEnd();
 
-			switch (token.type())
+			switch (currentType())
 			{
 				case JAVADOC_COMMENT ->
 				{
@@ -919,50 +1207,96 @@ public final class Parser implements AutoCloseable
 	}
 
 	/**
-	 * Returns the current token at the current position.
+	 * Returns the index of the current token.
 	 *
-	 * @return the current token
+	 * @return the current position, or the index of the END_OF_FILE token if the position is past the end
 	 */
-	public Token currentToken()
+	private int currentIndex()
 	{
-		if (position < tokens.size())
-			return tokens.get(position);
-		return tokens.get(tokens.size() - 1);
+		return Math.min(position, tokens.size() - 1);
 	}
 
 	/**
-	 * Returns the token that was just consumed (at position - 1).
+	 * Returns the type of the current token.
 	 *
-	 * @return the previous token
+	 * @return the type of the current token
 	 */
-	public Token previousToken()
+	public TokenType currentType()
 	{
-		return tokens.get(position - 1);
+		return tokens.getType(currentIndex());
 	}
 
 	/**
-	 * Consumes the current token and advances the position.
+	 * Returns the start position of the current token.
 	 *
-	 * @return the consumed token
+	 * @return the start position in source code (inclusive)
 	 */
-	public Token consume()
+	public int currentStart()
 	{
-		// SEC-006: Periodic timeout checking to detect hung parsers
-		++tokenCheckCounter;
-		if (tokenCheckCounter >= TIMEOUT_CHECK_INTERVAL)
-		{
-			tokenCheckCounter = 0;
-			if (Instant.now().isAfter(parsingDeadline))
-				throw new ParserException(
-					"Parsing timeout exceeded (" + SecurityConfig.PARSING_TIMEOUT_MS + "ms) at position " +
-					currentToken().start(),
-					currentToken().start());
-		}
+		return tokens.getStart(currentIndex());
+	}
+
+	/**
+	 * Returns the end position of the current token.
+	 *
+	 * @return the end position in source code (exclusive)
+	 */
+	public int currentEnd()
+	{
+		return tokens.getEnd(currentIndex());
+	}
+
+	/**
+	 * Returns the text of the current token with Unicode escapes resolved.
+	 *
+	 * @return the decoded text, or {@code null} at the end of the file
+	 */
+	public String currentDecodedText()
+	{
+		return tokens.getDecodedText(currentIndex());
+	}
+
+	/**
+	 * Returns the start position of the token that was just consumed (at position - 1).
+	 *
+	 * @return the start position in source code (inclusive)
+	 */
+	public int previousStart()
+	{
+		return tokens.getStart(position - 1);
+	}
+
+	/**
+	 * Returns the end position of the token that was just consumed (at position - 1).
+	 *
+	 * @return the end position in source code (exclusive)
+	 */
+	public int previousEnd()
+	{
+		return tokens.getEnd(position - 1);
+	}
+
+	/**
+	 * Returns the text of the token that was just consumed (at position - 1) with Unicode escapes resolved.
+	 *
+	 * @return the decoded text
+	 */
+	public String previousDecodedText()
+	{
+		return tokens.getDecodedText(position - 1);
+	}
+
+	/**
+	 * Consumes the current token and advances the position.
+	 */
+	public void consume()
+	{
+		// SEC-006: Detect hung parsers
+		if (cancellation.isCancelled())
+			throw cancelled();
 
-		Token current = currentToken();
 		if (position < tokens.size() - 1)
 			++position;
-		return current;
 	}
 
 	/**
@@ -973,7 +1307,7 @@ public final class Parser implements AutoCloseable
 	 */
 	public boolean match(TokenType type)
 	{
-		if (currentToken().type() == type)
+		if (currentType() == type)
 		{
 			consume();
 			return true;
@@ -989,12 +1323,12 @@ public final class Parser implements AutoCloseable
 	 */
 	public void expect(TokenType type)
 	{
-		if (currentToken().type() != type)
+		if (currentType() != type)
 		{
 			throw new ParserException(
-				"Expected " + type + " but found " + currentToken().type() +
-				" at position " + currentToken().start(),
-				currentToken().start());
+				"Expected " + type + " but found " + currentType() +
+				" at position " + currentStart(),
+				currentStart());
 		}
 		consume();
 	}
@@ -1013,7 +1347,7 @@ public final class Parser implements AutoCloseable
 			return;
 		}
 
-		TokenType type = currentToken().type();
+		TokenType type = currentType();
 		if (type == TokenType.GREATER_THAN)
 			consume();
 		else if (type == TokenType.RIGHT_SHIFT)
@@ -1032,8 +1366,8 @@ public final class Parser implements AutoCloseable
 		else
 		{
 			throw new ParserException(
-				"Expected GREATER_THAN but found " + type + " at position " + currentToken().start(),
-				currentToken().start());
+				"Expected GREATER_THAN but found " + type + " at position " + currentStart(),
+				currentStart());
 		}
 	}
 
@@ -1045,8 +1379,8 @@ public final class Parser implements AutoCloseable
 	 * <strong>Security Strategy:</strong> Multi-layered defense combining timeout detection
 	 * and stack depth limiting to prevent resource exhaustion attacks.
 	 * <p>
-	 * <strong>Tier 1 - Timeout Protection (SEC-006):</strong> Checks parsing deadline on EVERY
-	 * call to detect hung parsers. Overhead: ~100ns per call (System.currentTimeMillis()).
+	 * <strong>Tier 1 - Timeout Protection (SEC-006):</strong> Checks the cancellation token on EVERY
+	 * call to detect hung parsers. Overhead: negligible (volatile field read).
 	 * <p>
 	 * <strong>Tier 2 - Stack Protection:</strong> Checks recursion depth on EVERY call to
 	 * prevent stack overflow. Overhead: negligible (integer comparison).
@@ -1059,22 +1393,37 @@ public final class Parser implements AutoCloseable
 	private void enterDepth()
 	{
 		// SEC-006: Check parsing timeout
-		if (Instant.now().isAfter(parsingDeadline))
-		{
-			throw new ParserException(
-				"Parsing timeout exceeded (" + SecurityConfig.PARSING_TIMEOUT_MS + "ms) at position " +
-				currentToken().start(),
-				currentToken().start());
-		}
+		if (cancellation.isCancelled())
+			throw cancelled();
 
 		++depth;
 		if (depth > SecurityConfig.MAX_NODE_DEPTH)
-		{
-			throw new ParserException(
-				"Maximum node depth exceeded (" + SecurityConfig.MAX_NODE_DEPTH + ") at position " +
-				currentToken().start(),
-				currentToken().start());
-		}
+			throw limitExceeded("Maximum node depth exceeded (" + SecurityConfig.MAX_NODE_DEPTH + ")");
+	}
+
+	/**
+	 * Creates an exception for a parse that was cancelled or timed out at the current position.
+	 *
+	 * @return the exception to throw
+	 */
+	private ParserException cancelled()
+	{
+		if (cancellation.isTimedOut())
+			return limitExceeded("Parsing timeout exceeded (" + cancellation.getTimeout().toMillis() + "ms)");
+		return limitExceeded("Parsing cancelled");
+	}
+
+	/**
+	 * Creates an exception for a security limit that was exceeded at the current position, and prevents
+	 * parsing from resuming after it.
+	 *
+	 * @param reason the limit that was exceeded
+	 * @return the exception to throw
+	 */
+	private ParserException limitExceeded(String reason)
+	{
+		limitExceeded = true;
+		return new ParserException(reason + " at position " + currentStart(), currentStart());
 	}
 
 	private void exitDepth()
@@ -1093,7 +1442,7 @@ public final class Parser implements AutoCloseable
 		return new ParserAccess()
 		{
 			@Override
-			public List<Token> getTokens()
+			public TokenStream getTokens()
 			{
 				return tokens;
 			}
@@ -1111,21 +1460,51 @@ public final class Parser implements AutoCloseable
 			}
 
 			@Override
-			public Token currentToken()
+			public TokenType currentType()
 			{
-				return Parser.this.currentToken();
+				return Parser.this.currentType();
 			}
 
 			@Override
-			public Token previousToken()
+			public int currentStart()
 			{
-				return Parser.this.previousToken();
+				return Parser.this.currentStart();
 			}
 
 			@Override
-			public Token consume()
+			public int currentEnd()
 			{
-				return Parser.this.consume();
+				return Parser.this.currentEnd();
+			}
+
+			@Override
+			public String currentDecodedText()
+			{
+				return Parser.this.currentDecodedText();
+			}
+
+			@Override
+			public int previousStart()
+			{
+				return Parser.this.previousStart();
+			}
+
+			@Override
+			public int previousEnd()
+			{
+				return Parser.this.previousEnd();
+			}
+
+			@Override
+			public String previousDecodedText()
+			{
+				return Parser.this.previousDecodedText();
+			}
+
+			@Override
+			public void consume()
+			{
+				Parser.this.consume();
 			}
 
 			@Override
@@ -1170,6 +1549,36 @@ public final class Parser implements AutoCloseable
 				Parser.this.exitDepth();
 			}
 
+			@Override
+			public void parseWithRecovery(Runnable construct, Predicate<TokenType> startsNextConstruct)
+			{
+				Parser.this.parseWithRecovery(construct, startsNextConstruct);
+			}
+
+			@Override
+			public LookaheadMemo getLookaheadMemo()
+			{
+				return lookaheadMemo;
+			}
+
+			@Override
+			public void enterSpeculation()
+			{
+				++speculationDepth;
+			}
+
+			@Override
+			public void exitSpeculation()
+			{
+				--speculationDepth;
+			}
+
+			@Override
+			public boolean isLimitExceeded()
+			{
+				return limitExceeded;
+			}
+
 			@Override
 			public void parseComments()
 			{
@@ -1260,11 +1669,11 @@ public final class Parser implements AutoCloseable
 				while (true)
 				{
 					parseComments();
-					TokenType currentType = currentToken().type();
+					TokenType currentType = currentType();
 					if (currentType == TokenType.CASE || currentType == TokenType.DEFAULT ||
-						currentType == TokenType.RIGHT_BRACE)
+						currentType == TokenType.RIGHT_BRACE || currentType == TokenType.END_OF_FILE)
 						break;
-					statementParser.parseStatement();
+					statementParser.parseBlockStatement();
 				}
 			}
 
@@ -1363,7 +1772,10 @@ public final class Parser implements AutoCloseable
 	@Override
 	public void close()
 	{
-		arena.close();
+		if (ownsArena)
+			arena.close();
+		if (ownsCancellation)
+			cancellation.close();
 	}
 
 	/**
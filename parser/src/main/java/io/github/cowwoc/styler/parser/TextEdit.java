@@ -0,0 +1,66 @@
+package io.github.cowwoc.styler.parser;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * A change to source code that replaces a range of characters with new text.
+ * <p>
+ * <b>Thread-safety</b>: This class is immutable.
+ *
+ * @param offset        the 0-based character offset of the first character to replace
+ * @param removedLength the number of characters to remove
+ * @param insertedText  the text to insert at {@code offset}
+ */
+public record TextEdit(int offset, int removedLength, String insertedText)
+{
+	/**
+	 * Creates a new edit.
+	 *
+	 * @param offset        the 0-based character offset of the first character to replace
+	 * @param removedLength the number of characters to remove
+	 * @param insertedText  the text to insert at {@code offset}
+	 * @throws NullPointerException     if {@code insertedText} is null
+	 * @throws IllegalArgumentException if {@code offset} or {@code removedLength} are negative
+	 */
+	public TextEdit
+	{
+		requireThat(offset, "offset").isNotNegative();
+		requireThat(removedLength, "removedLength").isNotNegative();
+		requireThat(insertedText, "insertedText").isNotNull();
+	}
+
+	/**
+	 * Returns the offset just past the removed characters, in the original source code.
+	 *
+	 * @return the end of the replaced range (exclusive)
+	 */
+	public int removedEnd()
+	{
+		return offset + removedLength;
+	}
+
+	/**
+	 * Returns the change in length that the edit causes.
+	 *
+	 * @return the number of characters that positions after the replaced range move by
+	 */
+	public int getDelta()
+	{
+		return insertedText.length() - removedLength;
+	}
+
+	/**
+	 * Applies the edit to source code.
+	 *
+	 * @param source the source code
+	 * @return the updated source code
+	 * @throws NullPointerException     if {@code source} is null
+	 * @throws IllegalArgumentException if the replaced range extends past the end of {@code source}
+	 */
+	public String apply(String source)
+	{
+		requireThat(source, "source").isNotNull();
+		requireThat(removedEnd(), "removedEnd()").isLessThanOrEqualTo(source.length());
+		return source.substring(0, offset) + insertedText + source.substring(removedEnd());
+	}
+}
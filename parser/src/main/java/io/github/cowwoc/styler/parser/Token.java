@@ -98,8 +98,7 @@ public record Token(TokenType type, int start, int end, String text, String deco
 	 */
 	public boolean isLiteral()
 	{
-		return type.ordinal() >= TokenType.INTEGER_LITERAL.ordinal() &&
-			type.ordinal() <= TokenType.NULL_LITERAL.ordinal();
+		return type.isLiteral();
 	}
 
 	/**
@@ -0,0 +1,321 @@
+package io.github.cowwoc.styler.parser;
+
+import io.github.cowwoc.styler.ast.core.BracketMap;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * The tokens of a source file, stored column-wise.
+ * <p>
+ * Each token occupies one slot in four parallel {@code int} arrays (type ordinal, start offset, end offset,
+ * matching bracket) instead of a {@link Token} object and its substring. Token text is sliced from the source
+ * code on demand. Decoded text is only stored for the rare tokens that contain Unicode escapes.
+ * <p>
+ * Brackets are paired as they are appended, so the partner of any parenthesis, brace or square bracket is
+ * available in O(1) through {@link #getMatchingBracket(int)}.
+ * <p>
+ * The stream is also a {@code List<Token>}. {@link #get(int)} materializes a {@link Token} on every call, so
+ * performance-sensitive code should use the index-based accessors instead.
+ * <p>
+ * <b>Thread-safety</b>: This class is immutable and thread-safe once the {@link Lexer} that created it returns.
+ */
+public final class TokenStream extends AbstractList<Token> implements RandomAccess
+{
+	/**
+	 * The value returned by {@link #getMatchingBracket(int)} for tokens that do not have a partner.
+	 */
+	public static final int NO_MATCH = -1;
+	private static final TokenType[] TOKEN_TYPES = TokenType.values();
+	private final String source;
+	private int[] types = new int[256];
+	private int[] starts = new int[256];
+	private int[] ends = new int[256];
+	/**
+	 * The index of the token that each bracket pairs with, or {@code NO_MATCH}.
+	 */
+	private int[] matches = new int[256];
+	private int size;
+	/**
+	 * The indexes of the opening brackets that have not been closed yet. Only the first
+	 * {@code openBracketCount} elements are populated.
+	 */
+	private int[] openBrackets = new int[16];
+	private int openBracketCount;
+	/**
+	 * The number of opening brackets of each type, indexed by ordinal, that have not been closed yet.
+	 */
+	private final int[] typeToOpenBracketCount = new int[TOKEN_TYPES.length];
+	/**
+	 * The number of bracket tokens.
+	 */
+	private int bracketCount;
+	/**
+	 * Maps the index of each token that contains a Unicode escape to its decoded text.
+	 */
+	private final Map<Integer, String> indexToDecodedText = new HashMap<>();
+
+	/**
+	 * Creates an empty stream.
+	 *
+	 * @param source the source code that the tokens refer to
+	 * @throws NullPointerException if {@code source} is null
+	 */
+	TokenStream(String source)
+	{
+		requireThat(source, "source").isNotNull();
+		this.source = source;
+	}
+
+	/**
+	 * Appends a token.
+	 *
+	 * @param type        the type of the token
+	 * @param start       the start position in source code (inclusive)
+	 * @param end         the end position in source code (exclusive)
+	 * @param decodedText the text with Unicode escapes resolved, or {@code null} if it is the same as the source
+	 *                    text
+	 */
+	void add(TokenType type, int start, int end, String decodedText)
+	{
+		assert start >= 0 && end >= start : "start: " + start + ", end: " + end;
+		if (size == types.length)
+		{
+			int newCapacity = size * 2;
+			types = Arrays.copyOf(types, newCapacity);
+			starts = Arrays.copyOf(starts, newCapacity);
+			ends = Arrays.copyOf(ends, newCapacity);
+			matches = Arrays.copyOf(matches, newCapacity);
+		}
+		types[size] = type.ordinal();
+		starts[size] = start;
+		ends[size] = end;
+		matches[size] = NO_MATCH;
+		if (decodedText != null)
+			indexToDecodedText.put(size, decodedText);
+		switch (type)
+		{
+			case LEFT_PARENTHESIS, LEFT_BRACE, LEFT_BRACKET -> openBracket();
+			case RIGHT_PARENTHESIS -> closeBracket(TokenType.LEFT_PARENTHESIS);
+			case RIGHT_BRACE -> closeBracket(TokenType.LEFT_BRACE);
+			case RIGHT_BRACKET -> closeBracket(TokenType.LEFT_BRACKET);
+			default ->
+			{
+			}
+		}
+		++size;
+	}
+
+	/**
+	 * Records that the token being appended opens a bracketed region.
+	 */
+	private void openBracket()
+	{
+		if (openBracketCount == openBrackets.length)
+			openBrackets = Arrays.copyOf(openBrackets, openBracketCount * 2);
+		openBrackets[openBracketCount] = size;
+		++openBracketCount;
+		++typeToOpenBracketCount[types[size]];
+		++bracketCount;
+	}
+
+	/**
+	 * Pairs the token being appended with the innermost unclosed bracket of the same kind.
+	 * <p>
+	 * Any brackets of a different kind that are still open inside of it are left unbalanced. If there is no
+	 * open bracket of the same kind, the token is left unbalanced and the open brackets are unaffected.
+	 * <p>
+	 * Every bracket is pushed and popped at most once, and an unbalanced closer is detected without searching
+	 * the open brackets, so pairing all the brackets of a file takes O(n) time.
+	 *
+	 * @param openingType the type of the bracket that the token closes
+	 */
+	private void closeBracket(TokenType openingType)
+	{
+		++bracketCount;
+		if (typeToOpenBracketCount[openingType.ordinal()] == 0)
+			return;
+		int opening;
+		do
+		{
+			--openBracketCount;
+			opening = openBrackets[openBracketCount];
+			--typeToOpenBracketCount[types[opening]];
+		}
+		while (types[opening] != openingType.ordinal());
+		matches[opening] = size;
+		matches[size] = opening;
+	}
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns the type of a token.
+	 *
+	 * @param index the index of the token
+	 * @return the type
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+	 */
+	public TokenType getType(int index)
+	{
+		return TOKEN_TYPES[types[checkIndex(index)]];
+	}
+
+	/**
+	 * Returns the start position of a token.
+	 *
+	 * @param index the index of the token
+	 * @return the start position in source code (inclusive)
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+	 */
+	public int getStart(int index)
+	{
+		return starts[checkIndex(index)];
+	}
+
+	/**
+	 * Returns the end position of a token.
+	 *
+	 * @param index the index of the token
+	 * @return the end position in source code (exclusive)
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+	 */
+	public int getEnd(int index)
+	{
+		return ends[checkIndex(index)];
+	}
+
+	/**
+	 * Returns the source text of a token, including any Unicode escapes.
+	 *
+	 * @param index the index of the token
+	 * @return the text, or {@code null} for {@link TokenType#END_OF_FILE}
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+	 */
+	public String getText(int index)
+	{
+		if (types[checkIndex(index)] == TokenType.END_OF_FILE.ordinal())
+			return null;
+		return source.substring(starts[index], ends[index]);
+	}
+
+	/**
+	 * Returns the text of a token with Unicode escapes resolved.
+	 *
+	 * @param index the index of the token
+	 * @return the decoded text, or {@code null} for {@link TokenType#END_OF_FILE}
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+	 */
+	public String getDecodedText(int index)
+	{
+		String decodedText = indexToDecodedText.get(checkIndex(index));
+		if (decodedText != null)
+			return decodedText;
+		return getText(index);
+	}
+
+	/**
+	 * Returns the bracket that a token pairs with.
+	 *
+	 * @param index the index of the token
+	 * @return the index of the matching closing bracket if the token is an opening bracket, the index of the
+	 *         matching opening bracket if it is a closing bracket, or {@link #NO_MATCH} if the token is not a
+	 *         bracket or is unbalanced
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+	 */
+	public int getMatchingBracket(int index)
+	{
+		return matches[checkIndex(index)];
+	}
+
+	/**
+	 * Returns the character offsets of the brackets and their partners.
+	 * <p>
+	 * A new map is built on every call.
+	 *
+	 * @return the bracket map
+	 */
+	public BracketMap getBracketMap()
+	{
+		int[] positions = new int[bracketCount];
+		int[] matchingPositions = new int[bracketCount];
+		int bracket = 0;
+		for (int i = 0; i < size && bracket < bracketCount; ++i)
+		{
+			if (!isBracket(types[i]))
+				continue;
+			positions[bracket] = starts[i];
+			int match = matches[i];
+			if (match == NO_MATCH)
+				matchingPositions[bracket] = BracketMap.NO_MATCH;
+			else
+				matchingPositions[bracket] = starts[match];
+			++bracket;
+		}
+		return new BracketMap(positions, matchingPositions);
+	}
+
+	/**
+	 * Indicates if a token type ordinal denotes a bracket.
+	 *
+	 * @param typeOrdinal the ordinal of a {@link TokenType}
+	 * @return {@code true} for parentheses, braces and square brackets
+	 */
+	private static boolean isBracket(int typeOrdinal)
+	{
+		return switch (TOKEN_TYPES[typeOrdinal])
+		{
+			case LEFT_PARENTHESIS, RIGHT_PARENTHESIS, LEFT_BRACE, RIGHT_BRACE, LEFT_BRACKET, RIGHT_BRACKET -> true;
+			default -> false;
+		};
+	}
+
+	/**
+	 * Returns the token at an index.
+	 * <p>
+	 * A new {@link Token} is created on every call.
+	 *
+	 * @param index the index of the token
+	 * @return the token
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+	 */
+	@Override
+	public Token get(int index)
+	{
+		String text = getText(index);
+		String decodedText = indexToDecodedText.getOrDefault(index, text);
+		return new Token(getType(index), starts[index], ends[index], text, decodedText);
+	}
+
+	/**
+	 * Returns the number of bytes used by the token columns.
+	 *
+	 * @return the memory usage in bytes
+	 */
+	public long getMemoryUsage()
+	{
+		return (long) types.length * Integer.BYTES * 4;
+	}
+
+	/**
+	 * Validates a token index.
+	 *
+	 * @param index the index of the token
+	 * @return {@code index}
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+	 */
+	private int checkIndex(int index)
+	{
+		return Objects.checkIndex(index, size);
+	}
+}
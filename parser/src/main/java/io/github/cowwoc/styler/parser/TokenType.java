@@ -151,5 +151,15 @@ public enum TokenType
 	// Special tokens
 	WHITESPACE,
 	END_OF_FILE,
-	ERROR            // For error recovery
+	ERROR;           // For error recovery
+
+	/**
+	 * Checks if this type is a literal.
+	 *
+	 * @return true if tokens of this type are literal values
+	 */
+	public boolean isLiteral()
+	{
+		return ordinal() >= INTEGER_LITERAL.ordinal() && ordinal() <= NULL_LITERAL.ordinal();
+	}
 }
@@ -4,10 +4,11 @@ import io.github.cowwoc.styler.ast.core.NodeArena;
 import io.github.cowwoc.styler.ast.core.NodeIndex;
 import io.github.cowwoc.styler.ast.core.NodeType;
 import io.github.cowwoc.styler.parser.Parser.ParserException;
-import io.github.cowwoc.styler.parser.Token;
+import io.github.cowwoc.styler.parser.TokenStream;
 import io.github.cowwoc.styler.parser.TokenType;
+import io.github.cowwoc.styler.parser.internal.LookaheadMemo.Kind;
 
-import java.util.List;
+import java.util.Arrays;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -25,6 +26,15 @@ import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.that;
  */
 public final class ExpressionParser
 {
+	/**
+	 * The value returned by {@link #scanTypeArguments(int)} if the tokens cannot be a type argument list.
+	 */
+	private static final int NOT_TYPE_ARGUMENTS = -1;
+	/**
+	 * The precedence of each binary operator, indexed by {@link TokenType#ordinal()}. Operators that bind more
+	 * tightly have a higher precedence. Tokens that are not binary operators have a precedence of {@code 0}.
+	 */
+	private static final int[] BINARY_PRECEDENCE = createBinaryPrecedence();
 	private final ParserAccess parser;
 
 	/**
@@ -38,6 +48,35 @@ public final class ExpressionParser
 		this.parser = parser;
 	}
 
+	/**
+	 * Creates the precedence table of binary operators.
+	 *
+	 * @return the precedence of each token type, indexed by {@link TokenType#ordinal()}
+	 */
+	private static int[] createBinaryPrecedence()
+	{
+		// From the loosest-binding to the tightest-binding operators
+		TokenType[][] levels =
+		{
+			{TokenType.LOGICAL_OR},
+			{TokenType.LOGICAL_AND},
+			{TokenType.BITWISE_OR},
+			{TokenType.CARET},
+			{TokenType.BITWISE_AND},
+			{TokenType.EQUAL, TokenType.NOT_EQUAL},
+			{TokenType.LESS_THAN, TokenType.GREATER_THAN, TokenType.LESS_THAN_OR_EQUAL,
+				TokenType.GREATER_THAN_OR_EQUAL, TokenType.INSTANCEOF},
+			{TokenType.LEFT_SHIFT, TokenType.RIGHT_SHIFT, TokenType.UNSIGNED_RIGHT_SHIFT},
+			{TokenType.PLUS, TokenType.MINUS},
+			{TokenType.STAR, TokenType.DIVIDE, TokenType.MODULO}
+		};
+		int[] precedence = new int[TokenType.values().length];
+		for (int level = 0; level < levels.length; ++level)
+			for (TokenType operator : levels[level])
+				precedence[operator.ordinal()] = level + 1;
+		return precedence;
+	}
+
 	/**
 	 * Checks whether the given token type can start a unary expression excluding plus and minus.
 	 * <p>
@@ -105,17 +144,30 @@ public final class ExpressionParser
 		// Save checkpoint after '(' is consumed
 		int checkpoint = parser.getPosition();
 
+		// A cast's type must be followed by the matching ')' and then an operand, so parenthesized expressions
+		// such as (a + b) * c are rejected without parsing their contents
+		TokenStream tokens = parser.getTokens();
+		int closingParenthesis = tokens.getMatchingBracket(checkpoint - 1);
+		if (closingParenthesis == TokenStream.NO_MATCH || closingParenthesis + 1 >= tokens.size() ||
+			!canStartUnaryExpression(tokens.getType(closingParenthesis + 1)))
+			return null;
+		// The contents of the parentheses were already found not to be a cast type
+		if (parser.getLookaheadMemo().get(Kind.NOT_A_CAST, checkpoint - 1) != LookaheadMemo.UNKNOWN)
+			return null;
+		int arenaMark = parser.getArena().mark();
+
 		// Determine if type starts with primitive
-		boolean isPrimitive = parser.isPrimitiveType(parser.currentToken().type());
+		boolean isPrimitive = parser.isPrimitiveType(parser.currentType());
 
 		// Track whether we've seen intersection types (&)
 		boolean isIntersectionType = false;
 
 		// Try to parse the type
+		parser.enterSpeculation();
 		try
 		{
 			// Parse annotations before type (e.g., (@NonNull String) value)
-			while (parser.currentToken().type() == TokenType.AT_SIGN)
+			while (parser.currentType() == TokenType.AT_SIGN)
 				parser.parseAnnotation();
 
 			if (isPrimitive)
@@ -129,8 +181,7 @@ public final class ExpressionParser
 					if (!parser.isIdentifierOrContextualKeyword())
 					{
 						// Not a valid qualified name, restore and return null
-						parser.setPosition(checkpoint);
-						return null;
+						return rejectCast(checkpoint, arenaMark);
 					}
 					parser.consume();
 				}
@@ -144,21 +195,19 @@ public final class ExpressionParser
 				{
 					isIntersectionType = true;
 					// Parse annotations before intersection type component
-					while (parser.currentToken().type() == TokenType.AT_SIGN)
+					while (parser.currentType() == TokenType.AT_SIGN)
 						parser.parseAnnotation();
 					if (!parser.isIdentifierOrContextualKeyword())
 					{
 						// Not a valid intersection type, restore and return null
-						parser.setPosition(checkpoint);
-						return null;
+						return rejectCast(checkpoint, arenaMark);
 					}
 					parser.consume();
 					while (parser.match(TokenType.DOT))
 					{
 						if (!parser.isIdentifierOrContextualKeyword())
 						{
-							parser.setPosition(checkpoint);
-							return null;
+							return rejectCast(checkpoint, arenaMark);
 						}
 						parser.consume();
 					}
@@ -169,30 +218,35 @@ public final class ExpressionParser
 			else
 			{
 				// Not a valid type start, restore and return null
-				parser.setPosition(checkpoint);
-				return null;
+				return rejectCast(checkpoint, arenaMark);
 			}
 
 			parser.parseArrayDimensionsWithAnnotations();
 		}
 		catch (ParserException e)
 		{
+			// A security limit or cancellation says nothing about whether the tokens form a cast, so it must
+			// neither be memoized nor swallowed
+			if (parser.isLimitExceeded())
+				throw e;
 			// Type parsing failed, restore and return null
-			parser.setPosition(checkpoint);
-			return null;
+			return rejectCast(checkpoint, arenaMark);
+		}
+		finally
+		{
+			parser.exitSpeculation();
 		}
 
 		// Check for closing parenthesis
-		if (parser.currentToken().type() != TokenType.RIGHT_PARENTHESIS)
+		if (parser.currentType() != TokenType.RIGHT_PARENTHESIS)
 		{
 			// Not a cast (could be expression like (a + b))
-			parser.setPosition(checkpoint);
-			return null;
+			return rejectCast(checkpoint, arenaMark);
 		}
 		parser.consume(); // Consume ')'
 
 		// Check disambiguation rules based on next token
-		TokenType nextTokenType = parser.currentToken().type();
+		TokenType nextTokenType = parser.currentType();
 		boolean validCast;
 		if (isPrimitive && !isIntersectionType)
 			// Primitive type cast: can be followed by any unary operand
@@ -205,8 +259,7 @@ public final class ExpressionParser
 		if (!validCast)
 		{
 			// This is not a cast expression, restore position
-			parser.setPosition(checkpoint);
-			return null;
+			return rejectCast(checkpoint, arenaMark);
 		}
 
 		// This is a valid cast - parse the operand
@@ -215,6 +268,21 @@ public final class ExpressionParser
 		return parser.getArena().allocateNode(NodeType.CAST_EXPRESSION, start, end);
 	}
 
+	/**
+	 * Backtracks out of a speculative cast and records that the parentheses do not contain a cast type.
+	 *
+	 * @param checkpoint the position of the token after the opening parenthesis
+	 * @param arenaMark  the arena checkpoint taken before the speculative parse
+	 * @return {@code null}
+	 */
+	private NodeIndex rejectCast(int checkpoint, int arenaMark)
+	{
+		parser.setPosition(checkpoint);
+		parser.getArena().rollback(arenaMark);
+		parser.getLookaheadMemo().put(Kind.NOT_A_CAST, checkpoint - 1, 1);
+		return null;
+	}
+
 	/**
 	 * Parses the operand of a cast expression.
 	 * <p>
@@ -237,7 +305,7 @@ public final class ExpressionParser
 		if ((nextTokenType == TokenType.IDENTIFIER || parser.isContextualKeyword(nextTokenType)) &&
 			lookaheadIsArrow())
 		{
-			int lambdaStart = parser.currentToken().start();
+			int lambdaStart = parser.currentStart();
 			parser.consume();
 			parser.expect(TokenType.ARROW);
 			return parseCastOperandHelper.apply(lambdaStart);
@@ -255,86 +323,23 @@ public final class ExpressionParser
 	 */
 	public boolean lookaheadIsArrow()
 	{
-		List<Token> tokens = parser.getTokens();
+		TokenStream tokens = parser.getTokens();
 		int position = parser.getPosition();
-		return position + 1 < tokens.size() && tokens.get(position + 1).type() == TokenType.ARROW;
+		return position + 1 < tokens.size() && tokens.getType(position + 1) == TokenType.ARROW;
 	}
 
 	/**
-	 * Checks if the current position starts a lambda expression by scanning for the {@code ) ->} pattern.
-	 * Handles nested parentheses, generic type arguments, and array types.
+	 * Checks if the current position starts a lambda expression by looking for the {@code ) ->} pattern.
 	 * Called after the opening {@code (} has been consumed.
 	 *
-	 * @return {@code true} if a {@code ) ->} pattern is found with balanced parentheses and generics
+	 * @return {@code true} if the matching {@code )} is followed by {@code ->}
 	 */
 	public boolean isLambdaExpression()
 	{
-		List<Token> tokens = parser.getTokens();
-		int savedPosition = parser.getPosition();
-		try
-		{
-			int parenthesisDepth = 1;
-			int angleBracketDepth = 0;
-
-			while (parser.getPosition() < tokens.size() && parenthesisDepth > 0)
-			{
-				TokenType type = parser.currentToken().type();
-
-				switch (type)
-				{
-					case LEFT_PARENTHESIS ->
-					{
-						if (angleBracketDepth == 0)
-							++parenthesisDepth;
-					}
-					case RIGHT_PARENTHESIS ->
-					{
-						if (angleBracketDepth == 0)
-							--parenthesisDepth;
-					}
-					case LESS_THAN -> ++angleBracketDepth;
-					case GREATER_THAN ->
-					{
-						if (angleBracketDepth > 0)
-							--angleBracketDepth;
-					}
-					case RIGHT_SHIFT ->
-					{
-						if (angleBracketDepth >= 2)
-							angleBracketDepth -= 2;
-						else if (angleBracketDepth == 1)
-							angleBracketDepth = 0;
-					}
-					case UNSIGNED_RIGHT_SHIFT ->
-					{
-						if (angleBracketDepth >= 3)
-							angleBracketDepth -= 3;
-						else
-							angleBracketDepth = 0;
-					}
-					case SEMICOLON, LEFT_BRACE, RIGHT_BRACE ->
-					{
-						return false;
-					}
-					default ->
-					{
-						// Continue scanning
-					}
-				}
-
-				if (parenthesisDepth > 0)
-					parser.consume();
-			}
-
-			if (parenthesisDepth == 0 && parser.getPosition() + 1 < tokens.size())
-				return tokens.get(parser.getPosition() + 1).type() == TokenType.ARROW;
-
-			return false;
-		}
-		finally
-		{
-			parser.setPosition(savedPosition);
-		}
+		TokenStream tokens = parser.getTokens();
+		int closingParenthesis = tokens.getMatchingBracket(parser.getPosition() - 1);
+		return closingParenthesis != TokenStream.NO_MATCH && closingParenthesis + 1 < tokens.size() &&
+			tokens.getType(closingParenthesis + 1) == TokenType.ARROW;
 	}
 
 	/**
@@ -352,7 +357,7 @@ public final class ExpressionParser
 		{
 			// Look ahead to see if this is a lambda
 			int checkpoint = parser.getPosition();
-			int start = parser.currentToken().start();
+			int start = parser.currentStart();
 			parser.consume();
 
 			if (parser.match(TokenType.ARROW))
@@ -377,12 +382,12 @@ public final class ExpressionParser
 		// Handle comments between arrow and body
 		parser.parseComments();
 		int end;
-		if (parser.currentToken().type() == TokenType.LEFT_BRACE)
+		if (parser.currentType() == TokenType.LEFT_BRACE)
 		{
 			// Block lambda: x -> { statements }
 			// parseBlock() creates the BLOCK node; we just need the end position
 			parser.parseBlock();
-			end = parser.previousToken().end();
+			end = parser.previousEnd();
 		}
 		else
 		{
@@ -416,28 +421,28 @@ public final class ExpressionParser
 		int savedPosition = parser.getPosition();
 		try
 		{
-			while (parser.currentToken().type() == TokenType.FINAL ||
-				parser.currentToken().type() == TokenType.AT_SIGN)
+			while (parser.currentType() == TokenType.FINAL ||
+				parser.currentType() == TokenType.AT_SIGN)
 			{
-				if (parser.currentToken().type() == TokenType.AT_SIGN)
+				if (parser.currentType() == TokenType.AT_SIGN)
 				{
 					parser.consume();
 					if (parser.isIdentifierOrContextualKeyword())
 						parser.consume();
-					while (parser.currentToken().type() == TokenType.DOT)
+					while (parser.currentType() == TokenType.DOT)
 					{
 						parser.consume();
 						if (parser.isIdentifierOrContextualKeyword())
 							parser.consume();
 					}
-					if (parser.currentToken().type() == TokenType.LEFT_PARENTHESIS)
+					if (parser.match(TokenType.LEFT_PARENTHESIS))
 						parser.skipBalancedParentheses();
 				}
 				else
 					parser.consume();
 			}
 
-			if (parser.isPrimitiveType(parser.currentToken().type()))
+			if (parser.isPrimitiveType(parser.currentType()))
 				return true;
 
 			if (!parser.isIdentifierOrContextualKeyword())
@@ -445,7 +450,7 @@ public final class ExpressionParser
 
 			parser.consume();
 
-			return switch (parser.currentToken().type())
+			return switch (parser.currentType())
 			{
 				case LESS_THAN, LEFT_BRACKET, DOT -> true;
 				default -> parser.isIdentifierOrContextualKeyword();
@@ -469,10 +474,10 @@ public final class ExpressionParser
 
 	private void parseTypedLambdaParameter()
 	{
-		while (parser.currentToken().type() == TokenType.FINAL ||
-			parser.currentToken().type() == TokenType.AT_SIGN)
+		while (parser.currentType() == TokenType.FINAL ||
+			parser.currentType() == TokenType.AT_SIGN)
 		{
-			if (parser.currentToken().type() == TokenType.AT_SIGN)
+			if (parser.currentType() == TokenType.AT_SIGN)
 				parser.parseAnnotation();
 			else
 				parser.consume();
@@ -545,7 +550,7 @@ public final class ExpressionParser
 	{
 		NodeIndex left = parseTernary();
 
-		if (isAssignmentOperator(parser.currentToken().type()))
+		if (isAssignmentOperator(parser.currentType()))
 		{
 			parser.consume();
 			// Right associative - must check for lambda
@@ -577,7 +582,6 @@ public final class ExpressionParser
 	 */
 	public NodeIndex parseTernary()
 	{
-		// Pending: Replace with parseLogicalOr() after binary-operators task
 		NodeIndex condition = parseLogicalOr();
 
 		if (parser.match(TokenType.QUESTION_MARK))
@@ -596,177 +600,63 @@ public final class ExpressionParser
 	}
 
 	/**
-	 * Generic helper method for parsing binary expressions with operator precedence.
-	 * Eliminates duplication across all binary operator parsing methods.
-	 *
-	 * @param nextLevel supplier for next precedence level parser
-	 * @param operators variable number of operator token types to match
-	 * @return the parsed binary expression node or next level node if no operators match
-	 */
-	private NodeIndex parseBinaryExpression(Supplier<NodeIndex> nextLevel, TokenType... operators)
-	{
-		NodeIndex left = nextLevel.get();
-
-		while (matchesAny(operators))
-		{
-			NodeIndex right = nextLevel.get();
-			int start = parser.getArena().getStart(left);
-			int end = parser.getArena().getEnd(right);
-			left = parser.getArena().allocateNode(NodeType.BINARY_EXPRESSION, start, end);
-		}
-
-		return left;
-	}
-
-	/**
-	 * Checks if current token matches any of the provided token types and consumes if found.
-	 *
-	 * @param types variable number of token types to check
-	 * @return true if current token matches any type (and was consumed), false otherwise
-	 */
-	private boolean matchesAny(TokenType... types)
-	{
-		TokenType current = parser.currentToken().type();
-		for (TokenType type : types)
-			if (current == type)
-			{
-				parser.consume();
-				return true;
-			}
-		return false;
-	}
-
-	/**
-	 * Parses a logical OR expression ({@code ||}).
-	 *
-	 * @return the expression node index
-	 */
-	public NodeIndex parseLogicalOr()
-	{
-		return parseBinaryExpression(this::parseLogicalAnd, TokenType.LOGICAL_OR);
-	}
-
-	/**
-	 * Parses a logical AND expression ({@code &&}).
-	 *
-	 * @return the expression node index
-	 */
-	private NodeIndex parseLogicalAnd()
-	{
-		return parseBinaryExpression(this::parseBitwiseOr, TokenType.LOGICAL_AND);
-	}
-
-	/**
-	 * Parses a bitwise OR expression ({@code |}).
-	 *
-	 * @return the expression node index
-	 */
-	private NodeIndex parseBitwiseOr()
-	{
-		return parseBinaryExpression(this::parseBitwiseXor, TokenType.BITWISE_OR);
-	}
-
-	/**
-	 * Parses a bitwise XOR expression ({@code ^}).
-	 *
-	 * @return the expression node index
-	 */
-	private NodeIndex parseBitwiseXor()
-	{
-		return parseBinaryExpression(this::parseBitwiseAnd, TokenType.CARET);
-	}
-
-	/**
-	 * Parses a bitwise AND expression ({@code &}).
-	 *
-	 * @return the expression node index
-	 */
-	private NodeIndex parseBitwiseAnd()
-	{
-		return parseBinaryExpression(this::parseEquality, TokenType.BITWISE_AND);
-	}
-
-	/**
-	 * Parses an equality expression ({@code ==} or {@code !=}).
-	 *
-	 * @return the expression node index
-	 */
-	private NodeIndex parseEquality()
-	{
-		return parseBinaryExpression(this::parseRelational, TokenType.EQUAL, TokenType.NOT_EQUAL);
-	}
-
-	/**
-	 * Parses a relational expression ({@code <}, {@code >}, {@code <=}, {@code >=}, {@code instanceof}).
+	 * Parses a binary expression whose operators bind at least as tightly as a precedence level.
+	 * <p>
+	 * Operators are looked up in {@link #BINARY_PRECEDENCE}. Each right operand is parsed by a recursive call
+	 * that only accepts operators that bind more tightly, so operators of equal precedence associate to the left
+	 * and the recursion is bounded by the number of precedence levels rather than the length of the expression.
+	 * Nodes are allocated in the same order as a method per precedence level would allocate them.
 	 *
+	 * @param minPrecedence the precedence of the loosest-binding operator to consume
 	 * @return the expression node index
 	 */
-	private NodeIndex parseRelational()
+	private NodeIndex parseBinaryExpression(int minPrecedence)
 	{
-		NodeIndex left = parseShift();
-
-		while (matchesAny(TokenType.LESS_THAN, TokenType.GREATER_THAN, TokenType.LESS_THAN_OR_EQUAL,
-			TokenType.GREATER_THAN_OR_EQUAL))
+		NodeIndex left = parseUnary();
+		while (true)
 		{
-			NodeIndex right = parseShift();
+			TokenType operator = parser.currentType();
+			int precedence = BINARY_PRECEDENCE[operator.ordinal()];
+			if (precedence < minPrecedence)
+				return left;
+			parser.consume();
 			int start = parser.getArena().getStart(left);
-			int end = parser.getArena().getEnd(right);
+			int end;
+			if (operator == TokenType.INSTANCEOF)
+				end = parseInstanceofType();
+			else
+				end = parser.getArena().getEnd(parseBinaryExpression(precedence + 1));
 			left = parser.getArena().allocateNode(NodeType.BINARY_EXPRESSION, start, end);
 		}
-
-		// Handle instanceof specially - requires type reference, optionally followed by pattern variable
-		if (parser.match(TokenType.INSTANCEOF))
-		{
-			int start = parser.getArena().getStart(left);
-			// Consume optional FINAL modifier (Java 16+ pattern matching with final)
-			if (parser.currentToken().type() == TokenType.FINAL)
-				parser.consume();
-			parser.parseType();
-
-			int end = parser.previousToken().end();
-			// Check for optional pattern variable (Java 16+ pattern matching)
-			// Must check isIdentifierOrContextualKeyword() to support contextual keywords like "module", "record"
-			if (parser.isIdentifierOrContextualKeyword())
-			{
-				parser.consume();
-				end = parser.previousToken().end();
-			}
-
-			return parser.getArena().allocateNode(NodeType.BINARY_EXPRESSION, start, end);
-		}
-
-		return left;
 	}
 
 	/**
-	 * Parses a shift expression ({@code <<}, {@code >>}, {@code >>>}).
+	 * Parses the type that follows {@code instanceof}, optionally followed by a pattern variable.
 	 *
-	 * @return the expression node index
+	 * @return the end position of the right operand
 	 */
-	private NodeIndex parseShift()
+	private int parseInstanceofType()
 	{
-		return parseBinaryExpression(this::parseAdditive,
-			TokenType.LEFT_SHIFT, TokenType.RIGHT_SHIFT, TokenType.UNSIGNED_RIGHT_SHIFT);
-	}
+		// Consume optional FINAL modifier (Java 16+ pattern matching with final)
+		if (parser.currentType() == TokenType.FINAL)
+			parser.consume();
+		parser.parseType();
 
-	/**
-	 * Parses an additive expression ({@code +} or {@code -}).
-	 *
-	 * @return the expression node index
-	 */
-	private NodeIndex parseAdditive()
-	{
-		return parseBinaryExpression(this::parseMultiplicative, TokenType.PLUS, TokenType.MINUS);
+		// Check for optional pattern variable (Java 16+ pattern matching)
+		// Must check isIdentifierOrContextualKeyword() to support contextual keywords like "module", "record"
+		if (parser.isIdentifierOrContextualKeyword())
+			parser.consume();
+		return parser.previousEnd();
 	}
 
 	/**
-	 * Parses a multiplicative expression ({@code *}, {@code /}, or {@code %}).
+	 * Parses a logical OR expression ({@code ||}) and any tighter-binding binary operators.
 	 *
 	 * @return the expression node index
 	 */
-	private NodeIndex parseMultiplicative()
+	public NodeIndex parseLogicalOr()
 	{
-		return parseBinaryExpression(this::parseUnary, TokenType.STAR, TokenType.DIVIDE, TokenType.MODULO);
+		return parseBinaryExpression(BINARY_PRECEDENCE[TokenType.LOGICAL_OR.ordinal()]);
 	}
 
 	/**
@@ -776,9 +666,9 @@ public final class ExpressionParser
 	 */
 	public NodeIndex parseUnary()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 
-		TokenType type = parser.currentToken().type();
+		TokenType type = parser.currentType();
 		boolean isUnaryOperator = switch (type)
 		{
 			case MINUS, PLUS, NOT, TILDE, INCREMENT, DECREMENT -> true;
@@ -819,7 +709,7 @@ public final class ExpressionParser
 						break;
 					}
 				}
-				int end = parser.previousToken().end();
+				int end = parser.previousEnd();
 				left = parser.getArena().allocateNode(NodeType.METHOD_INVOCATION, start, end);
 			}
 			else if (parser.match(TokenType.DOT))
@@ -835,18 +725,18 @@ public final class ExpressionParser
 				int end = parseMethodReferenceTarget();
 				left = parser.getArena().allocateNode(NodeType.METHOD_REFERENCE, start, end);
 			}
-			else if (parser.currentToken().type() == TokenType.LESS_THAN)
+			else if (parser.currentType() == TokenType.LESS_THAN)
 			{
 				NodeIndex result = tryParseParameterizedMethodReference(start);
 				if (result == null)
 					break;
 				left = result;
 			}
-			else if (parser.currentToken().type() == TokenType.INCREMENT ||
-				parser.currentToken().type() == TokenType.DECREMENT)
+			else if (parser.currentType() == TokenType.INCREMENT ||
+				parser.currentType() == TokenType.DECREMENT)
 			{
 				// Postfix increment/decrement
-				int end = parser.currentToken().end();
+				int end = parser.currentEnd();
 				parser.consume();
 				left = parser.getArena().allocateNode(NodeType.POSTFIX_EXPRESSION, start, end);
 			}
@@ -872,26 +762,26 @@ public final class ExpressionParser
 		if (parser.isIdentifierOrContextualKeyword())
 		{
 			// Field access: obj.field
-			int end = parser.currentToken().end();
+			int end = parser.currentEnd();
 			parser.consume();
 			return parser.getArena().allocateNode(NodeType.FIELD_ACCESS, start, end);
 		}
 		if (parser.match(TokenType.CLASS))
 		{
 			// Class literal: Type.class, Type[].class
-			int end = parser.previousToken().end();
+			int end = parser.previousEnd();
 			return parser.getArena().allocateNode(NodeType.CLASS_LITERAL, start, end);
 		}
 		if (parser.match(TokenType.THIS))
 		{
 			// Qualified this: Outer.this
-			int end = parser.previousToken().end();
+			int end = parser.previousEnd();
 			return parser.getArena().allocateNode(NodeType.THIS_EXPRESSION, start, end);
 		}
 		if (parser.match(TokenType.SUPER))
 		{
 			// Qualified super: Outer.super
-			int end = parser.previousToken().end();
+			int end = parser.previousEnd();
 			return parser.getArena().allocateNode(NodeType.SUPER_EXPRESSION, start, end);
 		}
 		if (parser.match(TokenType.NEW))
@@ -899,8 +789,8 @@ public final class ExpressionParser
 			return parser.parseNewExpression(start);
 		throw new ParserException(
 			"Expected identifier, 'class', 'this', 'super', or 'new' after '.' but found " +
-				parser.currentToken().type(),
-			parser.currentToken().start());
+				parser.currentType(),
+			parser.currentStart());
 	}
 
 	/**
@@ -920,23 +810,23 @@ public final class ExpressionParser
 			parser.parseArrayDimensionsWithAnnotations();
 
 			// Check for array constructor reference: Type[]::new
-			if (parser.currentToken().type() == TokenType.DOUBLE_COLON)
+			if (parser.currentType() == TokenType.DOUBLE_COLON)
 			{
 				// Return ARRAY_TYPE node; parsePostfix will handle ::new
-				int end = parser.previousToken().end();
+				int end = parser.previousEnd();
 				return parser.getArena().allocateNode(NodeType.ARRAY_TYPE, start, end);
 			}
 
 			// Class literal: Type[].class
 			parser.expect(TokenType.DOT);
 			parser.expect(TokenType.CLASS);
-			int end = parser.previousToken().end();
+			int end = parser.previousEnd();
 			return parser.getArena().allocateNode(NodeType.CLASS_LITERAL, start, end);
 		}
 		// Array access with expression
 		parser.parseExpression();
 		parser.expect(TokenType.RIGHT_BRACKET);
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.ARRAY_ACCESS, start, end);
 	}
 
@@ -950,16 +840,16 @@ public final class ExpressionParser
 	private int parseMethodReferenceTarget()
 	{
 		if (parser.match(TokenType.NEW))
-			return parser.previousToken().end();
+			return parser.previousEnd();
 		if (parser.isIdentifierOrContextualKeyword())
 		{
-			int end = parser.currentToken().end();
+			int end = parser.currentEnd();
 			parser.consume();
 			return end;
 		}
 		throw new ParserException(
-			"Expected method name or 'new' after '::' but found " + parser.currentToken().type(),
-			parser.currentToken().start());
+			"Expected method name or 'new' after '::' but found " + parser.currentType(),
+			parser.currentStart());
 	}
 
 	/**
@@ -974,6 +864,21 @@ public final class ExpressionParser
 	private NodeIndex tryParseParameterizedMethodReference(int start)
 	{
 		int checkpoint = parser.getPosition();
+		// Relational expressions such as a < b are far more common than Type<Args>::method, so rule them out
+		// without parsing
+		int typeArguments = scanTypeArguments(checkpoint);
+		if (typeArguments == NOT_TYPE_ARGUMENTS || typeArguments % 4 != 0)
+			return null;
+		boolean mayBeMethodReference = switch (parser.getTokens().getType(typeArguments / 4 + 1))
+		{
+			case DOUBLE_COLON, LEFT_BRACKET, AT_SIGN, LINE_COMMENT, BLOCK_COMMENT, JAVADOC_COMMENT,
+				MARKDOWN_DOC_COMMENT -> true;
+			default -> false;
+		};
+		if (!mayBeMethodReference)
+			return null;
+		int arenaMark = parser.getArena().mark();
+		parser.enterSpeculation();
 		try
 		{
 			parser.consume();
@@ -983,10 +888,11 @@ public final class ExpressionParser
 			boolean hasArrayDimensions = parser.parseArrayDimensionsWithAnnotations();
 
 			// Check if followed by ::
-			if (parser.currentToken().type() != TokenType.DOUBLE_COLON)
+			if (parser.currentType() != TokenType.DOUBLE_COLON)
 			{
 				// Not a method reference, backtrack
 				parser.setPosition(checkpoint);
+				parser.getArena().rollback(arenaMark);
 				return null;
 			}
 
@@ -994,7 +900,7 @@ public final class ExpressionParser
 			// Wrap in ARRAY_TYPE if array dimensions were parsed
 			if (hasArrayDimensions)
 			{
-				int arrayTypeEnd = parser.previousToken().end();
+				int arrayTypeEnd = parser.previousEnd();
 				parser.getArena().allocateNode(NodeType.ARRAY_TYPE, start, arrayTypeEnd);
 			}
 			parser.consume();
@@ -1008,10 +914,140 @@ public final class ExpressionParser
 		}
 		catch (ParserException e)
 		{
+			if (parser.isLimitExceeded())
+				throw e;
 			// Type argument parsing failed, backtrack
 			parser.setPosition(checkpoint);
+			parser.getArena().rollback(arenaMark);
 			return null;
 		}
+		finally
+		{
+			parser.exitSpeculation();
+		}
+	}
+
+	/**
+	 * Finds the end of the type argument list that starts at a {@code <} token, without parsing it.
+	 * <p>
+	 * Only the tokens are examined: identifiers, keywords, wildcards, dots, commas, ampersands, annotations and
+	 * nested brackets are accepted, and any other token rules out a type argument list. Every type argument
+	 * list that the parser accepts is therefore found, but not every list that is found is valid.
+	 * <p>
+	 * The outcome for each nested {@code <} is recorded in the {@link LookaheadMemo}, so a chain such as
+	 * {@code a < b < c < d} is scanned once in total instead of once per {@code <}.
+	 *
+	 * @param open the index of the {@code <} token
+	 * @return {@link #NOT_TYPE_ARGUMENTS}, or {@code 4 * closing + remaining} where {@code closing} is the index of
+	 *         the token that contains the matching {@code >} and {@code remaining} is the number of {@code >}
+	 *         characters in that token that follow it
+	 */
+	private int scanTypeArguments(int open)
+	{
+		LookaheadMemo memo = parser.getLookaheadMemo();
+		int known = memo.get(Kind.TYPE_ARGUMENTS, open);
+		if (known != LookaheadMemo.UNKNOWN)
+			return known;
+		TokenStream tokens = parser.getTokens();
+		// The indexes of the < tokens whose lists are still open, innermost last
+		int[] pending = new int[8];
+		int pendingCount = 0;
+		pending[pendingCount++] = open;
+		int position = open + 1;
+		while (true)
+		{
+			TokenType type = tokens.getType(position);
+			int closing;
+			int remaining;
+			switch (type)
+			{
+				case GREATER_THAN, RIGHT_SHIFT, UNSIGNED_RIGHT_SHIFT ->
+				{
+					closing = position;
+					remaining = switch (type)
+					{
+						case GREATER_THAN -> 1;
+						case RIGHT_SHIFT -> 2;
+						default -> 3;
+					};
+				}
+				case LESS_THAN ->
+				{
+					int nested = memo.get(Kind.TYPE_ARGUMENTS, position);
+					if (nested == LookaheadMemo.UNKNOWN)
+					{
+						if (pendingCount == pending.length)
+							pending = Arrays.copyOf(pending, pendingCount * 2);
+						pending[pendingCount++] = position;
+						++position;
+						continue;
+					}
+					if (nested == NOT_TYPE_ARGUMENTS)
+						return rejectTypeArguments(pending, pendingCount);
+					// Skip the nested list. Any > characters that follow its end close the enclosing lists.
+					closing = nested / 4;
+					remaining = nested % 4;
+				}
+				case LEFT_PARENTHESIS, LEFT_BRACKET ->
+				{
+					// Annotation arguments and array dimensions
+					int partner = tokens.getMatchingBracket(position);
+					if (partner == TokenStream.NO_MATCH)
+						return rejectTypeArguments(pending, pendingCount);
+					position = partner + 1;
+					continue;
+				}
+				default ->
+				{
+					if (!canAppearInTypeArguments(type))
+						return rejectTypeArguments(pending, pendingCount);
+					++position;
+					continue;
+				}
+			}
+			// Each > character closes the innermost open list
+			while (remaining > 0 && pendingCount > 0)
+			{
+				--remaining;
+				--pendingCount;
+				memo.put(Kind.TYPE_ARGUMENTS, pending[pendingCount], 4 * closing + remaining);
+			}
+			if (pendingCount == 0)
+				return memo.get(Kind.TYPE_ARGUMENTS, open);
+			position = closing + 1;
+		}
+	}
+
+	/**
+	 * Records that none of the open type argument lists are valid.
+	 *
+	 * @param pending      the indexes of the {@code <} tokens of the open lists
+	 * @param pendingCount the number of open lists
+	 * @return {@link #NOT_TYPE_ARGUMENTS}
+	 */
+	private int rejectTypeArguments(int[] pending, int pendingCount)
+	{
+		LookaheadMemo memo = parser.getLookaheadMemo();
+		for (int i = 0; i < pendingCount; ++i)
+			memo.put(Kind.TYPE_ARGUMENTS, pending[i], NOT_TYPE_ARGUMENTS);
+		return NOT_TYPE_ARGUMENTS;
+	}
+
+	/**
+	 * Indicates if a token may appear inside a type argument list, other than angle brackets, parentheses and
+	 * square brackets.
+	 *
+	 * @param type the type of the token
+	 * @return {@code true} if the token may appear in a type argument list
+	 */
+	private boolean canAppearInTypeArguments(TokenType type)
+	{
+		return switch (type)
+		{
+			case IDENTIFIER, QUESTION_MARK, EXTENDS, SUPER, BITWISE_AND, DOT, COMMA, AT_SIGN, LINE_COMMENT,
+				BLOCK_COMMENT, JAVADOC_COMMENT, MARKDOWN_DOC_COMMENT -> true;
+			default -> parser.isPrimitiveType(type) || parser.isContextualKeyword(type);
+		};
 	}
 
 	private NodeIndex parsePrimary()
@@ -1021,14 +1057,14 @@ public final class ExpressionParser
 		try
 		{
 			parser.parseComments();
-			Token token = parser.currentToken();
-			int start = token.start();
-			int end = token.end();
+			TokenType type = parser.currentType();
+			int start = parser.currentStart();
+			int end = parser.currentEnd();
 
-			if (token.isLiteral())
+			if (type.isLiteral())
 			{
 				parser.consume();
-				return parseLiteralExpression(token, start, end);
+				return parseLiteralExpression(type, start, end);
 			}
 
 			if (parser.isIdentifierOrContextualKeyword())
@@ -1053,10 +1089,10 @@ public final class ExpressionParser
 				// Array initializer: {1, 2, 3}
 				return parser.parseArrayInitializer(start);
 
-			if (token.type() == TokenType.AT_SIGN)
+			if (type == TokenType.AT_SIGN)
 				return parser.parseAnnotation();
 
-			if (parser.isPrimitiveType(token.type()))
+			if (parser.isPrimitiveType(type))
 			{
 				parser.consume();
 				return parsePrimitiveClassLiteral(start);
@@ -1066,7 +1102,7 @@ public final class ExpressionParser
 				// Switch expression: switch (x) { case 1 -> 10; default -> 0; }
 				return parser.parseSwitchExpression(start);
 
-			if (token.type() == TokenType.ARROW)
+			if (type == TokenType.ARROW)
 			{
 				// Lambda with inferred parameter (handled by caller)
 				// For now, just consume and create a placeholder
@@ -1077,7 +1113,6 @@ public final class ExpressionParser
 			}
 
 			// Handle unary operators that appear after comments (e.g., /* comment */ -5)
-			TokenType type = token.type();
 			boolean isUnaryOperator = switch (type)
 			{
 				case MINUS, PLUS, NOT, TILDE, INCREMENT, DECREMENT -> true;
@@ -1092,7 +1127,7 @@ public final class ExpressionParser
 			}
 
 			throw new ParserException(
-				"Unexpected token in expression: " + token.type() + " at position " + start,
+				"Unexpected token in expression: " + type + " at position " + start,
 				start);
 		}
 		finally
@@ -1104,14 +1139,14 @@ public final class ExpressionParser
 	/**
 	 * Parses a literal expression (integer, long, float, double, boolean, char, string, null).
 	 *
-	 * @param token the literal token
+	 * @param type  the type of the literal token
 	 * @param start the start position
 	 * @param end   the end position
 	 * @return the node index for the literal
 	 */
-	private NodeIndex parseLiteralExpression(Token token, int start, int end)
+	private NodeIndex parseLiteralExpression(TokenType type, int start, int end)
 	{
-		NodeType nodeType = switch (token.type())
+		NodeType nodeType = switch (type)
 		{
 			case INTEGER_LITERAL -> NodeType.INTEGER_LITERAL;
 			case LONG_LITERAL -> NodeType.LONG_LITERAL;
@@ -1121,7 +1156,7 @@ public final class ExpressionParser
 			case CHAR_LITERAL -> NodeType.CHAR_LITERAL;
 			case STRING_LITERAL -> NodeType.STRING_LITERAL;
 			case NULL_LITERAL -> NodeType.NULL_LITERAL;
-			default -> throw new ParserException("Unexpected literal type: " + token.type(), start);
+			default -> throw new ParserException("Unexpected literal type: " + type, start);
 		};
 		return parser.getArena().allocateNode(nodeType, start, end);
 	}
@@ -1138,23 +1173,23 @@ public final class ExpressionParser
 		boolean hasArrayDimensions = parser.parseArrayDimensionsWithAnnotations();
 
 		// Check for array constructor reference: int[]::new
-		if (parser.currentToken().type() == TokenType.DOUBLE_COLON)
+		if (parser.currentType() == TokenType.DOUBLE_COLON)
 		{
 			if (!hasArrayDimensions)
 			{
 				throw new ParserException(
 					"Primitive type constructor reference requires array dimensions (e.g., int[]::new)",
-					parser.currentToken().start());
+					parser.currentStart());
 			}
 			// Return ARRAY_TYPE node; parsePostfix will handle ::new
-			int end = parser.previousToken().end();
+			int end = parser.previousEnd();
 			return parser.getArena().allocateNode(NodeType.ARRAY_TYPE, start, end);
 		}
 
 		// Class literal: int.class, int[].class
 		parser.expect(TokenType.DOT);
 		parser.expect(TokenType.CLASS);
-		int classEnd = parser.previousToken().end();
+		int classEnd = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.CLASS_LITERAL, start, classEnd);
 	}
 
@@ -1176,7 +1211,7 @@ public final class ExpressionParser
 		// Handle comments after opening brace
 		parser.parseComments();
 
-		while (parser.currentToken().type() == TokenType.CASE || parser.currentToken().type() == TokenType.DEFAULT)
+		while (parser.currentType() == TokenType.CASE || parser.currentType() == TokenType.DEFAULT)
 		{
 			if (parser.match(TokenType.CASE))
 			{
@@ -1194,10 +1229,10 @@ public final class ExpressionParser
 				// Consume comments between arrow and body (mirrors parseLambdaBody pattern)
 				parser.parseComments();
 				// Arrow case: case 1 -> expr;
-				if (parser.currentToken().type() == TokenType.LEFT_BRACE)
+				if (parser.currentType() == TokenType.LEFT_BRACE)
 					// Block body: case 1 -> { ... }
 					parser.parseBlock();
-				else if (parser.currentToken().type() == TokenType.THROW)
+				else if (parser.currentType() == TokenType.THROW)
 				{
 					// Throw expression: case 1 -> throw new Exception();
 					parser.consume();
@@ -1222,7 +1257,7 @@ public final class ExpressionParser
 		}
 
 		parser.expect(TokenType.RIGHT_BRACE);
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.SWITCH_EXPRESSION, start, end);
 	}
 
@@ -1255,8 +1290,8 @@ public final class ExpressionParser
 			return parseObjectCreation(start);
 
 		throw new ParserException(
-			"Expected '(' or '[' after 'new' but found " + parser.currentToken().type(),
-			parser.currentToken().start());
+			"Expected '(' or '[' after 'new' but found " + parser.currentType(),
+			parser.currentStart());
 	}
 
 	/**
@@ -1275,14 +1310,14 @@ public final class ExpressionParser
 	public NodeIndex parseArrayCreation(int start)
 	{
 		// Parse dimension expression if present (e.g., new int[5])
-		if (parser.currentToken().type() != TokenType.RIGHT_BRACKET)
+		if (parser.currentType() != TokenType.RIGHT_BRACKET)
 			parseExpression();
 		parser.expect(TokenType.RIGHT_BRACKET);
 
 		// Handle multi-dimensional arrays: new int[2][3] or mixed new int[2][]
 		while (parser.match(TokenType.LEFT_BRACKET))
 		{
-			if (parser.currentToken().type() != TokenType.RIGHT_BRACKET)
+			if (parser.currentType() != TokenType.RIGHT_BRACKET)
 				parseExpression();
 			parser.expect(TokenType.RIGHT_BRACKET);
 		}
@@ -1295,14 +1330,14 @@ public final class ExpressionParser
 			{
 				// Handle comments after comma (e.g., trailing comma followed by comment)
 				parser.parseComments();
-				if (parser.currentToken().type() == TokenType.RIGHT_BRACE)
+				if (parser.currentType() == TokenType.RIGHT_BRACE)
 					break;
 				parseExpression();
 			}
 			parser.expect(TokenType.RIGHT_BRACE);
 		}
 
-		int arrayEnd = parser.previousToken().end();
+		int arrayEnd = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.ARRAY_CREATION, start, arrayEnd);
 	}
 
@@ -1328,18 +1363,18 @@ public final class ExpressionParser
 		// Anonymous class body
 		if (parser.match(TokenType.LEFT_BRACE))
 		{
-			while (parser.currentToken().type() != TokenType.RIGHT_BRACE &&
-				parser.currentToken().type() != TokenType.END_OF_FILE)
+			while (parser.currentType() != TokenType.RIGHT_BRACE &&
+				parser.currentType() != TokenType.END_OF_FILE)
 			{
 				parser.parseComments();
-				if (parser.currentToken().type() == TokenType.RIGHT_BRACE)
+				if (parser.currentType() == TokenType.RIGHT_BRACE)
 					continue;
 				parser.parseMemberDeclaration();
 			}
 			parser.expect(TokenType.RIGHT_BRACE);
 		}
 
-		int objEnd = parser.previousToken().end();
+		int objEnd = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.OBJECT_CREATION, start, objEnd);
 	}
 
@@ -1359,9 +1394,9 @@ public final class ExpressionParser
 		if (!parser.match(TokenType.RIGHT_BRACE))
 		{
 			// Handle nested array initializers or expressions
-			if (parser.currentToken().type() == TokenType.LEFT_BRACE)
+			if (parser.currentType() == TokenType.LEFT_BRACE)
 			{
-				int nestedStart = parser.currentToken().start();
+				int nestedStart = parser.currentStart();
 				parser.consume();
 				parseArrayInitializer(nestedStart);
 			}
@@ -1371,11 +1406,11 @@ public final class ExpressionParser
 			{
 				// Handle comments after comma
 				parser.parseComments();
-				if (parser.currentToken().type() == TokenType.RIGHT_BRACE)
+				if (parser.currentType() == TokenType.RIGHT_BRACE)
 					break;
-				if (parser.currentToken().type() == TokenType.LEFT_BRACE)
+				if (parser.currentType() == TokenType.LEFT_BRACE)
 				{
-					int nestedStart = parser.currentToken().start();
+					int nestedStart = parser.currentStart();
 					parser.consume();
 					parseArrayInitializer(nestedStart);
 				}
@@ -1386,7 +1421,7 @@ public final class ExpressionParser
 			parser.parseComments();
 			parser.expect(TokenType.RIGHT_BRACE);
 		}
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.ARRAY_INITIALIZER, start, end);
 	}
 }
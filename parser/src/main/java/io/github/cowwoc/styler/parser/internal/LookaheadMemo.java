@@ -0,0 +1,94 @@
+package io.github.cowwoc.styler.parser.internal;
+
+import java.util.Arrays;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.that;
+
+/**
+ * Remembers the outcome of lookahead decisions by token position.
+ * <p>
+ * A lookahead decision depends only on the tokens that follow a position, so it is the same every time the
+ * parser reaches that position, whether because a speculative parse backtracked over it or because the
+ * surrounding code is parsed a second time. Recording each outcome the first time it is computed ensures that
+ * it is computed at most once per position, in the manner of a packrat parser.
+ * <p>
+ * Each kind of decision is stored in its own {@code int} array, indexed by token position, that is only
+ * allocated once the decision is first recorded.
+ * <p>
+ * <b>Thread-safety</b>: This class is not thread-safe.
+ */
+public final class LookaheadMemo
+{
+	/**
+	 * The value returned for a position whose outcome has not been recorded.
+	 */
+	public static final int UNKNOWN = Integer.MIN_VALUE;
+	private static final Kind[] KINDS = Kind.values();
+	private final int tokenCount;
+	private final int[][] outcomes = new int[KINDS.length][];
+
+	/**
+	 * Creates a new memo.
+	 *
+	 * @param tokenCount the number of tokens in the source code
+	 */
+	public LookaheadMemo(int tokenCount)
+	{
+		assert that(tokenCount, "tokenCount").isNotNegative().elseThrow();
+		this.tokenCount = tokenCount;
+	}
+
+	/**
+	 * Returns the recorded outcome of a decision.
+	 *
+	 * @param kind     the kind of decision
+	 * @param position the index of the token that the decision was made at
+	 * @return {@link #UNKNOWN} if no outcome was recorded
+	 */
+	public int get(Kind kind, int position)
+	{
+		int[] values = outcomes[kind.ordinal()];
+		if (values == null)
+			return UNKNOWN;
+		return values[position];
+	}
+
+	/**
+	 * Records the outcome of a decision.
+	 *
+	 * @param kind     the kind of decision
+	 * @param position the index of the token that the decision was made at
+	 * @param outcome  the outcome, which may not be {@link #UNKNOWN}
+	 */
+	public void put(Kind kind, int position, int outcome)
+	{
+		assert outcome != UNKNOWN;
+		int[] values = outcomes[kind.ordinal()];
+		if (values == null)
+		{
+			values = new int[tokenCount];
+			Arrays.fill(values, UNKNOWN);
+			outcomes[kind.ordinal()] = values;
+		}
+		values[position] = outcome;
+	}
+
+	/**
+	 * The kinds of lookahead decisions.
+	 */
+	public enum Kind
+	{
+		/**
+		 * Whether a type declaration starts at the token, after any modifiers and annotations.
+		 */
+		TYPE_DECLARATION_START,
+		/**
+		 * Whether the parenthesis at the token was found not to start a cast expression.
+		 */
+		NOT_A_CAST,
+		/**
+		 * Where the type argument list that starts at a {@code <} token ends.
+		 */
+		TYPE_ARGUMENTS
+	}
+}
@@ -9,7 +9,7 @@ import io.github.cowwoc.styler.ast.core.ProvidesDirectiveAttribute;
 import io.github.cowwoc.styler.ast.core.RequiresDirectiveAttribute;
 import io.github.cowwoc.styler.ast.core.UsesDirectiveAttribute;
 import io.github.cowwoc.styler.parser.Parser.ParserException;
-import io.github.cowwoc.styler.parser.Token;
+import io.github.cowwoc.styler.parser.TokenStream;
 import io.github.cowwoc.styler.parser.TokenType;
 
 import java.util.ArrayList;
@@ -47,23 +47,23 @@ public final class ModuleParser
 	 */
 	public boolean isModuleDeclarationStart()
 	{
-		List<Token> tokens = parser.getTokens();
+		TokenStream tokens = parser.getTokens();
 		int lookahead = parser.getPosition();
 
 		// Skip annotations (module declarations can have annotations like @Deprecated)
-		while (lookahead < tokens.size() && tokens.get(lookahead).type() == TokenType.AT_SIGN)
+		while (lookahead < tokens.size() && tokens.getType(lookahead) == TokenType.AT_SIGN)
 			lookahead = skipAnnotationAt(lookahead, tokens);
 
 		if (lookahead >= tokens.size())
 			return false;
 
-		TokenType current = tokens.get(lookahead).type();
+		TokenType current = tokens.getType(lookahead);
 
 		// Check for "open module" or just "module"
 		if (current == TokenType.OPEN)
 		{
 			++lookahead;
-			return lookahead < tokens.size() && tokens.get(lookahead).type() == TokenType.MODULE;
+			return lookahead < tokens.size() && tokens.getType(lookahead) == TokenType.MODULE;
 		}
 		return current == TokenType.MODULE;
 	}
@@ -78,29 +78,21 @@ public final class ModuleParser
 	 * @param tokens        the token list to scan
 	 * @return the token index immediately after the annotation
 	 */
-	private int skipAnnotationAt(int startPosition, List<Token> tokens)
+	private int skipAnnotationAt(int startPosition, TokenStream tokens)
 	{
 		int lookahead = startPosition + 1;
-		if (lookahead >= tokens.size() || tokens.get(lookahead).type() != TokenType.IDENTIFIER)
+		if (lookahead >= tokens.size() || tokens.getType(lookahead) != TokenType.IDENTIFIER)
 			return lookahead;
 
 		++lookahead;
-		if (lookahead >= tokens.size() || tokens.get(lookahead).type() != TokenType.LEFT_PARENTHESIS)
+		if (lookahead >= tokens.size() || tokens.getType(lookahead) != TokenType.LEFT_PARENTHESIS)
 			return lookahead;
 
 		// Skip annotation arguments
-		int parenDepth = 1;
-		++lookahead;
-		while (lookahead < tokens.size() && parenDepth > 0)
-		{
-			TokenType type = tokens.get(lookahead).type();
-			if (type == TokenType.LEFT_PARENTHESIS)
-				++parenDepth;
-			else if (type == TokenType.RIGHT_PARENTHESIS)
-				--parenDepth;
-			++lookahead;
-		}
-		return lookahead;
+		int closingParenthesis = tokens.getMatchingBracket(lookahead);
+		if (closingParenthesis == TokenStream.NO_MATCH)
+			return tokens.size();
+		return closingParenthesis + 1;
 	}
 
 	/**
@@ -120,12 +112,12 @@ public final class ModuleParser
 		// Module compilation units cannot contain package/type declarations
 		// Verify we've reached EOF after the module declaration
 		parser.parseComments();
-		if (parser.currentToken().type() != TokenType.END_OF_FILE)
+		if (parser.currentType() != TokenType.END_OF_FILE)
 		{
 			throw new ParserException(
-				"Unexpected token after module declaration: " + parser.currentToken().type() +
+				"Unexpected token after module declaration: " + parser.currentType() +
 				" (module-info.java can only contain module declaration)",
-				parser.currentToken().start());
+				parser.currentStart());
 		}
 
 		// Return the module declaration directly as the root node
@@ -147,10 +139,10 @@ public final class ModuleParser
 	 */
 	private NodeIndex parseModuleDeclaration()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 
 		// Skip annotations (they were already identified during lookahead)
-		while (parser.currentToken().type() == TokenType.AT_SIGN)
+		while (parser.currentType() == TokenType.AT_SIGN)
 		{
 			parser.parseAnnotation();
 			parser.parseComments();
@@ -163,9 +155,9 @@ public final class ModuleParser
 		parser.expect(TokenType.MODULE);
 
 		// Parse module name (qualified name: com.example.app)
-		int nameStart = parser.currentToken().start();
+		int nameStart = parser.currentStart();
 		parser.parseQualifiedName();
-		int nameEnd = parser.previousToken().end();
+		int nameEnd = parser.previousEnd();
 		String moduleName = parser.getSourceCode().substring(nameStart, nameEnd);
 
 		// Parse module body: { directives }
@@ -173,7 +165,7 @@ public final class ModuleParser
 		parser.parseComments();
 
 		// Parse directives until closing brace
-		while (parser.currentToken().type() != TokenType.RIGHT_BRACE)
+		while (parser.currentType() != TokenType.RIGHT_BRACE)
 		{
 			parseModuleDirective();
 			parser.parseComments();
@@ -183,7 +175,7 @@ public final class ModuleParser
 
 		// Create module declaration node with attribute
 		ModuleDeclarationAttribute attribute = new ModuleDeclarationAttribute(moduleName, isOpen);
-		return parser.getArena().allocateModuleDeclaration(start, parser.previousToken().end(), attribute);
+		return parser.getArena().allocateModuleDeclaration(start, parser.previousEnd(), attribute);
 	}
 
 	/**
@@ -196,7 +188,7 @@ public final class ModuleParser
 	 */
 	private NodeIndex parseModuleDirective()
 	{
-		TokenType type = parser.currentToken().type();
+		TokenType type = parser.currentType();
 		return switch (type)
 		{
 			case REQUIRES -> parseRequiresDirective();
@@ -206,7 +198,7 @@ public final class ModuleParser
 			case PROVIDES -> parseProvidesDirective();
 			default -> throw new ParserException(
 				"Expected module directive (requires/exports/opens/uses/provides), found: " + type,
-				parser.currentToken().start());
+				parser.currentStart());
 		};
 	}
 
@@ -225,15 +217,15 @@ public final class ModuleParser
 	 */
 	private NodeIndex parseRequiresDirective()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.REQUIRES);
 
 		// Parse modifiers (transitive and/or static, order doesn't matter per JLS)
 		boolean isTransitive = false;
 		boolean isStatic = false;
 
-		while (parser.currentToken().type() == TokenType.TRANSITIVE ||
-			parser.currentToken().type() == TokenType.STATIC)
+		while (parser.currentType() == TokenType.TRANSITIVE ||
+			parser.currentType() == TokenType.STATIC)
 		{
 			if (parser.match(TokenType.TRANSITIVE))
 				isTransitive = true;
@@ -242,15 +234,15 @@ public final class ModuleParser
 		}
 
 		// Parse module name
-		int nameStart = parser.currentToken().start();
+		int nameStart = parser.currentStart();
 		parser.parseQualifiedName();
-		int nameEnd = parser.previousToken().end();
+		int nameEnd = parser.previousEnd();
 		String moduleName = parser.getSourceCode().substring(nameStart, nameEnd);
 
 		parser.expect(TokenType.SEMICOLON);
 
 		RequiresDirectiveAttribute attribute = new RequiresDirectiveAttribute(moduleName, isTransitive, isStatic);
-		return parser.getArena().allocateRequiresDirective(start, parser.previousToken().end(), attribute);
+		return parser.getArena().allocateRequiresDirective(start, parser.previousEnd(), attribute);
 	}
 
 	/**
@@ -266,13 +258,13 @@ public final class ModuleParser
 	 */
 	private NodeIndex parseExportsDirective()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.EXPORTS);
 
 		// Parse package name
-		int pkgStart = parser.currentToken().start();
+		int pkgStart = parser.currentStart();
 		parser.parseQualifiedName();
-		int pkgEnd = parser.previousToken().end();
+		int pkgEnd = parser.previousEnd();
 		String packageName = parser.getSourceCode().substring(pkgStart, pkgEnd);
 
 		// Parse optional "to" clause (qualified exports)
@@ -283,7 +275,7 @@ public final class ModuleParser
 		parser.expect(TokenType.SEMICOLON);
 
 		ExportsDirectiveAttribute attribute = new ExportsDirectiveAttribute(packageName, targetModules);
-		return parser.getArena().allocateExportsDirective(start, parser.previousToken().end(), attribute);
+		return parser.getArena().allocateExportsDirective(start, parser.previousEnd(), attribute);
 	}
 
 	/**
@@ -299,13 +291,13 @@ public final class ModuleParser
 	 */
 	private NodeIndex parseOpensDirective()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.OPENS);
 
 		// Parse package name
-		int pkgStart = parser.currentToken().start();
+		int pkgStart = parser.currentStart();
 		parser.parseQualifiedName();
-		int pkgEnd = parser.previousToken().end();
+		int pkgEnd = parser.previousEnd();
 		String packageName = parser.getSourceCode().substring(pkgStart, pkgEnd);
 
 		// Parse optional "to" clause (qualified opens)
@@ -316,7 +308,7 @@ public final class ModuleParser
 		parser.expect(TokenType.SEMICOLON);
 
 		OpensDirectiveAttribute attribute = new OpensDirectiveAttribute(packageName, targetModules);
-		return parser.getArena().allocateOpensDirective(start, parser.previousToken().end(), attribute);
+		return parser.getArena().allocateOpensDirective(start, parser.previousEnd(), attribute);
 	}
 
 	/**
@@ -332,19 +324,19 @@ public final class ModuleParser
 	 */
 	private NodeIndex parseUsesDirective()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.USES);
 
 		// Parse service type name (fully qualified type name)
-		int typeStart = parser.currentToken().start();
+		int typeStart = parser.currentStart();
 		parser.parseQualifiedName();
-		int typeEnd = parser.previousToken().end();
+		int typeEnd = parser.previousEnd();
 		String serviceTypeName = parser.getSourceCode().substring(typeStart, typeEnd);
 
 		parser.expect(TokenType.SEMICOLON);
 
 		UsesDirectiveAttribute attribute = new UsesDirectiveAttribute(serviceTypeName);
-		return parser.getArena().allocateUsesDirective(start, parser.previousToken().end(), attribute);
+		return parser.getArena().allocateUsesDirective(start, parser.previousEnd(), attribute);
 	}
 
 	/**
@@ -360,13 +352,13 @@ public final class ModuleParser
 	 */
 	private NodeIndex parseProvidesDirective()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.PROVIDES);
 
 		// Parse service type name
-		int serviceStart = parser.currentToken().start();
+		int serviceStart = parser.currentStart();
 		parser.parseQualifiedName();
-		int serviceEnd = parser.previousToken().end();
+		int serviceEnd = parser.previousEnd();
 		String serviceTypeName = parser.getSourceCode().substring(serviceStart, serviceEnd);
 
 		// Parse "with" implementations
@@ -376,7 +368,7 @@ public final class ModuleParser
 		parser.expect(TokenType.SEMICOLON);
 
 		ProvidesDirectiveAttribute attribute = new ProvidesDirectiveAttribute(serviceTypeName, implementations);
-		return parser.getArena().allocateProvidesDirective(start, parser.previousToken().end(), attribute);
+		return parser.getArena().allocateProvidesDirective(start, parser.previousEnd(), attribute);
 	}
 
 	/**
@@ -391,17 +383,17 @@ public final class ModuleParser
 		List<String> modules = new ArrayList<>();
 
 		// Parse first module name
-		int nameStart = parser.currentToken().start();
+		int nameStart = parser.currentStart();
 		parser.parseQualifiedName();
-		int nameEnd = parser.previousToken().end();
+		int nameEnd = parser.previousEnd();
 		modules.add(parser.getSourceCode().substring(nameStart, nameEnd));
 
 		// Parse additional module names after commas
 		while (parser.match(TokenType.COMMA))
 		{
-			nameStart = parser.currentToken().start();
+			nameStart = parser.currentStart();
 			parser.parseQualifiedName();
-			nameEnd = parser.previousToken().end();
+			nameEnd = parser.previousEnd();
 			modules.add(parser.getSourceCode().substring(nameStart, nameEnd));
 		}
 
@@ -420,17 +412,17 @@ public final class ModuleParser
 		List<String> typeNames = new ArrayList<>();
 
 		// Parse first type name
-		int nameStart = parser.currentToken().start();
+		int nameStart = parser.currentStart();
 		parser.parseQualifiedName();
-		int nameEnd = parser.previousToken().end();
+		int nameEnd = parser.previousEnd();
 		typeNames.add(parser.getSourceCode().substring(nameStart, nameEnd));
 
 		// Parse additional type names after commas
 		while (parser.match(TokenType.COMMA))
 		{
-			nameStart = parser.currentToken().start();
+			nameStart = parser.currentStart();
 			parser.parseQualifiedName();
-			nameEnd = parser.previousToken().end();
+			nameEnd = parser.previousEnd();
 			typeNames.add(parser.getSourceCode().substring(nameStart, nameEnd));
 		}
 
@@ -450,18 +442,18 @@ public final class ModuleParser
 		// Build the module name from tokens
 		StringBuilder moduleName = new StringBuilder();
 		parser.expect(TokenType.IDENTIFIER);
-		moduleName.append(parser.previousToken().decodedText());
+		moduleName.append(parser.previousDecodedText());
 
-		while (parser.currentToken().type() == TokenType.DOT)
+		while (parser.currentType() == TokenType.DOT)
 		{
 			parser.consume(); // DOT
 			moduleName.append('.');
 			parser.expect(TokenType.IDENTIFIER);
-			moduleName.append(parser.previousToken().decodedText());
+			moduleName.append(parser.previousDecodedText());
 		}
 
 		parser.expect(TokenType.SEMICOLON);
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		ModuleImportAttribute attribute = new ModuleImportAttribute(moduleName.toString());
 		return parser.getArena().allocateModuleImportDeclaration(start, end, attribute);
 	}
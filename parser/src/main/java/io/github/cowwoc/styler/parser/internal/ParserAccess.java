@@ -2,10 +2,10 @@ package io.github.cowwoc.styler.parser.internal;
 
 import io.github.cowwoc.styler.ast.core.NodeArena;
 import io.github.cowwoc.styler.ast.core.NodeIndex;
-import io.github.cowwoc.styler.parser.Token;
+import io.github.cowwoc.styler.parser.TokenStream;
 import io.github.cowwoc.styler.parser.TokenType;
 
-import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Interface exposing Parser's internal methods to helper classes without making them public API.
@@ -24,16 +24,16 @@ public interface ParserAccess
 	// ========== Token Navigation ==========
 
 	/**
-	 * Returns the list of tokens being parsed.
+	 * Returns the tokens being parsed.
 	 *
-	 * @return the immutable token list
+	 * @return the immutable token stream
 	 */
-	List<Token> getTokens();
+	TokenStream getTokens();
 
 	/**
 	 * Returns the current token position.
 	 *
-	 * @return the position index in the token list
+	 * @return the position index in the token stream
 	 */
 	int getPosition();
 
@@ -45,27 +45,60 @@ public interface ParserAccess
 	void setPosition(int position);
 
 	/**
-	 * Returns the current token without advancing the position.
+	 * Returns the type of the current token without advancing the position.
 	 *
-	 * @return the current token
+	 * @return the type of the current token
 	 */
-	Token currentToken();
+	TokenType currentType();
 
 	/**
-	 * Returns the previous token (the one most recently consumed).
+	 * Returns the start position of the current token.
 	 *
-	 * @return the previous token
+	 * @return the start position in source code (inclusive)
 	 */
-	Token previousToken();
+	int currentStart();
+
+	/**
+	 * Returns the end position of the current token.
+	 *
+	 * @return the end position in source code (exclusive)
+	 */
+	int currentEnd();
+
+	/**
+	 * Returns the text of the current token with Unicode escapes resolved.
+	 *
+	 * @return the decoded text, or {@code null} at the end of the file
+	 */
+	String currentDecodedText();
+
+	/**
+	 * Returns the start position of the previous token (the one most recently consumed).
+	 *
+	 * @return the start position in source code (inclusive)
+	 */
+	int previousStart();
+
+	/**
+	 * Returns the end position of the previous token (the one most recently consumed).
+	 *
+	 * @return the end position in source code (exclusive)
+	 */
+	int previousEnd();
+
+	/**
+	 * Returns the text of the previous token (the one most recently consumed) with Unicode escapes resolved.
+	 *
+	 * @return the decoded text
+	 */
+	String previousDecodedText();
 
 	// ========== Token Consumption ==========
 
 	/**
 	 * Consumes the current token and advances to the next.
-	 *
-	 * @return the consumed token
 	 */
-	Token consume();
+	void consume();
 
 	/**
 	 * Consumes the current token if it matches the given type.
@@ -120,6 +153,47 @@ public interface ParserAccess
 	 */
 	void exitDepth();
 
+	// ========== Error Recovery ==========
+
+	/**
+	 * Parses a construct, recovering from syntax errors inside it.
+	 * <p>
+	 * If the construct fails to parse, the error is recorded, the nodes that were allocated for the construct
+	 * are discarded and its remaining tokens are skipped.
+	 *
+	 * @param construct           parses the construct
+	 * @param startsNextConstruct returns {@code true} for tokens that can only begin the next construct
+	 * @throws io.github.cowwoc.styler.parser.Parser.ParserException if the error cannot be recovered from
+	 */
+	void parseWithRecovery(Runnable construct, Predicate<TokenType> startsNextConstruct);
+
+	/**
+	 * Returns the outcomes of lookahead decisions that were already made.
+	 *
+	 * @return the lookahead memo
+	 */
+	LookaheadMemo getLookaheadMemo();
+
+	/**
+	 * Begins a speculative parse that backtracks if it fails. Errors are not recovered from until the
+	 * matching {@link #exitSpeculation()}.
+	 */
+	void enterSpeculation();
+
+	/**
+	 * Ends a speculative parse.
+	 */
+	void exitSpeculation();
+
+	/**
+	 * Indicates if a security limit was exceeded or the parse was cancelled. A speculative parse that fails for
+	 * this reason must propagate the exception instead of backtracking, since the failure says nothing about
+	 * the tokens.
+	 *
+	 * @return {@code true} if parsing must not resume
+	 */
+	boolean isLimitExceeded();
+
 	// ========== Comment Handling ==========
 
 	/**
@@ -3,6 +3,7 @@ package io.github.cowwoc.styler.parser.internal;
 import io.github.cowwoc.styler.ast.core.NodeIndex;
 import io.github.cowwoc.styler.ast.core.NodeType;
 import io.github.cowwoc.styler.parser.Parser.ParserException;
+import io.github.cowwoc.styler.parser.TokenStream;
 import io.github.cowwoc.styler.parser.TokenType;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.that;
@@ -45,7 +46,7 @@ public final class StatementParser
 		}
 		parser.setPosition(checkpoint);
 
-		TokenType type = parser.currentToken().type();
+		TokenType type = parser.currentType();
 
 		switch (type)
 		{
@@ -76,6 +77,30 @@ public final class StatementParser
 		}
 	}
 
+	/**
+	 * Parses a statement within a block or a switch case, skipping to the next statement if it contains a
+	 * syntax error.
+	 */
+	public void parseBlockStatement()
+	{
+		parser.parseWithRecovery(this::parseStatement, StatementParser::startsStatement);
+	}
+
+	/**
+	 * Indicates if a token can only begin a statement or a switch label, after skipping a broken statement.
+	 *
+	 * @param type the type of the token
+	 * @return {@code true} if the token is a keyword that cannot appear inside an expression
+	 */
+	private static boolean startsStatement(TokenType type)
+	{
+		return switch (type)
+		{
+			case IF, FOR, WHILE, DO, TRY, RETURN, THROW, BREAK, CONTINUE, CASE, DEFAULT -> true;
+			default -> false;
+		};
+	}
+
 	/**
 	 * Parses a labeled statement.
 	 * A labeled statement has the form: {@code label: statement}
@@ -86,7 +111,7 @@ public final class StatementParser
 	public NodeIndex parseLabeledStatement(int labelStart)
 	{
 		parseStatement();
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.LABELED_STATEMENT, labelStart, end);
 	}
 
@@ -102,13 +127,14 @@ public final class StatementParser
 	public boolean isLocalTypeDeclarationStart()
 	{
 		int checkpoint = parser.getPosition();
+		int arenaMark = parser.getArena().mark();
 		// Skip modifiers and annotations
-		while (parser.isModifier(parser.currentToken().type()) ||
-			parser.currentToken().type() == TokenType.AT_SIGN ||
-			parser.currentToken().type() == TokenType.SEALED ||
-			parser.currentToken().type() == TokenType.NON_SEALED)
+		while (parser.isModifier(parser.currentType()) ||
+			parser.currentType() == TokenType.AT_SIGN ||
+			parser.currentType() == TokenType.SEALED ||
+			parser.currentType() == TokenType.NON_SEALED)
 		{
-			if (parser.currentToken().type() == TokenType.AT_SIGN)
+			if (parser.currentType() == TokenType.AT_SIGN)
 			{
 				parser.consume();
 				parser.parseQualifiedName();
@@ -118,12 +144,13 @@ public final class StatementParser
 			else
 				parser.consume();
 		}
-		boolean result = switch (parser.currentToken().type())
+		boolean result = switch (parser.currentType())
 		{
 			case CLASS, INTERFACE, ENUM, RECORD -> true;
 			default -> false;
 		};
 		parser.setPosition(checkpoint);
+		parser.getArena().rollback(arenaMark);
 		return result;
 	}
 
@@ -158,7 +185,7 @@ public final class StatementParser
 		if (parser.isIdentifierOrContextualKeyword())
 		{
 			parser.consume(); // identifier
-			TokenType next = parser.currentToken().type();
+			TokenType next = parser.currentType();
 			parser.setPosition(checkpoint);
 			if (next == TokenType.LEFT_PARENTHESIS)
 				parseLocalTypeDeclaration();
@@ -170,7 +197,7 @@ public final class StatementParser
 			// `record` not followed by identifier - could be:
 			// 1. Expression using `record` as variable: record.method() or record[i]
 			// 2. Malformed record declaration (will produce an error from parseExpressionOrVariableStatement)
-			TokenType next = parser.currentToken().type();
+			TokenType next = parser.currentType();
 			parser.setPosition(checkpoint);
 			if (next == TokenType.DOT || next == TokenType.LEFT_BRACKET ||
 				next == TokenType.LEFT_PARENTHESIS)
@@ -185,21 +212,17 @@ public final class StatementParser
 	 * Skips tokens until matching closing parenthesis is found.
 	 * <p>
 	 * Used for lookahead when skipping annotation arguments. Assumes the opening
-	 * parenthesis has already been consumed. Counts parenthesis depth and consumes
-	 * tokens until the depth returns to zero.
+	 * parenthesis has already been consumed. Jumps past the closing parenthesis that the lexer paired with it,
+	 * or to the end of the file if it is unbalanced.
 	 */
 	public void skipBalancedParens()
 	{
-		int depth = 1;
-		while (depth > 0 && parser.currentToken().type() != TokenType.END_OF_FILE)
-		{
-			if (parser.match(TokenType.LEFT_PARENTHESIS))
-				++depth;
-			else if (parser.match(TokenType.RIGHT_PARENTHESIS))
-				--depth;
-			else
-				parser.consume();
-		}
+		TokenStream tokens = parser.getTokens();
+		int closingParenthesis = tokens.getMatchingBracket(parser.getPosition() - 1);
+		if (closingParenthesis == TokenStream.NO_MATCH)
+			parser.setPosition(tokens.size() - 1);
+		else
+			parser.setPosition(closingParenthesis + 1);
 	}
 
 	/**
@@ -209,12 +232,12 @@ public final class StatementParser
 	 */
 	public NodeIndex parseBreakStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.consume();
-		if (parser.currentToken().type() == TokenType.IDENTIFIER)
+		if (parser.currentType() == TokenType.IDENTIFIER)
 			parser.consume();
 		parser.expect(TokenType.SEMICOLON);
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.BREAK_STATEMENT, start, end);
 	}
 
@@ -225,12 +248,12 @@ public final class StatementParser
 	 */
 	public NodeIndex parseContinueStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.consume();
-		if (parser.currentToken().type() == TokenType.IDENTIFIER)
+		if (parser.currentType() == TokenType.IDENTIFIER)
 			parser.consume();
 		parser.expect(TokenType.SEMICOLON);
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.CONTINUE_STATEMENT, start, end);
 	}
 
@@ -241,7 +264,7 @@ public final class StatementParser
 	 */
 	public NodeIndex parseIfStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.IF);
 		// Handle comments after 'if' keyword
 		parser.parseComments();
@@ -259,7 +282,7 @@ public final class StatementParser
 			parser.parseComments();
 			parseStatement();
 		}
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.IF_STATEMENT, start, end);
 	}
 
@@ -270,15 +293,16 @@ public final class StatementParser
 	 */
 	public boolean tryParseEnhancedForHeader()
 	{
+		parser.enterSpeculation();
 		try
 		{
 			if (!looksLikeTypeStart())
 				return false;
 			// Consume declaration annotations (before FINAL)
-			while (parser.currentToken().type() == TokenType.AT_SIGN)
+			while (parser.currentType() == TokenType.AT_SIGN)
 				parser.parseAnnotation();
 			// Consume FINAL modifier if present
-			if (parser.currentToken().type() == TokenType.FINAL)
+			if (parser.currentType() == TokenType.FINAL)
 				parser.consume();
 			parser.parseType();
 			if (!parser.isIdentifierOrContextualKeyword())
@@ -288,9 +312,15 @@ public final class StatementParser
 		}
 		catch (ParserException e)
 		{
+			if (parser.isLimitExceeded())
+				throw e;
 			// Not enhanced for - parsing failed
 			return false;
 		}
+		finally
+		{
+			parser.exitSpeculation();
+		}
 	}
 
 	/**
@@ -300,7 +330,7 @@ public final class StatementParser
 	 */
 	public boolean looksLikeTypeStart()
 	{
-		TokenType type = parser.currentToken().type();
+		TokenType type = parser.currentType();
 		return type == TokenType.AT_SIGN || type == TokenType.FINAL || parser.isPrimitiveType(type) ||
 			type == TokenType.IDENTIFIER || parser.isContextualKeyword(type);
 	}
@@ -312,7 +342,7 @@ public final class StatementParser
 	 */
 	public NodeIndex parseForStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.FOR);
 		// Handle comments after 'for' keyword
 		parser.parseComments();
@@ -322,6 +352,7 @@ public final class StatementParser
 
 		// Enhanced for or regular for
 		int checkpoint = parser.getPosition();
+		int arenaMark = parser.getArena().mark();
 		boolean isEnhanced = tryParseEnhancedForHeader();
 
 		if (isEnhanced)
@@ -329,10 +360,11 @@ public final class StatementParser
 			parser.parseExpression();
 			parser.expect(TokenType.RIGHT_PARENTHESIS);
 			parseStatement();
-			int end = parser.previousToken().end();
+			int end = parser.previousEnd();
 			return parser.getArena().allocateNode(NodeType.ENHANCED_FOR_STATEMENT, start, end);
 		}
 		parser.setPosition(checkpoint);
+		parser.getArena().rollback(arenaMark);
 		// Regular for
 		if (!parser.match(TokenType.SEMICOLON))
 			parseExpressionOrVariableStatement();
@@ -341,7 +373,7 @@ public final class StatementParser
 			parser.parseExpression();
 			parser.expect(TokenType.SEMICOLON);
 		}
-		if (parser.currentToken().type() != TokenType.RIGHT_PARENTHESIS)
+		if (parser.currentType() != TokenType.RIGHT_PARENTHESIS)
 		{
 			parser.parseExpression();
 			while (parser.match(TokenType.COMMA))
@@ -349,7 +381,7 @@ public final class StatementParser
 		}
 		parser.expect(TokenType.RIGHT_PARENTHESIS);
 		parseStatement();
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.FOR_STATEMENT, start, end);
 	}
 
@@ -360,7 +392,7 @@ public final class StatementParser
 	 */
 	public NodeIndex parseWhileStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.WHILE);
 		// Handle comments after 'while' keyword
 		parser.parseComments();
@@ -370,7 +402,7 @@ public final class StatementParser
 		// Handle comments after condition
 		parser.parseComments();
 		parseStatement();
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.WHILE_STATEMENT, start, end);
 	}
 
@@ -381,7 +413,7 @@ public final class StatementParser
 	 */
 	public NodeIndex parseDoWhileStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.DO);
 		parseStatement();
 		parser.expect(TokenType.WHILE);
@@ -389,7 +421,7 @@ public final class StatementParser
 		parser.parseExpression();
 		parser.expect(TokenType.RIGHT_PARENTHESIS);
 		parser.expect(TokenType.SEMICOLON);
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.DO_WHILE_STATEMENT, start, end);
 	}
 
@@ -400,7 +432,7 @@ public final class StatementParser
 	 */
 	public NodeIndex parseSwitchStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.SWITCH);
 		parser.expect(TokenType.LEFT_PARENTHESIS);
 		parser.parseExpression();
@@ -408,8 +440,8 @@ public final class StatementParser
 		parser.expect(TokenType.LEFT_BRACE);
 		// Handle comments after opening brace
 		parser.parseComments();
-		while (parser.currentToken().type() == TokenType.CASE ||
-			parser.currentToken().type() == TokenType.DEFAULT)
+		while (parser.currentType() == TokenType.CASE ||
+			parser.currentType() == TokenType.DEFAULT)
 		{
 			if (parser.match(TokenType.CASE))
 			{
@@ -427,9 +459,9 @@ public final class StatementParser
 				// Consume comments between arrow and body
 				parser.parseComments();
 				// Arrow case: case 1 -> expr; or case 1 -> { ... }
-				if (parser.currentToken().type() == TokenType.LEFT_BRACE)
+				if (parser.currentType() == TokenType.LEFT_BRACE)
 					parser.parseBlock();
-				else if (parser.currentToken().type() == TokenType.THROW)
+				else if (parser.currentType() == TokenType.THROW)
 				{
 					parser.consume();
 					parser.parseExpression();
@@ -448,7 +480,7 @@ public final class StatementParser
 			parser.parseComments();
 		}
 		parser.expect(TokenType.RIGHT_BRACE);
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.SWITCH_STATEMENT, start, end);
 	}
 
@@ -479,7 +511,7 @@ public final class StatementParser
 
 		// Try to detect reference type pattern: Type identifier or Type _
 		// Type patterns look like: String s, Foo.Bar bar, Integer _, etc.
-		if (parser.currentToken().type() == TokenType.IDENTIFIER && tryParseTypePattern())
+		if (parser.currentType() == TokenType.IDENTIFIER && tryParseTypePattern())
 			return;
 
 		// Parse as case label expression (no lambda lookahead)
@@ -516,14 +548,14 @@ public final class StatementParser
 	 */
 	public boolean tryParsePrimitiveTypePattern()
 	{
-		if (!parser.isPrimitiveType(parser.currentToken().type()))
+		if (!parser.isPrimitiveType(parser.currentType()))
 			return false;
 
 		int checkpoint = parser.getPosition();
 		parser.consume(); // primitive type keyword
 
 		// Check if followed by identifier (pattern variable)
-		if (parser.currentToken().type() != TokenType.IDENTIFIER)
+		if (parser.currentType() != TokenType.IDENTIFIER)
 		{
 			// Not a type pattern, restore position
 			parser.setPosition(checkpoint);
@@ -554,13 +586,13 @@ public final class StatementParser
 	public boolean tryParseTypePattern()
 	{
 		int checkpoint = parser.getPosition();
-		int typeStart = parser.currentToken().start();
+		int typeStart = parser.currentStart();
 
 		// Parse potential type (may be qualified like Foo.Bar.Baz)
 		parser.consume(); // First identifier
 		while (parser.match(TokenType.DOT))
 		{
-			if (parser.currentToken().type() != TokenType.IDENTIFIER)
+			if (parser.currentType() != TokenType.IDENTIFIER)
 			{
 				// Not a qualified name, restore position
 				parser.setPosition(checkpoint);
@@ -570,7 +602,7 @@ public final class StatementParser
 		}
 
 		// Check if this is a record pattern: Type(components...)
-		if (parser.currentToken().type() == TokenType.LEFT_PARENTHESIS)
+		if (parser.currentType() == TokenType.LEFT_PARENTHESIS)
 		{
 			parseRecordPattern(typeStart);
 			return true;
@@ -578,7 +610,7 @@ public final class StatementParser
 
 		// Check if next token is an identifier (pattern variable)
 		// This includes both named variables (s, bar) and unnamed pattern (_)
-		if (parser.currentToken().type() == TokenType.IDENTIFIER)
+		if (parser.currentType() == TokenType.IDENTIFIER)
 		{
 			parser.consume();
 			// Check for optional guard: "when" expression
@@ -617,7 +649,7 @@ public final class StatementParser
 		if (isContextualKeyword("when"))
 			parseGuardExpression();
 
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.RECORD_PATTERN, typeStart, end);
 	}
 
@@ -628,7 +660,7 @@ public final class StatementParser
 	public void parseRecordPatternComponents()
 	{
 		// Handle empty component list: Empty()
-		if (parser.currentToken().type() == TokenType.RIGHT_PARENTHESIS)
+		if (parser.currentType() == TokenType.RIGHT_PARENTHESIS)
 			return;
 
 		parseComponentPattern();
@@ -649,18 +681,18 @@ public final class StatementParser
 	public void parseComponentPattern()
 	{
 		// Check for unnamed pattern: _
-		if (parser.currentToken().type() == TokenType.IDENTIFIER &&
-			"_".equals(parser.currentToken().decodedText()))
+		if (parser.currentType() == TokenType.IDENTIFIER &&
+			"_".equals(parser.currentDecodedText()))
 		{
 			parser.consume();
 			return;
 		}
 
 		// Parse type (may be primitive, var, or qualified reference type)
-		int componentTypeStart = parser.currentToken().start();
-		if (parser.isPrimitiveType(parser.currentToken().type()))
+		int componentTypeStart = parser.currentStart();
+		if (parser.isPrimitiveType(parser.currentType()))
 			parser.consume();
-		else if (parser.currentToken().type() == TokenType.VAR)
+		else if (parser.currentType() == TokenType.VAR)
 			// Type inference with 'var' keyword
 			parser.consume();
 		else if (parser.isIdentifierOrContextualKeyword())
@@ -671,7 +703,7 @@ public final class StatementParser
 				if (!parser.isIdentifierOrContextualKeyword())
 				{
 					throw new ParserException(
-						"Expected identifier after '.' in type", parser.currentToken().start());
+						"Expected identifier after '.' in type", parser.currentStart());
 				}
 				parser.consume();
 			}
@@ -679,7 +711,7 @@ public final class StatementParser
 		else
 		{
 			throw new ParserException(
-				"Expected type in component pattern", parser.currentToken().start());
+				"Expected type in component pattern", parser.currentStart());
 		}
 
 		parser.parseArrayDimensionsWithAnnotations();
@@ -687,7 +719,7 @@ public final class StatementParser
 		// Determine what follows the type:
 		// - LEFT_PARENTHESIS -> nested record pattern
 		// - IDENTIFIER -> type pattern with variable name
-		if (parser.currentToken().type() == TokenType.LEFT_PARENTHESIS)
+		if (parser.currentType() == TokenType.LEFT_PARENTHESIS)
 			// Nested record pattern
 			parseRecordPattern(componentTypeStart);
 		else if (parser.isIdentifierOrContextualKeyword())
@@ -706,8 +738,8 @@ public final class StatementParser
 	 */
 	private boolean isContextualKeyword(String keyword)
 	{
-		return parser.currentToken().type() == TokenType.IDENTIFIER &&
-			parser.currentToken().decodedText().equals(keyword);
+		return parser.currentType() == TokenType.IDENTIFIER &&
+			parser.currentDecodedText().equals(keyword);
 	}
 
 	/**
@@ -731,12 +763,12 @@ public final class StatementParser
 	 */
 	public NodeIndex parseReturnStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.RETURN);
-		if (parser.currentToken().type() != TokenType.SEMICOLON)
+		if (parser.currentType() != TokenType.SEMICOLON)
 			parser.parseExpression();
 		parser.expect(TokenType.SEMICOLON);
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.RETURN_STATEMENT, start, end);
 	}
 
@@ -747,11 +779,11 @@ public final class StatementParser
 	 */
 	public NodeIndex parseThrowStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.THROW);
 		parser.parseExpression();
 		parser.expect(TokenType.SEMICOLON);
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.THROW_STATEMENT, start, end);
 	}
 
@@ -768,11 +800,11 @@ public final class StatementParser
 	 */
 	public NodeIndex parseYieldStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.YIELD);
 		parser.parseExpression();
 		parser.expect(TokenType.SEMICOLON);
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.YIELD_STATEMENT, start, end);
 	}
 
@@ -791,7 +823,7 @@ public final class StatementParser
 	 */
 	public NodeIndex parseTryStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.TRY);
 
 		// Try-with-resources
@@ -799,7 +831,7 @@ public final class StatementParser
 		{
 			parseResource();
 			while (parser.match(TokenType.SEMICOLON))
-				if (parser.currentToken().type() != TokenType.RIGHT_PARENTHESIS)
+				if (parser.currentType() != TokenType.RIGHT_PARENTHESIS)
 					parseResource();
 			parser.expect(TokenType.RIGHT_PARENTHESIS);
 		}
@@ -809,7 +841,7 @@ public final class StatementParser
 		// Handle comments before catch clauses
 		parser.parseComments();
 		// Catch clauses
-		while (parser.currentToken().type() == TokenType.CATCH)
+		while (parser.currentType() == TokenType.CATCH)
 		{
 			parseCatchClause();
 			// Handle comments between catch/finally clauses
@@ -817,10 +849,10 @@ public final class StatementParser
 		}
 
 		// Finally clause
-		if (parser.currentToken().type() == TokenType.FINALLY)
+		if (parser.currentType() == TokenType.FINALLY)
 			parseFinallyClause();
 
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.TRY_STATEMENT, start, end);
 	}
 
@@ -831,13 +863,13 @@ public final class StatementParser
 	 */
 	public NodeIndex parseSynchronizedStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.SYNCHRONIZED);
 		parser.expect(TokenType.LEFT_PARENTHESIS);
 		parser.parseExpression();
 		parser.expect(TokenType.RIGHT_PARENTHESIS);
 		parser.parseBlock();
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.SYNCHRONIZED_STATEMENT, start, end);
 	}
 
@@ -848,36 +880,40 @@ public final class StatementParser
 	 */
 	public NodeIndex parseAssertStatement()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.ASSERT);
 		parser.parseExpression();
 		if (parser.match(TokenType.COLON))
 			parser.parseExpression();
 		parser.expect(TokenType.SEMICOLON);
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.ASSERT_STATEMENT, start, end);
 	}
 
 	/**
-	 * Attempts to parse a variable declaration. Backtracks to checkpoint on failure.
+	 * Attempts to parse a variable declaration. Backtracks to checkpoint on failure, discarding any nodes that
+	 * were allocated by the attempt.
 	 *
 	 * @param checkpoint the position to backtrack to on failure
 	 * @return {@code true} if successfully parsed a variable declaration
 	 */
 	public boolean tryParseVariableDeclaration(int checkpoint)
 	{
+		int arenaMark = parser.getArena().mark();
+		parser.enterSpeculation();
 		try
 		{
 			// Consume declaration annotations (before FINAL modifier)
-			while (parser.currentToken().type() == TokenType.AT_SIGN)
+			while (parser.currentType() == TokenType.AT_SIGN)
 				parser.parseAnnotation();
 			// Consume optional FINAL modifier
-			if (parser.currentToken().type() == TokenType.FINAL)
+			if (parser.currentType() == TokenType.FINAL)
 				parser.consume();
 			parser.parseType();
 			if (!parser.isIdentifierOrContextualKeyword())
 			{
 				parser.setPosition(checkpoint);
+				parser.getArena().rollback(arenaMark);
 				return false;
 			}
 			parser.consume();
@@ -890,9 +926,16 @@ public final class StatementParser
 		}
 		catch (ParserException e)
 		{
+			if (parser.isLimitExceeded())
+				throw e;
 			parser.setPosition(checkpoint);
+			parser.getArena().rollback(arenaMark);
 			return false;
 		}
+		finally
+		{
+			parser.exitSpeculation();
+		}
 	}
 
 	/**
@@ -917,12 +960,12 @@ public final class StatementParser
 		int checkpoint = parser.getPosition();
 
 		// Try to parse as variable declaration
-		if ((parser.currentToken().type() == TokenType.AT_SIGN ||
-			parser.currentToken().type() == TokenType.FINAL ||
-			parser.currentToken().type() == TokenType.VAR ||
-			parser.currentToken().type() == TokenType.RECORD ||
-			parser.isPrimitiveType(parser.currentToken().type()) ||
-			parser.currentToken().type() == TokenType.IDENTIFIER) &&
+		if ((parser.currentType() == TokenType.AT_SIGN ||
+			parser.currentType() == TokenType.FINAL ||
+			parser.currentType() == TokenType.VAR ||
+			parser.currentType() == TokenType.RECORD ||
+			parser.isPrimitiveType(parser.currentType()) ||
+			parser.currentType() == TokenType.IDENTIFIER) &&
 			tryParseVariableDeclaration(checkpoint))
 			return;
 
@@ -946,7 +989,7 @@ public final class StatementParser
 	 */
 	public NodeIndex parseCatchClause()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.CATCH);
 		parser.expect(TokenType.LEFT_PARENTHESIS);
 		// Handle comments before catch parameter
@@ -956,7 +999,7 @@ public final class StatementParser
 		parser.parseComments();
 		parser.expect(TokenType.RIGHT_PARENTHESIS);
 		parser.parseBlock();
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.CATCH_CLAUSE, start, end);
 	}
 
@@ -973,10 +1016,10 @@ public final class StatementParser
 	 */
 	public NodeIndex parseFinallyClause()
 	{
-		int start = parser.currentToken().start();
+		int start = parser.currentStart();
 		parser.expect(TokenType.FINALLY);
 		parser.parseBlock();
-		int end = parser.previousToken().end();
+		int end = parser.previousEnd();
 		return parser.getArena().allocateNode(NodeType.FINALLY_CLAUSE, start, end);
 	}
 
@@ -996,7 +1039,7 @@ public final class StatementParser
 	public void parseResource()
 	{
 		// Consume declaration annotations (e.g., @Cleanup)
-		while (parser.currentToken().type() == TokenType.AT_SIGN)
+		while (parser.currentType() == TokenType.AT_SIGN)
 			parser.parseAnnotation();
 
 		if (isResourceVariableReference())
@@ -1021,16 +1064,16 @@ public final class StatementParser
 	boolean isResourceVariableReference()
 	{
 		// Field access: this.resource or Outer.this.resource
-		if (parser.currentToken().type() == TokenType.THIS)
+		if (parser.currentType() == TokenType.THIS)
 			return true;
 
 		// Simple identifier followed by ; or ) indicates variable reference
 		// Note: qualified names like java.io.Reader would be followed by IDENTIFIER (variable name)
-		if (parser.currentToken().type() == TokenType.IDENTIFIER)
+		if (parser.currentType() == TokenType.IDENTIFIER)
 		{
 			int checkpoint = parser.getPosition();
 			parser.consume();
-			TokenType nextType = parser.currentToken().type();
+			TokenType nextType = parser.currentType();
 			parser.setPosition(checkpoint);
 			return nextType == TokenType.SEMICOLON || nextType == TokenType.RIGHT_PARENTHESIS;
 		}
@@ -1058,7 +1101,7 @@ public final class StatementParser
 	void parseResourceDeclaration()
 	{
 		// Optional FINAL modifier
-		if (parser.currentToken().type() == TokenType.FINAL)
+		if (parser.currentType() == TokenType.FINAL)
 			parser.consume();
 		parser.parseType();
 		parser.expectIdentifierOrContextualKeyword();
@@ -5,7 +5,6 @@ import io.github.cowwoc.styler.ast.core.NodeType;
 import io.github.cowwoc.styler.ast.core.ParameterAttribute;
 import io.github.cowwoc.styler.ast.core.TypeDeclarationAttribute;
 import io.github.cowwoc.styler.parser.Parser.ParserException;
-import io.github.cowwoc.styler.parser.Token;
 import io.github.cowwoc.styler.parser.TokenType;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.that;
@@ -39,17 +38,17 @@ public final class TypeParser
 	public void parseTypeDeclaration()
 	{
 		// Annotations and modifiers (including sealed/non-sealed)
-		while (isModifier(this.parser.currentToken().type()) ||
-			this.parser.currentToken().type() == TokenType.SEALED ||
-			this.parser.currentToken().type() == TokenType.NON_SEALED ||
-			this.parser.currentToken().type() == TokenType.AT_SIGN)
+		while (isModifier(this.parser.currentType()) ||
+			this.parser.currentType() == TokenType.SEALED ||
+			this.parser.currentType() == TokenType.NON_SEALED ||
+			this.parser.currentType() == TokenType.AT_SIGN)
 		{
-			if (this.parser.currentToken().type() == TokenType.AT_SIGN)
+			if (this.parser.currentType() == TokenType.AT_SIGN)
 			{
 				// Check if this is @interface (annotation type declaration) or regular annotation
 				int checkpoint = this.parser.getPosition();
 				this.parser.consume();
-				if (this.parser.currentToken().type() == TokenType.INTERFACE)
+				if (this.parser.currentType() == TokenType.INTERFACE)
 				{
 					// This is @interface, backtrack and let the normal flow handle it
 					this.parser.setPosition(checkpoint);
@@ -88,17 +87,17 @@ public final class TypeParser
 	 */
 	public NodeIndex parseImplicitClassDeclaration()
 	{
-		int implicitStart = this.parser.currentToken().start();
+		int implicitStart = this.parser.currentStart();
 
-		while (this.parser.currentToken().type() != TokenType.END_OF_FILE)
+		while (this.parser.currentType() != TokenType.END_OF_FILE)
 		{
 			this.parser.parseComments();
-			if (this.parser.currentToken().type() == TokenType.END_OF_FILE)
+			if (this.parser.currentType() == TokenType.END_OF_FILE)
 				break;
-			parseMemberDeclarationInternal();
+			parseMemberDeclaration();
 		}
 
-		int implicitEnd = this.parser.previousToken().end();
+		int implicitEnd = this.parser.previousEnd();
 		return this.parser.getArena().allocateImplicitClassDeclaration(implicitStart, implicitEnd);
 	}
 
@@ -122,13 +121,29 @@ public final class TypeParser
 	}
 
 	/**
-	 * Parses a single member declaration within a class body.
+	 * Parses a single member declaration within a class body, skipping to the next member if it contains a
+	 * syntax error.
 	 * <p>
 	 * Used for parsing anonymous class members and inner class members.
 	 */
 	public void parseMemberDeclaration()
 	{
-		parseMemberDeclarationInternal();
+		this.parser.parseWithRecovery(this::parseMemberDeclarationInternal, this::startsMemberDeclaration);
+	}
+
+	/**
+	 * Indicates if a token can only begin a member declaration, after skipping a broken member.
+	 *
+	 * @param type the type of the token
+	 * @return {@code true} if the token is a modifier or a type declaration keyword
+	 */
+	private boolean startsMemberDeclaration(TokenType type)
+	{
+		return switch (type)
+		{
+			case CLASS, INTERFACE, ENUM -> true;
+			default -> isModifier(type);
+		};
 	}
 
 	/**
@@ -139,7 +154,7 @@ public final class TypeParser
 	public void parseTypeArguments()
 	{
 		// Handle diamond operator: <> with no type arguments
-		if (this.parser.currentToken().type() == TokenType.GREATER_THAN)
+		if (this.parser.currentType() == TokenType.GREATER_THAN)
 		{
 			this.parser.expectGTInGeneric();
 			return;
@@ -176,12 +191,11 @@ public final class TypeParser
 	private NodeIndex parseClassDeclaration()
 	{
 		// CLASS keyword already consumed, capture its position
-		int start = this.parser.previousToken().start();
+		int start = this.parser.previousStart();
 
 		// Capture type name and position before consuming
-		Token nameToken = this.parser.currentToken();
 		this.parser.expect(TokenType.IDENTIFIER);
-		String typeName = nameToken.decodedText();
+		String typeName = this.parser.previousDecodedText();
 
 		// Type parameters
 		if (this.parser.match(TokenType.LESS_THAN))
@@ -192,8 +206,8 @@ public final class TypeParser
 			this.parser.parseType();
 
 		// Skip comments between extends and implements
-		while (this.parser.currentToken().type() == TokenType.LINE_COMMENT ||
-			this.parser.currentToken().type() == TokenType.BLOCK_COMMENT)
+		while (this.parser.currentType() == TokenType.LINE_COMMENT ||
+			this.parser.currentType() == TokenType.BLOCK_COMMENT)
 			this.parser.consume();
 
 		// Implements clause
@@ -215,7 +229,7 @@ public final class TypeParser
 		// Class body
 		parseClassBody();
 
-		int end = this.parser.previousToken().end();
+		int end = this.parser.previousEnd();
 		TypeDeclarationAttribute attribute = new TypeDeclarationAttribute(typeName);
 		return this.parser.getArena().allocateClassDeclaration(start, end, attribute);
 	}
@@ -223,12 +237,11 @@ public final class TypeParser
 	private NodeIndex parseInterfaceDeclaration()
 	{
 		// INTERFACE keyword already consumed, capture its position
-		int start = this.parser.previousToken().start();
+		int start = this.parser.previousStart();
 
 		// Capture type name and position before consuming
-		Token nameToken = this.parser.currentToken();
 		this.parser.expect(TokenType.IDENTIFIER);
-		String typeName = nameToken.decodedText();
+		String typeName = this.parser.previousDecodedText();
 
 		if (this.parser.match(TokenType.LESS_THAN))
 			parseTypeParameters();
@@ -250,7 +263,7 @@ public final class TypeParser
 
 		parseClassBody();
 
-		int end = this.parser.previousToken().end();
+		int end = this.parser.previousEnd();
 		TypeDeclarationAttribute attribute = new TypeDeclarationAttribute(typeName);
 		return this.parser.getArena().allocateInterfaceDeclaration(start, end, attribute);
 	}
@@ -258,12 +271,11 @@ public final class TypeParser
 	private NodeIndex parseEnumDeclaration()
 	{
 		// ENUM keyword already consumed, capture its position
-		int start = this.parser.previousToken().start();
+		int start = this.parser.previousStart();
 
 		// Capture type name and position before consuming
-		Token nameToken = this.parser.currentToken();
 		this.parser.expect(TokenType.IDENTIFIER);
-		String typeName = nameToken.decodedText();
+		String typeName = this.parser.previousDecodedText();
 
 		if (this.parser.match(TokenType.IMPLEMENTS))
 		{
@@ -276,7 +288,7 @@ public final class TypeParser
 		parseEnumBody();
 		this.parser.expect(TokenType.RIGHT_BRACE);
 
-		int end = this.parser.previousToken().end();
+		int end = this.parser.previousEnd();
 		TypeDeclarationAttribute attribute = new TypeDeclarationAttribute(typeName);
 		return this.parser.getArena().allocateEnumDeclaration(start, end, attribute);
 	}
@@ -291,15 +303,14 @@ public final class TypeParser
 	private NodeIndex parseAnnotationDeclaration()
 	{
 		// position - 2 points to '@' because caller consumed both '@' and 'interface' tokens
-		int start = this.parser.getTokens().get(this.parser.getPosition() - 2).start();
+		int start = this.parser.getTokens().getStart(this.parser.getPosition() - 2);
 
 		// Capture type name and position before consuming
-		Token nameToken = this.parser.currentToken();
 		this.parser.expect(TokenType.IDENTIFIER);
-		String typeName = nameToken.decodedText();
+		String typeName = this.parser.previousDecodedText();
 
 		parseClassBody();
-		int end = this.parser.previousToken().end();
+		int end = this.parser.previousEnd();
 		TypeDeclarationAttribute attribute = new TypeDeclarationAttribute(typeName);
 		return this.parser.getArena().allocateAnnotationTypeDeclaration(start, end, attribute);
 	}
@@ -314,12 +325,11 @@ public final class TypeParser
 	private NodeIndex parseRecordDeclaration()
 	{
 		// position - 1 points to 'record' because caller consumed that keyword
-		int start = this.parser.previousToken().start();
+		int start = this.parser.previousStart();
 
 		// Capture type name and position before consuming
-		Token nameToken = this.parser.currentToken();
 		this.parser.expect(TokenType.IDENTIFIER);
-		String typeName = nameToken.decodedText();
+		String typeName = this.parser.previousDecodedText();
 
 		// Type parameters (optional)
 		if (this.parser.match(TokenType.LESS_THAN))
@@ -327,7 +337,7 @@ public final class TypeParser
 
 		// Record components (mandatory)
 		this.parser.expect(TokenType.LEFT_PARENTHESIS);
-		if (this.parser.currentToken().type() != TokenType.RIGHT_PARENTHESIS)
+		if (this.parser.currentType() != TokenType.RIGHT_PARENTHESIS)
 		{
 			// Handle comments before first component
 			this.parser.parseComments();
@@ -354,7 +364,7 @@ public final class TypeParser
 		// Record body (optional - can be empty)
 		parseClassBody();
 
-		int end = this.parser.previousToken().end();
+		int end = this.parser.previousEnd();
 		TypeDeclarationAttribute attribute = new TypeDeclarationAttribute(typeName);
 		return this.parser.getArena().allocateRecordDeclaration(start, end, attribute);
 	}
@@ -362,7 +372,7 @@ public final class TypeParser
 	private void parseTypeParameter()
 	{
 		// Parse annotations before type parameter name (JSR 308: @Nullable T)
-		while (this.parser.currentToken().type() == TokenType.AT_SIGN)
+		while (this.parser.currentType() == TokenType.AT_SIGN)
 			this.parser.parseAnnotation();
 		this.parser.expect(TokenType.IDENTIFIER);
 		if (this.parser.match(TokenType.EXTENDS))
@@ -377,9 +387,9 @@ public final class TypeParser
 	{
 		// JSR 308: type-use annotations can appear before wildcard ? in type arguments
 		// e.g., Consumer<@Nullable ? super T> or Supplier<@NonNull ?>
-		int annotationStart = this.parser.currentToken().start();
+		int annotationStart = this.parser.currentStart();
 		boolean hasAnnotations = false;
-		while (this.parser.currentToken().type() == TokenType.AT_SIGN)
+		while (this.parser.currentType() == TokenType.AT_SIGN)
 		{
 			this.parser.parseAnnotation();
 			hasAnnotations = true;
@@ -387,22 +397,21 @@ public final class TypeParser
 
 		if (this.parser.match(TokenType.QUESTION_MARK))
 		{
-			Token wildcardToken = this.parser.previousToken();
 			// If annotations were present, use their start position; otherwise use wildcard position
 			int start;
 			if (hasAnnotations)
 				start = annotationStart;
 			else
-				start = wildcardToken.start();
+				start = this.parser.previousStart();
 
 			if (this.parser.match(TokenType.EXTENDS) || this.parser.match(TokenType.SUPER))
 			{
 				this.parser.parseType();
 				return this.parser.getArena().allocateNode(NodeType.WILDCARD_TYPE, start,
-					this.parser.previousToken().end());
+					this.parser.previousEnd());
 			}
-			// Unbounded wildcard: reuse wildcardToken for end position
-			return this.parser.getArena().allocateNode(NodeType.WILDCARD_TYPE, start, wildcardToken.end());
+			// Unbounded wildcard: the question mark is still the previous token
+			return this.parser.getArena().allocateNode(NodeType.WILDCARD_TYPE, start, this.parser.previousEnd());
 		}
 
 		// Not a wildcard - annotations (if any) belong to the type that follows
@@ -410,10 +419,10 @@ public final class TypeParser
 		if (hasAnnotations)
 			start = annotationStart;
 		else
-			start = this.parser.currentToken().start();
+			start = this.parser.currentStart();
 		this.parser.parseType();
 		return this.parser.getArena().allocateNode(NodeType.QUALIFIED_NAME, start,
-			this.parser.previousToken().end());
+			this.parser.previousEnd());
 	}
 
 	private void parseClassBody()
@@ -424,13 +433,13 @@ public final class TypeParser
 		while (!this.parser.match(TokenType.RIGHT_BRACE))
 		{
 			this.parser.parseComments();
-			if (this.parser.currentToken().type() == TokenType.RIGHT_BRACE)
+			if (this.parser.currentType() == TokenType.RIGHT_BRACE)
 				// Let match() in while condition consume the RIGHT_BRACE
 				continue;
-			if (this.parser.currentToken().type() == TokenType.END_OF_FILE)
+			if (this.parser.currentType() == TokenType.END_OF_FILE)
 				throw new ParserException("Unexpected END_OF_FILE in class body",
-					this.parser.currentToken().start());
-			parseMemberDeclarationInternal();
+					this.parser.currentStart());
+			parseMemberDeclaration();
 		}
 	}
 
@@ -438,16 +447,16 @@ public final class TypeParser
 	{
 		// Handle comments before the first constant (or before SEMICOLON/RIGHT_BRACE if no constants)
 		this.parser.parseComments();
-		if (this.parser.currentToken().type() != TokenType.SEMICOLON &&
-			this.parser.currentToken().type() != TokenType.RIGHT_BRACE)
+		if (this.parser.currentType() != TokenType.SEMICOLON &&
+			this.parser.currentType() != TokenType.RIGHT_BRACE)
 		{
 			parseEnumConstant();
 			while (this.parser.match(TokenType.COMMA))
 			{
 				// Handle comments after comma (e.g., trailing comma with comment before semicolon)
 				this.parser.parseComments();
-				if (this.parser.currentToken().type() == TokenType.SEMICOLON ||
-					this.parser.currentToken().type() == TokenType.RIGHT_BRACE)
+				if (this.parser.currentType() == TokenType.SEMICOLON ||
+					this.parser.currentType() == TokenType.RIGHT_BRACE)
 					break;
 				parseEnumConstant();
 			}
@@ -456,16 +465,19 @@ public final class TypeParser
 		this.parser.parseComments();
 
 		if (this.parser.match(TokenType.SEMICOLON))
-			while (this.parser.currentToken().type() != TokenType.RIGHT_BRACE)
-				parseMemberDeclarationInternal();
+		{
+			while (this.parser.currentType() != TokenType.RIGHT_BRACE &&
+				this.parser.currentType() != TokenType.END_OF_FILE)
+				parseMemberDeclaration();
+		}
 	}
 
 	private void parseEnumConstant()
 	{
 		this.parser.parseComments();
-		int start = this.parser.currentToken().start();
+		int start = this.parser.currentStart();
 		// Parse annotations before the constant identifier
-		while (this.parser.currentToken().type() == TokenType.AT_SIGN)
+		while (this.parser.currentType() == TokenType.AT_SIGN)
 		{
 			this.parser.parseAnnotation();
 			this.parser.parseComments();
@@ -483,25 +495,25 @@ public final class TypeParser
 			while (!this.parser.match(TokenType.RIGHT_BRACE))
 			{
 				this.parser.parseComments();
-				if (this.parser.currentToken().type() == TokenType.RIGHT_BRACE)
+				if (this.parser.currentType() == TokenType.RIGHT_BRACE)
 					// Let match() in while condition consume the RIGHT_BRACE
 					continue;
-				if (this.parser.currentToken().type() == TokenType.END_OF_FILE)
+				if (this.parser.currentType() == TokenType.END_OF_FILE)
 				{
 					throw new ParserException("Unexpected END_OF_FILE in enum constant body",
-						this.parser.currentToken().start());
+						this.parser.currentStart());
 				}
-				parseMemberDeclarationInternal();
+				parseMemberDeclaration();
 			}
 		}
-		int end = this.parser.previousToken().end();
+		int end = this.parser.previousEnd();
 		this.parser.getArena().allocateNode(NodeType.ENUM_CONSTANT, start, end);
 	}
 
 	private void parseMemberDeclarationInternal()
 	{
 		this.parser.parseComments();
-		int start = this.parser.currentToken().start();
+		int start = this.parser.currentStart();
 		skipMemberModifiers();
 
 		if (parseNestedTypeDeclaration())
@@ -519,17 +531,17 @@ public final class TypeParser
 	 */
 	public void skipMemberModifiers()
 	{
-		while (isModifier(this.parser.currentToken().type()) ||
-			this.parser.currentToken().type() == TokenType.AT_SIGN ||
-			this.parser.currentToken().type() == TokenType.SEALED ||
-			this.parser.currentToken().type() == TokenType.NON_SEALED)
+		while (isModifier(this.parser.currentType()) ||
+			this.parser.currentType() == TokenType.AT_SIGN ||
+			this.parser.currentType() == TokenType.SEALED ||
+			this.parser.currentType() == TokenType.NON_SEALED)
 		{
-			if (this.parser.currentToken().type() == TokenType.AT_SIGN)
+			if (this.parser.currentType() == TokenType.AT_SIGN)
 			{
 				// Check if this is @interface (annotation type declaration) or regular annotation
 				int checkpoint = this.parser.getPosition();
 				this.parser.consume();
-				if (this.parser.currentToken().type() == TokenType.INTERFACE)
+				if (this.parser.currentType() == TokenType.INTERFACE)
 				{
 					// This is @interface, backtrack and let parseNestedTypeDeclaration handle it
 					this.parser.setPosition(checkpoint);
@@ -553,7 +565,7 @@ public final class TypeParser
 	 */
 	public boolean parseNestedTypeDeclaration()
 	{
-		return switch (this.parser.currentToken().type())
+		return switch (this.parser.currentType())
 		{
 			case CLASS ->
 			{
@@ -594,29 +606,30 @@ public final class TypeParser
 	{
 		if (this.parser.isIdentifierOrContextualKeyword())
 			parseIdentifierMember(start);
-		else if (this.parser.isPrimitiveType(this.parser.currentToken().type()) ||
-			this.parser.currentToken().type() == TokenType.VOID)
+		else if (this.parser.isPrimitiveType(this.parser.currentType()) ||
+			this.parser.currentType() == TokenType.VOID)
 			parsePrimitiveTypedMember(start);
-		else if (this.parser.currentToken().type() == TokenType.LEFT_BRACE)
+		else if (this.parser.currentType() == TokenType.LEFT_BRACE)
 			// Instance or static initializer (parseBlock expects the LEFT_BRACE)
 			this.parser.parseBlock();
 		else if (this.parser.match(TokenType.SEMICOLON))
 		{
 			// Empty declaration
 		}
-		else if (this.parser.currentToken().type() == TokenType.AT_SIGN)
+		else if (this.parser.currentType() == TokenType.AT_SIGN)
 			// Type-use annotation on return type: @Nullable String getValue()
 			parseAnnotatedTypeMember(start);
 		else
 		{
 			throw new ParserException("Unexpected token in member declaration: " +
-				this.parser.currentToken().type(), start);
+				this.parser.currentType(), start);
 		}
 	}
 
 	private void parseIdentifierMember(int memberStart)
 	{
 		int checkpoint = this.parser.getPosition();
+		int arenaMark = this.parser.getArena().mark();
 		this.parser.consume(); // Consume first identifier (could be type, constructor name, or field name)
 
 		// Handle qualified type names: Outer.Inner, ValueLayout.OfInt, etc.
@@ -624,7 +637,7 @@ public final class TypeParser
 		{
 			// JSR 308: type-use annotations can appear after dot in qualified types
 			// e.g., java.security.@Nullable Principal or Outer.@NonNull Inner
-			while (this.parser.currentToken().type() == TokenType.AT_SIGN)
+			while (this.parser.currentType() == TokenType.AT_SIGN)
 				this.parser.parseAnnotation();
 			if (!this.parser.isIdentifierOrContextualKeyword())
 				break;
@@ -638,7 +651,7 @@ public final class TypeParser
 			return;
 		}
 
-		if (this.parser.currentToken().type() == TokenType.LEFT_BRACE)
+		if (this.parser.currentType() == TokenType.LEFT_BRACE)
 		{
 			// Compact constructor (Java 16+): record component validation without parameter list
 			// Example: public record Point(int x, int y) { public Point { validateInputs(); } }
@@ -672,6 +685,7 @@ public final class TypeParser
 
 		// Field with identifier type (no name found, restore and try as expression)
 		this.parser.setPosition(checkpoint);
+		this.parser.getArena().rollback(arenaMark);
 		this.parser.consume(); // Re-consume type
 		parseFieldRest(memberStart);
 	}
@@ -690,12 +704,12 @@ public final class TypeParser
 	private void parseAnnotatedTypeMember(int memberStart)
 	{
 		// Parse type annotations (consumes @Nullable, @NonNull, etc.)
-		while (this.parser.currentToken().type() == TokenType.AT_SIGN)
+		while (this.parser.currentType() == TokenType.AT_SIGN)
 			this.parser.parseAnnotation();
 
 		// After annotations, we have the actual type
-		if (this.parser.isPrimitiveType(this.parser.currentToken().type()) ||
-			this.parser.currentToken().type() == TokenType.VOID)
+		if (this.parser.isPrimitiveType(this.parser.currentType()) ||
+			this.parser.currentType() == TokenType.VOID)
 		{
 			// Annotated primitive: @Positive int getValue()
 			parsePrimitiveTypedMember(memberStart);
@@ -708,7 +722,7 @@ public final class TypeParser
 		else
 		{
 			throw new ParserException("Expected type after type-use annotation but found " +
-				this.parser.currentToken().type(), this.parser.currentToken().start());
+				this.parser.currentType(), this.parser.currentStart());
 		}
 	}
 
@@ -751,7 +765,7 @@ public final class TypeParser
 		else
 			this.parser.parseBlock();
 
-		int end = this.parser.previousToken().end();
+		int end = this.parser.previousEnd();
 		NodeType nodeType;
 		if (isConstructor)
 			nodeType = NodeType.CONSTRUCTOR_DECLARATION;
@@ -762,14 +776,14 @@ public final class TypeParser
 
 	private NodeIndex parseParameter()
 	{
-		int start = this.parser.currentToken().start();
+		int start = this.parser.currentStart();
 		boolean isFinal = false;
 
 		// Modifiers (annotations and final)
-		while (this.parser.currentToken().type() == TokenType.FINAL ||
-			this.parser.currentToken().type() == TokenType.AT_SIGN)
+		while (this.parser.currentType() == TokenType.FINAL ||
+			this.parser.currentType() == TokenType.AT_SIGN)
 		{
-			if (this.parser.currentToken().type() == TokenType.AT_SIGN)
+			if (this.parser.currentType() == TokenType.AT_SIGN)
 				this.parser.parseAnnotation();
 			else
 			{
@@ -782,7 +796,7 @@ public final class TypeParser
 		boolean isVarargs = this.parser.match(TokenType.ELLIPSIS);
 
 		// Check for receiver parameter (ClassName this)
-		boolean isReceiver = this.parser.currentToken().type() == TokenType.THIS;
+		boolean isReceiver = this.parser.currentType() == TokenType.THIS;
 		String parameterName;
 		if (isReceiver)
 		{
@@ -791,15 +805,14 @@ public final class TypeParser
 		}
 		else
 		{
-			Token nameToken = this.parser.currentToken();
 			this.parser.expectIdentifierOrContextualKeyword();
-			parameterName = nameToken.decodedText();
+			parameterName = this.parser.previousDecodedText();
 		}
 
 		// Handle C-style array syntax: String args[]
 		this.parser.parseArrayDimensionsWithAnnotations();
 
-		int end = this.parser.previousToken().end();
+		int end = this.parser.previousEnd();
 		ParameterAttribute attribute = new ParameterAttribute(parameterName, isVarargs, isFinal, isReceiver);
 		return this.parser.getArena().allocateParameterDeclaration(start, end, attribute);
 	}
@@ -822,7 +835,7 @@ public final class TypeParser
 
 		this.parser.expect(TokenType.SEMICOLON);
 
-		int end = this.parser.previousToken().end();
+		int end = this.parser.previousEnd();
 		return this.parser.getArena().allocateNode(NodeType.FIELD_DECLARATION, start, end);
 	}
 }
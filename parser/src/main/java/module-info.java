@@ -4,6 +4,7 @@
 module io.github.cowwoc.styler.parser
 {
 	requires transitive io.github.cowwoc.styler.ast.core;
+	requires transitive io.github.cowwoc.styler.security;
 	requires io.github.cowwoc.requirements12.java;
 
 	exports io.github.cowwoc.styler.parser;
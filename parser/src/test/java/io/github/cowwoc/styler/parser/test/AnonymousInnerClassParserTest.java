@@ -174,7 +174,6 @@ public final class AnonymousInnerClassParserTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 32, 38);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 68, 69);
 			expected.allocateNode(NodeType.FIELD_DECLARATION, 48, 70);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 108, 113);
 			expected.allocateNode(NodeType.IDENTIFIER, 108, 113);
 			expected.allocateNode(NodeType.POSTFIX_EXPRESSION, 108, 115);
 			expected.allocateNode(NodeType.BLOCK, 102, 121);
@@ -436,7 +435,6 @@ public final class AnonymousInnerClassParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 35);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 35);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 40, 48);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 59, 67);
@@ -561,7 +559,6 @@ public final class AnonymousInnerClassParserTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 32, 38);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 64, 82);
 			expected.allocateNode(NodeType.IDENTIFIER, 64, 70);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 64, 74);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 64, 82);
@@ -603,7 +600,6 @@ public final class AnonymousInnerClassParserTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 32, 38);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 54, 72);
 			expected.allocateNode(NodeType.IDENTIFIER, 54, 60);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 54, 64);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 54, 72);
@@ -842,7 +838,6 @@ public final class AnonymousInnerClassParserTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 61, 70);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 81, 89);
 			expected.allocateNode(NodeType.ANNOTATION, 80, 89);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 120, 138);
 			expected.allocateNode(NodeType.IDENTIFIER, 120, 126);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 120, 130);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 120, 138);
@@ -382,7 +382,6 @@ public final class ArrayCreationParserTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 17);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 17);
 			expected.allocateNode(NodeType.IDENTIFIER, 18, 23);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 36);
 			expected.allocateNode(NodeType.STRING_LITERAL, 39, 50);
@@ -448,7 +447,6 @@ public final class ArrayCreationParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 40);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 40);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 51, 52);
 			expected.allocateNode(NodeType.ARRAY_CREATION, 41, 53);
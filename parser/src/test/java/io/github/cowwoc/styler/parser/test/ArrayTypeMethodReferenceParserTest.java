@@ -290,7 +290,6 @@ public class ArrayTypeMethodReferenceParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 33, 39);
 			expected.allocateNode(NodeType.IDENTIFIER, 33, 39);
 			expected.allocateNode(NodeType.IDENTIFIER, 40, 46);
 			expected.allocateNode(NodeType.ARRAY_TYPE, 40, 48);
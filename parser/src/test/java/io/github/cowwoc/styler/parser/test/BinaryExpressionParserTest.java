@@ -0,0 +1,160 @@
+package io.github.cowwoc.styler.parser.test;
+
+import io.github.cowwoc.styler.ast.core.NodeArena;
+import io.github.cowwoc.styler.ast.core.NodeType;
+import io.github.cowwoc.styler.ast.core.TypeDeclarationAttribute;
+import io.github.cowwoc.styler.parser.Parser;
+import org.testng.annotations.Test;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+import static io.github.cowwoc.styler.parser.test.ParserTestUtils.parse;
+
+/**
+ * Tests for parsing binary expressions according to operator precedence and associativity.
+ */
+public final class BinaryExpressionParserTest
+{
+	/**
+	 * Validates that operators of different precedence levels group around the tighter-binding operators.
+	 */
+	@Test
+	public void shouldGroupByPrecedence()
+	{
+		String source = """
+			class Test
+			{
+				int m()
+				{
+					return a || b && c + d * e == f;
+				}
+			}
+			""";
+		try (Parser parser = parse(source);
+			NodeArena expected = new NodeArena())
+		{
+			NodeArena actual = parser.getArena();
+			expected.allocateNode(NodeType.IDENTIFIER, 34, 35);
+			expected.allocateNode(NodeType.IDENTIFIER, 39, 40);
+			expected.allocateNode(NodeType.IDENTIFIER, 44, 45);
+			expected.allocateNode(NodeType.IDENTIFIER, 48, 49);
+			expected.allocateNode(NodeType.IDENTIFIER, 52, 53);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 48, 53);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 44, 53);
+			expected.allocateNode(NodeType.IDENTIFIER, 57, 58);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 44, 58);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 39, 58);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 34, 58);
+			expected.allocateNode(NodeType.RETURN_STATEMENT, 27, 59);
+			expected.allocateNode(NodeType.BLOCK, 23, 62);
+			expected.allocateNode(NodeType.METHOD_DECLARATION, 14, 62);
+			expected.allocateClassDeclaration(0, 64, new TypeDeclarationAttribute("Test"));
+			expected.allocateNode(NodeType.COMPILATION_UNIT, 0, 65);
+			requireThat(actual, "actual").isEqualTo(expected);
+		}
+	}
+
+	/**
+	 * Validates that operators of the same precedence level associate to the left.
+	 */
+	@Test
+	public void shouldAssociateToTheLeft()
+	{
+		String source = """
+			class Test
+			{
+				int m()
+				{
+					return a - b - c << 2;
+				}
+			}
+			""";
+		try (Parser parser = parse(source);
+			NodeArena expected = new NodeArena())
+		{
+			NodeArena actual = parser.getArena();
+			expected.allocateNode(NodeType.IDENTIFIER, 34, 35);
+			expected.allocateNode(NodeType.IDENTIFIER, 38, 39);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 34, 39);
+			expected.allocateNode(NodeType.IDENTIFIER, 42, 43);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 34, 43);
+			expected.allocateNode(NodeType.INTEGER_LITERAL, 47, 48);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 34, 48);
+			expected.allocateNode(NodeType.RETURN_STATEMENT, 27, 49);
+			expected.allocateNode(NodeType.BLOCK, 23, 52);
+			expected.allocateNode(NodeType.METHOD_DECLARATION, 14, 52);
+			expected.allocateClassDeclaration(0, 54, new TypeDeclarationAttribute("Test"));
+			expected.allocateNode(NodeType.COMPILATION_UNIT, 0, 55);
+			requireThat(actual, "actual").isEqualTo(expected);
+		}
+	}
+
+	/**
+	 * Validates that {@code instanceof} binds like a relational operator, below additive operators and above
+	 * equality operators.
+	 */
+	@Test
+	public void shouldParseInstanceofAtRelationalPrecedence()
+	{
+		String source = """
+			class Test
+			{
+				boolean m()
+				{
+					return a + b instanceof Integer i == c;
+				}
+			}
+			""";
+		try (Parser parser = parse(source);
+			NodeArena expected = new NodeArena())
+		{
+			NodeArena actual = parser.getArena();
+			expected.allocateNode(NodeType.IDENTIFIER, 38, 39);
+			expected.allocateNode(NodeType.IDENTIFIER, 42, 43);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 38, 43);
+			expected.allocateNode(NodeType.QUALIFIED_NAME, 55, 62);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 38, 64);
+			expected.allocateNode(NodeType.IDENTIFIER, 68, 69);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 38, 69);
+			expected.allocateNode(NodeType.RETURN_STATEMENT, 31, 70);
+			expected.allocateNode(NodeType.BLOCK, 27, 73);
+			expected.allocateNode(NodeType.METHOD_DECLARATION, 14, 73);
+			expected.allocateClassDeclaration(0, 75, new TypeDeclarationAttribute("Test"));
+			expected.allocateNode(NodeType.COMPILATION_UNIT, 0, 76);
+			requireThat(actual, "actual").isEqualTo(expected);
+		}
+	}
+
+	/**
+	 * Validates that {@code instanceof} associates to the left like the other relational operators
+	 * (JLS 15.20).
+	 */
+	@Test
+	public void shouldParseChainedInstanceof()
+	{
+		String source = """
+			class Test
+			{
+				boolean m()
+				{
+					return a instanceof A instanceof B;
+				}
+			}
+			""";
+		try (Parser parser = parse(source);
+			NodeArena expected = new NodeArena())
+		{
+			NodeArena actual = parser.getArena();
+			expected.allocateNode(NodeType.IDENTIFIER, 38, 39);
+			expected.allocateNode(NodeType.QUALIFIED_NAME, 51, 52);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 38, 52);
+			expected.allocateNode(NodeType.QUALIFIED_NAME, 64, 65);
+			expected.allocateNode(NodeType.BINARY_EXPRESSION, 38, 65);
+			expected.allocateNode(NodeType.RETURN_STATEMENT, 31, 66);
+			expected.allocateNode(NodeType.BLOCK, 27, 69);
+			expected.allocateNode(NodeType.METHOD_DECLARATION, 14, 69);
+			expected.allocateClassDeclaration(0, 71, new TypeDeclarationAttribute("Test"));
+			expected.allocateNode(NodeType.COMPILATION_UNIT, 0, 72);
+			requireThat(actual, "actual").isEqualTo(expected);
+		}
+	}
+}
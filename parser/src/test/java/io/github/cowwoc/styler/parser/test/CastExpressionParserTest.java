@@ -599,7 +599,6 @@ public final class CastExpressionParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 35);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 35);
 			expected.allocateNode(NodeType.IDENTIFIER, 45, 48);
 			expected.allocateNode(NodeType.CAST_EXPRESSION, 36, 48);
@@ -938,7 +937,6 @@ public final class CastExpressionParserTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 34);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 49, 55);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 49, 55);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 65, 72);
 			expected.allocateNode(NodeType.IDENTIFIER, 65, 72);
 			expected.allocateNode(NodeType.IDENTIFIER, 73, 74);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 65, 75);
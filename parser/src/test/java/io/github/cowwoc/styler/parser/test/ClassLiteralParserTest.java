@@ -298,7 +298,6 @@ public final class ClassLiteralParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 34);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 34);
 			expected.allocateNode(NodeType.IDENTIFIER, 35, 41);
 			expected.allocateNode(NodeType.CLASS_LITERAL, 35, 47);
@@ -754,7 +754,6 @@ public class CommentParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 32);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 32);
 			expected.allocateNode(NodeType.IDENTIFIER, 33, 37);
 			expected.allocateNode(NodeType.LINE_COMMENT, 39, 49);
@@ -788,7 +787,6 @@ public class CommentParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 32);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 31);
 			expected.allocateNode(NodeType.LINE_COMMENT, 33, 43);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 28, 51);
@@ -1086,13 +1084,11 @@ public class CommentParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 48, 49);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 52, 53);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 48, 53);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 62, 63);
 			expected.allocateNode(NodeType.IDENTIFIER, 62, 63);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 66, 67);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 62, 67);
 			expected.allocateNode(NodeType.BLOCK, 57, 72);
 			expected.allocateNode(NodeType.LINE_COMMENT, 75, 97);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 112, 113);
 			expected.allocateNode(NodeType.IDENTIFIER, 112, 113);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 116, 117);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 112, 117);
@@ -1141,7 +1137,6 @@ public class CommentParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 48, 49);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 52, 53);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 48, 53);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 62, 63);
 			expected.allocateNode(NodeType.IDENTIFIER, 62, 63);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 66, 67);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 62, 67);
@@ -1150,14 +1145,12 @@ public class CommentParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 103, 104);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 107, 108);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 103, 108);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 117, 118);
 			expected.allocateNode(NodeType.IDENTIFIER, 117, 118);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 122, 123);
 			expected.allocateNode(NodeType.UNARY_EXPRESSION, 121, 123);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 117, 123);
 			expected.allocateNode(NodeType.BLOCK, 112, 128);
 			expected.allocateNode(NodeType.LINE_COMMENT, 131, 148);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 163, 164);
 			expected.allocateNode(NodeType.IDENTIFIER, 163, 164);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 167, 168);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 163, 168);
@@ -1202,13 +1195,11 @@ public class CommentParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 48, 49);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 52, 53);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 48, 53);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 62, 63);
 			expected.allocateNode(NodeType.IDENTIFIER, 62, 63);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 66, 67);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 62, 67);
 			expected.allocateNode(NodeType.BLOCK, 57, 72);
 			expected.allocateNode(NodeType.BLOCK_COMMENT, 75, 94);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 109, 110);
 			expected.allocateNode(NodeType.IDENTIFIER, 109, 110);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 113, 114);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 109, 114);
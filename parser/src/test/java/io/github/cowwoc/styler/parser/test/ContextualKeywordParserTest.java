@@ -367,7 +367,6 @@ public final class ContextualKeywordParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 31, 38);
 			expected.allocateNode(NodeType.IDENTIFIER, 31, 38);
 			expected.allocateNode(NodeType.IDENTIFIER, 39, 42);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 31, 43);
@@ -458,7 +457,6 @@ public final class ContextualKeywordParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 43);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 35);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 28, 43);
 			expected.allocateNode(NodeType.IDENTIFIER, 54, 61);
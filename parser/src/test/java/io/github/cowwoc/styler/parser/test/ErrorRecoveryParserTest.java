@@ -0,0 +1,213 @@
+package io.github.cowwoc.styler.parser.test;
+
+import io.github.cowwoc.styler.ast.core.NodeArena;
+import io.github.cowwoc.styler.ast.core.NodeType;
+import io.github.cowwoc.styler.ast.core.SecurityConfig;
+import io.github.cowwoc.styler.parser.ParseError;
+import io.github.cowwoc.styler.parser.ParseResult;
+import io.github.cowwoc.styler.parser.Parser;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Tests for reporting multiple syntax errors in a single parse.
+ */
+public class ErrorRecoveryParserTest
+{
+	/**
+	 * Parses source code that is expected to contain syntax errors.
+	 *
+	 * @param parser the parser
+	 * @return the failure
+	 * @throws AssertionError if parsing succeeds
+	 */
+	private static ParseResult.Failure parseFailure(Parser parser)
+	{
+		return switch (parser.parse())
+		{
+			case ParseResult.Success _ -> throw new AssertionError("Expected parsing to fail but it succeeded");
+			case ParseResult.Failure failure -> failure;
+		};
+	}
+
+	/**
+	 * Returns the line numbers of parse errors.
+	 *
+	 * @param errors the errors
+	 * @return the line number of each error
+	 */
+	private static List<Integer> getLines(List<ParseError> errors)
+	{
+		return errors.stream().map(ParseError::line).toList();
+	}
+
+	/**
+	 * Verifies that broken statements in the same block are reported together and that the statements around
+	 * them are still parsed.
+	 */
+	@Test
+	public void brokenStatementsInBlock()
+	{
+		String source = """
+			class Test
+			{
+				int method(int x)
+				{
+					int a = x +;
+					foo(x);
+					int b = );
+					return x;
+				}
+			}
+			""";
+		try (Parser parser = new Parser(source))
+		{
+			ParseResult.Failure failure = parseFailure(parser);
+			requireThat(getLines(failure.errors()), "lines").isEqualTo(List.of(5, 7));
+			requireThat(failure.partialRoot(), "partialRoot").isNotNull();
+
+			NodeArena arena = parser.getArena();
+			requireThat(arena.getType(failure.partialRoot()), "rootType").isEqualTo(NodeType.COMPILATION_UNIT);
+			requireThat(arena.getNodeCount(NodeType.METHOD_INVOCATION), "invocations").isEqualTo(1);
+			requireThat(arena.getNodeCount(NodeType.RETURN_STATEMENT), "returns").isEqualTo(1);
+			requireThat(arena.getNodeCount(NodeType.METHOD_DECLARATION), "methods").isEqualTo(1);
+		}
+	}
+
+	/**
+	 * Verifies that broken members are skipped without losing the members that follow them.
+	 */
+	@Test
+	public void brokenMembersInClass()
+	{
+		String source = """
+			class Test
+			{
+				private int a = ;
+				void first()
+				{
+				}
+				void (int x)
+				{
+				}
+				private int b;
+				void second()
+				{
+				}
+			}
+			""";
+		try (Parser parser = new Parser(source))
+		{
+			ParseResult.Failure failure = parseFailure(parser);
+			requireThat(getLines(failure.errors()), "lines").isEqualTo(List.of(3, 7));
+
+			NodeArena arena = parser.getArena();
+			requireThat(arena.getNodeCount(NodeType.METHOD_DECLARATION), "methods").isEqualTo(2);
+			requireThat(arena.getNodeCount(NodeType.FIELD_DECLARATION), "fields").isEqualTo(1);
+			requireThat(arena.getNodeCount(NodeType.CLASS_DECLARATION), "classes").isEqualTo(1);
+		}
+	}
+
+	/**
+	 * Verifies that an unexpected token between type declarations does not prevent the next type from being
+	 * parsed.
+	 */
+	@Test
+	public void brokenTopLevelDeclaration()
+	{
+		String source = """
+			class First
+			{
+			}
+			garbage tokens here
+			class Second
+			{
+				void method()
+				{
+					return
+				}
+			}
+			""";
+		try (Parser parser = new Parser(source))
+		{
+			ParseResult.Failure failure = parseFailure(parser);
+			requireThat(getLines(failure.errors()), "lines").isEqualTo(List.of(4, 10));
+			requireThat(parser.getArena().getNodeCount(NodeType.CLASS_DECLARATION), "classes").isEqualTo(2);
+		}
+	}
+
+	/**
+	 * Verifies that an error in a speculative parse is not recovered from, so that the parser can still backtrack
+	 * and try another interpretation.
+	 */
+	@Test
+	public void speculationIsNotRecovered()
+	{
+		String source = """
+			class Test
+			{
+				void method()
+				{
+					Runnable task = () ->
+					{
+						int a = ;
+					};
+				}
+			}
+			""";
+		try (Parser parser = new Parser(source))
+		{
+			ParseResult.Failure failure = parseFailure(parser);
+			requireThat(failure.errors(), "errors").size().isEqualTo(1);
+		}
+	}
+
+	/**
+	 * Verifies that parsing does not resume after a security limit is exceeded.
+	 */
+	@Test
+	public void securityLimitIsNotRecovered()
+	{
+		String expression = "(".repeat(SecurityConfig.MAX_NODE_DEPTH + 10) + "1" +
+			")".repeat(SecurityConfig.MAX_NODE_DEPTH + 10);
+		String source = "class Test\n" +
+			"{\n" +
+			"\tvoid first()\n" +
+			"\t{\n" +
+			"\t\tint a = " + expression + ";\n" +
+			"\t\tint b = ;\n" +
+			"\t}\n" +
+			"}\n";
+		try (Parser parser = new Parser(source))
+		{
+			ParseResult.Failure failure = parseFailure(parser);
+			requireThat(failure.errors(), "errors").size().isEqualTo(1);
+			requireThat(failure.partialRoot(), "partialRoot").isNull();
+		}
+	}
+
+	/**
+	 * Verifies that source code without errors produces no recovered errors.
+	 */
+	@Test
+	public void validSourceHasNoErrors()
+	{
+		String source = """
+			class Test
+			{
+				void method()
+				{
+					int a = 1;
+				}
+			}
+			""";
+		try (Parser parser = new Parser(source))
+		{
+			requireThat(parser.parse(), "result").isInstanceOf(ParseResult.Success.class);
+			requireThat(parser.getErrors(), "errors").isEmpty();
+		}
+	}
+}
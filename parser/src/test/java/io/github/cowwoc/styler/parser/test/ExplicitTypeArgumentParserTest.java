@@ -42,10 +42,6 @@ public final class ExplicitTypeArgumentParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 25, 37);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 38, 44);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 38, 44);
-			expected.allocateNode(NodeType.PARAMETERIZED_TYPE, 25, 45);
 			expected.allocateNode(NodeType.IDENTIFIER, 25, 36);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 38, 44);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 38, 44);
@@ -112,12 +108,6 @@ public final class ExplicitTypeArgumentParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 25, 29);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 36);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 36);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 38, 45);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 38, 45);
-			expected.allocateNode(NodeType.PARAMETERIZED_TYPE, 25, 46);
 			expected.allocateNode(NodeType.IDENTIFIER, 25, 28);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 36);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 36);
@@ -153,13 +143,6 @@ public final class ExplicitTypeArgumentParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 25, 29);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 34);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 35, 41);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 35, 41);
-			expected.allocateNode(NodeType.PARAMETERIZED_TYPE, 30, 43);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 43);
-			expected.allocateNode(NodeType.PARAMETERIZED_TYPE, 25, 43);
 			expected.allocateNode(NodeType.IDENTIFIER, 25, 28);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 34);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 35, 41);
@@ -196,10 +179,6 @@ public final class ExplicitTypeArgumentParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 25, 29);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 40, 46);
-			expected.allocateNode(NodeType.WILDCARD_TYPE, 30, 46);
-			expected.allocateNode(NodeType.PARAMETERIZED_TYPE, 25, 47);
 			expected.allocateNode(NodeType.IDENTIFIER, 25, 28);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 40, 46);
 			expected.allocateNode(NodeType.WILDCARD_TYPE, 30, 46);
@@ -233,10 +212,6 @@ public final class ExplicitTypeArgumentParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 25, 29);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 36);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 36);
-			expected.allocateNode(NodeType.PARAMETERIZED_TYPE, 25, 37);
 			expected.allocateNode(NodeType.IDENTIFIER, 25, 28);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 36);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 36);
@@ -704,18 +679,6 @@ public final class ExplicitTypeArgumentParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 25, 29);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 33);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 34, 40);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 34, 40);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 42, 46);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 47, 54);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 47, 54);
-			expected.allocateNode(NodeType.PARAMETERIZED_TYPE, 42, 57);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 42, 57);
-			expected.allocateNode(NodeType.PARAMETERIZED_TYPE, 30, 57);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 57);
-			expected.allocateNode(NodeType.PARAMETERIZED_TYPE, 25, 57);
 			expected.allocateNode(NodeType.IDENTIFIER, 25, 28);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 33);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 34, 40);
@@ -135,7 +135,6 @@ public class FlexibleConstructorBodyParserTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 26, 30);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 46, 52);
 			expected.allocateParameterDeclaration(46, 58, new ParameterAttribute("value", false, false, false));
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 65, 73);
 			expected.allocateNode(NodeType.IDENTIFIER, 65, 73);
 			expected.allocateNode(NodeType.IDENTIFIER, 74, 79);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 65, 80);
@@ -185,11 +184,9 @@ public class FlexibleConstructorBodyParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 88, 93);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 96, 97);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 88, 97);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 102, 110);
 			expected.allocateNode(NodeType.IDENTIFIER, 102, 110);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 113, 114);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 102, 114);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 126, 134);
 			expected.allocateNode(NodeType.IDENTIFIER, 126, 134);
 			expected.allocateNode(NodeType.IDENTIFIER, 137, 142);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 126, 142);
@@ -238,7 +235,6 @@ public class FlexibleConstructorBodyParserTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 32);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 50, 56);
 			expected.allocateParameterDeclaration(50, 61, new ParameterAttribute("text", false, false, false));
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 92, 97);
 			expected.allocateNode(NodeType.IDENTIFIER, 92, 97);
 			expected.allocateNode(NodeType.IDENTIFIER, 100, 107);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 100, 116);
@@ -248,7 +244,6 @@ public class FlexibleConstructorBodyParserTest
 			expected.allocateNode(NodeType.BLOCK, 87, 127);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 137, 158);
 			expected.allocateParameterDeclaration(137, 160, new ParameterAttribute("e", false, false, false));
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 169, 174);
 			expected.allocateNode(NodeType.IDENTIFIER, 169, 174);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 177, 178);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 169, 178);
@@ -299,16 +294,13 @@ public class FlexibleConstructorBodyParserTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 67, 73);
 			expected.allocateNode(NodeType.IDENTIFIER, 90, 94);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 108, 109);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 113, 117);
 			expected.allocateNode(NodeType.IDENTIFIER, 113, 117);
 			expected.allocateNode(NodeType.STRING_LITERAL, 120, 125);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 113, 125);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 135, 136);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 140, 144);
 			expected.allocateNode(NodeType.IDENTIFIER, 140, 144);
 			expected.allocateNode(NodeType.STRING_LITERAL, 147, 152);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 140, 152);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 168, 172);
 			expected.allocateNode(NodeType.IDENTIFIER, 168, 172);
 			expected.allocateNode(NodeType.STRING_LITERAL, 175, 182);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 168, 182);
@@ -452,7 +444,6 @@ public class FlexibleConstructorBodyParserTest
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 37, 43);
 			expected.allocateParameterDeclaration(37, 48, new ParameterAttribute("name", false, false, false));
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 55, 73);
 			expected.allocateNode(NodeType.IDENTIFIER, 55, 61);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 55, 65);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 55, 73);
@@ -525,11 +516,9 @@ public class FlexibleConstructorBodyParserTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 50, 56);
 			expected.allocateParameterDeclaration(50, 61, new ParameterAttribute("name", false, false, false));
 			expected.allocateParameterDeclaration(63, 69, new ParameterAttribute("id", false, false, false));
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 76, 88);
 			expected.allocateNode(NodeType.IDENTIFIER, 76, 88);
 			expected.allocateNode(NodeType.IDENTIFIER, 89, 93);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 76, 94);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 98, 108);
 			expected.allocateNode(NodeType.IDENTIFIER, 98, 108);
 			expected.allocateNode(NodeType.IDENTIFIER, 109, 111);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 98, 112);
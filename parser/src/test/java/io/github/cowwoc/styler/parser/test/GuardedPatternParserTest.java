@@ -47,7 +47,6 @@ public class GuardedPatternParserTest
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 97, 107);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 110, 111);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 97, 111);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 115, 133);
 			expected.allocateNode(NodeType.IDENTIFIER, 115, 121);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 115, 125);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 115, 133);
@@ -96,7 +95,6 @@ public class GuardedPatternParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 107, 108);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 107, 116);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 107, 118);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 122, 140);
 			expected.allocateNode(NodeType.IDENTIFIER, 122, 128);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 122, 132);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 122, 140);
@@ -738,21 +736,18 @@ public class GuardedPatternParserTest
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 97, 107);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 110, 111);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 97, 111);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 117, 135);
 			expected.allocateNode(NodeType.IDENTIFIER, 117, 123);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 117, 127);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 117, 135);
 			expected.allocateNode(NodeType.STRING_LITERAL, 136, 149);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 117, 150);
 			expected.allocateNode(NodeType.BREAK_STATEMENT, 156, 162);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 185, 203);
 			expected.allocateNode(NodeType.IDENTIFIER, 185, 191);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 185, 195);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 185, 203);
 			expected.allocateNode(NodeType.STRING_LITERAL, 204, 218);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 185, 219);
 			expected.allocateNode(NodeType.BREAK_STATEMENT, 225, 231);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 248, 266);
 			expected.allocateNode(NodeType.IDENTIFIER, 248, 254);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 248, 258);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 248, 266);
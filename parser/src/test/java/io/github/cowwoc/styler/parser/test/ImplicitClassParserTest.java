@@ -139,7 +139,6 @@ public final class ImplicitClassParserTest
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.STRING_LITERAL, 18, 25);
 			expected.allocateNode(NodeType.FIELD_DECLARATION, 0, 26);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 43, 61);
 			expected.allocateNode(NodeType.IDENTIFIER, 43, 49);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 43, 53);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 43, 61);
@@ -205,7 +204,6 @@ public final class ImplicitClassParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 15, 20);
 			expected.allocateNode(NodeType.IDENTIFIER, 15, 20);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 15, 22);
 			expected.allocateNode(NodeType.BLOCK, 12, 25);
@@ -324,7 +322,6 @@ public final class ImplicitClassParserTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 17);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 17);
 			expected.allocateNode(NodeType.STRING_LITERAL, 18, 26);
 			expected.allocateNode(NodeType.ANNOTATION, 0, 27);
 			expected.allocateNode(NodeType.BLOCK, 40, 43);
@@ -0,0 +1,246 @@
+package io.github.cowwoc.styler.parser.test;
+
+import io.github.cowwoc.styler.ast.core.NodeArena;
+import io.github.cowwoc.styler.ast.core.NodeType;
+import io.github.cowwoc.styler.ast.core.SecurityConfig;
+import io.github.cowwoc.styler.parser.IncrementalParser;
+import io.github.cowwoc.styler.parser.ParseResult;
+import io.github.cowwoc.styler.parser.Parser;
+import io.github.cowwoc.styler.parser.TextEdit;
+import org.testng.annotations.Test;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Tests for reparsing source code after an edit.
+ */
+public class IncrementalParserTest
+{
+	private static final String SOURCE = """
+		package com.example;
+
+		public class Test
+		{
+			private int value;
+
+			public void first(int x)
+			{
+				if (x > 0)
+				{
+					value = x;
+				}
+			}
+
+			public int second()
+			{
+				Runnable task = () -> System.out.println(value);
+				return value;
+			}
+		}
+		""";
+
+	/**
+	 * Applies an edit incrementally and compares the result to parsing the edited source code from scratch.
+	 *
+	 * @param edit the edit to apply to {@link #SOURCE}
+	 * @return the result of the incremental parse
+	 */
+	private static IncrementalParser.Result reparseAndCompare(TextEdit edit)
+	{
+		return reparseAndCompare(SOURCE, edit);
+	}
+
+	/**
+	 * Applies an edit incrementally and compares the result to parsing the edited source code from scratch.
+	 *
+	 * @param source the source code before the edit
+	 * @param edit   the edit to apply to {@code source}
+	 * @return the result of the incremental parse
+	 */
+	private static IncrementalParser.Result reparseAndCompare(String source, TextEdit edit)
+	{
+		try (NodeArena oldArena = new NodeArena();
+			NodeArena actual = new NodeArena();
+			NodeArena expected = new NodeArena();
+			Parser oldParser = new Parser(source, oldArena))
+		{
+			ParseResult oldResult = oldParser.parse();
+			IncrementalParser.Result result = IncrementalParser.reparse(source, oldArena, oldResult, edit, actual);
+
+			String newSource = edit.apply(source);
+			requireThat(result.sourceCode(), "result.sourceCode()").isEqualTo(newSource);
+			try (Parser newParser = new Parser(newSource, expected))
+			{
+				ParseResult expectedResult = newParser.parse();
+				requireThat(result.parseResult(), "result.parseResult()").isEqualTo(expectedResult);
+			}
+			requireThat(actual, "actual").isEqualTo(expected);
+			return result;
+		}
+	}
+
+	/**
+	 * Verifies that an edit inside a nested block only reparses that block.
+	 */
+	@Test
+	public void editInsideNestedBlock()
+	{
+		int offset = SOURCE.indexOf("value = x;");
+		IncrementalParser.Result result = reparseAndCompare(new TextEdit(offset, "value".length(),
+			"this.value += x * 2;\n\t\t\tvalue"));
+		requireThat(result.reparsedBlock(), "result.reparsedBlock()").isNotNull();
+	}
+
+	/**
+	 * Verifies that nodes after the reparsed block are moved when the edit shortens the source code.
+	 */
+	@Test
+	public void deletionInsideBlock()
+	{
+		int offset = SOURCE.indexOf("Runnable");
+		int length = SOURCE.indexOf("return") - offset;
+		IncrementalParser.Result result = reparseAndCompare(new TextEdit(offset, length, ""));
+		requireThat(result.reparsedBlock(), "result.reparsedBlock()").isNotNull();
+	}
+
+	/**
+	 * Verifies that declarations with attributes are carried over when a block is replaced.
+	 */
+	@Test
+	public void localClassInsideBlock()
+	{
+		int offset = SOURCE.indexOf("return value;");
+		reparseAndCompare(new TextEdit(offset, 0, "record Pair(int a, int b) {}\n\t\t"));
+	}
+
+	/**
+	 * Verifies that an edit that unbalances the braces of a block falls back to an enclosing block or a full
+	 * parse.
+	 */
+	@Test
+	public void unbalancedBraceFallsBack()
+	{
+		int offset = SOURCE.indexOf("value = x;");
+		reparseAndCompare(new TextEdit(offset, 0, "}\n\t\t\t{"));
+	}
+
+	/**
+	 * Verifies that an unterminated comment that swallows the end of a block falls back to a full parse.
+	 */
+	@Test
+	public void unterminatedCommentFallsBack()
+	{
+		int offset = SOURCE.indexOf("value = x;");
+		IncrementalParser.Result result = reparseAndCompare(new TextEdit(offset, 0, "/*"));
+		requireThat(result.reparsedBlock(), "result.reparsedBlock()").isNull();
+		requireThat(result.parseResult(), "result.parseResult()").isInstanceOf(ParseResult.Failure.class);
+	}
+
+	/**
+	 * Verifies that an edit outside any block parses the entire source code again.
+	 */
+	@Test
+	public void editOutsideBlock()
+	{
+		int offset = SOURCE.indexOf("private int value;");
+		IncrementalParser.Result result = reparseAndCompare(new TextEdit(offset, 0, "private int other;\n\t"));
+		requireThat(result.reparsedBlock(), "result.reparsedBlock()").isNull();
+	}
+
+	/**
+	 * Verifies that the reparsed block is reported at its position in the edited source code.
+	 */
+	@Test
+	public void reparsedBlockIsInnermost()
+	{
+		int offset = SOURCE.indexOf("value = x;");
+		try (NodeArena oldArena = new NodeArena();
+			NodeArena actual = new NodeArena();
+			Parser oldParser = new Parser(SOURCE, oldArena))
+		{
+			ParseResult.Success oldResult = (ParseResult.Success) oldParser.parse();
+			IncrementalParser.Result result = IncrementalParser.reparse(SOURCE, oldArena, oldResult,
+				new TextEdit(offset, 0, "++value;\n\t\t\t"), actual);
+
+			requireThat(actual.getType(result.reparsedBlock()), "type").isEqualTo(NodeType.BLOCK);
+			requireThat(actual.getStart(result.reparsedBlock()), "start").
+				isEqualTo(SOURCE.lastIndexOf('{', offset));
+		}
+	}
+
+	/**
+	 * Verifies that an AST that was recovered from syntax errors is not reused, so that the errors outside the
+	 * edited block are still reported.
+	 */
+	@Test
+	public void oldTreeWithErrorsIsParsedAgain()
+	{
+		String source = SOURCE.replace("private int value;", "private int value = ;");
+		int offset = source.indexOf("value = x;");
+		IncrementalParser.Result result = reparseAndCompare(source, new TextEdit(offset, 0, "++value;\n\t\t\t"));
+		requireThat(result.reparsedBlock(), "result.reparsedBlock()").isNull();
+		requireThat(result.parseResult(), "result.parseResult()").isInstanceOf(ParseResult.Failure.class);
+	}
+
+	/**
+	 * Verifies that an edit that nests the contents of a block past the depth limit fails just like a parse of
+	 * the entire file, even though the block does not exceed the limit on its own.
+	 */
+	@Test
+	public void editExceedingDepthLimitFails()
+	{
+		// Redundant parentheses count towards the nesting depth without adding nodes to the AST
+		int nesting = SecurityConfig.MAX_NODE_DEPTH - 10;
+		String source = "class Test\n" +
+			"{\n" +
+			"\tRunnable r = " + "(".repeat(nesting) + "() ->\n" +
+			"\t{\n" +
+			"\t\tint x = 1;\n" +
+			"\t}" + ")".repeat(nesting) + ";\n" +
+			"}\n";
+		int offset = source.indexOf("1;");
+		IncrementalParser.Result result = reparseAndCompare(source, new TextEdit(offset, 1,
+			"(".repeat(20) + "1" + ")".repeat(20)));
+		requireThat(result.parseResult(), "result.parseResult()").isInstanceOf(ParseResult.Failure.class);
+		requireThat(((ParseResult.Failure) result.parseResult()).getErrorMessage(), "message").
+			contains("Maximum node depth exceeded");
+	}
+
+	/**
+	 * Verifies that an edit that keeps a deeply nested block within the depth limit is still parsed
+	 * incrementally.
+	 */
+	@Test
+	public void editWithinDepthLimitIsIncremental()
+	{
+		int nesting = SecurityConfig.MAX_NODE_DEPTH - 30;
+		String source = "class Test\n" +
+			"{\n" +
+			"\tRunnable r = " + "(".repeat(nesting) + "() ->\n" +
+			"\t{\n" +
+			"\t\tint x = 1;\n" +
+			"\t}" + ")".repeat(nesting) + ";\n" +
+			"}\n";
+		int offset = source.indexOf("1;");
+		IncrementalParser.Result result = reparseAndCompare(source, new TextEdit(offset, 1, "((1))"));
+		requireThat(result.reparsedBlock(), "result.reparsedBlock()").isNotNull();
+		requireThat(result.parseResult(), "result.parseResult()").isInstanceOf(ParseResult.Success.class);
+	}
+
+	/**
+	 * Verifies that an edit inside a block cannot grow the source code past the size limit of the parser.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void editExceedingSizeLimitIsRejected()
+	{
+		int offset = SOURCE.indexOf("value = x;");
+		String comment = "//" + "x".repeat(SecurityConfig.MAX_SOURCE_SIZE_BYTES / 2) + "\n";
+		try (NodeArena oldArena = new NodeArena();
+			NodeArena actual = new NodeArena();
+			Parser oldParser = new Parser(SOURCE, oldArena))
+		{
+			ParseResult oldResult = oldParser.parse();
+			IncrementalParser.reparse(SOURCE, oldArena, oldResult, new TextEdit(offset, 0, comment), actual);
+		}
+	}
+}
@@ -38,7 +38,6 @@ public final class InstanceofPatternParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 32, 35);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 47, 53);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 32, 55);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 60, 78);
 			expected.allocateNode(NodeType.IDENTIFIER, 60, 66);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 60, 70);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 60, 78);
@@ -80,7 +79,6 @@ public final class InstanceofPatternParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 44, 49);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 61, 67);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 44, 74);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 79, 86);
 			expected.allocateNode(NodeType.IDENTIFIER, 79, 86);
 			expected.allocateNode(NodeType.IDENTIFIER, 87, 93);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 79, 94);
@@ -116,7 +114,6 @@ public final class InstanceofPatternParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 32, 35);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 47, 53);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 32, 53);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 58, 69);
 			expected.allocateNode(NodeType.IDENTIFIER, 58, 69);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 58, 71);
 			expected.allocateNode(NodeType.IF_STATEMENT, 28, 72);
@@ -188,7 +185,6 @@ public final class InstanceofPatternParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 32, 35);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 47, 63);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 32, 65);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 70, 73);
 			expected.allocateNode(NodeType.IDENTIFIER, 70, 73);
 			expected.allocateNode(NodeType.IDENTIFIER, 74, 75);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 70, 76);
@@ -36,7 +36,6 @@ public final class LambdaParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 34);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 34);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 36, 40);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 42, 49);
@@ -79,7 +78,6 @@ public final class LambdaParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 35);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 35);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 37, 40);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 42, 45);
@@ -126,7 +124,6 @@ public final class LambdaParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 37);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 37);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 39, 42);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 43, 49);
@@ -175,7 +172,6 @@ public final class LambdaParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 36);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 36);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 38, 42);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 44, 54);
@@ -291,7 +287,6 @@ public final class LambdaParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 31, 32);
 			expected.allocateNode(NodeType.IDENTIFIER, 31, 32);
 			expected.allocateNode(NodeType.IDENTIFIER, 35, 36);
 			expected.allocateNode(NodeType.IDENTIFIER, 44, 45);
@@ -337,7 +332,6 @@ public final class LambdaParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 44);
 			expected.allocateNode(NodeType.IDENTIFIER, 30, 34);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 30, 44);
 			expected.allocateNode(NodeType.IDENTIFIER, 45, 58);
@@ -1,7 +1,10 @@
 package io.github.cowwoc.styler.parser.test;
 
+import io.github.cowwoc.styler.ast.core.BracketMap;
+import io.github.cowwoc.styler.ast.core.LineMap;
 import io.github.cowwoc.styler.parser.Lexer;
 import io.github.cowwoc.styler.parser.Token;
+import io.github.cowwoc.styler.parser.TokenStream;
 import io.github.cowwoc.styler.parser.TokenType;
 import org.testng.annotations.Test;
 
@@ -2574,4 +2577,152 @@ public class LexerTest
 		requireThat(firstToken.type(), "firstToken.type()").isEqualTo(TokenType.IDENTIFIER);
 		requireThat(firstToken.decodedText(), "firstToken.decodedText()").isEqualTo("test");
 	}
+
+	/**
+	 * Tests that the line map built while lexing records every line, including lines that start inside
+	 * block comments and text blocks.
+	 */
+	@Test
+	public void testLineMapMatchesSourceLines()
+	{
+		String source = """
+			/*
+			 * Comment
+			 */
+			class Test
+			{
+				String text = \"""
+					first
+					second
+					\""";
+			}
+			""";
+		Lexer lexer = new Lexer(source);
+		lexer.tokenize();
+		LineMap lineMap = lexer.getLineMap();
+
+		requireThat(lineMap, "lineMap").isEqualTo(LineMap.of(source));
+		requireThat(lineMap.getLineCount(), "lineMap.getLineCount()").isEqualTo(11);
+		int classPosition = source.indexOf("class");
+		requireThat(lineMap.getLineNumber(classPosition), "lineMap.getLineNumber(classPosition)").isEqualTo(4);
+		requireThat(lineMap.getColumnNumber(classPosition), "lineMap.getColumnNumber(classPosition)").isEqualTo(1);
+	}
+
+	/**
+	 * Tests that nested parentheses, braces and square brackets are paired with their partners in both
+	 * directions, and that other tokens have no partner.
+	 */
+	@Test
+	public void testMatchingBrackets()
+	{
+		// Tokens: 0:f 1:( 2:a 3:[ 4:0 5:] 6:, 7:{ 8:} 9:) 10:EOF
+		TokenStream tokens = new Lexer("f(a[0], {})").tokenize();
+
+		requireThat(tokens.getMatchingBracket(1), "getMatchingBracket(1)").isEqualTo(9);
+		requireThat(tokens.getMatchingBracket(9), "getMatchingBracket(9)").isEqualTo(1);
+		requireThat(tokens.getMatchingBracket(3), "getMatchingBracket(3)").isEqualTo(5);
+		requireThat(tokens.getMatchingBracket(5), "getMatchingBracket(5)").isEqualTo(3);
+		requireThat(tokens.getMatchingBracket(7), "getMatchingBracket(7)").isEqualTo(8);
+		requireThat(tokens.getMatchingBracket(0), "getMatchingBracket(0)").isEqualTo(TokenStream.NO_MATCH);
+		requireThat(tokens.getMatchingBracket(6), "getMatchingBracket(6)").isEqualTo(TokenStream.NO_MATCH);
+	}
+
+	/**
+	 * Tests that brackets inside comments and literals are ignored, and that an unbalanced bracket does not
+	 * prevent the brackets around it from being paired.
+	 */
+	@Test
+	public void testUnbalancedBrackets()
+	{
+		// Tokens: 0:( 1:"(" 2:/* ) */ 3:{ 4:) 5:] 6:EOF
+		TokenStream tokens = new Lexer("(\"(\" /* ) */ { ) ]").tokenize();
+
+		requireThat(tokens.getMatchingBracket(0), "getMatchingBracket(0)").isEqualTo(4);
+		requireThat(tokens.getMatchingBracket(3), "getMatchingBracket(3)").isEqualTo(TokenStream.NO_MATCH);
+		requireThat(tokens.getMatchingBracket(5), "getMatchingBracket(5)").isEqualTo(TokenStream.NO_MATCH);
+	}
+
+	/**
+	 * Tests that closing brackets without a partner are paired in linear time, even when many opening brackets
+	 * of a different kind are still open.
+	 */
+	@Test(timeOut = 10_000)
+	public void testManyMismatchedBracketsAreLinear()
+	{
+		int count = 1_000_000;
+		String source = "(".repeat(count) + "]".repeat(count);
+		TokenStream tokens = new Lexer(source).tokenize();
+
+		requireThat(tokens.size(), "tokens.size()").isEqualTo(2 * count + 1);
+		requireThat(tokens.getMatchingBracket(count - 1), "getMatchingBracket(count - 1)").
+			isEqualTo(TokenStream.NO_MATCH);
+		requireThat(tokens.getMatchingBracket(count), "getMatchingBracket(count)").isEqualTo(TokenStream.NO_MATCH);
+	}
+
+	/**
+	 * Tests that the bracket map reports the character offsets of brackets and their partners.
+	 */
+	@Test
+	public void testBracketMap()
+	{
+		String source = "class A { int[] x = {1}; }";
+		BracketMap bracketMap = new Lexer(source).tokenize().getBracketMap();
+
+		requireThat(bracketMap.getBracketCount(), "bracketMap.getBracketCount()").isEqualTo(6);
+		int classBody = source.indexOf('{');
+		requireThat(bracketMap.getBracketPosition(0), "bracketMap.getBracketPosition(0)").isEqualTo(classBody);
+		requireThat(bracketMap.findMatch(classBody), "bracketMap.findMatch(classBody)").
+			isEqualTo(source.lastIndexOf('}'));
+		int initializer = source.indexOf("{1}");
+		requireThat(bracketMap.findMatch(initializer + 2), "bracketMap.findMatch(initializer + 2)").
+			isEqualTo(initializer);
+		requireThat(bracketMap.findMatch(0), "bracketMap.findMatch(0)").isEqualTo(BracketMap.NO_MATCH);
+	}
+
+	/**
+	 * Tests that words that share a length, first character or prefix with a keyword are lexed as identifiers.
+	 */
+	@Test
+	public void testKeywordLookalikesAreIdentifiers()
+	{
+		List<String> words = List.of("classes", "Class", "clazz", "interfaces", "synchronize", "non", "nonsealed",
+			"_if", "iff", "x", "\u0063lazz");
+		for (String word : words)
+		{
+			List<Token> tokens = new Lexer(word).tokenize();
+			requireThat(tokens.getFirst().type(), word).isEqualTo(TokenType.IDENTIFIER);
+			requireThat(tokens.getFirst().end(), word + ".end()").isEqualTo(word.length());
+		}
+	}
+
+	/**
+	 * Tests that escaped quotes do not terminate string literals or text blocks.
+	 */
+	@Test
+	public void testEscapedDelimitersInsideLiterals()
+	{
+		String source = "\"a\\\"b\\\\\" \"\"\"\n  x \\\"\"\" y\n  \"\"\" z";
+		List<Token> tokens = new Lexer(source).tokenize();
+
+		requireThat(tokens.get(0).type(), "tokens.get(0).type()").isEqualTo(TokenType.STRING_LITERAL);
+		requireThat(tokens.get(0).text(), "tokens.get(0).text()").isEqualTo("\"a\\\"b\\\\\"");
+		requireThat(tokens.get(1).type(), "tokens.get(1).type()").isEqualTo(TokenType.STRING_LITERAL);
+		requireThat(tokens.get(1).text(), "tokens.get(1).text()").
+			isEqualTo("\"\"\"\n  x \\\"\"\" y\n  \"\"\"");
+		requireThat(tokens.get(2).text(), "tokens.get(2).text()").isEqualTo("z");
+	}
+
+	/**
+	 * Tests that unterminated comments and string literals extend to the end of the source code.
+	 */
+	@Test
+	public void testUnterminatedTokensReachEndOfSource()
+	{
+		for (String source : List.of("/* comment", "// comment", "\"text", "\"text\\"))
+		{
+			List<Token> tokens = new Lexer(source).tokenize();
+			requireThat(tokens.size(), source + ".size()").isEqualTo(2);
+			requireThat(tokens.getFirst().end(), source + ".end()").isEqualTo(source.length());
+		}
+	}
 }
@@ -36,7 +36,6 @@ public class LocalAnnotationTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 64);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 64);
 			expected.allocateNode(NodeType.STRING_LITERAL, 65, 76);
 			expected.allocateNode(NodeType.ANNOTATION, 47, 77);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 78, 92);
@@ -102,7 +101,6 @@ public class LocalAnnotationTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 56);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 56);
 			expected.allocateNode(NodeType.ANNOTATION, 47, 56);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 57, 63);
 			expected.allocateNode(NodeType.NULL_LITERAL, 72, 76);
@@ -135,7 +133,6 @@ public class LocalAnnotationTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 54, 61);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 54, 61);
 			expected.allocateNode(NodeType.ANNOTATION, 53, 61);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 62, 68);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 79, 85);
@@ -169,8 +166,6 @@ public class LocalAnnotationTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 55);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 57, 73);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 55);
 			expected.allocateNode(NodeType.ANNOTATION, 47, 55);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 57, 73);
 			expected.allocateNode(NodeType.STRING_LITERAL, 74, 82);
@@ -205,8 +200,6 @@ public class LocalAnnotationTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 64);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 82, 89);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 64);
 			expected.allocateNode(NodeType.STRING_LITERAL, 65, 73);
 			expected.allocateNode(NodeType.ANNOTATION, 47, 74);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 82, 89);
@@ -254,7 +247,6 @@ public class LocalAnnotationTest
 			expected.allocateNode(NodeType.ANNOTATION, 90, 98);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 99, 105);
 			expected.allocateNode(NodeType.IDENTIFIER, 110, 114);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 123, 141);
 			expected.allocateNode(NodeType.IDENTIFIER, 123, 129);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 123, 133);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 123, 141);
@@ -303,7 +295,6 @@ public class LocalAnnotationTest
 			expected.allocateNode(NodeType.ANNOTATION, 96, 104);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 105, 111);
 			expected.allocateNode(NodeType.IDENTIFIER, 116, 120);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 129, 147);
 			expected.allocateNode(NodeType.IDENTIFIER, 129, 135);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 129, 139);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 129, 147);
@@ -491,7 +482,6 @@ public class LocalAnnotationTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 64);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 64);
 			expected.allocateNode(NodeType.STRING_LITERAL, 65, 76);
 			expected.allocateNode(NodeType.ANNOTATION, 47, 77);
 			expected.allocateNode(NodeType.IDENTIFIER, 86, 90);
@@ -536,16 +526,12 @@ public class LocalAnnotationTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 53, 69);
 			expected.allocateNode(NodeType.STRING_LITERAL, 70, 78);
 			expected.allocateNode(NodeType.ANNOTATION, 52, 79);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 53, 69);
-			expected.allocateNode(NodeType.STRING_LITERAL, 70, 78);
-			expected.allocateNode(NodeType.ANNOTATION, 52, 79);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 88, 89);
 			expected.allocateNode(NodeType.IDENTIFIER, 91, 92);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 95, 97);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 91, 97);
 			expected.allocateNode(NodeType.IDENTIFIER, 101, 102);
 			expected.allocateNode(NodeType.UNARY_EXPRESSION, 99, 102);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 111, 129);
 			expected.allocateNode(NodeType.IDENTIFIER, 111, 117);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 111, 121);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 111, 129);
@@ -582,7 +568,6 @@ public class LocalAnnotationTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 64);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 64);
 			expected.allocateNode(NodeType.IDENTIFIER, 65, 70);
 			expected.allocateNode(NodeType.STRING_LITERAL, 73, 84);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 65, 84);
@@ -621,7 +606,6 @@ public class LocalAnnotationTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 64);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 48, 64);
 			expected.allocateNode(NodeType.STRING_LITERAL, 66, 77);
 			expected.allocateNode(NodeType.STRING_LITERAL, 79, 89);
 			expected.allocateNode(NodeType.ARRAY_INITIALIZER, 65, 90);
@@ -245,7 +245,6 @@ public final class LocalTypeDeclarationParserTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 29, 45);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 29, 45);
 			expected.allocateNode(NodeType.STRING_LITERAL, 46, 57);
 			expected.allocateNode(NodeType.ANNOTATION, 28, 58);
 			expected.allocateClassDeclaration(61, 90, new TypeDeclarationAttribute("AnnotatedHelper"));
@@ -281,7 +280,6 @@ public final class LocalTypeDeclarationParserTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 29, 39);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 29, 39);
 			expected.allocateNode(NodeType.ANNOTATION, 28, 39);
 			expected.allocateParameterDeclaration(65, 70, new ParameterAttribute("x", false, false, false));
 			expected.allocateParameterDeclaration(72, 77, new ParameterAttribute("y", false, false, false));
@@ -319,7 +317,6 @@ public final class LocalTypeDeclarationParserTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 29, 48);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 29, 48);
 			expected.allocateNode(NodeType.ANNOTATION, 28, 48);
 			expected.allocateNode(NodeType.METHOD_DECLARATION, 78, 93);
 			expected.allocateInterfaceDeclaration(51, 97, new TypeDeclarationAttribute("Processor"));
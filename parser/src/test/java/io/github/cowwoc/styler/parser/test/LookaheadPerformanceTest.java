@@ -0,0 +1,79 @@
+package io.github.cowwoc.styler.parser.test;
+
+import io.github.cowwoc.styler.parser.ParseResult;
+import io.github.cowwoc.styler.parser.Parser;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Performance tests for inputs that force the parser to look ahead speculatively at every token.
+ * <p>
+ * Note: Performance tests are marked with group "performance" and may be skipped in normal test runs
+ * if performance validation is not needed.
+ */
+public class LookaheadPerformanceTest
+{
+	/**
+	 * Tests that a long chain of {@code <} comparisons is parsed in linear time.
+	 * <p>
+	 * Each {@code <} may start a type argument list, so deciding whether it does by scanning to the end of the
+	 * chain took quadratic time (about 20 seconds for this input).
+	 */
+	@Test(groups = "performance")
+	public void lessThanChainCompletesUnder2Seconds()
+	{
+		StringBuilder source = new StringBuilder("class Test\n{\n\tboolean method()\n\t{\n\t\treturn a0");
+		for (int i = 1; i < 20_000; ++i)
+			source.append(" < a").append(i);
+		source.append(";\n\t}\n}\n");
+
+		Duration elapsed = timeParse(source.toString());
+		requireThat(elapsed, "elapsed").isLessThan(Duration.ofSeconds(2));
+	}
+
+	/**
+	 * Tests that many statements made of nested casts of lambdas are parsed quickly.
+	 * <p>
+	 * Every parenthesis may start a cast, a lambda or a parenthesized expression, and every {@code <} inside them
+	 * may start a type argument list.
+	 */
+	@Test(groups = "performance")
+	public void nestedCastsOfLambdasCompleteUnder5Seconds()
+	{
+		StringBuilder source = new StringBuilder("class Test\n{\n\tvoid method()\n\t{\n");
+		for (int statement = 0; statement < 400; ++statement)
+		{
+			source.append("\t\tObject o").append(statement).append(" = ");
+			for (int depth = 0; depth < 8; ++depth)
+				source.append("(Runnable) () -> foo((Comparable<T>) (x) -> x < y, ");
+			source.append('0').append(")".repeat(8)).append(";\n");
+		}
+		source.append("\t}\n}\n");
+
+		Duration elapsed = timeParse(source.toString());
+		requireThat(elapsed, "elapsed").isLessThan(Duration.ofSeconds(5));
+	}
+
+	/**
+	 * Parses source code that is expected to be valid.
+	 *
+	 * @param source the source code
+	 * @return the time that it took to parse the source code
+	 */
+	private static Duration timeParse(String source)
+	{
+		try (Parser parser = new Parser(source))
+		{
+			Instant startTime = Instant.now();
+			ParseResult result = parser.parse();
+			Duration elapsed = Duration.between(startTime, Instant.now());
+
+			requireThat(result, "result").isInstanceOf(ParseResult.Success.class);
+			return elapsed;
+		}
+	}
+}
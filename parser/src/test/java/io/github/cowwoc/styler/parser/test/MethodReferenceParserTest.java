@@ -469,7 +469,6 @@ public class MethodReferenceParserTest
 			expected.allocateParameterDeclaration(26, 34, new ParameterAttribute("o", false, false, false));
 			expected.allocateNode(NodeType.BLOCK, 37, 41);
 			expected.allocateNode(NodeType.METHOD_DECLARATION, 14, 41);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 63, 69);
 			expected.allocateNode(NodeType.IDENTIFIER, 63, 69);
 			expected.allocateNode(NodeType.IDENTIFIER, 70, 76);
 			expected.allocateNode(NodeType.METHOD_REFERENCE, 70, 85);
@@ -519,7 +518,6 @@ public class MethodReferenceParserTest
 			expected.allocateClassDeclaration(0, 64, new TypeDeclarationAttribute("Stream"));
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 92, 98);
 			expected.allocateParameterDeclaration(92, 105, new ParameterAttribute("stream", false, false, false));
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 112, 122);
 			expected.allocateNode(NodeType.IDENTIFIER, 112, 118);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 112, 122);
 			expected.allocateNode(NodeType.IDENTIFIER, 123, 129);
@@ -570,7 +568,6 @@ public class MethodReferenceParserTest
 			expected.allocateClassDeclaration(0, 70, new TypeDeclarationAttribute("Stream"));
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 98, 104);
 			expected.allocateParameterDeclaration(98, 111, new ParameterAttribute("stream", false, false, false));
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 118, 131);
 			expected.allocateNode(NodeType.IDENTIFIER, 118, 124);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 118, 131);
 			expected.allocateNode(NodeType.IDENTIFIER, 132, 138);
@@ -796,7 +793,6 @@ public class MethodReferenceParserTest
 			expected.allocateClassDeclaration(0, 137, new TypeDeclarationAttribute("Stream"));
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 165, 171);
 			expected.allocateParameterDeclaration(165, 177, new ParameterAttribute("names", false, false, false));
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 184, 200);
 			expected.allocateNode(NodeType.IDENTIFIER, 184, 189);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 184, 200);
 			expected.allocateNode(NodeType.IDENTIFIER, 201, 207);
@@ -1036,7 +1032,6 @@ public class MethodReferenceParserTest
 			expected.allocateNode(NodeType.FIELD_ACCESS, 271, 282);
 			expected.allocateNode(NodeType.STRING_LITERAL, 283, 289);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 271, 290);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 294, 301);
 			expected.allocateNode(NodeType.IDENTIFIER, 294, 297);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 294, 301);
 			expected.allocateNode(NodeType.IDENTIFIER, 302, 308);
@@ -128,14 +128,12 @@ public final class MultiCatchParserTest
 		{
 			NodeArena actual = parser.getArena();
 			// Parser allocates nodes in post-order (children before parents)
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 55, 56);
 			expected.allocateNode(NodeType.IDENTIFIER, 55, 56);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 59, 60);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 55, 60);
 			expected.allocateNode(NodeType.BLOCK, 50, 65);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 75, 84);
 			expected.allocateParameterDeclaration(75, 86, new ParameterAttribute("e", false, false, false));
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 95, 96);
 			expected.allocateNode(NodeType.IDENTIFIER, 95, 96);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 99, 100);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 95, 100);
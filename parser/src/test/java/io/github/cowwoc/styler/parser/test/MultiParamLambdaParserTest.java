@@ -146,7 +146,6 @@ public final class MultiParamLambdaParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 34);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 34);
 			expected.allocateNode(NodeType.IDENTIFIER, 45, 52);
 			expected.allocateNode(NodeType.IDENTIFIER, 53, 54);
@@ -241,14 +241,12 @@ public class OldStyleSwitchCaseParserTest
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 72, 73);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 83, 84);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 94, 95);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 101, 119);
 			expected.allocateNode(NodeType.IDENTIFIER, 101, 107);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 101, 111);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 101, 119);
 			expected.allocateNode(NodeType.STRING_LITERAL, 120, 127);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 101, 128);
 			expected.allocateNode(NodeType.BREAK_STATEMENT, 134, 140);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 157, 175);
 			expected.allocateNode(NodeType.IDENTIFIER, 157, 163);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 157, 167);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 157, 175);
@@ -303,7 +301,6 @@ public class OldStyleSwitchCaseParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 43, 44);
 			// case 1: bar(); /* fall through */
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 58, 59);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 65, 68);
 			expected.allocateNode(NodeType.IDENTIFIER, 65, 68);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 65, 70);
 			expected.allocateNode(NodeType.BLOCK_COMMENT, 72, 90);
@@ -31,7 +31,6 @@ public class PackageAnnotationParserTest
 			NodeArena actual = parser.getArena();
 			// Parser allocates nodes in post-order (children before parents)
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 11);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 11);
 			expected.allocateNode(NodeType.ANNOTATION, 0, 11);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 20, 31);
 			expected.allocatePackageDeclaration(0, 32, new PackageAttribute("com.example"));
@@ -56,7 +55,6 @@ public class PackageAnnotationParserTest
 			NodeArena actual = parser.getArena();
 			// Parser allocates nodes in post-order (children before parents)
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 17);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 17);
 			expected.allocateNode(NodeType.STRING_LITERAL, 18, 29);
 			expected.allocateNode(NodeType.ANNOTATION, 0, 30);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 39, 50);
@@ -85,10 +83,7 @@ public class PackageAnnotationParserTest
 			// Parser allocates nodes in post-order (children before parents)
 			// Qualified names first pass
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 11);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 13, 29);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 44, 53);
 			// @Deprecated
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 11);
 			expected.allocateNode(NodeType.ANNOTATION, 0, 11);
 			// @SuppressWarnings("unchecked")
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 13, 29);
@@ -122,7 +117,6 @@ public class PackageAnnotationParserTest
 			NodeArena actual = parser.getArena();
 			// Parser allocates nodes in post-order (children before parents)
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 27);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 27);
 			expected.allocateNode(NodeType.STRING_LITERAL, 28, 34);
 			expected.allocateNode(NodeType.ANNOTATION, 0, 35);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 44, 55);
@@ -148,7 +142,6 @@ public class PackageAnnotationParserTest
 			NodeArena actual = parser.getArena();
 			// Parser allocates nodes in post-order (children before parents)
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 17);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 17);
 			expected.allocateNode(NodeType.STRING_LITERAL, 19, 30);
 			expected.allocateNode(NodeType.STRING_LITERAL, 32, 42);
 			expected.allocateNode(NodeType.ARRAY_INITIALIZER, 18, 43);
@@ -179,9 +172,7 @@ public class PackageAnnotationParserTest
 			// Parser allocates nodes in post-order (children before parents)
 			// Qualified names first pass
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 11);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 54, 70);
 			// @Deprecated
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 11);
 			expected.allocateNode(NodeType.ANNOTATION, 0, 11);
 			// // comment
 			expected.allocateNode(NodeType.LINE_COMMENT, 12, 52);
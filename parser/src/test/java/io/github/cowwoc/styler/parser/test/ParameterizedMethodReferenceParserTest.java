@@ -265,8 +265,6 @@ public class ParameterizedMethodReferenceParserTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.IDENTIFIER, 26, 27);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 31);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 30, 31);
 			expected.allocateNode(NodeType.IDENTIFIER, 30, 31);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 26, 31);
 			expected.allocateNode(NodeType.FIELD_DECLARATION, 14, 32);
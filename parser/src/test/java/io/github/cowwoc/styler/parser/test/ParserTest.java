@@ -8,6 +8,11 @@ import io.github.cowwoc.styler.parser.ParseResult;
 import io.github.cowwoc.styler.parser.Parser;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 import static io.github.cowwoc.styler.parser.test.ParserTestUtils.parse;
 
@@ -350,7 +355,6 @@ public class ParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 31);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 31);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 28, 33);
 			expected.allocateNode(NodeType.BLOCK, 24, 37);
@@ -382,7 +386,6 @@ public class ParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 31);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 31);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 32, 33);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 35, 36);
@@ -482,7 +485,6 @@ public class ParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 29);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 29);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 32, 33);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 28, 33);
@@ -515,7 +517,6 @@ public class ParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 29);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 29);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 33, 34);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 28, 34);
@@ -626,4 +627,45 @@ public class ParserTest
 			}
 		}
 	}
+
+	/**
+	 * Verifies that a file that is not valid UTF-8 is rejected.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testFromPathRejectsMalformedUtf8() throws IOException
+	{
+		Path file = Files.createTempFile("Malformed", ".java");
+		try
+		{
+			Files.write(file, new byte[]{'c', 'l', 'a', 's', 's', ' ', (byte) 0xC3, 'A', ' ', '{', '}'});
+			Parser.fromPath(file).close();
+		}
+		finally
+		{
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Verifies that a {@code U+FFFD} character that is encoded correctly in the file is accepted.
+	 */
+	@Test
+	public void testFromPathAcceptsReplacementCharacter() throws IOException
+	{
+		Path file = Files.createTempFile("Replacement", ".java");
+		try
+		{
+			String source = "class A { String s = \"\uFFFD\"; }";
+			Files.writeString(file, source, StandardCharsets.UTF_8);
+			try (Parser parser = Parser.fromPath(file))
+			{
+				requireThat(parser.getSourceCode(), "parser.getSourceCode()").isEqualTo(source);
+				requireThat(parser.parse(), "parser.parse()").isInstanceOf(ParseResult.Success.class);
+			}
+		}
+		finally
+		{
+			Files.delete(file);
+		}
+	}
 }
@@ -43,7 +43,6 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.IDENTIFIER, 61, 64);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 76, 82);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 61, 84);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 93, 111);
 			expected.allocateNode(NodeType.IDENTIFIER, 93, 99);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 93, 103);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 93, 111);
@@ -90,7 +89,6 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 91, 97);
 			expected.allocateNode(NodeType.PARAMETERIZED_TYPE, 76, 98);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 61, 103);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 112, 130);
 			expected.allocateNode(NodeType.IDENTIFIER, 112, 118);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 112, 122);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 112, 130);
@@ -136,7 +134,6 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.IDENTIFIER, 61, 64);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 76, 95);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 61, 101);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 110, 128);
 			expected.allocateNode(NodeType.IDENTIFIER, 110, 116);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 110, 120);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 110, 128);
@@ -182,7 +179,6 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.IDENTIFIER, 61, 64);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 76, 83);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 61, 85);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 94, 112);
 			expected.allocateNode(NodeType.IDENTIFIER, 94, 100);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 94, 104);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 94, 112);
@@ -234,7 +230,6 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 101, 102);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 88, 102);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 61, 102);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 111, 129);
 			expected.allocateNode(NodeType.IDENTIFIER, 111, 117);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 111, 121);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 111, 129);
@@ -278,7 +273,6 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.IDENTIFIER, 61, 64);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 76, 82);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 61, 88);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 97, 115);
 			expected.allocateNode(NodeType.IDENTIFIER, 97, 103);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 97, 107);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 97, 115);
@@ -324,7 +318,6 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 78, 84);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 63, 86);
 			expected.allocateNode(NodeType.UNARY_EXPRESSION, 61, 86);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 96, 114);
 			expected.allocateNode(NodeType.IDENTIFIER, 96, 102);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 96, 106);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 96, 114);
@@ -370,7 +363,6 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.IDENTIFIER, 99, 100);
 			expected.allocateNode(NodeType.STRING_LITERAL, 103, 112);
 			expected.allocateNode(NodeType.CONDITIONAL_EXPRESSION, 73, 112);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 116, 134);
 			expected.allocateNode(NodeType.IDENTIFIER, 116, 122);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 116, 126);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 116, 134);
@@ -418,7 +410,6 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 119, 126);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 103, 128);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 75, 128);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 137, 155);
 			expected.allocateNode(NodeType.IDENTIFIER, 137, 143);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 137, 147);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 137, 155);
@@ -464,7 +455,6 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.IDENTIFIER, 61, 64);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 76, 82);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 61, 82);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 91, 109);
 			expected.allocateNode(NodeType.IDENTIFIER, 91, 97);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 91, 101);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 91, 109);
@@ -515,13 +505,11 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.IDENTIFIER, 82, 85);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 97, 103);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 82, 105);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 114, 132);
 			expected.allocateNode(NodeType.IDENTIFIER, 114, 120);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 114, 124);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 114, 132);
 			expected.allocateNode(NodeType.IDENTIFIER, 133, 134);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 114, 135);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 140, 143);
 			expected.allocateNode(NodeType.IDENTIFIER, 140, 143);
 			expected.allocateNode(NodeType.IDENTIFIER, 146, 155);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 146, 157);
@@ -568,7 +556,6 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.IDENTIFIER, 61, 64);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 82, 88);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 61, 90);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 99, 117);
 			expected.allocateNode(NodeType.IDENTIFIER, 99, 105);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 99, 109);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 99, 117);
@@ -615,7 +602,6 @@ public class PatternMatchingInstanceofTest
 			expected.allocateNode(NodeType.WILDCARD_TYPE, 89, 90);
 			expected.allocateNode(NodeType.PARAMETERIZED_TYPE, 82, 91);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 61, 95);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 104, 122);
 			expected.allocateNode(NodeType.IDENTIFIER, 104, 110);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 104, 114);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 104, 122);
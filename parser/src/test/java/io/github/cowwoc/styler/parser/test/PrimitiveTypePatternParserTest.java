@@ -42,7 +42,6 @@ public class PrimitiveTypePatternParserTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 44, 50);
 			expected.allocateParameterDeclaration(44, 54, new ParameterAttribute("obj", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 78, 81);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 119, 137);
 			expected.allocateNode(NodeType.IDENTIFIER, 119, 125);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 119, 129);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 119, 137);
@@ -85,7 +84,6 @@ public class PrimitiveTypePatternParserTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 44, 50);
 			expected.allocateParameterDeclaration(44, 54, new ParameterAttribute("obj", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 78, 81);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 120, 138);
 			expected.allocateNode(NodeType.IDENTIFIER, 120, 126);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 120, 130);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 120, 138);
@@ -128,7 +126,6 @@ public class PrimitiveTypePatternParserTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 44, 50);
 			expected.allocateParameterDeclaration(44, 54, new ParameterAttribute("obj", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 78, 81);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 122, 140);
 			expected.allocateNode(NodeType.IDENTIFIER, 122, 128);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 122, 132);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 122, 140);
@@ -176,7 +173,6 @@ public class PrimitiveTypePatternParserTest
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 125, 126);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 121, 126);
 			// System.out.println("positive")
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 130, 148);
 			expected.allocateNode(NodeType.IDENTIFIER, 130, 136);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 130, 140);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 130, 148);
@@ -221,7 +217,6 @@ public class PrimitiveTypePatternParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 74, 77);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 74, 94);
 			// System.out.println(i) inside if block
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 118, 136);
 			expected.allocateNode(NodeType.IDENTIFIER, 118, 124);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 118, 128);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 118, 136);
@@ -264,7 +259,6 @@ public class PrimitiveTypePatternParserTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 44, 50);
 			expected.allocateParameterDeclaration(44, 54, new ParameterAttribute("obj", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 78, 81);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 119, 137);
 			expected.allocateNode(NodeType.IDENTIFIER, 119, 125);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 119, 129);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 119, 137);
@@ -364,7 +358,6 @@ public class PrimitiveTypePatternParserTest
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 135, 144);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 124, 144);
 			// System.out.println("valid range")
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 148, 166);
 			expected.allocateNode(NodeType.IDENTIFIER, 148, 154);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 148, 158);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 148, 166);
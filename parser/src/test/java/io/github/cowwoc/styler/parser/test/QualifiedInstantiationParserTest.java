@@ -34,7 +34,6 @@ public final class QualifiedInstantiationParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 34);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 33);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 38, 43);
 			expected.allocateNode(NodeType.OBJECT_CREATION, 28, 45);
@@ -66,7 +65,6 @@ public final class QualifiedInstantiationParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 34);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 33);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 38, 43);
 			expected.allocateNode(NodeType.OBJECT_CREATION, 28, 45);
@@ -100,7 +98,6 @@ public final class QualifiedInstantiationParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 36);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 36);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 28, 38);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 43, 48);
@@ -133,7 +130,6 @@ public final class QualifiedInstantiationParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 34);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 33);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 38, 43);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 44, 45);
@@ -167,7 +163,6 @@ public final class QualifiedInstantiationParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 34);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 33);
 			expected.allocateNode(NodeType.THIS_EXPRESSION, 28, 38);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 43, 48);
@@ -202,7 +197,6 @@ public final class QualifiedInstantiationParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 34);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 33);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 38, 43);
 			expected.allocateNode(NodeType.OBJECT_CREATION, 28, 53);
@@ -84,7 +84,6 @@ public final class QualifiedThisSuperParserTest
 			expected.allocateNode(NodeType.METHOD_DECLARATION, 16, 35);
 			expected.allocateClassDeclaration(0, 37, new TypeDeclarationAttribute("Parent"));
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 59, 65);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 107, 113);
 			expected.allocateNode(NodeType.IDENTIFIER, 107, 112);
 			expected.allocateNode(NodeType.SUPER_EXPRESSION, 107, 118);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 107, 125);
@@ -163,7 +162,6 @@ public final class QualifiedThisSuperParserTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.FIELD_DECLARATION, 32, 45);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 70, 75);
 			expected.allocateNode(NodeType.IDENTIFIER, 70, 75);
 			expected.allocateNode(NodeType.IDENTIFIER, 78, 83);
 			expected.allocateNode(NodeType.THIS_EXPRESSION, 78, 88);
@@ -211,7 +209,6 @@ public final class QualifiedThisSuperParserTest
 			expected.allocateNode(NodeType.METHOD_DECLARATION, 16, 35);
 			expected.allocateClassDeclaration(0, 37, new TypeDeclarationAttribute("Parent"));
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 59, 65);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 107, 113);
 			expected.allocateNode(NodeType.IDENTIFIER, 107, 112);
 			expected.allocateNode(NodeType.SUPER_EXPRESSION, 107, 118);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 107, 125);
@@ -336,7 +333,6 @@ public final class QualifiedThisSuperParserTest
 			expected.allocateParameterDeclaration(27, 37, new ParameterAttribute("obj", false, false, false));
 			expected.allocateNode(NodeType.BLOCK, 40, 44);
 			expected.allocateNode(NodeType.METHOD_DECLARATION, 15, 44);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 85, 91);
 			expected.allocateNode(NodeType.IDENTIFIER, 85, 91);
 			expected.allocateNode(NodeType.IDENTIFIER, 92, 97);
 			expected.allocateNode(NodeType.THIS_EXPRESSION, 92, 102);
@@ -456,7 +452,6 @@ public final class QualifiedThisSuperParserTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.FIELD_DECLARATION, 15, 31);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 66, 74);
 			expected.allocateNode(NodeType.IDENTIFIER, 66, 74);
 			expected.allocateNode(NodeType.IDENTIFIER, 77, 82);
 			expected.allocateNode(NodeType.THIS_EXPRESSION, 77, 87);
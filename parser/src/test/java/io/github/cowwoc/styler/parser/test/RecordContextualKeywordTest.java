@@ -123,7 +123,6 @@ public final class RecordContextualKeywordTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 31, 41);
 			expected.allocateNode(NodeType.IDENTIFIER, 31, 37);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 31, 41);
 			expected.allocateNode(NodeType.STRING_LITERAL, 42, 47);
@@ -45,7 +45,6 @@ public class RecordPatternParserTest
 			expected.allocateParameterDeclaration(41, 51, new ParameterAttribute("obj", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 66, 69);
 			expected.allocateNode(NodeType.RECORD_PATTERN, 83, 90);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 94, 112);
 			expected.allocateNode(NodeType.IDENTIFIER, 94, 100);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 94, 104);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 94, 112);
@@ -89,7 +88,6 @@ public class RecordPatternParserTest
 			expected.allocateParameterDeclaration(41, 51, new ParameterAttribute("obj", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 66, 69);
 			expected.allocateNode(NodeType.RECORD_PATTERN, 83, 97);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 101, 119);
 			expected.allocateNode(NodeType.IDENTIFIER, 101, 107);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 101, 111);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 101, 119);
@@ -133,7 +131,6 @@ public class RecordPatternParserTest
 			expected.allocateParameterDeclaration(41, 51, new ParameterAttribute("obj", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 66, 69);
 			expected.allocateNode(NodeType.RECORD_PATTERN, 83, 102);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 106, 124);
 			expected.allocateNode(NodeType.IDENTIFIER, 106, 112);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 106, 116);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 106, 124);
@@ -270,7 +267,6 @@ public class RecordPatternParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 66, 69);
 			expected.allocateNode(NodeType.RECORD_PATTERN, 87, 106);
 			expected.allocateNode(NodeType.RECORD_PATTERN, 83, 107);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 111, 129);
 			expected.allocateNode(NodeType.IDENTIFIER, 111, 117);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 111, 121);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 111, 129);
@@ -723,7 +719,6 @@ public class RecordPatternParserTest
 			expected.allocateParameterDeclaration(41, 51, new ParameterAttribute("obj", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 66, 69);
 			expected.allocateNode(NodeType.RECORD_PATTERN, 83, 102);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 108, 126);
 			expected.allocateNode(NodeType.IDENTIFIER, 108, 114);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 108, 118);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 108, 126);
@@ -737,7 +732,6 @@ public class RecordPatternParserTest
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 108, 152);
 			expected.allocateNode(NodeType.BREAK_STATEMENT, 158, 164);
 			expected.allocateNode(NodeType.RECORD_PATTERN, 173, 191);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 197, 215);
 			expected.allocateNode(NodeType.IDENTIFIER, 197, 203);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 197, 207);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 197, 215);
@@ -746,7 +740,6 @@ public class RecordPatternParserTest
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 216, 235);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 197, 236);
 			expected.allocateNode(NodeType.BREAK_STATEMENT, 242, 248);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 265, 283);
 			expected.allocateNode(NodeType.IDENTIFIER, 265, 271);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 265, 275);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 265, 283);
@@ -1,8 +1,10 @@
 package io.github.cowwoc.styler.parser.test;
 
+import io.github.cowwoc.styler.ast.core.NodeArena;
 import io.github.cowwoc.styler.ast.core.SecurityConfig;
 import io.github.cowwoc.styler.parser.ParseResult;
 import io.github.cowwoc.styler.parser.Parser;
+import io.github.cowwoc.styler.security.CancellationToken;
 import org.testng.annotations.Test;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
@@ -134,4 +136,43 @@ public class SecurityTest
 			requireThat(parser.getArena().getNodeCount(), "parser.getArena().getNodeCount()").isPositive();
 		}
 	}
+
+	/**
+	 * SEC-006: Validates that a parse stops once its cancellation token is cancelled.
+	 */
+	@Test
+	public void testCancelledParsingFails()
+	{
+		CancellationToken cancellation = new CancellationToken();
+		cancellation.cancel();
+		try (NodeArena arena = new NodeArena();
+			Parser parser = new Parser("class Test { void m() { int x = 1; } }", arena, cancellation))
+		{
+			ParseResult result = parser.parse();
+			requireThat(result, "result").isInstanceOf(ParseResult.Failure.class);
+			ParseResult.Failure failure = (ParseResult.Failure) result;
+			requireThat(failure.errors(), "errors").size().isEqualTo(1);
+			requireThat(failure.getErrorMessage(), "message").contains("Parsing cancelled");
+		}
+	}
+
+	/**
+	 * SEC-012: Validates that a nesting depth limit exceeded while speculatively parsing a cast is reported,
+	 * instead of being mistaken for a parenthesized expression that is not a cast.
+	 */
+	@Test
+	public void testDepthLimitInsideCastIsReported()
+	{
+		int nesting = SecurityConfig.MAX_NODE_DEPTH + 20;
+		String annotation = "@A(" + "(".repeat(nesting) + "1" + ")".repeat(nesting) + ")";
+		String source = "class Test { void m() { Object x = (" + annotation + " X) y; } }";
+		try (Parser parser = new Parser(source))
+		{
+			ParseResult result = parser.parse();
+			requireThat(result, "result").isInstanceOf(ParseResult.Failure.class);
+			ParseResult.Failure failure = (ParseResult.Failure) result;
+			requireThat(failure.errors(), "errors").size().isEqualTo(1);
+			requireThat(failure.getErrorMessage(), "message").contains("Maximum node depth exceeded");
+		}
+	}
 }
@@ -41,7 +41,6 @@ public class StatementParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 48, 49);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 52, 53);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 48, 53);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 62, 63);
 			expected.allocateNode(NodeType.IDENTIFIER, 62, 63);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 66, 67);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 62, 67);
@@ -85,12 +84,10 @@ public class StatementParserTest
 			expected.allocateNode(NodeType.IDENTIFIER, 48, 49);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 52, 53);
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 48, 53);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 62, 63);
 			expected.allocateNode(NodeType.IDENTIFIER, 62, 63);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 66, 67);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 62, 67);
 			expected.allocateNode(NodeType.BLOCK, 57, 72);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 87, 88);
 			expected.allocateNode(NodeType.IDENTIFIER, 87, 88);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 91, 92);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 87, 92);
@@ -133,7 +130,6 @@ public class StatementParserTest
 			expected.allocateNode(NodeType.BINARY_EXPRESSION, 60, 66);
 			expected.allocateNode(NodeType.IDENTIFIER, 70, 71);
 			expected.allocateNode(NodeType.UNARY_EXPRESSION, 68, 71);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 80, 81);
 			expected.allocateNode(NodeType.IDENTIFIER, 80, 81);
 			expected.allocateNode(NodeType.IDENTIFIER, 84, 85);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 80, 85);
@@ -172,7 +168,6 @@ public class StatementParserTest
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 49, 55);
 			expected.allocateNode(NodeType.IDENTIFIER, 60, 64);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 73, 74);
 			expected.allocateNode(NodeType.IDENTIFIER, 73, 74);
 			expected.allocateNode(NodeType.IDENTIFIER, 77, 78);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 73, 78);
@@ -295,18 +290,15 @@ public class StatementParserTest
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.IDENTIFIER, 52, 53);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 67, 68);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 74, 75);
 			expected.allocateNode(NodeType.IDENTIFIER, 74, 75);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 78, 79);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 74, 79);
 			expected.allocateNode(NodeType.BREAK_STATEMENT, 85, 91);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 100, 101);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 107, 108);
 			expected.allocateNode(NodeType.IDENTIFIER, 107, 108);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 111, 112);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 107, 112);
 			expected.allocateNode(NodeType.BREAK_STATEMENT, 118, 124);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 141, 142);
 			expected.allocateNode(NodeType.IDENTIFIER, 141, 142);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 145, 146);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 141, 146);
@@ -407,14 +399,12 @@ public class StatementParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 55, 56);
 			expected.allocateNode(NodeType.IDENTIFIER, 55, 56);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 59, 60);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 55, 60);
 			expected.allocateNode(NodeType.BLOCK, 50, 65);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 75, 84);
 			expected.allocateParameterDeclaration(75, 86, new ParameterAttribute("e", false, false, false));
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 95, 96);
 			expected.allocateNode(NodeType.IDENTIFIER, 95, 96);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 99, 100);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 95, 100);
@@ -456,12 +446,10 @@ public class StatementParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 55, 56);
 			expected.allocateNode(NodeType.IDENTIFIER, 55, 56);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 59, 60);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 55, 60);
 			expected.allocateNode(NodeType.BLOCK, 50, 65);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 83, 84);
 			expected.allocateNode(NodeType.IDENTIFIER, 83, 84);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 87, 88);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 83, 88);
@@ -502,7 +490,6 @@ public class StatementParserTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 49, 55);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 64, 74);
 			expected.allocateNode(NodeType.OBJECT_CREATION, 60, 76);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 85, 86);
 			expected.allocateNode(NodeType.IDENTIFIER, 85, 86);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 89, 90);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 85, 90);
@@ -540,7 +527,6 @@ public class StatementParserTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.IDENTIFIER, 58, 62);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 71, 72);
 			expected.allocateNode(NodeType.IDENTIFIER, 71, 72);
 			expected.allocateNode(NodeType.INTEGER_LITERAL, 75, 76);
 			expected.allocateNode(NodeType.ASSIGNMENT_EXPRESSION, 71, 76);
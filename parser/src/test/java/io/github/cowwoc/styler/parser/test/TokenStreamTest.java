@@ -0,0 +1,79 @@
+package io.github.cowwoc.styler.parser.test;
+
+import io.github.cowwoc.styler.parser.Lexer;
+import io.github.cowwoc.styler.parser.Token;
+import io.github.cowwoc.styler.parser.TokenStream;
+import io.github.cowwoc.styler.parser.TokenType;
+import org.testng.annotations.Test;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Thread-safe tests for TokenStream.
+ */
+public class TokenStreamTest
+{
+	/**
+	 * Verifies that the column accessors agree with the tokens returned by {@link Lexer#nextToken()}.
+	 */
+	@Test
+	public void accessorsMatchNextToken()
+	{
+		String source = """
+			/** Javadoc */
+			public class Test
+			{
+				String s = "text"; // comment
+				long x = 0x1FL >>> 2;
+			}
+			""";
+		TokenStream tokens = new Lexer(source).tokenize();
+		Lexer lexer = new Lexer(source);
+		for (int i = 0; i < tokens.size(); ++i)
+		{
+			Token expected = lexer.nextToken();
+			requireThat(tokens.getType(i), "tokens.getType(" + i + ")").isEqualTo(expected.type());
+			requireThat(tokens.getStart(i), "tokens.getStart(" + i + ")").isEqualTo(expected.start());
+			requireThat(tokens.getEnd(i), "tokens.getEnd(" + i + ")").isEqualTo(expected.end());
+			requireThat(tokens.getText(i), "tokens.getText(" + i + ")").isEqualTo(expected.text());
+			requireThat(tokens.get(i), "tokens.get(" + i + ")").isEqualTo(expected);
+		}
+		requireThat(tokens.getType(tokens.size() - 1), "lastType").isEqualTo(TokenType.END_OF_FILE);
+	}
+
+	/**
+	 * Verifies that decoded text is only substituted for tokens that contain Unicode escapes.
+	 */
+	@Test
+	public void decodedTextResolvesUnicodeEscapes()
+	{
+		TokenStream tokens = new Lexer("int \\u0061b = ab;").tokenize();
+
+		requireThat(tokens.getText(1), "tokens.getText(1)").isEqualTo("\\u0061b");
+		requireThat(tokens.getDecodedText(1), "tokens.getDecodedText(1)").isEqualTo("ab");
+		requireThat(tokens.getDecodedText(3), "tokens.getDecodedText(3)").isEqualTo("ab");
+		requireThat(tokens.get(1).decodedText(), "tokens.get(1).decodedText()").isEqualTo("ab");
+	}
+
+	/**
+	 * Verifies that the END_OF_FILE token has no text.
+	 */
+	@Test
+	public void endOfFileHasNoText()
+	{
+		TokenStream tokens = new Lexer("").tokenize();
+
+		requireThat(tokens.size(), "tokens.size()").isEqualTo(1);
+		requireThat(tokens.getText(0), "tokens.getText(0)").isNull();
+		requireThat(tokens.getDecodedText(0), "tokens.getDecodedText(0)").isNull();
+	}
+
+	/**
+	 * Verifies that out-of-range indexes are rejected.
+	 */
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void indexOutOfBounds()
+	{
+		new Lexer("x").tokenize().getType(2);
+	}
+}
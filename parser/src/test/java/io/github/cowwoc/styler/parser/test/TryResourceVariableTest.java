@@ -41,7 +41,6 @@ public class TryResourceVariableTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 37, 50);
 			expected.allocateParameterDeclaration(37, 59, new ParameterAttribute("resource", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 71, 79);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 88, 94);
 			expected.allocateNode(NodeType.IDENTIFIER, 88, 94);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 88, 96);
 			expected.allocateNode(NodeType.BLOCK, 83, 101);
@@ -83,7 +82,6 @@ public class TryResourceVariableTest
 			expected.allocateParameterDeclaration(60, 81, new ParameterAttribute("stream2", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 93, 100);
 			expected.allocateNode(NodeType.IDENTIFIER, 102, 109);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 118, 124);
 			expected.allocateNode(NodeType.IDENTIFIER, 118, 124);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 118, 126);
 			expected.allocateNode(NodeType.BLOCK, 113, 131);
@@ -126,7 +124,6 @@ public class TryResourceVariableTest
 			expected.allocateNode(NodeType.NULL_LITERAL, 132, 136);
 			expected.allocateNode(NodeType.OBJECT_CREATION, 105, 137);
 			expected.allocateNode(NodeType.IDENTIFIER, 139, 147);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 156, 167);
 			expected.allocateNode(NodeType.IDENTIFIER, 156, 158);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 156, 167);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 156, 169);
@@ -170,7 +167,6 @@ public class TryResourceVariableTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 119, 141);
 			expected.allocateNode(NodeType.NULL_LITERAL, 142, 146);
 			expected.allocateNode(NodeType.OBJECT_CREATION, 115, 147);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 156, 167);
 			expected.allocateNode(NodeType.IDENTIFIER, 156, 158);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 156, 167);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 156, 169);
@@ -214,13 +210,11 @@ public class TryResourceVariableTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 37, 50);
 			expected.allocateParameterDeclaration(37, 59, new ParameterAttribute("resource", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 71, 79);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 88, 94);
 			expected.allocateNode(NodeType.IDENTIFIER, 88, 94);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 88, 96);
 			expected.allocateNode(NodeType.BLOCK, 83, 101);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 111, 120);
 			expected.allocateParameterDeclaration(111, 122, new ParameterAttribute("e", false, false, false));
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 131, 142);
 			expected.allocateNode(NodeType.IDENTIFIER, 131, 142);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 131, 144);
 			expected.allocateNode(NodeType.BLOCK, 126, 149);
@@ -264,11 +258,9 @@ public class TryResourceVariableTest
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 37, 50);
 			expected.allocateParameterDeclaration(37, 59, new ParameterAttribute("resource", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 71, 79);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 88, 94);
 			expected.allocateNode(NodeType.IDENTIFIER, 88, 94);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 88, 96);
 			expected.allocateNode(NodeType.BLOCK, 83, 101);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 119, 126);
 			expected.allocateNode(NodeType.IDENTIFIER, 119, 126);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 119, 128);
 			expected.allocateNode(NodeType.BLOCK, 114, 133);
@@ -311,7 +303,6 @@ public class TryResourceVariableTest
 			expected.allocateParameterDeclaration(55, 71, new ParameterAttribute("r2", false, false, false));
 			expected.allocateNode(NodeType.IDENTIFIER, 83, 85);
 			expected.allocateNode(NodeType.IDENTIFIER, 87, 89);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 99, 105);
 			expected.allocateNode(NodeType.IDENTIFIER, 99, 105);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 99, 107);
 			expected.allocateNode(NodeType.BLOCK, 94, 112);
@@ -356,7 +347,6 @@ public class TryResourceVariableTest
 			expected.allocateNode(NodeType.IDENTIFIER, 98, 99);
 			expected.allocateNode(NodeType.IDENTIFIER, 101, 102);
 			expected.allocateNode(NodeType.IDENTIFIER, 104, 105);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 114, 120);
 			expected.allocateNode(NodeType.IDENTIFIER, 114, 120);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 114, 122);
 			expected.allocateNode(NodeType.BLOCK, 109, 127);
@@ -399,7 +389,6 @@ public class TryResourceVariableTest
 			expected.allocateNode(NodeType.IDENTIFIER, 97, 105);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 107, 121);
 			expected.allocateNode(NodeType.NULL_LITERAL, 127, 131);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 140, 146);
 			expected.allocateNode(NodeType.IDENTIFIER, 140, 146);
 			expected.allocateNode(NodeType.METHOD_INVOCATION, 140, 148);
 			expected.allocateNode(NodeType.BLOCK, 135, 153);
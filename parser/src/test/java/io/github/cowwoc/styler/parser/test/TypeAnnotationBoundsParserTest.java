@@ -381,7 +381,6 @@ public class TypeAnnotationBoundsParserTest
 		{
 			NodeArena actual = parser.getArena();
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 11);
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 1, 11);
 			expected.allocateNode(NodeType.ANNOTATION, 0, 11);
 			expected.allocateClassDeclaration(12, 30, new TypeDeclarationAttribute("OldClass"));
 			expected.allocateNode(NodeType.COMPILATION_UNIT, 0, 31);
@@ -33,7 +33,6 @@ public final class TypedLambdaParameterParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 34);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 34);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 36, 43);
 			expected.allocateNode(NodeType.IDENTIFIER, 54, 61);
@@ -108,7 +107,6 @@ public final class TypedLambdaParameterParserTest
 			NodeArena expected = new NodeArena())
 		{
 			NodeArena actual = parser.getArena();
-			expected.allocateNode(NodeType.QUALIFIED_NAME, 28, 47);
 			expected.allocateNode(NodeType.IDENTIFIER, 28, 35);
 			expected.allocateNode(NodeType.FIELD_ACCESS, 28, 47);
 			expected.allocateNode(NodeType.QUALIFIED_NAME, 49, 54);
@@ -17,6 +17,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import io.github.cowwoc.styler.ast.core.LineMap;
+import io.github.cowwoc.styler.ast.core.NodeArena;
 import io.github.cowwoc.styler.formatter.ClasspathScanner;
 import io.github.cowwoc.styler.formatter.FormattingConfiguration;
 import io.github.cowwoc.styler.formatter.FormattingRule;
@@ -27,13 +29,16 @@ import io.github.cowwoc.styler.formatter.linemapping.LineMapping;
 import io.github.cowwoc.styler.formatter.linemapping.internal.LineMappingBuilder;
 import io.github.cowwoc.styler.parser.ParseResult;
 import io.github.cowwoc.styler.parser.Parser;
+import io.github.cowwoc.styler.pipeline.internal.AstCache;
 import io.github.cowwoc.styler.pipeline.internal.CompilationValidator;
 import io.github.cowwoc.styler.pipeline.internal.DefaultTransformationContext;
 import io.github.cowwoc.styler.pipeline.internal.FormatResult;
+import io.github.cowwoc.styler.pipeline.internal.NodeArenaPool;
 import io.github.cowwoc.styler.pipeline.internal.ParsedData;
 import io.github.cowwoc.styler.pipeline.output.OutputFormat;
 import io.github.cowwoc.styler.pipeline.output.ViolationReport;
 import io.github.cowwoc.styler.pipeline.output.ViolationReportRenderer;
+import io.github.cowwoc.styler.security.CancellationToken;
 import io.github.cowwoc.styler.security.SecurityConfig;
 
 /**
@@ -71,9 +76,12 @@ import io.github.cowwoc.styler.security.SecurityConfig;
  * <p>
  * Memory Management:
  * <ul>
- *     <li>NodeArena created during parsing and retained in PipelineResult</li>
+ *     <li>Each file is parsed into a NodeArena borrowed from a pool that retains one arena per concurrent
+ *     worker</li>
+ *     <li>The arena is reset and returned to the pool before {@code processFile()} returns, so the AST is not
+ *     retained in PipelineResult</li>
  *     <li>Caller must use try-with-resources for automatic cleanup</li>
- *     <li>Zero GC pressure during processing (off-heap allocation)</li>
+ *     <li>Zero GC pressure during processing (off-heap allocation that is reused across files)</li>
  * </ul>
  */
 public final class FileProcessingPipeline implements AutoCloseable
@@ -84,6 +92,7 @@ public final class FileProcessingPipeline implements AutoCloseable
 	private final boolean validationOnly;
 	private final TypeResolutionConfig typeResolutionConfig;
 	private final ClasspathScanner classpathScanner;
+	private final NodeArenaPool arenaPool;
 	private final List<PipelineStage> stages;
 	private final AtomicBoolean closed = new AtomicBoolean();
 
@@ -96,6 +105,7 @@ public final class FileProcessingPipeline implements AutoCloseable
 	 * @param validationOnly {@code true} to only validate without applying fixes
 	 * @param typeResolutionConfig configuration for classpath and modulepath
 	 * @param classpathScanner the shared classpath scanner for type resolution
+	 * @param arenaPool the pool that the parse stage borrows arenas from
 	 * @param stages the pipeline stages in execution order
 	 * @throws NullPointerException if any of the parameters is {@code null}
 	 */
@@ -106,6 +116,7 @@ public final class FileProcessingPipeline implements AutoCloseable
 			boolean validationOnly,
 			TypeResolutionConfig typeResolutionConfig,
 			ClasspathScanner classpathScanner,
+			NodeArenaPool arenaPool,
 			List<PipelineStage> stages)
 	{
 		requireThat(securityConfig, "securityConfig").isNotNull();
@@ -113,6 +124,7 @@ public final class FileProcessingPipeline implements AutoCloseable
 		requireThat(formattingConfigs, "formattingConfigs").isNotNull();
 		requireThat(typeResolutionConfig, "typeResolutionConfig").isNotNull();
 		requireThat(classpathScanner, "classpathScanner").isNotNull();
+		requireThat(arenaPool, "arenaPool").isNotNull();
 		requireThat(stages, "stages").isNotNull();
 		this.securityConfig = securityConfig;
 		this.formattingRules = List.copyOf(formattingRules);
@@ -120,6 +132,7 @@ public final class FileProcessingPipeline implements AutoCloseable
 		this.validationOnly = validationOnly;
 		this.typeResolutionConfig = typeResolutionConfig;
 		this.classpathScanner = classpathScanner;
+		this.arenaPool = arenaPool;
 		this.stages = List.copyOf(stages);
 	}
 
@@ -223,16 +236,49 @@ public final class FileProcessingPipeline implements AutoCloseable
 		return typeNames;
 	}
 
+	/**
+	 * Returns the security configuration.
+	 *
+	 * @return the security configuration
+	 */
+	public SecurityConfig getSecurityConfig()
+	{
+		return securityConfig;
+	}
+
 	/**
 	 * Processes a single file through the pipeline.
+	 * <p>
+	 * Processing stops once the execution timeout from {@link #getSecurityConfig()} expires.
 	 *
 	 * @param filePath the path to the file to process
 	 * @return PipelineResult with processing outcome (should be used with try-with-resources)
 	 * @throws NullPointerException if {@code filePath} is {@code null}
 	 */
 	public PipelineResult processFile(Path filePath)
+	{
+		try (CancellationToken cancellation = new CancellationToken(securityConfig.executionTimeout()))
+		{
+			return processFile(filePath, cancellation);
+		}
+	}
+
+	/**
+	 * Processes a single file through the pipeline, stopping once a token is cancelled.
+	 * <p>
+	 * The parser and the formatting rules poll the token, so cancelling it from another thread fails the
+	 * current stage shortly afterwards. The token replaces the execution timeout from
+	 * {@link #getSecurityConfig()}.
+	 *
+	 * @param filePath     the path to the file to process
+	 * @param cancellation the token that stops processing of the file
+	 * @return PipelineResult with processing outcome (should be used with try-with-resources)
+	 * @throws NullPointerException if any of the arguments are {@code null}
+	 */
+	public PipelineResult processFile(Path filePath, CancellationToken cancellation)
 	{
 		requireThat(filePath, "filePath").isNotNull();
+		requireThat(cancellation, "cancellation").isNotNull();
 
 		Instant startTime = Instant.now();
 		List<StageResult> results = new ArrayList<>();
@@ -244,23 +290,36 @@ public final class FileProcessingPipeline implements AutoCloseable
 				formattingRules,
 				validationOnly,
 				typeResolutionConfig,
-				classpathScanner);
+				classpathScanner,
+				cancellation);
 
 		// Execute stages in sequence, passing data between them
 		Object previousStageData = null;
-		for (PipelineStage stage : stages)
+		try
 		{
-			StageResult result = stage.execute(context, previousStageData);
-			results.add(result);
+			for (PipelineStage stage : stages)
+			{
+				StageResult result = stage.execute(context, previousStageData);
+				results.add(result);
 
-			// Stop on failure (file-level isolation)
-			if (!result.isSuccess())
-				break;
+				// Stop on failure (file-level isolation)
+				if (!result.isSuccess())
+					break;
 
-			// Extract data from successful result for next stage
-			if (result instanceof StageResult.Success success)
+				// Extract data from successful result for next stage
+				if (result instanceof StageResult.Success success)
+				{
+					previousStageData = success.data();
+				}
+			}
+		}
+		finally
+		{
+			// The AST is not needed once the file has been formatted and validated
+			for (StageResult result : results)
 			{
-				previousStageData = success.data();
+				if (result instanceof StageResult.Success(ParsedData parsed))
+					arenaPool.release(parsed.arena());
 			}
 		}
 
@@ -274,7 +333,7 @@ public final class FileProcessingPipeline implements AutoCloseable
 				results,
 				processingTime,
 				overallSuccess,
-				null);  // Arena will be set by parse stage
+				null);  // The arena was returned to the pool above
 	}
 
 	/**
@@ -295,13 +354,16 @@ public final class FileProcessingPipeline implements AutoCloseable
 	}
 
 	/**
-	 * Closes the pipeline and releases the shared classpath scanner.
+	 * Closes the pipeline and releases the shared classpath scanner and pooled arenas.
 	 */
 	@Override
 	public void close()
 	{
 		if (closed.compareAndSet(false, true))
+		{
 			classpathScanner.close();
+			arenaPool.close();
+		}
 	}
 
 	/**
@@ -314,6 +376,7 @@ public final class FileProcessingPipeline implements AutoCloseable
 		private List<FormattingConfiguration> formattingConfigs = List.of();
 		private boolean validationOnly = true;
 		private TypeResolutionConfig typeResolutionConfig = TypeResolutionConfig.EMPTY;
+		private Path astCacheDirectory;
 
 		/**
 		 * Sets the security configuration.
@@ -384,6 +447,22 @@ public final class FileProcessingPipeline implements AutoCloseable
 			return this;
 		}
 
+		/**
+		 * Enables the on-disk AST cache.
+		 * <p>
+		 * Parsed ASTs are stored in the directory, keyed by the content of each file and the version of the
+		 * parser. Files whose AST is found in the cache are neither lexed nor parsed. The cache is disabled by
+		 * default.
+		 *
+		 * @param directory the directory to store the cache in, or {@code null} to disable the cache
+		 * @return this builder for chaining
+		 */
+		public Builder astCacheDirectory(Path directory)
+		{
+			this.astCacheDirectory = directory;
+			return this;
+		}
+
 		/**
 		 * Builds the FileProcessingPipeline with validated configuration.
 		 *
@@ -396,8 +475,14 @@ public final class FileProcessingPipeline implements AutoCloseable
 			requireThat(formattingConfigs, "formattingConfigs").isNotNull();
 
 			// Initialize stages (package-private implementations)
+			NodeArenaPool arenaPool = new NodeArenaPool(Runtime.getRuntime().availableProcessors());
 			List<PipelineStage> stages = new ArrayList<>();
-			stages.add(new ParseStage());
+			AstCache astCache;
+			if (astCacheDirectory == null)
+				astCache = null;
+			else
+				astCache = new AstCache(astCacheDirectory);
+			stages.add(new ParseStage(arenaPool, astCache));
 			stages.add(new FormatStage());
 			stages.add(new ValidationStage());
 			stages.add(new OutputStage());
@@ -412,6 +497,7 @@ public final class FileProcessingPipeline implements AutoCloseable
 					validationOnly,
 					typeResolutionConfig,
 					scanner,
+					arenaPool,
 					stages);
 		}
 	}
@@ -419,17 +505,35 @@ public final class FileProcessingPipeline implements AutoCloseable
 	/**
 	 * Parses source code files into an abstract syntax tree (AST) representation.
 	 * <p>
-	 * Receives {@code ProcessingContext} with a file path to parse. Creates a {@code NodeArena}
-	 * for AST storage and parses the content using the configured parser.
+	 * Receives {@code ProcessingContext} with a file path to parse. Borrows a {@code NodeArena} from the
+	 * pipeline's pool for AST storage and parses the content using the configured parser. The arena is returned
+	 * to the pool immediately if parsing fails, otherwise by the pipeline once the file has been processed.
 	 * <p>
 	 * Returns {@code StageResult.Success} containing the parsed AST data and {@code NodeArena}.
 	 * Returns {@code StageResult.Failure} when parsing fails (file not found, malformed syntax, etc.).
 	 * <p>
-	 * <b>Thread-safety</b>: This class is thread-safe. Instances are stateless and may be
-	 * invoked concurrently from multiple virtual threads processing different files.
+	 * <b>Thread-safety</b>: This class is thread-safe. Instances may be invoked concurrently from multiple
+	 * virtual threads processing different files.
 	 */
 	private static final class ParseStage extends AbstractPipelineStage
 	{
+		private final NodeArenaPool arenaPool;
+		private final AstCache astCache;
+
+		/**
+		 * Creates a new parse stage.
+		 *
+		 * @param arenaPool the pool to borrow arenas from
+		 * @param astCache  the cache of parsed ASTs, or {@code null} to always parse
+		 * @throws NullPointerException if {@code arenaPool} is {@code null}
+		 */
+		ParseStage(NodeArenaPool arenaPool, AstCache astCache)
+		{
+			requireThat(arenaPool, "arenaPool").isNotNull();
+			this.arenaPool = arenaPool;
+			this.astCache = astCache;
+		}
+
 		@Override
 		protected void setup(ProcessingContext context)
 		{
@@ -439,8 +543,9 @@ public final class FileProcessingPipeline implements AutoCloseable
 		/**
 		 * Parses the source file into an AST representation.
 		 * <p>
-		 * Reads the file from {@code context.filePath()}, creates a {@code NodeArena} for AST storage,
-		 * and parses the content using the configured parser.
+		 * Reads the file from {@code context.filePath()}, borrows a {@code NodeArena} for AST storage,
+		 * and parses the content using the configured parser. If the AST cache is enabled, the AST is loaded
+		 * from the cache instead when possible, and stored in it otherwise.
 		 *
 		 * @param context the processing context containing file path and configuration
 		 * @return {@code StageResult.Success} with the parsed AST data, or {@code StageResult.Failure}
@@ -459,17 +564,44 @@ public final class FileProcessingPipeline implements AutoCloseable
 			String sourceCode = Files.readString(context.filePath(), StandardCharsets.UTF_8);
 
 			// Parse source code
-			Parser parser = new Parser(sourceCode);
-			ParseResult result = parser.parse();
+			NodeArena arena = arenaPool.acquire();
+			try
+			{
+				String cacheKey = null;
+				if (astCache != null)
+				{
+					cacheKey = astCache.getKey(sourceCode);
+					ParsedData cached = astCache.load(cacheKey, sourceCode, context.filePath(), arena);
+					if (cached != null)
+						return new StageResult.Success(cached);
+				}
+
+				Parser parser = new Parser(sourceCode, arena, context.cancellation());
+				ParseResult result = parser.parse();
 
-			return switch (result)
+				return switch (result)
+				{
+					// Ownership of the arena passes to the pipeline, which releases it at the end of the file
+					case ParseResult.Success success ->
+					{
+						ParsedData parsed = new ParsedData(arena, success.rootNode(), sourceCode,
+							parser.getLineMap(), parser.getBracketMap(), context.filePath());
+						if (astCache != null)
+							astCache.store(cacheKey, parsed);
+						yield new StageResult.Success(parsed);
+					}
+					case ParseResult.Failure failure ->
+					{
+						arenaPool.release(arena);
+						yield new StageResult.Failure(failure.getErrorMessage(context.filePath()), null);
+					}
+				};
+			}
+			catch (RuntimeException | Error e)
 			{
-				case ParseResult.Success success ->
-					new StageResult.Success(new ParsedData(parser.getArena(), success.rootNode(), sourceCode,
-						context.filePath()));
-				case ParseResult.Failure failure ->
-					new StageResult.Failure(failure.getErrorMessage(context.filePath()), null);
-			};
+				arenaPool.release(arena);
+				throw e;
+			}
 		}
 
 		@Override
@@ -532,8 +664,11 @@ public final class FileProcessingPipeline implements AutoCloseable
 				parsed.arena(),
 				parsed.rootNode(),
 				parsed.sourceCode(),
+				parsed.lineMap(),
+				parsed.bracketMap(),
 				parsed.filePath(),
 				context.securityConfig(),
+				context.cancellation(),
 				context.typeResolutionConfig(),
 				context.classpathScanner());
 
@@ -555,13 +690,15 @@ public final class FileProcessingPipeline implements AutoCloseable
 			for (FormattingRule rule : rules)
 			{
 				currentSource = rule.format(txContext, configs);
-				// Recreate context with new source for next rule
+				// Recreate context with new source for next rule. Its bracket map is only computed if a rule uses it.
 				txContext = new DefaultTransformationContext(
 					parsed.arena(),
 					parsed.rootNode(),
 					currentSource,
+					LineMap.of(currentSource),
 					parsed.filePath(),
 					context.securityConfig(),
+					context.cancellation(),
 					context.typeResolutionConfig(),
 					context.classpathScanner());
 			}
@@ -20,7 +20,9 @@ import io.github.cowwoc.styler.pipeline.output.ViolationReport;
  * <p>
  * Memory Management:
  * <ul>
- *     <li>The pipeline retains the NodeArena for AST access by downstream code</li>
+ *     <li>A result may own a NodeArena for AST access by downstream code</li>
+ *     <li>{@link FileProcessingPipeline} returns its pooled arenas before returning a result, so its results
+ *     do not own an arena</li>
  *     <li>Callers MUST use try-with-resources to ensure cleanup</li>
  *     <li>Arena cleanup is automatic via close() method</li>
  * </ul>
@@ -10,6 +10,7 @@ import io.github.cowwoc.styler.formatter.FormattingConfiguration;
 import io.github.cowwoc.styler.formatter.FormattingRule;
 import io.github.cowwoc.styler.formatter.TypeResolutionConfig;
 import io.github.cowwoc.styler.pipeline.output.OutputFormat;
+import io.github.cowwoc.styler.security.CancellationToken;
 import io.github.cowwoc.styler.security.SecurityConfig;
 
 /**
@@ -25,7 +26,10 @@ import io.github.cowwoc.styler.security.SecurityConfig;
  *     securityConfig,
  *     List.of(lineLengthConfig, braceConfig),
  *     List.of(new LineLengthFormattingRule()),
- *     false  // not validation-only
+ *     false,  // not validation-only
+ *     typeResolutionConfig,
+ *     classpathScanner,
+ *     cancellation
  * );
  * </pre>
  *
@@ -37,6 +41,7 @@ import io.github.cowwoc.styler.security.SecurityConfig;
  * @param outputFormatOverride override for output format, or {@code null} for automatic detection
  * @param typeResolutionConfig configuration for type resolution during formatting
  * @param classpathScanner the shared classpath scanner for type resolution
+ * @param cancellation the token that stops processing of the file
  */
 public record ProcessingContext(
 		Path filePath,
@@ -46,7 +51,8 @@ public record ProcessingContext(
 		boolean validationOnly,
 		OutputFormat outputFormatOverride,
 		TypeResolutionConfig typeResolutionConfig,
-		ClasspathScanner classpathScanner)
+		ClasspathScanner classpathScanner,
+		CancellationToken cancellation)
 {
 	/**
 	 * Creates a ProcessingContext without output format override (uses automatic detection).
@@ -58,6 +64,7 @@ public record ProcessingContext(
 	 * @param validationOnly true to only validate without applying fixes
 	 * @param typeResolutionConfig configuration for type resolution
 	 * @param classpathScanner the shared classpath scanner
+	 * @param cancellation the token that stops processing of the file
 	 * @return a new ProcessingContext
 	 * @throws NullPointerException if any argument is {@code null}
 	 */
@@ -68,10 +75,11 @@ public record ProcessingContext(
 			List<FormattingRule> formattingRules,
 			boolean validationOnly,
 			TypeResolutionConfig typeResolutionConfig,
-			ClasspathScanner classpathScanner)
+			ClasspathScanner classpathScanner,
+			CancellationToken cancellation)
 	{
 		return new ProcessingContext(filePath, securityConfig, formattingConfigs, formattingRules,
-			validationOnly, null, typeResolutionConfig, classpathScanner);
+			validationOnly, null, typeResolutionConfig, classpathScanner, cancellation);
 	}
 
 	/**
@@ -85,6 +93,7 @@ public record ProcessingContext(
 	 * @param outputFormatOverride the output format to use
 	 * @param typeResolutionConfig configuration for type resolution
 	 * @param classpathScanner the shared classpath scanner
+	 * @param cancellation the token that stops processing of the file
 	 * @return a new ProcessingContext
 	 * @throws NullPointerException if any argument is {@code null}
 	 */
@@ -96,11 +105,12 @@ public record ProcessingContext(
 			boolean validationOnly,
 			OutputFormat outputFormatOverride,
 			TypeResolutionConfig typeResolutionConfig,
-			ClasspathScanner classpathScanner)
+			ClasspathScanner classpathScanner,
+			CancellationToken cancellation)
 	{
 		requireThat(outputFormatOverride, "outputFormatOverride").isNotNull();
 		return new ProcessingContext(filePath, securityConfig, formattingConfigs, formattingRules,
-			validationOnly, outputFormatOverride, typeResolutionConfig, classpathScanner);
+			validationOnly, outputFormatOverride, typeResolutionConfig, classpathScanner, cancellation);
 	}
 
 	/**
@@ -114,6 +124,7 @@ public record ProcessingContext(
 		requireThat(formattingRules, "formattingRules").isNotNull();
 		requireThat(typeResolutionConfig, "typeResolutionConfig").isNotNull();
 		requireThat(classpathScanner, "classpathScanner").isNotNull();
+		requireThat(cancellation, "cancellation").isNotNull();
 		// outputFormatOverride is intentionally nullable - null means automatic detection
 	}
 }
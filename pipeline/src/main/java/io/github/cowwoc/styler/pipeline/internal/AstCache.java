@@ -0,0 +1,646 @@
+package io.github.cowwoc.styler.pipeline.internal;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+import io.github.cowwoc.styler.ast.core.ExportsDirectiveAttribute;
+import io.github.cowwoc.styler.ast.core.ImportAttribute;
+import io.github.cowwoc.styler.ast.core.BracketMap;
+import io.github.cowwoc.styler.ast.core.LineMap;
+import io.github.cowwoc.styler.ast.core.ModuleDeclarationAttribute;
+import io.github.cowwoc.styler.ast.core.ModuleImportAttribute;
+import io.github.cowwoc.styler.ast.core.NodeArena;
+import io.github.cowwoc.styler.ast.core.NodeAttribute;
+import io.github.cowwoc.styler.ast.core.NodeIndex;
+import io.github.cowwoc.styler.ast.core.NodeType;
+import io.github.cowwoc.styler.ast.core.OpensDirectiveAttribute;
+import io.github.cowwoc.styler.ast.core.PackageAttribute;
+import io.github.cowwoc.styler.ast.core.ParameterAttribute;
+import io.github.cowwoc.styler.ast.core.ProvidesDirectiveAttribute;
+import io.github.cowwoc.styler.ast.core.RequiresDirectiveAttribute;
+import io.github.cowwoc.styler.ast.core.SecurityConfig;
+import io.github.cowwoc.styler.ast.core.TypeDeclarationAttribute;
+import io.github.cowwoc.styler.ast.core.UsesDirectiveAttribute;
+import io.github.cowwoc.styler.parser.Parser;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.module.ModuleReader;
+import java.lang.module.ResolvedModule;
+import java.net.URISyntaxException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * An on-disk cache of parsed ASTs, keyed by the content of the source file and the version of the parser.
+ * <p>
+ * Each entry records the nodes of an arena in allocation order, together with their attributes, the line
+ * offsets and the bracket pairs of the source code. Entries are memory-mapped read-only and replayed into an
+ * arena, which rebuilds the tree links as the nodes are allocated; on a hit, the file is neither lexed nor
+ * parsed.
+ * <p>
+ * Entries are written to a temporary file and atomically moved into place, so concurrent readers never observe a
+ * partially written entry. Entries that cannot be read are treated as misses and deleted. Entries never go
+ * stale, since a change to the source code or the parser changes the key: the key covers a digest of the
+ * classes of the parser and AST modules rather than their version, which stays the same between development
+ * builds. {@link #FORMAT_VERSION} must be incremented whenever the file format changes.
+ * <p>
+ * <b>Thread-safety</b>: This class is thread-safe.
+ */
+public final class AstCache
+{
+	/**
+	 * The version of the file format.
+	 */
+	private static final int FORMAT_VERSION = 2;
+	/**
+	 * The first four bytes of each entry ({@code "SAST"}).
+	 */
+	private static final int MAGIC = 0x53415354;
+	private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+	private static final NodeType[] NODE_TYPES = NodeType.values();
+	private static final Logger log = Logger.getLogger(AstCache.class.getName());
+	private static final String PARSER_FINGERPRINT = getParserFingerprint();
+	private final Path directory;
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param directory the directory to store entries in. It is created if it does not exist.
+	 * @throws NullPointerException if {@code directory} is null
+	 */
+	public AstCache(Path directory)
+	{
+		requireThat(directory, "directory").isNotNull();
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns a digest of the code that determines the output of the parser.
+	 * <p>
+	 * If the code cannot be read, a random value is returned so that entries are never reused by a process
+	 * that may be running a different parser.
+	 *
+	 * @return a hexadecimal digest of the classes of the parser and AST modules
+	 */
+	private static String getParserFingerprint()
+	{
+		MessageDigest digest = createDigest();
+		try
+		{
+			updateWithCode(digest, Parser.class);
+			updateWithCode(digest, NodeArena.class);
+		}
+		catch (IOException | URISyntaxException e)
+		{
+			log.log(Level.WARNING, "Cannot read the parser classes. Cached ASTs will not be reused.", e);
+			return UUID.randomUUID().toString();
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Adds the name and content of every resource of the module or classpath entry that contains a class to a
+	 * digest.
+	 *
+	 * @param digest the digest to update
+	 * @param type   a class of the module
+	 * @throws IOException        if the resources cannot be read
+	 * @throws URISyntaxException if the location of a classpath entry is malformed
+	 */
+	private static void updateWithCode(MessageDigest digest, Class<?> type) throws IOException, URISyntaxException
+	{
+		Module module = type.getModule();
+		if (module.isNamed() && module.getLayer() != null)
+		{
+			ResolvedModule resolvedModule = module.getLayer().configuration().findModule(module.getName()).
+				orElseThrow(() -> new IOException("Cannot resolve " + module.getName()));
+			try (ModuleReader reader = resolvedModule.reference().open();
+				Stream<String> names = reader.list())
+			{
+				for (String name : names.filter(resource -> !resource.endsWith("/")).sorted().toList())
+				{
+					digest.update(name.getBytes(StandardCharsets.UTF_8));
+					try (InputStream in = reader.open(name).
+						orElseThrow(() -> new IOException("Cannot read " + name)))
+					{
+						digest.update(in.readAllBytes());
+					}
+				}
+			}
+			return;
+		}
+		// Classpath: hash the JAR file or the class directory that contains the class
+		CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+		if (codeSource == null)
+			throw new IOException("The location of " + type.getName() + " is unknown");
+		Path location = Path.of(codeSource.getLocation().toURI());
+		if (!Files.isDirectory(location))
+		{
+			digest.update(Files.readAllBytes(location));
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(location))
+		{
+			for (Path path : paths.filter(Files::isRegularFile).sorted().toList())
+			{
+				digest.update(location.relativize(path).toString().getBytes(StandardCharsets.UTF_8));
+				digest.update(Files.readAllBytes(path));
+			}
+		}
+	}
+
+	/**
+	 * Returns a new SHA-256 digest.
+	 *
+	 * @return the digest
+	 */
+	private static MessageDigest createDigest()
+	{
+		try
+		{
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// Every Java platform is required to support SHA-256
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Returns the key of the entry for some source code.
+	 *
+	 * @param sourceCode the source code
+	 * @return a hexadecimal SHA-256 digest of the source code, the parser code and the format version
+	 * @throws NullPointerException if {@code sourceCode} is null
+	 */
+	public String getKey(String sourceCode)
+	{
+		requireThat(sourceCode, "sourceCode").isNotNull();
+		MessageDigest digest = createDigest();
+		digest.update((FORMAT_VERSION + "\0" + PARSER_FINGERPRINT + "\0").getBytes(StandardCharsets.UTF_8));
+		digest.update(sourceCode.getBytes(StandardCharsets.UTF_8));
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Returns the path of an entry.
+	 *
+	 * @param key the key of the entry
+	 * @return the path of the entry
+	 */
+	private Path getPath(String key)
+	{
+		// Spread entries over 256 subdirectories to keep directory listings short
+		return directory.resolve(key.substring(0, 2)).resolve(key + ".ast");
+	}
+
+	/**
+	 * Loads the AST of some source code into an arena.
+	 *
+	 * @param key        the value returned by {@link #getKey(String)} for {@code sourceCode}
+	 * @param sourceCode the source code
+	 * @param filePath   the path of the source file
+	 * @param arena      an empty arena to load the nodes into
+	 * @return {@code null} if the cache does not contain a readable entry for the source code, in which case the
+	 *         arena is left empty
+	 * @throws NullPointerException if any of the arguments are null
+	 */
+	public ParsedData load(String key, String sourceCode, Path filePath, NodeArena arena)
+	{
+		requireThat(key, "key").isNotNull();
+		requireThat(sourceCode, "sourceCode").isNotNull();
+		requireThat(filePath, "filePath").isNotNull();
+		requireThat(arena, "arena").isNotNull();
+		Path path = getPath(key);
+		if (!Files.isRegularFile(path))
+			return null;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+			Arena mapping = Arena.ofConfined())
+		{
+			MemorySegment segment = channel.map(MapMode.READ_ONLY, 0, channel.size(), mapping);
+			EntryReader reader = new EntryReader(segment);
+			if (reader.readInt() != MAGIC || reader.readInt() != FORMAT_VERSION)
+				throw new IOException("Unsupported entry format");
+			int sourceLength = reader.readInt();
+			if (sourceLength != sourceCode.length())
+				throw new IOException("Source length mismatch: " + sourceLength + " != " + sourceCode.length());
+
+			int lineCount = reader.readInt();
+			int[] lineStarts = new int[checkCount(lineCount, sourceLength + 1)];
+			for (int i = 0; i < lineCount; ++i)
+				lineStarts[i] = checkPosition(reader.readInt(), sourceLength);
+
+			int bracketCount = checkCount(reader.readInt(), sourceLength);
+			int[] bracketPositions = new int[bracketCount];
+			int[] matchingPositions = new int[bracketCount];
+			for (int i = 0; i < bracketCount; ++i)
+			{
+				bracketPositions[i] = checkPosition(reader.readInt(), sourceLength);
+				int match = reader.readInt();
+				if (match != BracketMap.NO_MATCH)
+					checkPosition(match, sourceLength);
+				matchingPositions[i] = match;
+			}
+
+			int nodeCount = checkCount(reader.readInt(), SecurityConfig.MAX_ARENA_CAPACITY);
+			for (int i = 0; i < nodeCount; ++i)
+			{
+				int typeOrdinal = reader.readInt();
+				if (typeOrdinal < 0 || typeOrdinal >= NODE_TYPES.length)
+					throw new IOException("Invalid node type: " + typeOrdinal);
+				NodeType type = NODE_TYPES[typeOrdinal];
+				int start = checkPosition(reader.readInt(), sourceLength);
+				int end = checkPosition(reader.readInt(), sourceLength);
+				if (reader.readByte() == 0)
+					arena.allocateNode(type, start, end);
+				else
+					allocate(arena, type, start, end, reader);
+			}
+			int rootNode = reader.readInt();
+			if (rootNode < 0 || rootNode >= nodeCount)
+				throw new IOException("Invalid root node: " + rootNode);
+			return new ParsedData(arena, new NodeIndex(rootNode), sourceCode, new LineMap(lineStarts, sourceLength),
+				new BracketMap(bracketPositions, matchingPositions), filePath);
+		}
+		catch (IOException | RuntimeException e)
+		{
+			log.log(Level.FINE, "Discarding unreadable AST cache entry: " + path, e);
+			arena.reset();
+			try
+			{
+				Files.deleteIfExists(path);
+			}
+			catch (IOException _)
+			{
+				// Another thread may be replacing the entry; it is re-validated on the next lookup
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Validates a count read from an entry.
+	 *
+	 * @param count   the count
+	 * @param maximum the maximum allowed value
+	 * @return {@code count}
+	 * @throws IOException if {@code count} is negative or greater than {@code maximum}
+	 */
+	private static int checkCount(int count, int maximum) throws IOException
+	{
+		if (count < 0 || count > maximum)
+			throw new IOException("Invalid count: " + count);
+		return count;
+	}
+
+	/**
+	 * Validates a source code position read from an entry.
+	 *
+	 * @param position     the position
+	 * @param sourceLength the length of the source code
+	 * @return {@code position}
+	 * @throws IOException if {@code position} is outside the source code
+	 */
+	private static int checkPosition(int position, int sourceLength) throws IOException
+	{
+		if (position < 0 || position > sourceLength)
+			throw new IOException("Invalid position: " + position);
+		return position;
+	}
+
+	/**
+	 * Allocates a node that has an attribute.
+	 *
+	 * @param arena  the arena to allocate the node in
+	 * @param type   the type of the node
+	 * @param start  the start position of the node
+	 * @param end    the end position of the node
+	 * @param reader the reader positioned at the node's attribute
+	 * @throws IOException if {@code type} does not have attributes
+	 */
+	private static void allocate(NodeArena arena, NodeType type, int start, int end, EntryReader reader)
+		throws IOException
+	{
+		switch (type)
+		{
+			case IMPORT_DECLARATION -> arena.allocateImportDeclaration(start, end,
+				new ImportAttribute(reader.readString(), reader.readBoolean()));
+			case MODULE_IMPORT_DECLARATION -> arena.allocateModuleImportDeclaration(start, end,
+				new ModuleImportAttribute(reader.readString()));
+			case PACKAGE_DECLARATION -> arena.allocatePackageDeclaration(start, end,
+				new PackageAttribute(reader.readString()));
+			case CLASS_DECLARATION -> arena.allocateClassDeclaration(start, end,
+				new TypeDeclarationAttribute(reader.readString()));
+			case INTERFACE_DECLARATION -> arena.allocateInterfaceDeclaration(start, end,
+				new TypeDeclarationAttribute(reader.readString()));
+			case ENUM_DECLARATION -> arena.allocateEnumDeclaration(start, end,
+				new TypeDeclarationAttribute(reader.readString()));
+			case RECORD_DECLARATION -> arena.allocateRecordDeclaration(start, end,
+				new TypeDeclarationAttribute(reader.readString()));
+			case ANNOTATION_DECLARATION -> arena.allocateAnnotationTypeDeclaration(start, end,
+				new TypeDeclarationAttribute(reader.readString()));
+			case PARAMETER_DECLARATION -> arena.allocateParameterDeclaration(start, end,
+				new ParameterAttribute(reader.readString(), reader.readBoolean(), reader.readBoolean(),
+					reader.readBoolean()));
+			case MODULE_DECLARATION -> arena.allocateModuleDeclaration(start, end,
+				new ModuleDeclarationAttribute(reader.readString(), reader.readBoolean()));
+			case REQUIRES_DIRECTIVE -> arena.allocateRequiresDirective(start, end,
+				new RequiresDirectiveAttribute(reader.readString(), reader.readBoolean(), reader.readBoolean()));
+			case EXPORTS_DIRECTIVE -> arena.allocateExportsDirective(start, end,
+				new ExportsDirectiveAttribute(reader.readString(), reader.readStrings()));
+			case OPENS_DIRECTIVE -> arena.allocateOpensDirective(start, end,
+				new OpensDirectiveAttribute(reader.readString(), reader.readStrings()));
+			case USES_DIRECTIVE -> arena.allocateUsesDirective(start, end,
+				new UsesDirectiveAttribute(reader.readString()));
+			case PROVIDES_DIRECTIVE -> arena.allocateProvidesDirective(start, end,
+				new ProvidesDirectiveAttribute(reader.readString(), reader.readStrings()));
+			default -> throw new IOException(type + " nodes do not have attributes");
+		}
+	}
+
+	/**
+	 * Stores the AST of some source code. Failures are logged and otherwise ignored.
+	 *
+	 * @param key    the value returned by {@link #getKey(String)} for {@code parsed.sourceCode()}
+	 * @param parsed the parsed source code
+	 * @throws NullPointerException if any of the arguments are null
+	 */
+	public void store(String key, ParsedData parsed)
+	{
+		requireThat(key, "key").isNotNull();
+		requireThat(parsed, "parsed").isNotNull();
+		Path path = getPath(key);
+		Path tempFile = null;
+		try
+		{
+			Files.createDirectories(path.getParent());
+			tempFile = Files.createTempFile(path.getParent(), key, ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+				Files.newOutputStream(tempFile))))
+			{
+				write(parsed, out);
+			}
+			try
+			{
+				Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (AtomicMoveNotSupportedException _)
+			{
+				Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException e)
+		{
+			log.log(Level.FINE, "Failed to write AST cache entry: " + path, e);
+			if (tempFile != null)
+			{
+				try
+				{
+					Files.deleteIfExists(tempFile);
+				}
+				catch (IOException _)
+				{
+					// Best effort
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes an entry.
+	 *
+	 * @param parsed the parsed source code
+	 * @param out    the stream to write to
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void write(ParsedData parsed, DataOutputStream out) throws IOException
+	{
+		out.writeInt(MAGIC);
+		out.writeInt(FORMAT_VERSION);
+		out.writeInt(parsed.sourceCode().length());
+
+		LineMap lineMap = parsed.lineMap();
+		out.writeInt(lineMap.getLineCount());
+		for (int line = 1; line <= lineMap.getLineCount(); ++line)
+			out.writeInt(lineMap.getLineStart(line));
+
+		BracketMap bracketMap = parsed.bracketMap();
+		out.writeInt(bracketMap.getBracketCount());
+		for (int i = 0; i < bracketMap.getBracketCount(); ++i)
+		{
+			out.writeInt(bracketMap.getBracketPosition(i));
+			out.writeInt(bracketMap.getMatchingPosition(i));
+		}
+
+		NodeArena arena = parsed.arena();
+		int nodeCount = arena.getNodeCount();
+		out.writeInt(nodeCount);
+		for (int node = 0; node < nodeCount; ++node)
+		{
+			out.writeInt(arena.getTypeOrdinal(node));
+			out.writeInt(arena.getStart(node));
+			out.writeInt(arena.getEnd(node));
+			NodeAttribute attribute = arena.getAttribute(new NodeIndex(node));
+			out.writeBoolean(attribute != null);
+			if (attribute != null)
+				writeAttribute(attribute, out);
+		}
+		out.writeInt(parsed.rootNode().index());
+	}
+
+	/**
+	 * Writes the fields of an attribute, in the order that {@link #allocate} reads them.
+	 *
+	 * @param attribute the attribute
+	 * @param out       the stream to write to
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void writeAttribute(NodeAttribute attribute, DataOutputStream out) throws IOException
+	{
+		switch (attribute)
+		{
+			case ImportAttribute value ->
+			{
+				writeString(value.qualifiedName(), out);
+				out.writeBoolean(value.isStatic());
+			}
+			case ModuleImportAttribute value -> writeString(value.moduleName(), out);
+			case PackageAttribute value -> writeString(value.packageName(), out);
+			case TypeDeclarationAttribute value -> writeString(value.typeName(), out);
+			case ParameterAttribute value ->
+			{
+				writeString(value.name(), out);
+				out.writeBoolean(value.isVarargs());
+				out.writeBoolean(value.isFinal());
+				out.writeBoolean(value.isReceiver());
+			}
+			case ModuleDeclarationAttribute value ->
+			{
+				writeString(value.moduleName(), out);
+				out.writeBoolean(value.isOpen());
+			}
+			case RequiresDirectiveAttribute value ->
+			{
+				writeString(value.moduleName(), out);
+				out.writeBoolean(value.isTransitive());
+				out.writeBoolean(value.isStatic());
+			}
+			case ExportsDirectiveAttribute value ->
+			{
+				writeString(value.packageName(), out);
+				writeStrings(value.targetModules(), out);
+			}
+			case OpensDirectiveAttribute value ->
+			{
+				writeString(value.packageName(), out);
+				writeStrings(value.targetModules(), out);
+			}
+			case UsesDirectiveAttribute value -> writeString(value.serviceTypeName(), out);
+			case ProvidesDirectiveAttribute value ->
+			{
+				writeString(value.serviceTypeName(), out);
+				writeStrings(value.implementations(), out);
+			}
+		}
+	}
+
+	/**
+	 * Writes a string as its length in bytes followed by its UTF-8 encoding.
+	 *
+	 * @param value the string
+	 * @param out   the stream to write to
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void writeString(String value, DataOutputStream out) throws IOException
+	{
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Writes a list of strings as its size followed by its elements.
+	 *
+	 * @param values the strings
+	 * @param out    the stream to write to
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void writeStrings(List<String> values, DataOutputStream out) throws IOException
+	{
+		out.writeInt(values.size());
+		for (String value : values)
+			writeString(value, out);
+	}
+
+	/**
+	 * Reads the values of a memory-mapped entry in sequence.
+	 * <p>
+	 * Reads past the end of the entry throw {@code IndexOutOfBoundsException}.
+	 */
+	private static final class EntryReader
+	{
+		private final MemorySegment segment;
+		private long position;
+
+		/**
+		 * Creates a new reader.
+		 *
+		 * @param segment the contents of the entry
+		 */
+		EntryReader(MemorySegment segment)
+		{
+			this.segment = segment;
+		}
+
+		/**
+		 * Reads a big-endian {@code int}.
+		 *
+		 * @return the value
+		 */
+		int readInt()
+		{
+			int value = segment.get(INT, position);
+			position += Integer.BYTES;
+			return value;
+		}
+
+		/**
+		 * Reads a byte.
+		 *
+		 * @return the value
+		 */
+		byte readByte()
+		{
+			byte value = segment.get(ValueLayout.JAVA_BYTE, position);
+			++position;
+			return value;
+		}
+
+		/**
+		 * Reads a {@code boolean} encoded as a single byte.
+		 *
+		 * @return the value
+		 */
+		boolean readBoolean()
+		{
+			return readByte() != 0;
+		}
+
+		/**
+		 * Reads a string written by {@link #writeString(String, DataOutputStream)}.
+		 *
+		 * @return the value
+		 * @throws IOException if the length of the string is invalid
+		 */
+		String readString() throws IOException
+		{
+			int length = readInt();
+			if (length < 0 || length > segment.byteSize() - position)
+				throw new IOException("Invalid string length: " + length);
+			byte[] bytes = segment.asSlice(position, length).toArray(ValueLayout.JAVA_BYTE);
+			position += length;
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * Reads a list of strings written by {@link #writeStrings(List, DataOutputStream)}.
+		 *
+		 * @return an unmodifiable list
+		 * @throws IOException if the entry is invalid
+		 */
+		List<String> readStrings() throws IOException
+		{
+			int size = readInt();
+			// Each string occupies at least four bytes
+			if (size < 0 || size > (segment.byteSize() - position) / Integer.BYTES)
+				throw new IOException("Invalid list size: " + size);
+			List<String> values = new ArrayList<>(size);
+			for (int i = 0; i < size; ++i)
+				values.add(readString());
+			return List.copyOf(values);
+		}
+	}
+}
@@ -1,16 +1,21 @@
 package io.github.cowwoc.styler.pipeline.internal;
 
+import io.github.cowwoc.styler.ast.core.BracketMap;
+import io.github.cowwoc.styler.ast.core.LineMap;
 import io.github.cowwoc.styler.ast.core.NodeArena;
 import io.github.cowwoc.styler.ast.core.NodeIndex;
 import io.github.cowwoc.styler.formatter.ClasspathScanner;
 import io.github.cowwoc.styler.formatter.TransformationContext;
 import io.github.cowwoc.styler.formatter.TypeResolutionConfig;
 import io.github.cowwoc.styler.formatter.AstPositionIndex;
+import io.github.cowwoc.styler.parser.Lexer;
+import io.github.cowwoc.styler.parser.Lexer.LexerException;
+import io.github.cowwoc.styler.security.CancellationToken;
 import io.github.cowwoc.styler.security.SecurityConfig;
 import io.github.cowwoc.styler.security.exceptions.ExecutionTimeoutException;
 
 import java.nio.file.Path;
-import java.time.Instant;
+import java.util.concurrent.CancellationException;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 
@@ -18,16 +23,22 @@ import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.require
  * Default implementation of TransformationContext for use within the pipeline.
  * <p>
  * Provides secure access to the AST and source file metadata during formatting operations.
- * Enforces execution deadlines to prevent runaway formatters.
+ * Stops runaway formatters once the cancellation token of the file is cancelled, either because the execution
+ * timeout expired or because the caller cancelled processing.
  */
 public final class DefaultTransformationContext implements TransformationContext
 {
 	private final NodeArena arena;
 	private final NodeIndex rootNode;
 	private final String sourceCode;
+	private final LineMap lineMap;
+	/**
+	 * The bracket pairs of {@code sourceCode}, or {@code null} if they have not been computed yet.
+	 */
+	private BracketMap bracketMap;
 	private final Path filePath;
 	private final SecurityConfig securityConfig;
-	private final Instant deadline;
+	private final CancellationToken cancellation;
 	private final TypeResolutionConfig typeResolutionConfig;
 	private final AstPositionIndex positionIndex;
 	private final ClasspathScanner classpathScanner;
@@ -38,31 +49,74 @@ public final class DefaultTransformationContext implements TransformationContext
 	 * @param arena the AST node arena
 	 * @param rootNode the root node of the AST
 	 * @param sourceCode the source code being formatted
+	 * @param lineMap the line offsets of {@code sourceCode}
+	 * @param bracketMap the bracket pairs of {@code sourceCode}
 	 * @param filePath the path to the source file
-	 * @param securityConfig the security configuration for deadline enforcement
+	 * @param securityConfig the security configuration
+	 * @param cancellation the token that stops processing of the file
 	 * @param typeResolutionConfig the type resolution configuration for classpath access
 	 * @param classpathScanner the shared classpath scanner for type resolution
 	 * @throws NullPointerException if any argument is null
+	 * @throws IllegalArgumentException if {@code lineMap} does not match the length of {@code sourceCode}
 	 */
 	public DefaultTransformationContext(
 			NodeArena arena,
 			NodeIndex rootNode,
 			String sourceCode,
+			LineMap lineMap,
+			BracketMap bracketMap,
 			Path filePath,
 			SecurityConfig securityConfig,
+			CancellationToken cancellation,
+			TypeResolutionConfig typeResolutionConfig,
+			ClasspathScanner classpathScanner)
+	{
+		this(arena, rootNode, sourceCode, lineMap, filePath, securityConfig, cancellation, typeResolutionConfig,
+			classpathScanner);
+		this.bracketMap = requireThat(bracketMap, "bracketMap").isNotNull().getValue();
+	}
+
+	/**
+	 * Creates a transformation context whose bracket map is computed from {@code sourceCode} the first time
+	 * that a rule asks for it.
+	 * <p>
+	 * Used for source code that was rewritten by a previous rule, so that rules that never look at brackets do
+	 * not pay for lexing the file again.
+	 *
+	 * @param arena the AST node arena
+	 * @param rootNode the root node of the AST
+	 * @param sourceCode the source code being formatted
+	 * @param lineMap the line offsets of {@code sourceCode}
+	 * @param filePath the path to the source file
+	 * @param securityConfig the security configuration
+	 * @param cancellation the token that stops processing of the file
+	 * @param typeResolutionConfig the type resolution configuration for classpath access
+	 * @param classpathScanner the shared classpath scanner for type resolution
+	 * @throws NullPointerException if any argument is null
+	 * @throws IllegalArgumentException if {@code lineMap} does not match the length of {@code sourceCode}
+	 */
+	public DefaultTransformationContext(
+			NodeArena arena,
+			NodeIndex rootNode,
+			String sourceCode,
+			LineMap lineMap,
+			Path filePath,
+			SecurityConfig securityConfig,
+			CancellationToken cancellation,
 			TypeResolutionConfig typeResolutionConfig,
 			ClasspathScanner classpathScanner)
 	{
 		this.arena = requireThat(arena, "arena").isNotNull().getValue();
 		this.rootNode = requireThat(rootNode, "rootNode").isNotNull().getValue();
 		this.sourceCode = requireThat(sourceCode, "sourceCode").isNotNull().getValue();
+		this.lineMap = requireThat(lineMap, "lineMap").isNotNull().getValue();
+		requireThat(lineMap.getSourceLength(), "lineMap.getSourceLength()").isEqualTo(sourceCode.length());
 		this.filePath = requireThat(filePath, "filePath").isNotNull().getValue();
 		this.securityConfig = requireThat(securityConfig, "securityConfig").isNotNull().getValue();
+		this.cancellation = requireThat(cancellation, "cancellation").isNotNull().getValue();
 		this.typeResolutionConfig = requireThat(typeResolutionConfig, "typeResolutionConfig").isNotNull().getValue();
 		this.classpathScanner = requireThat(classpathScanner, "classpathScanner").isNotNull().getValue();
 
-		// Calculate execution deadline based on current time + timeout
-		this.deadline = Instant.now().plus(securityConfig.executionTimeout());
 		this.positionIndex = new AstPositionIndex(arena, sourceCode.length());
 	}
 
@@ -109,45 +163,59 @@ public final class DefaultTransformationContext implements TransformationContext
 	@Override
 	public int getLineNumber(int position)
 	{
-		// Calculate line number from position in source code
-		if (position < 0 || position > sourceCode.length())
-		{
-			throw new IllegalArgumentException("Position " + position + " out of bounds [0, " +
-				sourceCode.length() + "]");
-		}
-
-		int lineNumber = 1;
-		for (int i = 0; i < position; ++i)
-			if (sourceCode.charAt(i) == '\n')
-				++lineNumber;
-		return lineNumber;
+		return lineMap.getLineNumber(position);
 	}
 
 	@Override
 	public int getColumnNumber(int position)
 	{
-		// Calculate column number from position in source code
-		if (position < 0 || position > sourceCode.length())
+		return lineMap.getColumnNumber(position);
+	}
+
+	@Override
+	public LineMap lineMap()
+	{
+		return lineMap;
+	}
+
+	@Override
+	public BracketMap bracketMap()
+	{
+		if (bracketMap == null)
+			bracketMap = scanBrackets();
+		return bracketMap;
+	}
+
+	/**
+	 * Pairs the brackets of the source code.
+	 * <p>
+	 * A previous rule may have produced source code that no longer lexes, such as an unclosed text block. Such
+	 * source code is reported as having no brackets so that the remaining rules leave its brackets alone
+	 * instead of failing the file.
+	 *
+	 * @return the bracket pairs of the source code
+	 */
+	private BracketMap scanBrackets()
+	{
+		try
 		{
-			throw new IllegalArgumentException("Position " + position + " out of bounds [0, " +
-				sourceCode.length() + "]");
+			return new Lexer(sourceCode).tokenize().getBracketMap();
 		}
-
-		int columnNumber = 1;
-		for (int i = position - 1; i >= 0; --i)
+		catch (LexerException _)
 		{
-			if (sourceCode.charAt(i) == '\n')
-				break;
-			++columnNumber;
+			return new BracketMap(new int[0], new int[0]);
 		}
-		return columnNumber;
 	}
 
 	@Override
 	public void checkDeadline()
 	{
-		if (Instant.now().isAfter(deadline))
-			throw new ExecutionTimeoutException(filePath, securityConfig.executionTimeout());
+		if (cancellation.isCancelled())
+		{
+			if (cancellation.isTimedOut())
+				throw new ExecutionTimeoutException(filePath, cancellation.getTimeout());
+			throw new CancellationException("Processing of " + filePath + " was cancelled");
+		}
 	}
 
 	@Override
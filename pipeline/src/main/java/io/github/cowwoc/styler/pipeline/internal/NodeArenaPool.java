@@ -0,0 +1,114 @@
+package io.github.cowwoc.styler.pipeline.internal;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+import io.github.cowwoc.styler.ast.core.NodeArena;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of reusable {@link NodeArena}s.
+ * <p>
+ * Each file is parsed into an arena borrowed from the pool, which is reset and returned once the file has been
+ * processed. Files are processed on short-lived virtual threads, so arenas cannot be cached per thread;
+ * instead, the pool retains up to one idle arena per concurrent worker and closes any arena returned beyond
+ * that. Arenas are borrowed in last-in, first-out order so that the most recently used (and therefore largest
+ * and warmest) arenas are reused first.
+ * <p>
+ * <b>Thread-safety</b>: This class is thread-safe. Each borrowed arena must only be used by one thread at a
+ * time.
+ */
+public final class NodeArenaPool implements AutoCloseable
+{
+	private final int maxIdle;
+	private final ConcurrentLinkedDeque<NodeArena> idle = new ConcurrentLinkedDeque<>();
+	/**
+	 * The number of arenas in {@link #idle}, tracked separately because {@code ConcurrentLinkedDeque.size()}
+	 * is O(n).
+	 */
+	private final AtomicInteger idleCount = new AtomicInteger();
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	/**
+	 * Creates a new pool.
+	 *
+	 * @param maxIdle the maximum number of idle arenas to retain
+	 * @throws IllegalArgumentException if {@code maxIdle} is not positive
+	 */
+	public NodeArenaPool(int maxIdle)
+	{
+		requireThat(maxIdle, "maxIdle").isPositive();
+		this.maxIdle = maxIdle;
+	}
+
+	/**
+	 * Borrows an empty arena, creating one if none are idle.
+	 *
+	 * @return an empty arena that must be passed to {@link #release(NodeArena)} when it is no longer needed
+	 * @throws IllegalStateException if the pool is closed
+	 */
+	public NodeArena acquire()
+	{
+		if (closed.get())
+			throw new IllegalStateException("The pool is closed");
+		NodeArena arena = idle.pollFirst();
+		if (arena == null)
+			return NodeArena.ofShared(NodeArena.Layout.COMPACT);
+		idleCount.decrementAndGet();
+		return arena;
+	}
+
+	/**
+	 * Resets an arena and returns it to the pool. Any AST stored in the arena becomes invalid.
+	 *
+	 * @param arena an arena returned by {@link #acquire()}
+	 * @throws NullPointerException if {@code arena} is null
+	 */
+	public void release(NodeArena arena)
+	{
+		requireThat(arena, "arena").isNotNull();
+		if (closed.get())
+		{
+			arena.close();
+			return;
+		}
+		if (idleCount.incrementAndGet() > maxIdle)
+		{
+			idleCount.decrementAndGet();
+			arena.close();
+			return;
+		}
+		arena.reset();
+		idle.offerFirst(arena);
+		// Arenas released concurrently with close() are not seen by its drain loop
+		if (closed.get())
+			closeIdle();
+	}
+
+	/**
+	 * Closes all idle arenas. Arenas that are borrowed at the time are closed when they are released.
+	 */
+	@Override
+	public void close()
+	{
+		if (closed.compareAndSet(false, true))
+			closeIdle();
+	}
+
+	/**
+	 * Closes all idle arenas.
+	 */
+	private void closeIdle()
+	{
+		while (true)
+		{
+			NodeArena arena = idle.pollFirst();
+			if (arena == null)
+				break;
+			idleCount.decrementAndGet();
+			arena.close();
+		}
+	}
+}
@@ -2,6 +2,8 @@ package io.github.cowwoc.styler.pipeline.internal;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.that;
 
+import io.github.cowwoc.styler.ast.core.BracketMap;
+import io.github.cowwoc.styler.ast.core.LineMap;
 import io.github.cowwoc.styler.ast.core.NodeArena;
 import io.github.cowwoc.styler.ast.core.NodeIndex;
 import java.nio.file.Path;
@@ -14,9 +16,12 @@ import java.nio.file.Path;
  * @param arena the AST node arena
  * @param rootNode the root node of the AST
  * @param sourceCode the source code as string
+ * @param lineMap the line offsets of {@code sourceCode}, computed by the lexer
+ * @param bracketMap the bracket pairs of {@code sourceCode}, computed by the lexer
  * @param filePath the path to the source file
  */
-public record ParsedData(NodeArena arena, NodeIndex rootNode, String sourceCode, Path filePath)
+public record ParsedData(NodeArena arena, NodeIndex rootNode, String sourceCode, LineMap lineMap,
+	BracketMap bracketMap, Path filePath)
 {
 	/**
 	 * Creates parsed data.
@@ -24,6 +29,8 @@ public record ParsedData(NodeArena arena, NodeIndex rootNode, String sourceCode,
 	 * @param arena the AST node arena
 	 * @param rootNode the root node of the AST
 	 * @param sourceCode the source code as string
+	 * @param lineMap the line offsets of {@code sourceCode}, computed by the lexer
+	 * @param bracketMap the bracket pairs of {@code sourceCode}, computed by the lexer
 	 * @param filePath the path to the source file
 	 * @throws AssertionError if any argument is null
 	 */
@@ -32,6 +39,8 @@ public record ParsedData(NodeArena arena, NodeIndex rootNode, String sourceCode,
 		assert that(arena, "arena").isNotNull().elseThrow();
 		assert that(rootNode, "rootNode").isNotNull().elseThrow();
 		assert that(sourceCode, "sourceCode").isNotNull().elseThrow();
+		assert that(lineMap, "lineMap").isNotNull().elseThrow();
+		assert that(bracketMap, "bracketMap").isNotNull().elseThrow();
 		assert that(filePath, "filePath").isNotNull().elseThrow();
 	}
 }
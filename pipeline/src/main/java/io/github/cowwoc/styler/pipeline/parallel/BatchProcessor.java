@@ -46,6 +46,18 @@ public interface BatchProcessor extends AutoCloseable
 	 */
 	BatchResult processFiles(List<Path> files) throws InterruptedException;
 
+	/**
+	 * Cancels the processing of a file that {@link #processFiles(List)} has queued or is currently processing.
+	 * <p>
+	 * A queued file is never processed. A file that is being processed stops shortly afterwards. Either way,
+	 * the file is reported as a failure. Other files are not affected.
+	 *
+	 * @param file the path of the file
+	 * @return {@code false} if the file is neither queued nor being processed
+	 * @throws NullPointerException if {@code file} is null
+	 */
+	boolean cancel(Path file);
+
 	/**
 	 * Closes the processor and releases associated resources.
 	 * <p>
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -21,6 +22,7 @@ import io.github.cowwoc.styler.pipeline.PipelineResult;
 import io.github.cowwoc.styler.pipeline.parallel.internal.MemoryReservationManager;
 import io.github.cowwoc.styler.pipeline.parallel.internal.Reservation;
 import io.github.cowwoc.styler.pipeline.parallel.internal.VirtualThreadExecutor;
+import io.github.cowwoc.styler.security.CancellationToken;
 
 /**
  * Default implementation of batch file processing using virtual threads.
@@ -35,6 +37,9 @@ import io.github.cowwoc.styler.pipeline.parallel.internal.VirtualThreadExecutor;
  *     <li>Semaphore permits limit concurrent operations based on configuration</li>
  *     <li>One file failure does not affect others (error isolation)</li>
  *     <li>Results are aggregated in {@code ConcurrentHashMap}</li>
+ *     <li>Each file has its own {@code CancellationToken}, which expires after the execution timeout of the
+ *     pipeline once the file starts being processed. A file can be cancelled using {@link #cancel(Path)}
+ *     from the moment that it is queued.</li>
  * </ul>
  * <p>
  * Error Handling:
@@ -79,6 +84,10 @@ public final class DefaultBatchProcessor implements BatchProcessor
 	private final ParallelProcessingConfig config;
 	private final ReentrantLock lock = new ReentrantLock();
 	private final AtomicBoolean closed = new AtomicBoolean(false);
+	/**
+	 * The cancellation tokens of the files that are queued or being processed.
+	 */
+	private final Map<Path, CancellationToken> fileToCancellation = new ConcurrentHashMap<>();
 	private volatile VirtualThreadExecutor executor;
 
 	/**
@@ -171,25 +180,36 @@ public final class DefaultBatchProcessor implements BatchProcessor
 				continue;
 			}
 
+			// Registered before the file is queued so that it can be cancelled while it waits for a thread or memory
+			CancellationToken queued = new CancellationToken();
+			fileToCancellation.put(file, queued);
 			executor.submit(() ->
 			{
-				try (Reservation _ = memoryManager.reserve(fileSize))
+				CancellationToken cancellation = null;
+				try
 				{
-					// Process the file through the pipeline
-					try (PipelineResult result = pipeline.processFile(file))
+					checkNotCancelled(file, queued);
+					try (Reservation _ = memoryManager.reserve(fileSize))
 					{
-						if (result.overallSuccess())
-							results.put(file, result);
-						else
+						// The execution timeout starts once the file has the memory that it needs
+						cancellation = startProcessing(file, queued);
+						checkNotCancelled(file, cancellation);
+						// Process the file through the pipeline
+						try (PipelineResult result = pipeline.processFile(file, cancellation))
 						{
-							// Extract error message from failed stage
-							String errorMsg = result.stageResults().stream().
-								filter(sr -> !sr.isSuccess()).
-								flatMap(sr -> sr.errorMessage().stream()).
-								findFirst().
-								orElse("Processing failed");
-							errors.put(file, errorMsg);
-							errorCount.incrementAndGet();
+							if (result.overallSuccess())
+								results.put(file, result);
+							else
+							{
+								// Extract error message from failed stage
+								String errorMsg = result.stageResults().stream().
+									filter(sr -> !sr.isSuccess()).
+									flatMap(sr -> sr.errorMessage().stream()).
+									findFirst().
+									orElse("Processing failed");
+								errors.put(file, errorMsg);
+								errorCount.incrementAndGet();
+							}
 						}
 					}
 				}
@@ -205,6 +225,12 @@ public final class DefaultBatchProcessor implements BatchProcessor
 				}
 				finally
 				{
+					fileToCancellation.remove(file, queued);
+					if (cancellation != null)
+					{
+						fileToCancellation.remove(file, cancellation);
+						cancellation.close();
+					}
 					int completed = completedCount.incrementAndGet();
 					if (config.progressCallback() != null)
 						config.progressCallback().onProgress(completed, files.size(), file);
@@ -227,6 +253,54 @@ public final class DefaultBatchProcessor implements BatchProcessor
 			totalDuration, throughput);
 	}
 
+	/**
+	 * Replaces the token of a queued file with one that also enforces the execution timeout of the pipeline.
+	 *
+	 * @param file   the file
+	 * @param queued the token that was registered when the file was queued
+	 * @return the token that stops the processing of the file
+	 */
+	private CancellationToken startProcessing(Path file, CancellationToken queued)
+	{
+		CancellationToken cancellation = new CancellationToken(pipeline.getSecurityConfig().executionTimeout());
+		// Atomic with respect to cancel(), so a cancellation is never applied to the token that was replaced
+		// without also being applied to its replacement
+		fileToCancellation.compute(file, (key, current) ->
+		{
+			if (current != queued)
+				return current;
+			if (queued.isCancelled())
+				cancellation.cancel();
+			return cancellation;
+		});
+		return cancellation;
+	}
+
+	/**
+	 * Stops the processing of a file if it was cancelled.
+	 *
+	 * @param file         the file
+	 * @param cancellation the token that stops the processing of the file
+	 * @throws CancellationException if the token was cancelled
+	 */
+	private static void checkNotCancelled(Path file, CancellationToken cancellation)
+	{
+		if (cancellation.isCancelled())
+			throw new CancellationException("Processing of " + file + " was cancelled");
+	}
+
+	@Override
+	public boolean cancel(Path file)
+	{
+		requireThat(file, "file").isNotNull();
+		CancellationToken cancellation = fileToCancellation.computeIfPresent(file, (key, token) ->
+		{
+			token.cancel();
+			return token;
+		});
+		return cancellation != null;
+	}
+
 	/**
 	 * Calculates throughput as files processed per second.
 	 *
@@ -0,0 +1,143 @@
+package io.github.cowwoc.styler.pipeline.internal.test;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+import org.testng.annotations.Test;
+
+import io.github.cowwoc.styler.ast.core.NodeArena;
+import io.github.cowwoc.styler.ast.core.NodeIndex;
+import io.github.cowwoc.styler.parser.ParseResult;
+import io.github.cowwoc.styler.parser.Parser;
+import io.github.cowwoc.styler.pipeline.internal.AstCache;
+import io.github.cowwoc.styler.pipeline.internal.ParsedData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Tests for AstCache.
+ */
+public class AstCacheTest
+{
+	private static final String SOURCE = """
+		package com.example;
+
+		import static java.util.Objects.requireNonNull;
+
+		public record Point(int x, int y)
+		{
+			public Point scale(final int... factors)
+			{
+				return new Point(x * factors[0], y * factors[1]);
+			}
+		}
+		""";
+	private static final Path FILE = Path.of("Point.java");
+
+	/**
+	 * Parses {@link #SOURCE} and stores it in the cache.
+	 *
+	 * @param cache the cache
+	 * @param arena the arena to parse into
+	 * @return the parsed data
+	 */
+	private static ParsedData parseAndStore(AstCache cache, NodeArena arena)
+	{
+		try (Parser parser = new Parser(SOURCE, arena))
+		{
+			ParseResult.Success result = (ParseResult.Success) parser.parse();
+			ParsedData parsed = new ParsedData(arena, result.rootNode(), SOURCE, parser.getLineMap(),
+				parser.getBracketMap(), FILE);
+			cache.store(cache.getKey(SOURCE), parsed);
+			return parsed;
+		}
+	}
+
+	/**
+	 * Verifies that a stored AST is loaded back with identical nodes, attributes, line offsets and bracket
+	 * pairs.
+	 */
+	@Test
+	public void roundTrip() throws IOException
+	{
+		AstCache cache = new AstCache(Files.createTempDirectory("ast-cache"));
+		try (NodeArena original = new NodeArena();
+			NodeArena loaded = new NodeArena())
+		{
+			ParsedData expected = parseAndStore(cache, original);
+			ParsedData actual = cache.load(cache.getKey(SOURCE), SOURCE, FILE, loaded);
+
+			requireThat(actual, "actual").isNotNull();
+			requireThat(actual.rootNode(), "actual.rootNode()").isEqualTo(expected.rootNode());
+			requireThat(actual.lineMap(), "actual.lineMap()").isEqualTo(expected.lineMap());
+			requireThat(actual.bracketMap(), "actual.bracketMap()").isEqualTo(expected.bracketMap());
+			requireThat(loaded, "loaded").isEqualTo(original);
+			for (int node = 0; node < original.getNodeCount(); ++node)
+			{
+				NodeIndex index = new NodeIndex(node);
+				requireThat(loaded.getAttribute(index), "loaded.getAttribute(" + node + ")").
+					isEqualTo(original.getAttribute(index));
+				requireThat(loaded.getParent(index), "loaded.getParent(" + node + ")").
+					isEqualTo(original.getParent(index));
+				requireThat(loaded.getFirstChild(index), "loaded.getFirstChild(" + node + ")").
+					isEqualTo(original.getFirstChild(index));
+			}
+		}
+	}
+
+	/**
+	 * Verifies that source code that was never stored is a cache miss.
+	 */
+	@Test
+	public void missingEntry() throws IOException
+	{
+		AstCache cache = new AstCache(Files.createTempDirectory("ast-cache"));
+		try (NodeArena arena = new NodeArena())
+		{
+			requireThat(cache.load(cache.getKey(SOURCE), SOURCE, FILE, arena), "load()").isNull();
+		}
+	}
+
+	/**
+	 * Verifies that different source code maps to a different key.
+	 */
+	@Test
+	public void keyDependsOnContent()
+	{
+		AstCache cache = new AstCache(Path.of("unused"));
+		requireThat(cache.getKey(SOURCE), "getKey(SOURCE)").isEqualTo(cache.getKey(SOURCE));
+		requireThat(cache.getKey(SOURCE), "getKey(SOURCE)").isNotEqualTo(cache.getKey(SOURCE + " "));
+	}
+
+	/**
+	 * Verifies that a truncated entry is discarded and leaves the arena empty.
+	 */
+	@Test
+	public void truncatedEntryIsDiscarded() throws IOException
+	{
+		Path directory = Files.createTempDirectory("ast-cache");
+		AstCache cache = new AstCache(directory);
+		try (NodeArena original = new NodeArena();
+			NodeArena loaded = new NodeArena())
+		{
+			parseAndStore(cache, original);
+			Path entry;
+			try (Stream<Path> files = Files.walk(directory))
+			{
+				List<Path> entries = files.filter(Files::isRegularFile).toList();
+				requireThat(entries, "entries").size().isEqualTo(1);
+				entry = entries.getFirst();
+			}
+			byte[] content = Files.readAllBytes(entry);
+			Files.write(entry, Arrays.copyOf(content, content.length / 2));
+
+			requireThat(cache.load(cache.getKey(SOURCE), SOURCE, FILE, loaded), "load()").isNull();
+			requireThat(loaded.getNodeCount(), "loaded.getNodeCount()").isEqualTo(0);
+			requireThat(Files.exists(entry), "Files.exists(entry)").isFalse();
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package io.github.cowwoc.styler.pipeline.internal.test;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+import org.testng.annotations.Test;
+
+import io.github.cowwoc.styler.ast.core.NodeArena;
+import io.github.cowwoc.styler.ast.core.NodeType;
+import io.github.cowwoc.styler.pipeline.internal.NodeArenaPool;
+
+/**
+ * Tests for NodeArenaPool.
+ */
+public class NodeArenaPoolTest
+{
+	/**
+	 * Verifies that a released arena is reset and handed out again.
+	 */
+	@Test
+	public void releasedArenaIsReused()
+	{
+		try (NodeArenaPool pool = new NodeArenaPool(1))
+		{
+			NodeArena first = pool.acquire();
+			first.allocateNode(NodeType.IDENTIFIER, 0, 1);
+			pool.release(first);
+
+			NodeArena second = pool.acquire();
+			requireThat(second == first, "second == first").isTrue();
+			requireThat(second.getNodeCount(), "second.getNodeCount()").isEqualTo(0);
+			pool.release(second);
+		}
+	}
+
+	/**
+	 * Verifies that concurrently borrowed arenas are distinct.
+	 */
+	@Test
+	public void concurrentBorrowsAreDistinct()
+	{
+		try (NodeArenaPool pool = new NodeArenaPool(1))
+		{
+			NodeArena first = pool.acquire();
+			NodeArena second = pool.acquire();
+			requireThat(second != first, "second != first").isTrue();
+			pool.release(first);
+			pool.release(second);
+		}
+	}
+
+	/**
+	 * Verifies that arenas cannot be borrowed from a closed pool.
+	 */
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void acquireAfterClose()
+	{
+		NodeArenaPool pool = new NodeArenaPool(1);
+		pool.close();
+		pool.acquire();
+	}
+}
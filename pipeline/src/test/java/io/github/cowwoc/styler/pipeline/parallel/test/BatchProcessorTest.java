@@ -1,6 +1,7 @@
 package io.github.cowwoc.styler.pipeline.parallel.test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
@@ -11,6 +12,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.testng.annotations.Test;
 
@@ -332,6 +334,55 @@ public class BatchProcessorTest
 		}
 	}
 
+	/**
+	 * Tests that files that are still queued can be cancelled, and are never processed.
+	 */
+	@Test(timeOut = 10_000)
+	public void shouldCancelQueuedFiles() throws IOException, InterruptedException
+	{
+		FileProcessingPipeline pipeline = TestPipelineFactory.createDefaultPipeline();
+		List<Path> files = new ArrayList<>();
+		for (int i = 0; i < 3; ++i)
+			files.add(TestFileFactory.createValidJavaFile());
+		AtomicReference<BatchProcessor> processorReference = new AtomicReference<>();
+
+		// Only one file is processed at a time, and the callback runs before the next file may start, so the
+		// other files are queued until it returns. The loop waits for files that are still being submitted.
+		ParallelProcessingConfig config = ParallelProcessingConfig.builder().
+			maxConcurrency(1).
+			errorStrategy(ErrorStrategy.CONTINUE).
+			progressCallback((completed, total, file) ->
+			{
+				if (completed != 1)
+					return;
+				for (Path queued : files)
+				{
+					if (queued.equals(file))
+						continue;
+					while (!processorReference.get().cancel(queued))
+						Thread.onSpinWait();
+				}
+			}).
+			build();
+
+		try (BatchProcessor processor = new DefaultBatchProcessor(pipeline, config))
+		{
+			processorReference.set(processor);
+			BatchResult result = processor.processFiles(files);
+
+			assertEquals(result.successCount(), 1);
+			assertEquals(result.failureCount(), 2);
+			for (String error : result.errors().values())
+				assertTrue(error.contains("cancelled"), error);
+			assertFalse(processor.cancel(files.getFirst()));
+		}
+		finally
+		{
+			for (Path file : files)
+				Files.deleteIfExists(file);
+		}
+	}
+
 	/**
 	 * Tests that files are processed with custom concurrency settings.
 	 */
@@ -13,6 +13,12 @@ import java.util.List;
 import org.testng.annotations.Test;
 
 import io.github.cowwoc.styler.formatter.FormattingConfiguration;
+import io.github.cowwoc.styler.formatter.FormattingRule;
+import io.github.cowwoc.styler.formatter.FormattingViolation;
+import io.github.cowwoc.styler.formatter.RuleExample;
+import io.github.cowwoc.styler.formatter.TransformationContext;
+import io.github.cowwoc.styler.formatter.ViolationSeverity;
+import io.github.cowwoc.styler.formatter.brace.BraceFormattingRule;
 import io.github.cowwoc.styler.formatter.linelength.LineLengthConfiguration;
 import io.github.cowwoc.styler.pipeline.FileProcessingPipeline;
 import io.github.cowwoc.styler.pipeline.PipelineResult;
@@ -226,4 +232,82 @@ public class FormatStageTest
 			Files.deleteIfExists(emptyFile);
 		}
 	}
+
+	/**
+	 * Verifies that a rule whose output cannot be tokenized does not fail the rules that run after it.
+	 */
+	@Test
+	public void shouldToleratePreviousRuleBreakingTokenization() throws IOException
+	{
+		Path tempFile = Files.createTempFile("unclosed-text-block-", ".java");
+		try
+		{
+			Files.copy(Paths.get(FIXTURES_DIR + "ValidSimple.java"), tempFile, StandardCopyOption.REPLACE_EXISTING);
+
+			FileProcessingPipeline pipeline = FileProcessingPipeline.builder().
+				securityConfig(SecurityConfig.DEFAULT).
+				formattingRules(List.of(new UnclosedTextBlockRule(), new BraceFormattingRule())).
+				formattingConfigs(List.of(createDefaultFormattingConfig())).
+				validationOnly(false).
+				build();
+
+			try (PipelineResult result = pipeline.processFile(tempFile))
+			{
+				assertTrue(result.overallSuccess(), "Pipeline should succeed: " + result.stageResults());
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * A rule that appends an unclosed text block, producing source code that the lexer rejects.
+	 */
+	private static final class UnclosedTextBlockRule implements FormattingRule
+	{
+		@Override
+		public String getId()
+		{
+			return "unclosed-text-block";
+		}
+
+		@Override
+		public String getName()
+		{
+			return "Unclosed Text Block";
+		}
+
+		@Override
+		public String getDescription()
+		{
+			return "Appends an unclosed text block";
+		}
+
+		@Override
+		public ViolationSeverity getDefaultSeverity()
+		{
+			return ViolationSeverity.INFO;
+		}
+
+		@Override
+		public List<RuleExample> getExamples()
+		{
+			return List.of();
+		}
+
+		@Override
+		public List<FormattingViolation> analyze(TransformationContext context,
+			List<FormattingConfiguration> configs)
+		{
+			return List.of();
+		}
+
+		@Override
+		public String format(TransformationContext context, List<FormattingConfiguration> configs)
+		{
+			return context.sourceCode() + "\n\"\"\"\n";
+		}
+	}
 }
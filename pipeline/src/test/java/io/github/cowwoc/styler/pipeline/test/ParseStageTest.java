@@ -17,6 +17,7 @@ import io.github.cowwoc.styler.formatter.linelength.LineLengthConfiguration;
 import io.github.cowwoc.styler.pipeline.FileProcessingPipeline;
 import io.github.cowwoc.styler.pipeline.PipelineResult;
 import io.github.cowwoc.styler.pipeline.StageResult;
+import io.github.cowwoc.styler.security.CancellationToken;
 import io.github.cowwoc.styler.security.SecurityConfig;
 
 /**
@@ -208,4 +209,31 @@ public class ParseStageTest
 			requireThat(result.arena(), "result.arena()").isNotNull();
 		}
 	}
+
+	/**
+	 * Test: shouldFailWhenCancelled
+	 * Verifies that cancelling the token of a file stops the parse stage.
+	 */
+	@Test
+	public void shouldFailWhenCancelled()
+	{
+		// Relative to the module directory, which is the working directory of the tests
+		Path validFile = Paths.get(
+			"src/test/resources/io/github/cowwoc/styler/pipeline/test/fixtures/ValidSimple.java");
+		CancellationToken cancellation = new CancellationToken();
+		cancellation.cancel();
+
+		try (FileProcessingPipeline pipeline = FileProcessingPipeline.builder()
+				.securityConfig(SecurityConfig.DEFAULT)
+				.formattingRules(new ArrayList<>())
+				.formattingConfigs(List.of(createDefaultFormattingConfig()))
+				.validationOnly(true)
+				.build();
+			PipelineResult result = pipeline.processFile(validFile, cancellation))
+		{
+			requireThat(result.overallSuccess(), "result.overallSuccess()").isFalse();
+			StageResult parseResult = result.stageResults().getFirst();
+			requireThat(parseResult.errorMessage().orElseThrow(), "errorMessage").contains("Parsing cancelled");
+		}
+	}
 }
@@ -0,0 +1,139 @@
+package io.github.cowwoc.styler.security;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signals that an operation should stop, either because its timeout expired or because another thread
+ * cancelled it.
+ * <p>
+ * Long-running operations poll {@link #isCancelled()}, which reads a single volatile field, instead of reading
+ * the clock. Timeouts are enforced by one watchdog thread shared by all tokens, which cancels each token when
+ * its timeout expires.
+ * <p>
+ * Tokens that have a timeout must be closed once the operation ends, so that the watchdog stops tracking them.
+ * <p>
+ * <b>Thread-safety</b>: This class is thread-safe.
+ */
+public final class CancellationToken implements AutoCloseable
+{
+	private final Duration timeout;
+	private final ScheduledFuture<?> expiration;
+	private volatile boolean cancelled;
+	private volatile boolean timedOut;
+
+	/**
+	 * Creates a token that is only cancelled by {@link #cancel()}.
+	 */
+	public CancellationToken()
+	{
+		this.timeout = null;
+		this.expiration = null;
+	}
+
+	/**
+	 * Creates a token that is cancelled automatically once a timeout expires.
+	 *
+	 * @param timeout the amount of time after which the token is cancelled (must be positive)
+	 * @throws NullPointerException     if {@code timeout} is null
+	 * @throws IllegalArgumentException if {@code timeout} is non-positive
+	 */
+	public CancellationToken(Duration timeout)
+	{
+		requireThat(timeout, "timeout").isNotNull();
+		requireThat(timeout.toNanos(), "timeout").isPositive();
+		this.timeout = timeout;
+		this.expiration = Watchdog.EXECUTOR.schedule(this::expire, timeout.toNanos(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Cancels the token because its timeout expired.
+	 */
+	private void expire()
+	{
+		// Set before the cancellation flag so that readers who observe the cancellation also observe the cause
+		timedOut = true;
+		cancelled = true;
+	}
+
+	/**
+	 * Requests that the operation stop. Has no effect if the token is already cancelled.
+	 */
+	public void cancel()
+	{
+		cancelled = true;
+	}
+
+	/**
+	 * Indicates if the operation should stop.
+	 *
+	 * @return {@code true} if the token was cancelled or its timeout expired
+	 */
+	public boolean isCancelled()
+	{
+		return cancelled;
+	}
+
+	/**
+	 * Indicates if the token was cancelled because its timeout expired.
+	 *
+	 * @return {@code false} if the token was not cancelled or was cancelled by {@link #cancel()}
+	 */
+	public boolean isTimedOut()
+	{
+		return timedOut;
+	}
+
+	/**
+	 * Returns the timeout of the token.
+	 *
+	 * @return {@code null} if the token does not have a timeout
+	 */
+	public Duration getTimeout()
+	{
+		return timeout;
+	}
+
+	/**
+	 * Stops the watchdog from tracking the timeout of this token. Does not cancel the token.
+	 */
+	@Override
+	public void close()
+	{
+		if (expiration != null)
+			expiration.cancel(false);
+	}
+
+	/**
+	 * Holds the watchdog thread, which is only started once a token with a timeout is created.
+	 */
+	private static final class Watchdog
+	{
+		static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+		/**
+		 * Prevent construction.
+		 */
+		private Watchdog()
+		{
+		}
+
+		/**
+		 * Creates the executor that cancels tokens once their timeout expires.
+		 *
+		 * @return the executor
+		 */
+		private static ScheduledThreadPoolExecutor createExecutor()
+		{
+			ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+				Thread.ofPlatform().daemon().name("styler-cancellation-watchdog").factory());
+			// Closed tokens must not stay queued until their timeout expires
+			executor.setRemoveOnCancelPolicy(true);
+			return executor;
+		}
+	}
+}
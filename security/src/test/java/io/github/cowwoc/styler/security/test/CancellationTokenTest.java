@@ -0,0 +1,69 @@
+package io.github.cowwoc.styler.security.test;
+
+import io.github.cowwoc.styler.security.CancellationToken;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for CancellationToken cancellation and timeouts.
+ */
+public class CancellationTokenTest
+{
+	/**
+	 * Verifies that {@code cancel()} cancels the token without marking it as timed out.
+	 */
+	@Test
+	public void cancelIsObserved()
+	{
+		CancellationToken cancellation = new CancellationToken();
+		assertFalse(cancellation.isCancelled());
+
+		cancellation.cancel();
+		assertTrue(cancellation.isCancelled());
+		assertFalse(cancellation.isTimedOut());
+		assertNull(cancellation.getTimeout());
+	}
+
+	/**
+	 * Verifies that the watchdog cancels a token once its timeout expires.
+	 *
+	 * @throws InterruptedException if the thread is interrupted while sleeping
+	 */
+	@Test(timeOut = 10_000)
+	public void timeoutCancelsToken() throws InterruptedException
+	{
+		try (CancellationToken cancellation = new CancellationToken(Duration.ofMillis(10)))
+		{
+			while (!cancellation.isCancelled())
+				Thread.sleep(1);
+			assertTrue(cancellation.isTimedOut());
+			assertEquals(cancellation.getTimeout(), Duration.ofMillis(10));
+		}
+	}
+
+	/**
+	 * Verifies that closing a token stops its timeout from cancelling it.
+	 *
+	 * @throws InterruptedException if the thread is interrupted while sleeping
+	 */
+	@Test
+	public void closeStopsTimeout() throws InterruptedException
+	{
+		CancellationToken cancellation = new CancellationToken(Duration.ofMillis(50));
+		cancellation.close();
+		Thread.sleep(200);
+		assertFalse(cancellation.isCancelled());
+	}
+
+	/**
+	 * Verifies that a non-positive timeout is rejected.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void rejectsZeroTimeout()
+	{
+		new CancellationToken(Duration.ZERO);
+	}
+}